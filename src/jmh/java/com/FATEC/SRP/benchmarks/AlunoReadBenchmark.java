@@ -0,0 +1,65 @@
+package com.fatec.srp.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fatec.srp.SrpApplication;
+import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.repositories.AlunoRepository;
+import com.fatec.srp.service.AlunoService;
+
+/**
+ * {@link AlunoService#read()} sobre um banco H2 em memória no modo de compatibilidade com o SQL Server,
+ * usando a configuração de {@code src/test/resources/application.yml}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlunoReadBenchmark {
+
+	@Param({ "1000", "10000" })
+	private int rows;
+
+	private ConfigurableApplicationContext context;
+
+	private AlunoService alunoService;
+
+	@Setup
+	public void setup() {
+		context = new SpringApplicationBuilder(SrpApplication.class)
+			.web(WebApplicationType.NONE)
+			.properties("spring.jmx.enabled=false", "logging.level.root=WARN")
+			.run();
+		context.getBean(AlunoRepository.class).saveAll(BenchmarkData.alunos(rows));
+		alunoService = context.getBean(AlunoService.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<AlunoModel> read() {
+		return alunoService.read();
+	}
+}
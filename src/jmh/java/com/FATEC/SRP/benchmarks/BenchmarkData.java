@@ -0,0 +1,104 @@
+package com.fatec.srp.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fatec.srp.config.PasswordConfig;
+import com.fatec.srp.config.PasswordProperties;
+import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.models.EmpresaModel;
+import com.fatec.srp.models.UsuarioModel;
+import com.fatec.srp.service.SenhaService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Massa de dados usada pelos benchmarks.
+ */
+final class BenchmarkData {
+
+	private static final int EMPRESAS = 20;
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Cria alunos com usuário e empresa preenchidos, compartilhando um conjunto pequeno de empresas
+	 * como ocorre na base real.
+	 */
+	static List<AlunoModel> alunos(int rows) {
+		List<EmpresaModel> empresas = new ArrayList<>(EMPRESAS);
+		for (int i = 0; i < EMPRESAS; i++) {
+			empresas.add(empresa(i));
+		}
+
+		List<AlunoModel> alunos = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			alunos.add(aluno(i, empresas.get(i % EMPRESAS)));
+		}
+		return alunos;
+	}
+
+	static UsuarioModel usuario(String nome, String senha) {
+		UsuarioModel usuario = new UsuarioModel();
+		usuario.setNomeUsuario(nome);
+		usuario.setNomePessoa("Pessoa " + nome);
+		usuario.setSenha(senha);
+		return usuario;
+	}
+
+	/**
+	 * Cria um {@link SenhaService} fora do contexto Spring. {@code algorithm} segue o formato
+	 * {@code algoritmo:custo}, em que o custo é a força do bcrypt ou as iterações do argon2.
+	 */
+	static SenhaService senhaService(String algorithm, int threads) {
+		String[] parts = algorithm.split(":");
+		PasswordProperties properties = new PasswordProperties();
+		properties.setAlgorithm(parts[0]);
+		if ("argon2".equals(parts[0])) {
+			properties.setArgon2Iterations(Integer.parseInt(parts[1]));
+		} else {
+			properties.setBcryptStrength(Integer.parseInt(parts[1]));
+		}
+		properties.setThreads(threads);
+
+		SenhaService senhaService = new SenhaService();
+		ReflectionTestUtils.setField(senhaService, "passwordEncoder", new PasswordConfig().passwordEncoder(properties));
+		ReflectionTestUtils.setField(senhaService, "passwordProperties", properties);
+		ReflectionTestUtils.setField(senhaService, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.invokeMethod(senhaService, "iniciar");
+		return senhaService;
+	}
+
+	private static EmpresaModel empresa(int i) {
+		EmpresaModel empresa = new EmpresaModel();
+		empresa.setRazaoSocial("Empresa " + i + " Ltda");
+		empresa.setNomeFantasia("Empresa " + i);
+		empresa.setCnpj(String.format("%02d.000.000/0001-00", i));
+		empresa.setEndereco("Avenida Industrial, " + i);
+		empresa.setBanco("Banco");
+		empresa.setAgencia("0001");
+		return empresa;
+	}
+
+	private static AlunoModel aluno(int i, EmpresaModel empresa) {
+		AlunoModel aluno = new AlunoModel();
+		aluno.setUsuario(usuario("aluno" + i, ""));
+		aluno.setEmpresa(empresa);
+		aluno.setCandidato(i % 2 == 0);
+		aluno.setEndereco("Rua das Flores, " + i);
+		aluno.setCpf(String.format("%03d.%03d.%03d-00", i / 1_000_000 % 1000, i / 1000 % 1000, i % 1000));
+		aluno.setRg(String.format("%02d.%03d.%03d-0", i / 1_000_000 % 100, i / 1000 % 1000, i % 1000));
+		aluno.setNivelEscolaridade("Ensino Médio");
+		aluno.setCep("13000-000");
+		aluno.setNomePai("Pai do aluno " + i);
+		aluno.setNomeMae("Mãe do aluno " + i);
+		aluno.setPcd(false);
+		aluno.setDescricaoPcd("");
+		aluno.setDtNascimento(LocalDateTime.of(2000, 1, 1, 0, 0).plusDays(i % 3650));
+		return aluno;
+	}
+}
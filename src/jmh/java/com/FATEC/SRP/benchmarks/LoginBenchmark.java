@@ -0,0 +1,102 @@
+package com.fatec.srp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fatec.srp.controller.ResponseBase;
+import com.fatec.srp.controller.UsuarioController;
+import com.fatec.srp.models.UsuarioModel;
+import com.fatec.srp.service.SenhaService;
+import com.fatec.srp.service.UsuarioService;
+
+/**
+ * Verificação de senha de {@link UsuarioController#login(UsuarioModel)}, isolada do banco: o serviço
+ * devolve sempre o mesmo usuário cadastrado, com a senha codificada pelo algoritmo e custo do parâmetro.
+ * O tempo inclui a passagem pelo executor de senhas, dimensionado pela quantidade de processadores;
+ * {@link #loginValidThroughput()} mede quantos logins por segundo a máquina sustenta com todas as threads ocupadas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoginBenchmark {
+
+	private static final String SENHA = "S3nh@-do-usuario";
+
+	@Param({ "bcrypt:10", "bcrypt:12", "argon2:2" })
+	public String algorithm;
+
+	private SenhaService senhaService;
+
+	private UsuarioController controller;
+
+	private UsuarioModel valid;
+
+	private UsuarioModel invalid;
+
+	private UsuarioModel unknown;
+
+	@Setup
+	public void setup() {
+		senhaService = BenchmarkData.senhaService(algorithm, 0);
+		UsuarioModel stored = BenchmarkData.usuario("usuario", senhaService.codificar(SENHA));
+
+		controller = new UsuarioController();
+		ReflectionTestUtils.setField(controller, "senhaService", senhaService);
+		ReflectionTestUtils.setField(controller, "usuarioService", new UsuarioService() {
+			@Override
+			public UsuarioModel readByName(String name) {
+				return "usuario".equals(name) ? stored : null;
+			}
+		});
+
+		valid = BenchmarkData.usuario("usuario", SENHA);
+		invalid = BenchmarkData.usuario("usuario", "S3nh@-incorreta!");
+		unknown = BenchmarkData.usuario("desconhecido", SENHA);
+	}
+
+	@TearDown
+	public void tearDown() {
+		ReflectionTestUtils.invokeMethod(senhaService, "encerrar");
+	}
+
+	@Benchmark
+	public ResponseEntity<ResponseBase<String>> loginValid() {
+		return controller.login(valid).join();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@Threads(Threads.MAX)
+	public ResponseEntity<ResponseBase<String>> loginValidThroughput() {
+		return controller.login(valid).join();
+	}
+
+	@Benchmark
+	public ResponseEntity<ResponseBase<String>> loginInvalid() {
+		return controller.login(invalid).join();
+	}
+
+	@Benchmark
+	public ResponseEntity<ResponseBase<String>> loginUnknownUser() {
+		return controller.login(unknown).join();
+	}
+}
@@ -0,0 +1,119 @@
+package com.fatec.srp.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.controller.ResponseBase;
+import com.fatec.srp.models.AlunoModel;
+
+/**
+ * Serialização da resposta de {@code GET /api/aluno}, com o {@link ObjectMapper} configurado
+ * da mesma forma que o da aplicação, em JSON, Smile e CBOR, com e sem gzip.
+ * <p>
+ * O tempo medido é o custo de CPU da serialização (e da compressão, quando houver). A quantidade de bytes
+ * enviada na rede para cada combinação é impressa no início de cada execução:
+ * </p>
+ * <pre>
+ * mvn -P benchmarks verify -Djmh.include=SerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SerializationBenchmark {
+
+	@Param({ "1000", "10000", "100000" })
+	private int rows;
+
+	@Param({ "json", "smile", "cbor" })
+	private String format;
+
+	@Param({ "none", "gzip" })
+	private String compression;
+
+	private ObjectMapper objectMapper;
+
+	private ResponseBase<List<AlunoModel>> response;
+
+	@Setup
+	public void setup() {
+		objectMapper = Jackson2ObjectMapperBuilder.json()
+			.factory(switch (format) {
+				case "smile" -> new SmileFactory();
+				case "cbor" -> new CBORFactory();
+				default -> null;
+			})
+			.modulesToInstall(new Hibernate6Module())
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+		response = ResponseBase.<List<AlunoModel>>builder()
+			.error(false)
+			.info("OK")
+			.message(BenchmarkData.alunos(rows))
+			.status(AppConstants.OK)
+			.build();
+
+		CountingOutputStream counter = new CountingOutputStream();
+		try {
+			write(counter);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		System.out.printf("%n[bytes] rows=%d format=%s compression=%s: %d bytes%n", rows, format, compression, counter.count);
+	}
+
+	@Benchmark
+	public void writeResponse() throws IOException {
+		write(OutputStream.nullOutputStream());
+	}
+
+	private void write(OutputStream out) throws IOException {
+		if ("gzip".equals(compression)) {
+			try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+				objectMapper.writeValue(gzip, response);
+			}
+		} else {
+			objectMapper.writeValue(out, response);
+		}
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
@@ -7,9 +7,12 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+
 import jakarta.annotation.PostConstruct;
 
 /**
@@ -21,6 +24,8 @@ import jakarta.annotation.PostConstruct;
  * - **Auto-configuration**: Configura automaticamente várias funcionalidades do Spring.
  * - **Enable JPA repositories**: Habilita o uso de repositórios JPA no pacote especificado.
  * - **Entity scanning**: Configura o escaneamento de entidades JPA no pacote.
+ * - **Enable async**: Habilita a execução de métodos {@code @Async} no executor da aplicação, que usa threads
+ *   virtuais quando {@code spring.threads.virtual.enabled} está ativo.
  * 
  * Conceitos OOP utilizados:
  * - **Encapsulamento**: A classe fornece uma interface pública para iniciar a aplicação sem expor detalhes internos de configuração.
@@ -31,6 +36,7 @@ import jakarta.annotation.PostConstruct;
 @EnableJpaRepositories("com.fatec.*")
 @ComponentScan(basePackages = { "com.fatec*" })
 @EntityScan("com.fatec.*")   
+@EnableAsync
 public class SrpApplication {
 
     /**
@@ -85,4 +91,19 @@ public class SrpApplication {
             }
         };
     }
+
+    /**
+     * Módulo Jackson para entidades Hibernate.
+     * 
+     * Registrado automaticamente no {@code ObjectMapper} do Spring, permite serializar associações
+     * carregadas sob demanda (LAZY): proxies já inicializados são serializados normalmente e
+     * associações não carregadas são escritas como {@code null}, em vez de disparar consultas
+     * fora da transação.
+     * 
+     * @return O módulo Jackson para Hibernate 6.
+     */
+    @Bean
+    public Hibernate6Module hibernateModule() {
+        return new Hibernate6Module();
+    }
 }
@@ -0,0 +1,208 @@
+package com.fatec.srp.common;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Limite de requisições simultâneas ajustado pela latência dos repositórios.
+ * 
+ * Cada chamada de repositório informa sua duração. A cada janela de {@code window}, a latência média da janela é
+ * comparada com uma média de longo prazo (a latência "normal" do banco): enquanto a razão fica abaixo de
+ * {@code tolerance}, o limite cresce aos poucos até {@code maxLimit}; quando a latência sobe além da tolerância, o
+ * limite é reduzido na mesma proporção, até {@code minLimit}. As requisições acima do limite são recusadas
+ * imediatamente, em vez de aumentar a fila de espera por conexões de um banco que já está lento.
+ * 
+ * A contagem de requisições em andamento e a troca do limite usam apenas operações atômicas, sem bloqueio.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Polimorfismo**: Implementa {@link RepositoryMethodInvocationListener}, recebendo a duração de cada chamada de
+ *   repositório, e {@link MeterBinder}, publicando o limite e a latência como métricas.
+ * - **Encapsulamento**: O cálculo do limite fica escondido atrás de {@link #tryAcquire()} e {@link #release()}.
+ */
+public class AdaptiveConcurrencyLimit implements RepositoryMethodInvocationListener, MeterBinder {
+
+    /**
+     * Quantidade mínima de amostras em uma janela para que ela altere o limite.
+     */
+    private static final int MIN_SAMPLES = 10;
+
+    /**
+     * Peso de cada janela na média de longo prazo.
+     */
+    private static final double BASELINE_WEIGHT = 0.05;
+
+    /**
+     * Maior redução do limite em uma única janela.
+     */
+    private static final double MAX_DECREASE = 0.5;
+
+    private final LongSupplier clock;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong windowEnd;
+
+    private final LongAdder windowSum = new LongAdder();
+
+    private final LongAdder windowCount = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile int limit;
+
+    private volatile double latencyNanos;
+
+    private volatile double baselineNanos;
+
+    /**
+     * @param minLimit Menor limite possível.
+     * @param maxLimit Maior limite possível, usado também como limite inicial.
+     * @param tolerance Razão entre a latência atual e a de longo prazo a partir da qual o limite é reduzido.
+     * @param window Intervalo entre os ajustes do limite.
+     */
+    public AdaptiveConcurrencyLimit(int minLimit, int maxLimit, double tolerance, Duration window) {
+        this(minLimit, maxLimit, tolerance, window, System::nanoTime);
+    }
+
+    /**
+     * Igual ao construtor público, com o relógio informado; usado pelos testes para controlar o tempo.
+     *
+     * @param clock Relógio em nanossegundos que marca o fim de cada janela.
+     */
+    AdaptiveConcurrencyLimit(int minLimit, int maxLimit, double tolerance, Duration window, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit || tolerance <= 1.0) {
+            throw new IllegalArgumentException("Requer 1 <= minLimit <= maxLimit e tolerance > 1");
+        }
+        this.clock = clock;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = window.toNanos();
+        this.windowEnd = new AtomicLong(clock.getAsLong() + windowNanos);
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Tenta admitir uma requisição dentro do limite atual.
+     * 
+     * @return {@code true} se a requisição foi admitida; nesse caso {@link #release()} deve ser chamado ao final.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga de uma requisição admitida por {@link #tryAcquire()}.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Limite atual de requisições simultâneas.
+     * 
+     * @return Limite calculado na última janela.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        record(invocation.getDuration(TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Registra a duração de uma chamada de repositório e, ao fim da janela, recalcula o limite.
+     * 
+     * @param durationNanos Duração da chamada em nanossegundos.
+     */
+    public void record(long durationNanos) {
+        windowSum.add(durationNanos);
+        windowCount.increment();
+
+        long now = clock.getAsLong();
+        long end = windowEnd.get();
+        if (now - end >= 0 && windowCount.sum() >= MIN_SAMPLES && windowEnd.compareAndSet(end, now + windowNanos)) {
+            long count = windowCount.sumThenReset();
+            long sum = windowSum.sumThenReset();
+            if (count > 0) {
+                update((double) sum / count);
+            }
+        }
+    }
+
+    /**
+     * Executado por uma única thread por janela, a que venceu o compare-and-set de {@code windowEnd}.
+     */
+    private void update(double latency) {
+        double baseline = baselineNanos == 0 ? latency : baselineNanos;
+        double ratio = latency / baseline;
+
+        int current = limit;
+        double next;
+        if (ratio > tolerance) {
+            next = current * Math.max(MAX_DECREASE, tolerance / ratio);
+        } else {
+            next = current + Math.sqrt(current);
+        }
+        limit = (int) Math.max(minLimit, Math.min(maxLimit, Math.round(next)));
+
+        // Uma lentidão persistente acaba virando a nova referência e o limite volta a crescer, evitando que o
+        // serviço fique preso no limite mínimo depois de uma mudança permanente no volume de dados.
+        latencyNanos = latency;
+        baselineNanos = baseline + (latency - baseline) * BASELINE_WEIGHT;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("srp.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+            .description("Limite adaptativo de requisições simultâneas")
+            .register(registry);
+        Gauge.builder("srp.concurrency.in.flight", inFlight, AtomicInteger::get)
+            .description("Requisições admitidas em andamento")
+            .register(registry);
+        Gauge.builder("srp.concurrency.latency", this, limiter -> limiter.latencyNanos / 1_000_000_000.0)
+            .tag("window", "current")
+            .baseUnit("seconds")
+            .description("Latência média dos repositórios usada no ajuste do limite")
+            .register(registry);
+        Gauge.builder("srp.concurrency.latency", this, limiter -> limiter.baselineNanos / 1_000_000_000.0)
+            .tag("window", "baseline")
+            .baseUnit("seconds")
+            .description("Latência média dos repositórios usada no ajuste do limite")
+            .register(registry);
+        FunctionCounter.builder("srp.concurrency.rejected", rejected, LongAdder::sum)
+            .tag("reason", "adaptive")
+            .description("Requisições recusadas pelo limitador de concorrência")
+            .register(registry);
+    }
+}
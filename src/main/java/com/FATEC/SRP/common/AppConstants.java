@@ -26,6 +26,87 @@ public final class AppConstants {
     public static final int OK = 200;
     public static final int UNAUTHORIZED = 401;
 
+    /**
+     * Código de resposta HTTP para requisição inválida (Bad Request).
+     */
+    public static final int BAD_REQUEST = 400;
+
+    /**
+     * Código de resposta HTTP para conflito com o estado atual do recurso (Conflict).
+     */
+    public static final int CONFLICT = 409;
+
+    /**
+     * Código de resposta HTTP para pré-condição não atendida (Precondition Failed), usado quando o {@code If-Match}
+     * não corresponde à versão atual do registro.
+     */
+    public static final int PRECONDITION_FAILED = 412;
+
+    /**
+     * Código de resposta HTTP para erro interno do servidor (Internal Server Error).
+     */
+    public static final int INTERNAL_SERVER_ERROR = 500;
+
+    /**
+     * Código de resposta HTTP para excesso de requisições de um mesmo cliente (Too Many Requests).
+     */
+    public static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Código de resposta HTTP para serviço indisponível, usado quando o servidor recusa requisições por sobrecarga.
+     */
+    public static final int SERVICE_UNAVAILABLE = 503;
+
+    /**
+     * Quantidade máxima de registros retornados em uma página das listagens paginadas.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Quantidade de linhas buscadas do banco a cada ida ao servidor nas exportações em fluxo.
+     * Declarada como texto por ser usada diretamente em {@code @QueryHint}.
+     */
+    public static final String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Intervalo, em linhas, em que o contexto de persistência é limpo durante as exportações em fluxo.
+     */
+    public static final int STREAM_CLEAR_INTERVAL = 500;
+
+    /**
+     * Região do cache de segundo nível que guarda os resultados de {@code findAll()} das entidades de referência
+     * (cargos, classificações, pré-requisitos, trilhas e cursos).
+     */
+    public static final String CACHE_QUERY_REGION = "consultas-referencia";
+
+    /**
+     * Quantidade máxima de itens aceitos em uma única requisição de operação em lote.
+     */
+    public static final int BULK_MAX_ITEMS = 5000;
+
+    /**
+     * Quantidade máxima de IDs por cláusula {@code IN} nas consultas das operações em lote,
+     * mantendo-se abaixo do limite de 2100 parâmetros do SQL Server.
+     */
+    public static final int BULK_LOOKUP_CHUNK = 1000;
+
+    /**
+     * Segundos subtraídos do instante devolvido como próximo {@code since} nas sincronizações incrementais,
+     * cobrindo transações que gravaram suas datas antes da consulta mas só foram confirmadas depois dela.
+     */
+    public static final int CHANGES_OVERLAP_SECONDS = 5;
+
+    /**
+     * Quantidade de registros gravados por transação nas importações de alunos. Deve ser no máximo
+     * {@link #BULK_LOOKUP_CHUNK}, pois as consultas de CNPJs e nomes de usuário de cada bloco usam uma única cláusula {@code IN}.
+     */
+    public static final int IMPORT_CHUNK_SIZE = 500;
+
+    /**
+     * Quantidade máxima de registros recusados listados no progresso de uma importação; os demais são apenas contados.
+     */
+    public static final int IMPORT_MAX_ERRORS = 100;
+
     /**
      * Construtor privado para evitar a criação de instâncias.
      * 
@@ -0,0 +1,218 @@
+package com.fatec.srp.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Árvore de intervalos fechados de dias, para encontrar os intervalos que se sobrepõem a um período informado.
+ * 
+ * É uma árvore AVL ordenada pelo início do intervalo (e pelo ID, para permitir inícios iguais), em que cada nó guarda
+ * também o maior fim da sua subárvore. A consulta descarta as subárvores que terminam antes do período e as que
+ * começam depois dele, custando {@code O(log n + k)} para {@code k} intervalos encontrados; inclusões e exclusões
+ * custam {@code O(log n)}.
+ * 
+ * A classe não é segura para uso concorrente; quem a utiliza deve controlar o acesso.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Os nós, as rotações e o balanceamento ficam escondidos atrás de {@link #inserir}, {@link #remover} e {@link #sobrepostos}.
+ */
+public class ArvoreIntervalos {
+
+    private No raiz;
+
+    /**
+     * Inclui um intervalo. Se já houver um intervalo com o mesmo início e ID, nada é alterado.
+     *
+     * @param inicio Primeiro dia do intervalo.
+     * @param fim Último dia do intervalo.
+     * @param id Identificador do intervalo.
+     */
+    public void inserir(long inicio, long fim, int id) {
+        raiz = inserir(raiz, new No(inicio, fim, id));
+    }
+
+    /**
+     * Remove um intervalo, se existir.
+     *
+     * @param inicio Primeiro dia do intervalo, informado na inclusão.
+     * @param id Identificador do intervalo.
+     */
+    public void remover(long inicio, int id) {
+        raiz = remover(raiz, inicio, id);
+    }
+
+    /**
+     * Busca os intervalos que têm ao menos um dia em comum com o período informado.
+     *
+     * @param inicio Primeiro dia do período.
+     * @param fim Último dia do período.
+     * @return IDs dos intervalos encontrados, em ordem de início.
+     */
+    public List<Integer> sobrepostos(long inicio, long fim) {
+        List<Integer> encontrados = new ArrayList<>();
+        sobrepostos(raiz, inicio, fim, encontrados);
+        return encontrados;
+    }
+
+    /**
+     * @return {@code true} se a árvore não tiver intervalos.
+     */
+    public boolean vazia() {
+        return raiz == null;
+    }
+
+    /**
+     * @return Altura da árvore; usada para conferir o balanceamento.
+     */
+    int altura() {
+        return altura(raiz);
+    }
+
+    private static void sobrepostos(No no, long inicio, long fim, List<Integer> encontrados) {
+        if (no == null || no.maiorFim < inicio) {
+            return;
+        }
+        sobrepostos(no.esquerda, inicio, fim, encontrados);
+        if (no.inicio > fim) {
+            return;
+        }
+        if (no.fim >= inicio) {
+            encontrados.add(no.id);
+        }
+        sobrepostos(no.direita, inicio, fim, encontrados);
+    }
+
+    private static No inserir(No no, No novo) {
+        if (no == null) {
+            return novo;
+        }
+        int comparacao = comparar(novo.inicio, novo.id, no);
+        if (comparacao < 0) {
+            no.esquerda = inserir(no.esquerda, novo);
+        } else if (comparacao > 0) {
+            no.direita = inserir(no.direita, novo);
+        } else {
+            return no;
+        }
+        return balancear(no);
+    }
+
+    private static No remover(No no, long inicio, int id) {
+        if (no == null) {
+            return null;
+        }
+        int comparacao = comparar(inicio, id, no);
+        if (comparacao < 0) {
+            no.esquerda = remover(no.esquerda, inicio, id);
+        } else if (comparacao > 0) {
+            no.direita = remover(no.direita, inicio, id);
+        } else {
+            if (no.esquerda == null) {
+                return no.direita;
+            }
+            if (no.direita == null) {
+                return no.esquerda;
+            }
+            No sucessor = no.direita;
+            while (sucessor.esquerda != null) {
+                sucessor = sucessor.esquerda;
+            }
+            sucessor.direita = removerMenor(no.direita);
+            sucessor.esquerda = no.esquerda;
+            return balancear(sucessor);
+        }
+        return balancear(no);
+    }
+
+    private static No removerMenor(No no) {
+        if (no.esquerda == null) {
+            return no.direita;
+        }
+        no.esquerda = removerMenor(no.esquerda);
+        return balancear(no);
+    }
+
+    private static int comparar(long inicio, int id, No no) {
+        int comparacao = Long.compare(inicio, no.inicio);
+        return comparacao != 0 ? comparacao : Integer.compare(id, no.id);
+    }
+
+    private static No balancear(No no) {
+        atualizar(no);
+        int fator = altura(no.esquerda) - altura(no.direita);
+        if (fator > 1) {
+            if (altura(no.esquerda.esquerda) < altura(no.esquerda.direita)) {
+                no.esquerda = girarEsquerda(no.esquerda);
+            }
+            return girarDireita(no);
+        }
+        if (fator < -1) {
+            if (altura(no.direita.direita) < altura(no.direita.esquerda)) {
+                no.direita = girarDireita(no.direita);
+            }
+            return girarEsquerda(no);
+        }
+        return no;
+    }
+
+    private static No girarDireita(No no) {
+        No esquerda = no.esquerda;
+        no.esquerda = esquerda.direita;
+        esquerda.direita = no;
+        atualizar(no);
+        atualizar(esquerda);
+        return esquerda;
+    }
+
+    private static No girarEsquerda(No no) {
+        No direita = no.direita;
+        no.direita = direita.esquerda;
+        direita.esquerda = no;
+        atualizar(no);
+        atualizar(direita);
+        return direita;
+    }
+
+    private static void atualizar(No no) {
+        no.altura = 1 + Math.max(altura(no.esquerda), altura(no.direita));
+        long maiorFim = no.fim;
+        if (no.esquerda != null) {
+            maiorFim = Math.max(maiorFim, no.esquerda.maiorFim);
+        }
+        if (no.direita != null) {
+            maiorFim = Math.max(maiorFim, no.direita.maiorFim);
+        }
+        no.maiorFim = maiorFim;
+    }
+
+    private static int altura(No no) {
+        return no == null ? 0 : no.altura;
+    }
+
+    /**
+     * Nó da árvore, com a altura e o maior fim da sua subárvore.
+     */
+    private static final class No {
+
+        final long inicio;
+
+        final long fim;
+
+        final int id;
+
+        No esquerda;
+
+        No direita;
+
+        int altura = 1;
+
+        long maiorFim;
+
+        No(long inicio, long fim, int id) {
+            this.inicio = inicio;
+            this.fim = fim;
+            this.id = id;
+            this.maiorFim = fim;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.fatec.srp.common;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Resultado do processamento de um item em uma operação em lote.
+ * 
+ * Cada item enviado na requisição gera um {@code BulkResult} na mesma posição, indicando se foi gravado
+ * e, em caso de falha, o motivo. Segue os mesmos nomes de campos de {@code ResponseBase}.
+ *
+ * Conceitos de OOP:
+ * - **Encapsulamento**: Agrupa o índice, o identificador gerado e a situação de cada item em um único objeto imutável.
+ * - **Builder Pattern**: Instâncias são criadas de forma fluida através do builder gerado pelo Lombok.
+ */
+@Getter
+@Builder
+public class BulkResult {
+
+    /**
+     * Posição do item na lista enviada.
+     */
+    private int index;
+
+    /**
+     * Identificador do registro criado, ou {@code null} em caso de falha.
+     */
+    private Integer id;
+
+    /**
+     * Indica se o item não pôde ser gravado.
+     */
+    private boolean error;
+
+    /**
+     * Mensagem descritiva do resultado.
+     */
+    private String info;
+}
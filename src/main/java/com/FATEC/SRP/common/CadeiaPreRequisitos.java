@@ -0,0 +1,27 @@
+package com.fatec.srp.common;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Cadeia completa de pré-requisitos de um curso, calculada a partir do grafo mantido em memória.
+ * 
+ * {@code cursos} traz todos os cursos exigidos direta ou indiretamente, em ordem topológica (cada curso aparece
+ * depois dos cursos que ele próprio exige), e {@code preRequisitos} traz os pré-requisitos de cada um desses
+ * cursos na mesma ordem, seguidos dos pré-requisitos diretos do curso consultado.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Reúne o curso consultado e as duas listas ordenadas em um único objeto de resposta.
+ */
+@Getter
+@AllArgsConstructor
+public class CadeiaPreRequisitos {
+
+    private final Integer cursoId;
+
+    private final List<Integer> cursos;
+
+    private final List<Integer> preRequisitos;
+}
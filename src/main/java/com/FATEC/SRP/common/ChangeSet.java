@@ -0,0 +1,31 @@
+package com.fatec.srp.common;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Resultado de uma sincronização incremental ({@code GET /api/{entidade}/changes?since=}).
+ * 
+ * Contém os registros incluídos ou alterados após o instante informado, os IDs excluídos nesse intervalo e o
+ * instante que o cliente deve enviar como {@code since} na próxima sincronização. Como esse instante é recuado
+ * alguns segundos, sincronizações consecutivas podem repetir registros; o cliente deve aplicá-los pelo ID.
+ *
+ * @param <T> Tipo do modelo sincronizado.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Generics**: A mesma estrutura é usada por todas as entidades.
+ * - **Builder Pattern**: O objeto é criado de forma fluida pelo builder gerado pelo Lombok.
+ */
+@Getter
+@Builder
+public class ChangeSet<T> {
+
+    private List<T> changed;
+
+    private List<Integer> deleted;
+
+    private LocalDateTime until;
+}
@@ -0,0 +1,15 @@
+package com.fatec.srp.common;
+
+/**
+ * Exceção lançada quando a gravação de um pré-requisito tornaria um curso pré-requisito de si mesmo,
+ * direta ou indiretamente.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Herança**: Estende {@link RuntimeException}, desfazendo a transação em andamento sem exigir declaração nas assinaturas.
+ */
+public class CicloPreRequisitoException extends RuntimeException {
+
+    public CicloPreRequisitoException(Integer cursoId, Integer cursoEquivalenteId) {
+        super("O curso " + cursoEquivalenteId + " já depende do curso " + cursoId + "; o pré-requisito criaria um ciclo");
+    }
+}
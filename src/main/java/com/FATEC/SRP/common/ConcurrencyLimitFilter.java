@@ -0,0 +1,162 @@
+package com.fatec.srp.common;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fatec.srp.controller.ResponseBase;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que limita a quantidade de requisições atendidas ao mesmo tempo.
+ * 
+ * Cada requisição precisa obter uma vaga de um {@link Semaphore} justo (ordem de chegada) antes de seguir para o
+ * controlador. Se nenhuma vaga for liberada dentro do tempo de espera configurado, a requisição é recusada com
+ * HTTP 503 em vez de ficar presa aguardando uma conexão do banco. Em respostas assíncronas (como as exportações
+ * NDJSON), a vaga só é devolvida quando a escrita da resposta termina.
+ * 
+ * Quando um {@link AdaptiveConcurrencyLimit} é informado, ele é consultado antes do semáforo: se a latência dos
+ * repositórios subiu e o limite adaptativo já foi atingido, a requisição é recusada na hora, sem esperar vaga.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Herança**: Estende {@link OncePerRequestFilter}, garantindo uma única execução por requisição.
+ * - **Encapsulamento**: O controle de vagas fica escondido do restante da aplicação.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutNanos;
+
+    private final AdaptiveConcurrencyLimit adaptiveLimit;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param maxConcurrentRequests Quantidade máxima de requisições simultâneas.
+     * @param acquireTimeout Tempo máximo de espera por uma vaga.
+     * @param adaptiveLimit Limite ajustado pela latência dos repositórios, ou {@code null} para não usar.
+     * @param objectMapper Serializador usado na resposta de recusa.
+     */
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout,
+            AdaptiveConcurrencyLimit adaptiveLimit, ObjectMapper objectMapper) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.adaptiveLimit = adaptiveLimit;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (adaptiveLimit != null && !adaptiveLimit.tryAcquire()) {
+            reject(response);
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            if (adaptiveLimit != null) {
+                adaptiveLimit.release();
+            }
+            reject(response);
+            return;
+        }
+
+        boolean releaseOnReturn = true;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseListener());
+                releaseOnReturn = false;
+            }
+        } finally {
+            if (releaseOnReturn) {
+                releasePermit();
+            }
+        }
+    }
+
+    /**
+     * Quantidade de vagas livres no momento.
+     * 
+     * @return Vagas disponíveis no limitador.
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void releasePermit() {
+        permits.release();
+        if (adaptiveLimit != null) {
+            adaptiveLimit.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ResponseBase<Object> body = ResponseBase.builder()
+            .error(true)
+            .info("Servidor sobrecarregado, tente novamente em instantes")
+            .status(AppConstants.SERVICE_UNAVAILABLE)
+            .build();
+
+        response.setStatus(AppConstants.SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Devolve a vaga quando uma resposta assíncrona termina, por sucesso, erro ou tempo esgotado.
+     */
+    private class ReleaseListener implements AsyncListener {
+
+        private boolean released;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private synchronized void release() {
+            if (!released) {
+                released = true;
+                releasePermit();
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.fatec.srp.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.zip.CRC32;
+
+import org.hibernate.Hibernate;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fatec.srp.models.IAuditable;
+
+/**
+ * Avaliação das requisições condicionais ({@code If-None-Match}, {@code If-Modified-Since} e {@code If-Match}) a
+ * partir da versão e das datas de cadastro e alteração das entidades.
+ * 
+ * A ETag de uma entidade é formada pelo ID e pela versão ({@code W/"<id>-<versao>"}) e, quando a resposta também
+ * serializa entidades associadas ({@link IAuditable#associacoes()}), por um resumo das versões delas
+ * ({@code W/"<id>-<versao>-<resumo>"}); o {@code Last-Modified} é a data mais recente entre a entidade e as
+ * associações. Apenas as associações já carregadas entram no cálculo, pois as demais não são serializadas. Nas
+ * listagens, a {@link ListVersion} já inclui a maior data de alteração das associações. Nas leituras, os métodos
+ * {@code notModified} delegam para {@link WebRequest#checkNotModified(String, long)}, que grava os cabeçalhos {@code ETag}
+ * e {@code Last-Modified} na resposta e, quando o cliente já possui a versão atual, responde {@code 304 Not Modified};
+ * nesse caso o controlador deve retornar {@code null} sem montar o corpo. As ETags são fracas ({@code W/}), pois
+ * a mesma versão pode ser enviada em formatos diferentes. Nas alterações, {@link #expectedVersion(String, String)}
+ * extrai do {@code If-Match} a versão que o cliente espera alterar, conferida pelo serviço antes de gravar.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Abstração**: Os controladores apenas informam a entidade ou a versão da listagem, sem conhecer os cabeçalhos HTTP.
+ * - **Reutilização**: A mesma regra é aplicada por todos os controladores.
+ */
+public final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Verifica se o cliente já possui a versão atual de uma entidade.
+     * 
+     * @param request Requisição atual.
+     * @param entity Entidade recuperada.
+     * @return {@code true} se a resposta 304 já foi preparada.
+     */
+    public static boolean notModified(WebRequest request, IAuditable entity) {
+        return request.checkNotModified(etag(entity), millis(lastModified(entity)));
+    }
+
+    /**
+     * Monta a ETag de uma entidade a partir do ID, da versão e das versões das associações carregadas.
+     * 
+     * @param entity Entidade recuperada ou gravada.
+     * @return ETag fraca no formato {@code W/"<id>-<versao>"}, ou {@code W/"<id>-<versao>-<resumo>"} se houver
+     *         associações carregadas.
+     */
+    public static String etag(IAuditable entity) {
+        CRC32 resumo = new CRC32();
+        boolean associacoes = resumirAssociacoes(entity, resumo);
+        return "W/\"" + entity.getId() + "-" + entity.getVersao()
+            + (associacoes ? "-" + Long.toHexString(resumo.getValue()) : "") + "\"";
+    }
+
+    /**
+     * Extrai do cabeçalho {@code If-Match} a versão esperada de uma entidade.
+     * 
+     * Aceita uma ETag gerada por {@link #etag(IAuditable)}, fraca ou forte. Só a versão da própria entidade é
+     * conferida; o resumo das associações é ignorado, pois a alteração não as grava. Uma ETag de outro registro ou em
+     * formato desconhecido resulta em uma versão que nunca corresponde à atual, de modo que a alteração é recusada.
+     * 
+     * @param ifMatch Valor do cabeçalho {@code If-Match}, ou {@code null} se ausente.
+     * @param id ID do registro sendo alterado.
+     * @return Versão esperada, ou {@code null} se o cabeçalho estiver ausente ou for {@code *}.
+     */
+    public static Long expectedVersion(String ifMatch, String id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.strip();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        String prefix = "\"" + id + "-";
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            String version = tag.substring(prefix.length(), tag.length() - 1);
+            int resumo = version.indexOf('-');
+            try {
+                return Long.valueOf(resumo < 0 ? version : version.substring(0, resumo));
+            } catch (NumberFormatException e) {
+                // formato desconhecido
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * Verifica se o cliente já possui a versão atual de uma listagem completa.
+     * 
+     * @param request Requisição atual.
+     * @param version Versão da listagem calculada no banco.
+     * @return {@code true} se a resposta 304 já foi preparada.
+     */
+    public static boolean notModified(WebRequest request, ListVersion version) {
+        LocalDateTime modified = latest(latest(version.getLastCadastro(), version.getLastAlteracao()),
+            version.getLastAssociacao());
+        String etag = "W/\"" + version.getCount() + "-" + millis(version.getLastCadastro()) + "-"
+            + millis(version.getLastAlteracao()) + "-" + millis(version.getLastAssociacao()) + "\"";
+        return request.checkNotModified(etag, millis(modified));
+    }
+
+    private static LocalDateTime lastModified(IAuditable entity) {
+        LocalDateTime modified = latest(entity.getDtCadastro(), entity.getDtAlteracao());
+        for (IAuditable associacao : entity.associacoes()) {
+            if (associacao != null && Hibernate.isInitialized(associacao)) {
+                modified = latest(modified, lastModified(associacao));
+            }
+        }
+        return modified;
+    }
+
+    /**
+     * Acumula o tipo, o ID e a versão de cada associação carregada, percorrendo também as associações delas.
+     * 
+     * @return {@code true} se alguma associação foi acumulada.
+     */
+    private static boolean resumirAssociacoes(IAuditable entity, CRC32 resumo) {
+        boolean algum = false;
+        for (IAuditable associacao : entity.associacoes()) {
+            if (associacao != null && Hibernate.isInitialized(associacao)) {
+                String parte = Hibernate.getClass(associacao).getSimpleName() + ":" + associacao.getId() + ":"
+                    + associacao.getVersao() + ";";
+                resumo.update(parte.getBytes(StandardCharsets.UTF_8));
+                resumirAssociacoes(associacao, resumo);
+                algum = true;
+            }
+        }
+        return algum;
+    }
+
+    private static LocalDateTime latest(LocalDateTime cadastro, LocalDateTime alteracao) {
+        if (cadastro == null) {
+            return alteracao;
+        }
+        return alteracao != null && alteracao.isAfter(cadastro) ? alteracao : cadastro;
+    }
+
+    private static long millis(LocalDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
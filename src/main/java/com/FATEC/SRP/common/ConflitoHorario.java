@@ -0,0 +1,34 @@
+package com.fatec.srp.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Par de turmas do mesmo período e com datas sobrepostas vinculadas a um mesmo aluno ou funcionário.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Os campos são definidos na construção e expostos apenas para leitura.
+ */
+@Getter
+@AllArgsConstructor
+public class ConflitoHorario {
+
+    /**
+     * {@code "aluno"} ou {@code "funcionario"}.
+     */
+    private final String tipo;
+
+    /**
+     * ID do aluno ou do funcionário.
+     */
+    private final Integer pessoaId;
+
+    private final String periodo;
+
+    /**
+     * A menor das duas turmas em conflito.
+     */
+    private final Integer turmaId;
+
+    private final Integer turmaConflitanteId;
+}
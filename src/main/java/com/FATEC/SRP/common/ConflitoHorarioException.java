@@ -0,0 +1,17 @@
+package com.fatec.srp.common;
+
+import java.util.List;
+
+/**
+ * Exceção lançada quando um aluno ou funcionário seria vinculado a uma turma do mesmo período e com datas sobrepostas
+ * às de outra turma a que já está vinculado.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Herança**: Estende {@link RuntimeException}, desfazendo a transação em andamento sem exigir declaração nas assinaturas.
+ */
+public class ConflitoHorarioException extends RuntimeException {
+
+    public ConflitoHorarioException(Integer turmaId, List<Integer> turmasConflitantes) {
+        super("A turma " + turmaId + " tem horário em conflito com as turmas " + turmasConflitantes);
+    }
+}
@@ -0,0 +1,161 @@
+package com.fatec.srp.common;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+/**
+ * Componente que atende o parâmetro {@code fields} das listagens, selecionando do banco apenas as colunas pedidas.
+ * 
+ * Os campos são informados separados por vírgula, com o nome do atributo da entidade ({@code nomeCurso}) ou, para
+ * associações de um único registro, com o nome da associação e o atributo da entidade associada
+ * ({@code usuario.nomeUsuario}). A lista é validada contra o metamodelo JPA e convertida em uma consulta Criteria
+ * de tuplas, com {@code LEFT JOIN} apenas nas associações usadas: nenhuma entidade é materializada e o SQL traz só
+ * as colunas pedidas. O ID é sempre incluído, pois é o cursor da paginação.
+ * 
+ * Coleções, atributos marcados com {@link JsonIgnore} e a senha dos usuários não podem ser pedidos.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Reutilização**: Um único componente atende as listagens de todas as entidades.
+ * - **Generics**: O método {@link #query(Class, String, Integer, Integer)} funciona com qualquer entidade mapeada.
+ */
+@Component
+public class FieldProjection {
+
+    /**
+     * Atributos que nunca são devolvidos, mesmo quando pedidos.
+     */
+    private static final Set<String> PROTECTED = Set.of("senha");
+
+    /**
+     * Quantidade máxima de campos por consulta.
+     */
+    private static final int MAX_FIELDS = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Consulta os campos pedidos da entidade, ordenados pelo ID.
+     * 
+     * @param <T> Tipo da entidade consultada.
+     * @param entityClass Classe da entidade.
+     * @param fields Campos separados por vírgula, por exemplo {@code "nomeCurso,cargaHoraria"}.
+     * @param cursor ID do último registro da página anterior, ou {@code null} para começar do início.
+     * @param size Quantidade máxima de registros, ou {@code null} para todos.
+     * @return Um mapa por registro, com os campos na ordem pedida e as associações como mapas aninhados.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser consultado.
+     */
+    public <T> List<Map<String, Object>> query(Class<T> entityClass, String fields, Integer cursor, Integer size) {
+        EntityType<T> entity = entityManager.getMetamodel().entity(entityClass);
+        String idName = entity.getId(entity.getIdType().getJavaType()).getName();
+        List<String[]> paths = parse(entity, idName, fields);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<T> root = criteria.from(entityClass);
+
+        Map<String, From<T, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (String[] path : paths) {
+            From<T, ?> from = path.length == 1 ? root : joins.computeIfAbsent(path[0], name -> root.join(name, JoinType.LEFT));
+            selections.add(from.get(path[path.length - 1]));
+        }
+
+        criteria.multiselect(selections);
+        if (cursor != null) {
+            criteria.where(cb.greaterThan(root.get(idName), cursor));
+        }
+        criteria.orderBy(cb.asc(root.get(idName)));
+
+        TypedQuery<Tuple> query = entityManager.createQuery(criteria);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (size != null) {
+            query.setMaxResults(size);
+        }
+
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < paths.size(); i++) {
+                String[] path = paths.get(i);
+                if (path.length == 1) {
+                    row.put(path[0], tuple.get(i));
+                } else {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> nested = (Map<String, Object>) row.computeIfAbsent(path[0], name -> new LinkedHashMap<>());
+                    nested.put(path[1], tuple.get(i));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<String[]> parse(EntityType<?> entity, String idName, String fields) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add(idName);
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.strip());
+            }
+        }
+        if (names.size() > MAX_FIELDS) {
+            throw new IllegalArgumentException("Quantidade máxima de campos: " + MAX_FIELDS);
+        }
+
+        List<String[]> paths = new ArrayList<>(names.size());
+        for (String name : names) {
+            String[] path = name.split("\\.");
+            if (path.length == 1 && isSelectable(attribute(entity, path[0], name))) {
+                paths.add(path);
+            } else if (path.length == 2 && attribute(entity, path[0], name) instanceof SingularAttribute<?, ?> association
+                    && association.isAssociation() && association.getType() instanceof EntityType<?> target
+                    && isSelectable(attribute(target, path[1], name))) {
+                paths.add(path);
+            } else {
+                throw new IllegalArgumentException("Campo não pode ser consultado: " + name);
+            }
+        }
+        return paths;
+    }
+
+    private static Attribute<?, ?> attribute(EntityType<?> entity, String attributeName, String field) {
+        try {
+            return entity.getAttribute(attributeName);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Campo inexistente: " + field);
+        }
+    }
+
+    private static boolean isSelectable(Attribute<?, ?> attribute) {
+        return attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC
+            && !PROTECTED.contains(attribute.getName())
+            && !(attribute.getJavaMember() instanceof Field field && field.isAnnotationPresent(JsonIgnore.class));
+    }
+}
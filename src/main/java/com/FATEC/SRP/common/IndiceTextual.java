@@ -0,0 +1,286 @@
+package com.fatec.srp.common;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória com ranqueamento BM25, para busca textual em português.
+ * 
+ * Os textos são normalizados sem acentos e em minúsculas, divididos em palavras e as palavras vazias mais comuns
+ * do português ("de", "para", "com"...) são descartadas. Cada documento é formado por campos com pesos diferentes:
+ * uma palavra em um campo de peso 3 conta como três ocorrências, o que dá ao nome de um curso mais relevância que
+ * à sua descrição. Na consulta, cada palavra com dois ou mais caracteres também encontra as palavras do índice que
+ * começam por ela, com pontuação reduzida; todas as palavras da consulta precisam ser encontradas no documento.
+ * 
+ * O dicionário é um {@link TreeMap}, o que permite percorrer os termos com um prefixo sem varrer o índice todo.
+ * Leituras simultâneas compartilham um bloqueio de leitura; as alterações, raras, usam o bloqueio de escrita.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: As listas invertidas e as estatísticas do BM25 ficam escondidas atrás de {@link #indexar}, {@link #remover} e {@link #buscar}.
+ */
+public class IndiceTextual {
+
+    /**
+     * Parâmetro de saturação da frequência do termo no BM25.
+     */
+    private static final double K1 = 1.2;
+
+    /**
+     * Parâmetro de normalização pelo tamanho do documento no BM25.
+     */
+    private static final double B = 0.75;
+
+    /**
+     * Peso de um termo encontrado apenas por prefixo, em relação ao termo exato.
+     */
+    private static final double PESO_PREFIXO = 0.7;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+        "a", "ao", "aos", "as", "com", "como", "da", "das", "de", "do", "dos", "e", "em", "entre", "na", "nas",
+        "no", "nos", "o", "os", "ou", "para", "pela", "pelas", "pelo", "pelos", "por", "que", "se", "sem", "sob",
+        "sobre", "um", "uma", "umas", "uns");
+
+    /**
+     * Campo de um documento e seu peso.
+     *
+     * @param texto Texto do campo; {@code null} é ignorado.
+     * @param peso Quantas ocorrências cada palavra do campo representa.
+     */
+    public record Campo(String texto, int peso) {
+    }
+
+    /**
+     * Documento encontrado e sua pontuação.
+     *
+     * @param id ID do documento.
+     * @param pontuacao Pontuação BM25 somada das palavras da consulta.
+     */
+    public record Resultado(Integer id, double pontuacao) {
+    }
+
+    private record Documento(int tamanho, Set<String> termos) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Lista invertida de cada termo: {@code termo -> (id do documento -> frequência ponderada)}.
+     */
+    private final TreeMap<String, Map<Integer, Integer>> listas = new TreeMap<>();
+
+    private final Map<Integer, Documento> documentos = new HashMap<>();
+
+    private long tamanhoTotal;
+
+    /**
+     * Normaliza e divide um texto em palavras, descartando as palavras vazias.
+     *
+     * @param texto Texto livre.
+     * @return Palavras sem acentos e em minúsculas, na ordem em que aparecem.
+     */
+    public static List<String> tokens(String texto) {
+        List<String> tokens = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return tokens;
+        }
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : SEPARADORES.split(normalizado.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !PALAVRAS_VAZIAS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Inclui ou substitui um documento no índice.
+     *
+     * @param id ID do documento.
+     * @param campos Campos do documento com seus pesos.
+     */
+    public void indexar(Integer id, List<Campo> campos) {
+        Map<String, Integer> frequencias = new HashMap<>();
+        int tamanho = 0;
+        for (Campo campo : campos) {
+            for (String token : tokens(campo.texto())) {
+                frequencias.merge(token, campo.peso(), Integer::sum);
+                tamanho += campo.peso();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removerDocumento(id);
+            frequencias.forEach((termo, frequencia) -> listas.computeIfAbsent(termo, t -> new HashMap<>()).put(id, frequencia));
+            documentos.put(id, new Documento(tamanho, frequencias.keySet()));
+            tamanhoTotal += tamanho;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um documento do índice.
+     *
+     * @param id ID do documento.
+     */
+    public void remover(Integer id) {
+        lock.writeLock().lock();
+        try {
+            removerDocumento(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove todos os documentos do índice.
+     */
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            listas.clear();
+            documentos.clear();
+            tamanhoTotal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os documentos que contêm todas as palavras da consulta, exatas ou por prefixo.
+     *
+     * @param consulta Texto da consulta.
+     * @param limite Quantidade máxima de resultados.
+     * @return Resultados em ordem decrescente de pontuação.
+     */
+    public List<Resultado> buscar(String consulta, int limite) {
+        Set<String> termos = new LinkedHashSet<>(tokens(consulta));
+        if (termos.isEmpty() || limite < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Sem nenhuma palavra indexada não há o que encontrar, e o tamanho médio usado em pontuar seria zero.
+            if (tamanhoTotal == 0) {
+                return List.of();
+            }
+            double tamanhoMedio = (double) tamanhoTotal / documentos.size();
+
+            Map<Integer, Double> pontuacoes = null;
+            for (String termo : termos) {
+                Map<Integer, Double> doTermo = pontuar(termo, tamanhoMedio);
+                if (pontuacoes == null) {
+                    pontuacoes = doTermo;
+                } else {
+                    Iterator<Map.Entry<Integer, Double>> it = pontuacoes.entrySet().iterator();
+                    while (it.hasNext()) {
+                        Map.Entry<Integer, Double> entrada = it.next();
+                        Double pontuacao = doTermo.get(entrada.getKey());
+                        if (pontuacao == null) {
+                            it.remove();
+                        } else {
+                            entrada.setValue(entrada.getValue() + pontuacao);
+                        }
+                    }
+                }
+                if (pontuacoes.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return melhores(pontuacoes, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pontua os documentos para uma palavra da consulta. Quando a palavra encontra o mesmo documento por mais de um
+     * termo (por exemplo, "program" em "programacao" e "programas"), vale a maior pontuação.
+     */
+    private Map<Integer, Double> pontuar(String termo, double tamanhoMedio) {
+        Map<String, Map<Integer, Integer>> candidatos = termo.length() < 2
+            ? (listas.containsKey(termo) ? Map.of(termo, listas.get(termo)) : Map.of())
+            : listas.subMap(termo, true, termo + Character.MAX_VALUE, true);
+
+        Map<Integer, Double> pontuacoes = new HashMap<>();
+        int total = documentos.size();
+        for (Map.Entry<String, Map<Integer, Integer>> lista : candidatos.entrySet()) {
+            int df = lista.getValue().size();
+            double idf = Math.log(1 + (total - df + 0.5) / (df + 0.5));
+            double peso = lista.getKey().equals(termo) ? 1.0 : PESO_PREFIXO;
+
+            for (Map.Entry<Integer, Integer> posting : lista.getValue().entrySet()) {
+                double tf = posting.getValue();
+                double normalizacao = 1 - B + B * documentos.get(posting.getKey()).tamanho() / tamanhoMedio;
+                double pontuacao = peso * idf * tf * (K1 + 1) / (tf + K1 * normalizacao);
+                pontuacoes.merge(posting.getKey(), pontuacao, Math::max);
+            }
+        }
+        return pontuacoes;
+    }
+
+    private static List<Resultado> melhores(Map<Integer, Double> pontuacoes, int limite) {
+        Comparator<Resultado> ordem = Comparator.comparingDouble(Resultado::pontuacao)
+            .thenComparing(Resultado::id, Comparator.reverseOrder());
+        PriorityQueue<Resultado> fila = new PriorityQueue<>(ordem);
+        for (Map.Entry<Integer, Double> entrada : pontuacoes.entrySet()) {
+            fila.add(new Resultado(entrada.getKey(), entrada.getValue()));
+            if (fila.size() > limite) {
+                fila.poll();
+            }
+        }
+
+        List<Resultado> resultados = new ArrayList<>(fila);
+        resultados.sort(ordem.reversed());
+        return resultados;
+    }
+
+    private void removerDocumento(Integer id) {
+        Documento documento = documentos.remove(id);
+        if (documento == null) {
+            return;
+        }
+        tamanhoTotal -= documento.tamanho();
+        for (String termo : documento.termos()) {
+            Map<Integer, Integer> lista = listas.get(termo);
+            lista.remove(id);
+            if (lista.isEmpty()) {
+                listas.remove(termo);
+            }
+        }
+    }
+
+    /**
+     * Quantidade de documentos indexados.
+     *
+     * @return Total de documentos.
+     */
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.fatec.srp.common;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+
+/**
+ * Versão de uma listagem completa, calculada no banco com {@code COUNT(*)}, {@code MAX(dt_cadastro)} e
+ * {@code MAX(dt_alteracao)} sem carregar os registros.
+ * 
+ * Inclusões alteram a contagem e a maior data de cadastro, alterações mudam a maior data de alteração e exclusões
+ * reduzem a contagem; qualquer mudança na tabela produz, portanto, uma versão diferente. Como a listagem também
+ * serializa as entidades associadas (o usuário e a empresa de um aluno, a turma e o curso de uma matrícula), a
+ * consulta informa ainda a maior data de alteração de cada associação, obtida por junção com a tabela principal,
+ * e a mais recente delas compõe {@link #getLastAssociacao()}.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Reúne os valores agregados e a forma de convertê-los em validadores HTTP.
+ */
+@Getter
+public class ListVersion {
+
+    private final Long count;
+
+    private final LocalDateTime lastCadastro;
+
+    private final LocalDateTime lastAlteracao;
+
+    private final LocalDateTime lastAssociacao;
+
+    public ListVersion(Long count, LocalDateTime lastCadastro, LocalDateTime lastAlteracao) {
+        this(count, lastCadastro, lastAlteracao, new LocalDateTime[0]);
+    }
+
+    /*
+     * As consultas JPQL ({@code select new}) não aceitam construtores com parâmetros variáveis, por isso há uma
+     * sobrecarga para cada quantidade de associações usada pelos repositórios.
+     */
+
+    public ListVersion(Long count, LocalDateTime lastCadastro, LocalDateTime lastAlteracao, LocalDateTime a1) {
+        this(count, lastCadastro, lastAlteracao, new LocalDateTime[] { a1 });
+    }
+
+    public ListVersion(Long count, LocalDateTime lastCadastro, LocalDateTime lastAlteracao, LocalDateTime a1,
+            LocalDateTime a2) {
+        this(count, lastCadastro, lastAlteracao, new LocalDateTime[] { a1, a2 });
+    }
+
+    public ListVersion(Long count, LocalDateTime lastCadastro, LocalDateTime lastAlteracao, LocalDateTime a1,
+            LocalDateTime a2, LocalDateTime a3) {
+        this(count, lastCadastro, lastAlteracao, new LocalDateTime[] { a1, a2, a3 });
+    }
+
+    public ListVersion(Long count, LocalDateTime lastCadastro, LocalDateTime lastAlteracao, LocalDateTime a1,
+            LocalDateTime a2, LocalDateTime a3, LocalDateTime a4, LocalDateTime a5) {
+        this(count, lastCadastro, lastAlteracao, new LocalDateTime[] { a1, a2, a3, a4, a5 });
+    }
+
+    /**
+     * @param count Quantidade de registros da tabela.
+     * @param lastCadastro Maior data de cadastro.
+     * @param lastAlteracao Maior data de alteração.
+     * @param associacoes Maior data de alteração de cada associação serializada na listagem.
+     */
+    private ListVersion(Long count, LocalDateTime lastCadastro, LocalDateTime lastAlteracao, LocalDateTime[] associacoes) {
+        this.count = count;
+        this.lastCadastro = lastCadastro;
+        this.lastAlteracao = lastAlteracao;
+        LocalDateTime maior = null;
+        for (LocalDateTime data : associacoes) {
+            if (data != null && (maior == null || data.isAfter(maior))) {
+                maior = data;
+            }
+        }
+        this.lastAssociacao = maior;
+    }
+}
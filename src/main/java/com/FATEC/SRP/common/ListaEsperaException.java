@@ -0,0 +1,15 @@
+package com.fatec.srp.common;
+
+/**
+ * Exceção lançada quando uma matrícula direta é recusada porque a turma tem alunos na lista de espera: as vagas que
+ * surgirem pertencem a eles, na ordem de chegada.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Herança**: Estende {@link RuntimeException}, desfazendo a transação em andamento sem exigir declaração nas assinaturas.
+ */
+public class ListaEsperaException extends RuntimeException {
+
+    public ListaEsperaException(Integer turmaId, long aguardando) {
+        super("A turma " + turmaId + " tem " + aguardando + " alunos na lista de espera; entre na fila para aguardar a vaga");
+    }
+}
@@ -0,0 +1,79 @@
+package com.fatec.srp.common;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Componente responsável por exportar coleções de entidades no formato NDJSON (um objeto JSON por linha).
+ * 
+ * Os registros são lidos de um {@link Stream} aberto dentro de uma transação somente leitura e escritos
+ * diretamente na resposta HTTP, sem montar a lista completa em memória. A cada
+ * {@link AppConstants#STREAM_CLEAR_INTERVAL} linhas o contexto de persistência é limpo, liberando as
+ * entidades já enviadas, e a saída é descarregada para o cliente.
+ *
+ * Conceitos OOP utilizados:
+ * - **Reutilização**: Um único componente atende a exportação de todas as entidades, recebendo a fonte de dados como parâmetro.
+ * - **Generics**: O método {@link #export(Supplier)} funciona com qualquer tipo de entidade.
+ */
+@Component
+public class NdjsonExporter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Cria o corpo da resposta que transmite os registros fornecidos pela fonte informada.
+     * 
+     * @param <T> Tipo da entidade exportada.
+     * @param source Fornecedor do {@link Stream} de registros, chamado já dentro da transação.
+     * @return Corpo de resposta que escreve uma linha JSON por registro.
+     */
+    public <T> StreamingResponseBody export(Supplier<Stream<T>> source) {
+        return out -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> write(source, out));
+        };
+    }
+
+    private <T> void write(Supplier<Stream<T>> source, OutputStream out) {
+        try (Stream<T> rows = source.get()) {
+            Iterator<T> iterator = rows.iterator();
+            int count = 0;
+
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+
+                if (++count % AppConstants.STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
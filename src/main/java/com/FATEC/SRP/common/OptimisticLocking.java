@@ -0,0 +1,38 @@
+package com.fatec.srp.common;
+
+import org.hibernate.Hibernate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import com.fatec.srp.models.IAuditable;
+
+/**
+ * Conferência da versão esperada pelo cliente antes de alterar uma entidade.
+ * 
+ * A versão ({@code @Version}) das entidades já protege as gravações concorrentes: o {@code UPDATE} inclui a versão
+ * lida na cláusula {@code WHERE} e falha se outra transação tiver alterado o registro nesse intervalo. Esta classe
+ * cobre o intervalo maior, entre a leitura feita pelo cliente e o envio da alteração, comparando a versão informada
+ * no {@code If-Match} com a versão atual. Nos dois casos é lançada uma {@link ObjectOptimisticLockingFailureException},
+ * respondida com {@code 409 Conflict} (ou {@code 412 Precondition Failed} quando houver {@code If-Match}) por
+ * {@link OptimisticLockingHandler}.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Reutilização**: Todos os serviços fazem a mesma conferência por meio da interface {@link IAuditable}.
+ */
+public final class OptimisticLocking {
+
+    private OptimisticLocking() {
+    }
+
+    /**
+     * Confere se a entidade ainda está na versão esperada pelo cliente.
+     * 
+     * @param entity Entidade lida para alteração.
+     * @param expectedVersion Versão esperada, ou {@code null} para não conferir.
+     * @throws ObjectOptimisticLockingFailureException se a versão atual for diferente da esperada.
+     */
+    public static void verify(IAuditable entity, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != entity.getVersao()) {
+            throw new ObjectOptimisticLockingFailureException(Hibernate.getClass(entity), entity.getId());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.fatec.srp.common;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fatec.srp.controller.ResponseBase;
+
+import jakarta.persistence.OptimisticLockException;
+
+/**
+ * Converte as falhas de concorrência otimista em respostas HTTP.
+ * 
+ * A falha pode surgir na conferência do {@code If-Match} ({@link OptimisticLocking}) ou na gravação, quando outra
+ * transação alterou o registro depois da leitura; neste caso a exceção só aparece na confirmação da transação,
+ * fora do corpo dos métodos dos controladores, por isso o tratamento é feito de forma centralizada.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Reutilização**: Um único tratamento atende as alterações de todos os controladores.
+ */
+@RestControllerAdvice
+public class OptimisticLockingHandler {
+
+    /**
+     * Responde {@code 412 Precondition Failed} quando a requisição informou {@code If-Match}, e {@code 409 Conflict}
+     * nos demais casos. O cliente deve ler o registro novamente e reenviar a alteração.
+     */
+    @ExceptionHandler({ OptimisticLockingFailureException.class, OptimisticLockException.class })
+    public ResponseEntity<ResponseBase<Object>> handle(RuntimeException ex, WebRequest request) {
+        int status = request.getHeader(HttpHeaders.IF_MATCH) != null ? AppConstants.PRECONDITION_FAILED : AppConstants.CONFLICT;
+
+        ResponseBase<Object> conflict = ResponseBase.<Object>builder()
+            .error(true)
+            .info("O registro foi alterado por outra requisição; leia a versão atual e tente novamente")
+            .status(status)
+            .build();
+        return ResponseEntity.status(status).body(conflict);
+    }
+}
@@ -0,0 +1,78 @@
+package com.fatec.srp.common;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.models.TurmaModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Dados da página de um aluno reunidos em uma única resposta: o aluno, as suas matrículas com a turma e o curso de
+ * cada uma e o progresso nas trilhas que contêm os cursos em que está matriculado.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Os campos são definidos na construção e expostos apenas para leitura.
+ * - **Composição**: As matrículas e o progresso nas trilhas são representados por {@link Matricula} e {@link ProgressoTrilha} aninhados.
+ */
+@Getter
+@AllArgsConstructor
+public class PainelAluno {
+
+    private final AlunoModel aluno;
+
+    private final List<Matricula> matriculas;
+
+    private final List<ProgressoTrilha> trilhas;
+
+    private final int totalTurmas;
+
+    private final int turmasConcluidas;
+
+    /**
+     * Matrícula do aluno, com a turma e o curso da turma.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Matricula {
+
+        private final Integer alunoTurmaId;
+
+        private final boolean concluido;
+
+        private final LocalDateTime dtCadastro;
+
+        private final TurmaModel turma;
+    }
+
+    /**
+     * Progresso do aluno em uma trilha, contado por cursos distintos.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ProgressoTrilha {
+
+        private final Integer trilhaId;
+
+        private final String nomeTrilha;
+
+        private final int totalCursos;
+
+        /**
+         * Cursos da trilha com alguma matrícula concluída do aluno.
+         */
+        private final int cursosConcluidos;
+
+        /**
+         * Cursos da trilha em que o aluno está matriculado e ainda não concluiu.
+         */
+        private final int cursosEmAndamento;
+
+        /**
+         * Percentual de cursos concluídos, arredondado para baixo.
+         */
+        private final int percentualConcluido;
+    }
+}
@@ -0,0 +1,102 @@
+package com.fatec.srp.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+/**
+ * Componente que aplica as alterações parciais ({@code PATCH}) recebidas em JSON sobre uma entidade gerenciada.
+ * 
+ * Apenas os campos presentes no corpo são alterados; como as entidades são mapeadas com {@code @DynamicUpdate},
+ * o {@code UPDATE} gerado também inclui apenas as colunas que mudaram. São aceitos somente atributos simples da
+ * própria entidade: o ID, a versão, as datas de cadastro e alteração, a senha, os atributos marcados com
+ * {@link JsonIgnore} e as associações devem ser alterados pelos métodos próprios ({@code PUT}), e as colunas
+ * mapeadas com {@code @Column(updatable = false)} não são alteradas por nenhum deles.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Reutilização**: Um único componente atende as alterações parciais de todas as entidades.
+ * - **Encapsulamento**: A validação contra o metamodelo JPA e a conversão dos valores ficam escondidas atrás de {@link #apply}.
+ */
+@Component
+public class PartialUpdate {
+
+    /**
+     * Atributos mantidos pelo sistema ou que exigem tratamento próprio, nunca alterados por {@code PATCH}.
+     */
+    private static final Set<String> PROTECTED = Set.of("dtCadastro", "dtAlteracao", "senha");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Aplica os campos informados sobre a entidade.
+     * 
+     * @param <T> Tipo da entidade.
+     * @param entity Entidade gerenciada, lida na transação atual.
+     * @param changes Objeto JSON com os campos a alterar.
+     * @return A própria entidade, já alterada.
+     * @throws IllegalArgumentException se o corpo não for um objeto, se algum campo não puder ser alterado ou se
+     * algum valor for incompatível com o tipo do atributo.
+     */
+    public <T> T apply(T entity, JsonNode changes) {
+        if (changes == null || !changes.isObject()) {
+            throw new IllegalArgumentException("O corpo deve ser um objeto JSON com os campos a alterar");
+        }
+
+        EntityType<?> type = entityManager.getMetamodel().entity(Hibernate.getClass(entity));
+        for (Iterator<String> names = changes.fieldNames(); names.hasNext();) {
+            String name = names.next();
+            Attribute<?, ?> attribute;
+            try {
+                attribute = type.getAttribute(name);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Campo inexistente: " + name);
+            }
+            if (!isUpdatable(attribute)) {
+                throw new IllegalArgumentException("Campo não pode ser alterado: " + name);
+            }
+        }
+
+        try {
+            return objectMapper.readerForUpdating(entity).readValue(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Valor inválido: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isUpdatable(Attribute<?, ?> attribute) {
+        return attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC
+            && !(attribute instanceof SingularAttribute<?, ?> singular && (singular.isId() || singular.isVersion()))
+            && !PROTECTED.contains(attribute.getName())
+            && !(attribute.getJavaMember() instanceof Field field
+                && (field.isAnnotationPresent(JsonIgnore.class) || isReadOnlyColumn(field)));
+    }
+
+    private static boolean isReadOnlyColumn(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        return column != null && !column.updatable();
+    }
+}
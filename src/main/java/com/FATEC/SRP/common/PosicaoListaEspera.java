@@ -0,0 +1,29 @@
+package com.fatec.srp.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Posição de um aluno na lista de espera de uma turma.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Os campos são definidos na construção e expostos apenas para leitura.
+ */
+@Getter
+@AllArgsConstructor
+public class PosicaoListaEspera {
+
+    private final Integer turmaId;
+
+    private final Integer alunoId;
+
+    /**
+     * Posição do aluno na fila, começando em 1 para o próximo a ser matriculado.
+     */
+    private final long posicao;
+
+    /**
+     * Quantidade total de alunos na fila da turma.
+     */
+    private final long tamanho;
+}
@@ -0,0 +1,71 @@
+package com.fatec.srp.common;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fatec.srp.models.ImportacaoModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Situação de uma importação de alunos em lote, consultável enquanto a importação está em andamento.
+ * 
+ * Os contadores refletem os blocos já confirmados no banco; {@code registrosLidos} inclui também o bloco em gravação.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Reúne os contadores, a vazão e os registros recusados em um único objeto imutável.
+ */
+@Getter
+@AllArgsConstructor
+public class ProgressoImportacao {
+
+    private final String id;
+
+    private final ImportacaoModel.Situacao situacao;
+
+    /**
+     * Registros lidos do arquivo nesta execução, incluindo os ignorados por já terem sido tratados.
+     */
+    private final long registrosLidos;
+
+    /**
+     * Registros tratados e confirmados; é o ponto de retomada da importação.
+     */
+    private final long registrosProcessados;
+
+    private final long importados;
+
+    private final long falhas;
+
+    /**
+     * Registros confirmados por segundo nesta execução.
+     */
+    private final double registrosPorSegundo;
+
+    private final LocalDateTime dtInicio;
+
+    private final LocalDateTime dtAlteracao;
+
+    /**
+     * Motivo da interrupção, quando a importação falha.
+     */
+    private final String mensagem;
+
+    /**
+     * Registros recusados nesta execução, limitados a {@link AppConstants#IMPORT_MAX_ERRORS}.
+     */
+    private final List<Erro> erros;
+
+    /**
+     * Registro recusado, identificado pela posição no arquivo (a partir de 1, sem contar o cabeçalho).
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Erro {
+
+        private final long registro;
+
+        private final String mensagem;
+    }
+}
@@ -0,0 +1,75 @@
+package com.fatec.srp.common;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fatec.srp.controller.ResponseBase;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que limita a taxa de requisições de cada cliente.
+ * 
+ * O cliente é o usuário da {@link Sessao} autenticada pelo {@link TokenFilter} ou, sem sessão, o endereço IP de
+ * origem. Requisições acima da taxa permitida são recusadas com HTTP 429 e o cabeçalho {@code Retry-After}, antes
+ * de ocuparem uma vaga do {@link ConcurrencyLimitFilter}; assim um cliente que dispara requisições em excesso não
+ * consome as conexões do banco dos demais.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Herança**: Estende {@link OncePerRequestFilter}, garantindo uma única execução por requisição.
+ * - **Composição**: O controle das fichas de cada cliente é delegado ao {@link RateLimiter}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param rateLimiter Limitador de taxa por cliente.
+     * @param objectMapper Serializador usado na resposta de recusa.
+     */
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(client(request));
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String client(HttpServletRequest request) {
+        Sessao sessao = Sessao.atual(request);
+        return sessao != null ? "usuario:" + sessao.getUsuarioId() : "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        ResponseBase<Object> body = ResponseBase.builder()
+            .error(true)
+            .info("Limite de requisições excedido, tente novamente em instantes")
+            .status(AppConstants.TOO_MANY_REQUESTS)
+            .build();
+
+        response.setStatus(AppConstants.TOO_MANY_REQUESTS);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
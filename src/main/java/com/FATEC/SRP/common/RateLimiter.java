@@ -0,0 +1,111 @@
+package com.fatec.srp.common;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Limitador de taxa por cliente no modelo de balde de fichas (token bucket).
+ * 
+ * Cada cliente recebe {@code permitsPerSecond} fichas por segundo e pode acumular até {@code burst} fichas. O balde
+ * é guardado como um único {@link AtomicLong} com o instante teórico em que a próxima ficha estará disponível
+ * (algoritmo GCRA, equivalente ao balde de fichas), atualizado por compare-and-set: clientes diferentes nunca
+ * disputam o mesmo dado e requisições simultâneas do mesmo cliente não usam bloqueio. Os baldes ficam em um cache
+ * Caffeine limitado por tamanho, que descarta os clientes inativos.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: O estado de cada balde fica escondido atrás de {@link #tryAcquire(String)}.
+ * - **Polimorfismo**: Implementa {@link MeterBinder}, publicando suas métricas quando registrado como bean.
+ */
+public class RateLimiter implements MeterBinder {
+
+    private final LongSupplier clock;
+
+    private final long intervalNanos;
+
+    private final long toleranceNanos;
+
+    private final Cache<String, AtomicLong> buckets;
+
+    private final LongAdder allowed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param permitsPerSecond Fichas repostas por segundo em cada balde.
+     * @param burst Quantidade máxima de fichas acumuladas por cliente.
+     * @param idleTimeout Tempo sem requisições após o qual o balde do cliente é descartado.
+     * @param maxClients Quantidade máxima de baldes mantidos em memória.
+     */
+    public RateLimiter(double permitsPerSecond, int burst, Duration idleTimeout, long maxClients) {
+        this(permitsPerSecond, burst, idleTimeout, maxClients, System::nanoTime);
+    }
+
+    /**
+     * Igual ao construtor público, com o relógio informado; usado pelos testes para controlar o tempo.
+     *
+     * @param clock Relógio em nanossegundos usado para repor as fichas e expirar os baldes.
+     */
+    RateLimiter(double permitsPerSecond, int burst, Duration idleTimeout, long maxClients, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond e burst devem ser positivos");
+        }
+        this.clock = clock;
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.buckets = Caffeine.newBuilder()
+            .expireAfterAccess(idleTimeout)
+            .maximumSize(maxClients)
+            .ticker(clock::getAsLong)
+            .build();
+    }
+
+    /**
+     * Tenta consumir uma ficha do balde do cliente.
+     * 
+     * @param client Identificação do cliente (usuário autenticado ou endereço IP).
+     * @return {@code 0} se a requisição foi aceita, ou o tempo em nanossegundos até a próxima ficha.
+     */
+    public long tryAcquire(String client) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(client, key -> new AtomicLong(now));
+
+        while (true) {
+            long next = bucket.get();
+            long theoretical = (next - now > 0 ? next : now) + intervalNanos;
+            long wait = theoretical - now - toleranceNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(next, theoretical)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("srp.rate.limit.clients", buckets, Cache::estimatedSize)
+            .description("Clientes com balde de fichas ativo")
+            .register(registry);
+        FunctionCounter.builder("srp.rate.limit.requests", allowed, LongAdder::sum)
+            .tag("result", "allowed")
+            .description("Requisições avaliadas pelo limitador de taxa")
+            .register(registry);
+        FunctionCounter.builder("srp.rate.limit.requests", rejected, LongAdder::sum)
+            .tag("result", "rejected")
+            .description("Requisições avaliadas pelo limitador de taxa")
+            .register(registry);
+    }
+}
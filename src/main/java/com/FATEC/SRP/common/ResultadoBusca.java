@@ -0,0 +1,31 @@
+package com.fatec.srp.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Curso encontrado pela busca do catálogo, com os dados exibidos na listagem de resultados e a relevância
+ * calculada para a consulta. É montado a partir do índice em memória, sem consultas ao banco.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Reúne os dados do curso e a pontuação em um único objeto imutável.
+ */
+@Getter
+@AllArgsConstructor
+public class ResultadoBusca {
+
+    private final Integer cursoId;
+
+    private final String nomeCurso;
+
+    private final String descCurso;
+
+    private final String cargaHoraria;
+
+    private final Float valorCurso;
+
+    /**
+     * Relevância BM25 do curso para a consulta; maior é mais relevante.
+     */
+    private final double pontuacao;
+}
@@ -0,0 +1,44 @@
+package com.fatec.srp.common;
+
+import java.time.Instant;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Sessão autenticada de uma requisição, obtida do token enviado no cabeçalho {@code Authorization}.
+ * 
+ * O nível de permissão vem do cargo do funcionário associado ao usuário e é carregado uma única vez por token;
+ * é {@code null} para usuários que não são funcionários.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Reúne a identidade e a permissão do usuário em um objeto imutável, disponível como atributo da requisição.
+ */
+@Getter
+@AllArgsConstructor
+public class Sessao {
+
+    /**
+     * Nome do atributo da requisição em que o {@code TokenFilter} guarda a sessão.
+     */
+    public static final String ATRIBUTO = Sessao.class.getName();
+
+    private final Integer usuarioId;
+
+    private final String nomeUsuario;
+
+    private final Integer nivelPermissao;
+
+    private final Instant expiraEm;
+
+    /**
+     * Retorna a sessão da requisição, ou {@code null} se nenhum token válido foi enviado.
+     *
+     * @param request Requisição atual.
+     * @return Sessão autenticada da requisição.
+     */
+    public static Sessao atual(HttpServletRequest request) {
+        return (Sessao) request.getAttribute(ATRIBUTO);
+    }
+}
@@ -0,0 +1,208 @@
+package com.fatec.srp.common;
+
+import java.sql.ResultSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fatec.srp.config.SlowQueryProperties;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Registra no log {@value #LOGGER} as instruções SQL cuja execução ultrapassa o limite configurado.
+ * 
+ * Cada registro traz o tempo de execução, a instrução, os parâmetros, o método de serviço que a originou e a
+ * quantidade de linhas afetadas ou lidas. Nas consultas, as linhas são contadas enquanto o Hibernate percorre o
+ * {@link ResultSet} (identificado pelo proxy entregue ao Hibernate) e o registro é feito quando ele é fechado. O logger é ligado a um appender assíncrono em
+ * {@code logback-spring.xml}, de modo que a thread da requisição não espera pela escrita do log.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Herança**: Estende {@link JdbcLifecycleEventListenerAdapter}, sobrescrevendo apenas os eventos de interesse.
+ * - **Encapsulamento**: As consultas lentas pendentes de contagem ficam em um mapa por thread, invisível ao restante da aplicação.
+ */
+public class SlowQueryListener extends JdbcLifecycleEventListenerAdapter {
+
+    /**
+     * Nome do logger das consultas lentas.
+     */
+    public static final String LOGGER = "srp.slow-query";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER);
+
+    private static final String SERVICE_PACKAGE = "com.fatec.srp.service.";
+
+    private static final String CONTROLLER_PACKAGE = "com.fatec.srp.controller.";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final ThreadLocal<Map<ResultSet, SlowQuery>> pending = ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private final SlowQueryProperties properties;
+
+    private final long thresholdMillis;
+
+    /**
+     * @param properties Configuração do log de consultas lentas.
+     */
+    public SlowQueryListener(SlowQueryProperties properties) {
+        this.properties = properties;
+        this.thresholdMillis = properties.getThreshold().toMillis();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis || !sampled()) {
+            return;
+        }
+
+        SlowQuery query = new SlowQuery(execInfo.getElapsedTime(), sql(queryInfoList), parameters(queryInfoList), caller());
+        Object result = execInfo.getResult();
+
+        if (result instanceof ResultSet resultSet && properties.isCountRows()) {
+            pending.get().put(resultSet, query);
+        } else {
+            write(query, rows(result));
+        }
+    }
+
+    @Override
+    public void afterNext(MethodExecutionContext executionContext) {
+        Map<ResultSet, SlowQuery> queries = pending.get();
+        if (!queries.isEmpty() && Boolean.TRUE.equals(executionContext.getResult())) {
+            SlowQuery query = queries.get(executionContext.getProxy());
+            if (query != null) {
+                query.rows++;
+            }
+        }
+    }
+
+    @Override
+    public void afterClose(MethodExecutionContext executionContext) {
+        Map<ResultSet, SlowQuery> queries = pending.get();
+        if (!queries.isEmpty() && executionContext.getProxy() instanceof ResultSet resultSet) {
+            SlowQuery query = queries.remove(resultSet);
+            if (query != null) {
+                write(query, Long.toString(query.rows));
+            }
+        }
+    }
+
+    private boolean sampled() {
+        double rate = properties.getSampleRate();
+        return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private static void write(SlowQuery query, String rows) {
+        log.warn("{} ms | linhas: {} | origem: {} | sql: {} | parametros: {}",
+            query.elapsedMillis, rows, query.caller, query.sql, query.parameters);
+    }
+
+    private static String sql(List<QueryInfo> queryInfoList) {
+        StringJoiner sql = new StringJoiner("; ");
+        for (QueryInfo queryInfo : queryInfoList) {
+            sql.add(queryInfo.getQuery());
+        }
+        return sql.toString();
+    }
+
+    private String parameters(List<QueryInfo> queryInfoList) {
+        if (!properties.isLogParameters()) {
+            return "-";
+        }
+
+        StringJoiner batches = new StringJoiner(", ");
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+                StringJoiner values = new StringJoiner(", ", "[", "]");
+                operations.stream()
+                    .sorted((a, b) -> Integer.compare(index(a), index(b)))
+                    .forEach(operation -> values.add(value(operation)));
+                batches.add(values.toString());
+            }
+        }
+        return batches.toString();
+    }
+
+    private static int index(ParameterSetOperation operation) {
+        return operation.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE;
+    }
+
+    private String value(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+            return "null";
+        }
+        Object[] args = operation.getArgs();
+        String value = args.length > 1 ? String.valueOf(args[1]) : "?";
+        int max = properties.getMaxParameterLength();
+        return value.length() > max ? value.substring(0, max) + "..." : value;
+    }
+
+    private static String rows(Object result) {
+        if (result instanceof Integer count) {
+            return count.toString();
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return Long.toString(total);
+        }
+        return "-";
+    }
+
+    /**
+     * Primeiro método de serviço (ou, na falta dele, de controlador) na pilha de chamadas.
+     */
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> {
+            String controller = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (className.contains("$$")) {
+                    continue;
+                }
+                if (className.startsWith(SERVICE_PACKAGE)) {
+                    return frame.getClassName() + "." + frame.getMethodName();
+                }
+                if (controller == null && className.startsWith(CONTROLLER_PACKAGE)) {
+                    controller = frame.getClassName() + "." + frame.getMethodName();
+                }
+            }
+            return controller == null ? "-" : controller;
+        });
+    }
+
+    /**
+     * Consulta lenta aguardando o fechamento do {@link ResultSet} para ser registrada.
+     */
+    private static final class SlowQuery {
+
+        private final long elapsedMillis;
+
+        private final String sql;
+
+        private final String parameters;
+
+        private final String caller;
+
+        private long rows;
+
+        private SlowQuery(long elapsedMillis, String sql, String parameters, String caller) {
+            this.elapsedMillis = elapsedMillis;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.caller = caller;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.fatec.srp.common;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta as instruções SQL preparadas pelo Hibernate na requisição HTTP em andamento.
+ * 
+ * Registrado como {@link StatementInspector}, é chamado pelo Hibernate antes de preparar cada instrução. A contagem
+ * fica em uma variável da thread da requisição, aberta por {@link #start()} e encerrada por {@link #stop()}; fora de
+ * uma requisição (tarefas em segundo plano, inicialização) as instruções não são contadas.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Polimorfismo**: Implementa {@link StatementInspector}, o ponto de extensão do Hibernate para instruções SQL.
+ * - **Encapsulamento**: O estado por thread fica escondido atrás de métodos estáticos.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    /**
+     * Inicia a contagem para a thread atual.
+     */
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Encerra a contagem da thread atual.
+     * 
+     * @return Quantidade de instruções preparadas desde {@link #start()}, ou zero se a contagem não foi iniciada.
+     */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,64 @@
+package com.fatec.srp.common;
+
+import java.io.IOException;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que publica a quantidade de instruções SQL executadas por requisição HTTP.
+ * 
+ * A contagem é feita por {@link SqlStatementCounter} e registrada na distribuição {@code srp.http.sql.statements},
+ * com as mesmas marcações {@code method}, {@code uri} e {@code status} da métrica {@code http.server.requests}.
+ * Requisições com um número de instruções que cresce com o tamanho do resultado indicam consultas N+1.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Herança**: Estende {@link OncePerRequestFilter}, garantindo uma única execução por requisição.
+ * - **Composição**: Usa o {@link MeterRegistry} da aplicação para publicar a métrica.
+ */
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    /**
+     * Nome da métrica publicada.
+     */
+    public static final String METRIC = "srp.http.sql.statements";
+
+    private final MeterRegistry registry;
+
+    /**
+     * @param registry Registro de métricas da aplicação.
+     */
+    public SqlStatementMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+            DistributionSummary.builder(METRIC)
+                .description("Instruções SQL executadas por requisição HTTP")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .tag("status", String.valueOf(response.getStatus()))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(statements);
+        }
+    }
+}
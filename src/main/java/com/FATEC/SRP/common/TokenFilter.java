@@ -0,0 +1,85 @@
+package com.fatec.srp.common;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fatec.srp.controller.ResponseBase;
+import com.fatec.srp.service.TokenService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que autentica as requisições pelo token enviado no cabeçalho {@code Authorization: Bearer <token>}.
+ * 
+ * Um token válido produz uma {@link Sessao}, guardada como atributo da requisição para os controladores. Um token
+ * inválido ou expirado é recusado com HTTP 401. Sem token, a requisição segue sem sessão ou, se o token for
+ * obrigatório, é recusada com HTTP 401; o login é sempre liberado.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Herança**: Estende {@link OncePerRequestFilter}, garantindo uma única execução por requisição.
+ * - **Composição**: A verificação e o cache dos tokens são delegados ao {@link TokenService}.
+ */
+public class TokenFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO = "Bearer ";
+
+    private static final String LOGIN = "/api/usuario/login";
+
+    private final TokenService tokenService;
+
+    private final boolean required;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param tokenService Serviço que verifica os tokens.
+     * @param required Exige token em todas as rotas, exceto o login.
+     * @param objectMapper Serializador usado na resposta de recusa.
+     */
+    public TokenFilter(TokenService tokenService, boolean required, ObjectMapper objectMapper) {
+        this.tokenService = tokenService;
+        this.required = required;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (authorization != null && authorization.startsWith(PREFIXO)) {
+            Sessao sessao = tokenService.verificar(authorization.substring(PREFIXO.length()).trim());
+            if (sessao == null) {
+                reject(response, "Token inválido ou expirado");
+                return;
+            }
+            request.setAttribute(Sessao.ATRIBUTO, sessao);
+        } else if (required && !LOGIN.equals(request.getRequestURI().substring(request.getContextPath().length()))) {
+            reject(response, "Token de acesso não informado");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, String info) throws IOException {
+        ResponseBase<Object> body = ResponseBase.builder()
+            .error(true)
+            .info(info)
+            .status(AppConstants.UNAUTHORIZED)
+            .build();
+
+        response.setStatus(AppConstants.UNAUTHORIZED);
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
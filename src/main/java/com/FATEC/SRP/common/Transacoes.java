@@ -0,0 +1,36 @@
+package com.fatec.srp.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilitários para sincronizar estruturas mantidas em memória com o resultado das transações.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Abstração**: Esconde o registro de {@link TransactionSynchronization} atrás de uma única chamada.
+ */
+public final class Transacoes {
+
+    /**
+     * Executa a ação somente após a confirmação da transação em andamento, ou imediatamente se não houver uma.
+     * Se a transação for desfeita, a ação é descartada.
+     *
+     * @param acao Ação a ser executada.
+     */
+    public static void aposConfirmar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    private Transacoes() {
+        // Construtor vazio para evitar instanciação.
+    }
+}
@@ -0,0 +1,57 @@
+package com.fatec.srp.common;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Projeção de leitura de uma trilha: os cursos que a compõem, na ordem em que foram associados, e os totais
+ * calculados sobre eles. É mantida pronta em memória e servida sem consultas ao banco.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Reúne os dados da trilha, de seus cursos e dos totais em um único objeto imutável.
+ * - **Composição**: Cada curso da trilha é representado por um {@link Curso} aninhado.
+ */
+@Getter
+@AllArgsConstructor
+public class TrilhaCursos {
+
+    private final Integer trilhaId;
+
+    private final String nomeTrilha;
+
+    private final String descTrilha;
+
+    private final List<Curso> cursos;
+
+    private final int totalCursos;
+
+    /**
+     * Soma das cargas horárias numéricas dos cursos; valores que não começam por um número são ignorados.
+     */
+    private final int cargaHorariaTotal;
+
+    /**
+     * Soma dos valores informados dos cursos.
+     */
+    private final double valorTotal;
+
+    /**
+     * Curso de uma trilha, com apenas os campos exibidos na página da trilha.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Curso {
+
+        private final Integer cursoTrilhaId;
+
+        private final Integer cursoId;
+
+        private final String nomeCurso;
+
+        private final String cargaHoraria;
+
+        private final Float valorCurso;
+    }
+}
@@ -0,0 +1,14 @@
+package com.fatec.srp.common;
+
+/**
+ * Exceção lançada quando uma matrícula é recusada porque todas as vagas da turma estão ocupadas.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Herança**: Estende {@link RuntimeException}, desfazendo a transação em andamento sem exigir declaração nas assinaturas.
+ */
+public class TurmaLotadaException extends RuntimeException {
+
+    public TurmaLotadaException(Integer turmaId, Integer capacidade) {
+        super("A turma " + turmaId + " não tem vagas disponíveis (capacidade: " + capacidade + ")");
+    }
+}
@@ -0,0 +1,29 @@
+package com.fatec.srp.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Situação das vagas de uma turma, calculada a partir dos contadores mantidos em memória.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Os campos são definidos na construção e expostos apenas para leitura.
+ */
+@Getter
+@AllArgsConstructor
+public class VagasTurma {
+
+    private final Integer turmaId;
+
+    /**
+     * Quantidade máxima de alunos, ou {@code null} se a turma não tiver limite.
+     */
+    private final Integer capacidade;
+
+    private final int ocupadas;
+
+    /**
+     * Vagas ainda disponíveis, ou {@code null} se a turma não tiver limite.
+     */
+    private final Integer disponiveis;
+}
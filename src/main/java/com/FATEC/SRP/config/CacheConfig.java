@@ -0,0 +1,79 @@
+package com.fatec.srp.config;
+
+import java.net.URI;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Configuração do cache de segundo nível do Hibernate usando JCache com o provedor em memória Caffeine.
+ * 
+ * As regiões são criadas a partir de {@link CacheProperties}, cada uma com seu tamanho máximo e tempo de vida,
+ * e o {@link CacheManager} resultante é entregue ao Hibernate. A região de timestamps, usada pelo Hibernate para
+ * invalidar o cache de consultas quando uma tabela é alterada, é criada sem expiração.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Injeção de Dependência**: O gerenciador de cache é exposto como bean e injetado na configuração do Hibernate.
+ * - **Abstração**: O restante da aplicação usa apenas as anotações de cache do Hibernate, sem depender do provedor.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    /**
+     * Cria o gerenciador JCache com as regiões configuradas.
+     * 
+     * @param properties Configuração das regiões lida do {@code application.yml}.
+     * @return O gerenciador de cache usado pelo Hibernate.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+            URI.create("srp-hibernate-" + System.identityHashCode(properties)), getClass().getClassLoader());
+
+        properties.getRegions().forEach((name, region) -> cacheManager.createCache(name, configuration(region)));
+
+        if (cacheManager.getCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME) == null) {
+            cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                configuration(properties.getDefaults()));
+        }
+
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+
+        return cacheManager;
+    }
+
+    /**
+     * Entrega o gerenciador de cache ao Hibernate.
+     * 
+     * @param hibernateCacheManager Gerenciador criado por {@link #hibernateCacheManager(CacheProperties)}.
+     * @return Personalizador das propriedades do Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(CacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
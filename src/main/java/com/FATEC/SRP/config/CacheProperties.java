@@ -0,0 +1,53 @@
+package com.fatec.srp.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Propriedades do cache de segundo nível do Hibernate, lidas do prefixo {@code srp.cache} do {@code application.yml}.
+ * 
+ * Cada região possui tamanho máximo e tempo de expiração próprios; regiões não listadas usam os valores de {@code defaults}.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Agrupa as configurações de cache em um único objeto tipado, em vez de valores espalhados pelo código.
+ * - **Composição**: As configurações gerais são compostas por configurações individuais de cada região ({@link Region}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "srp.cache")
+public class CacheProperties {
+
+    /**
+     * Configuração aplicada às regiões que não possuem entrada própria em {@link #regions}.
+     */
+    private Region defaults = new Region();
+
+    /**
+     * Configuração de cada região, indexada pelo nome da região.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    /**
+     * Limites de uma região de cache.
+     */
+    @Getter
+    @Setter
+    public static class Region {
+
+        /**
+         * Quantidade máxima de entradas mantidas na região.
+         */
+        private long maxSize = 1000;
+
+        /**
+         * Tempo de vida de cada entrada a partir da escrita.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,138 @@
+package com.fatec.srp.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fatec.srp.common.AdaptiveConcurrencyLimit;
+import com.fatec.srp.common.ConcurrencyLimitFilter;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Configuração do modelo de execução das requisições.
+ * 
+ * Com {@code spring.threads.virtual.enabled=true} o Tomcat e as tarefas {@code @Async} passam a usar threads
+ * virtuais, que não têm o teto de 200 threads do pool padrão do Tomcat. Como quase toda requisição bloqueia no
+ * JDBC, esta classe registra o {@link ConcurrencyLimitFilter} nas rotas {@code /api/*}, dimensionado pelo tamanho
+ * do pool do HikariCP, para que milhares de threads não fiquem disputando poucas conexões com o SQL Server.
+ * 
+ * O {@link AdaptiveConcurrencyLimit} recebe a duração de cada chamada de repositório e, quando o banco fica lento,
+ * reduz a quantidade de requisições admitidas, recusando o excedente com HTTP 503.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Injeção de Dependência**: O filtro é exposto como bean e registrado pelo Spring no contêiner de servlets.
+ * - **Composição**: O limite é derivado da configuração do pool de conexões.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyProperties.class)
+public class ConcurrencyConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyConfig.class);
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * Registra o limitador de requisições simultâneas.
+     * 
+     * @param properties Configuração do limitador.
+     * @param dataSource Pool de conexões cujo tamanho define o limite padrão.
+     * @param objectMapper Serializador usado na resposta de recusa.
+     * @param environment Ambiente usado para identificar o modelo de threads.
+     * @return O registro do filtro nas rotas da API.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "srp.concurrency", name = "enabled", matchIfMissing = true)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyProperties properties,
+            DataSource dataSource, ObjectProvider<AdaptiveConcurrencyLimit> adaptiveLimit, ObjectMapper objectMapper,
+            Environment environment) {
+        int poolSize = poolSize(dataSource);
+        int limit = limit(properties, poolSize);
+
+        if (limit > poolSize) {
+            log.warn("srp.concurrency.max-concurrent-requests ({}) maior que o pool do HikariCP ({}); "
+                + "requisições excedentes aguardarão conexão até spring.datasource.hikari.connection-timeout", limit, poolSize);
+        }
+        log.info("Limite de requisições simultâneas: {} (threads virtuais: {})", limit,
+            environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+            new ConcurrencyLimitFilter(limit, properties.getAcquireTimeout(), adaptiveLimit.getIfAvailable(), objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Cria o limite adaptativo. Suas métricas são publicadas pelo Actuator por ele ser um {@code MeterBinder}.
+     * 
+     * @param properties Configuração do limitador.
+     * @param dataSource Pool de conexões cujo tamanho define o limite padrão.
+     * @return O limite ajustado pela latência dos repositórios.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "srp.concurrency", name = { "enabled", "adaptive.enabled" }, matchIfMissing = true)
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(ConcurrencyProperties properties, DataSource dataSource) {
+        ConcurrencyProperties.Adaptive adaptive = properties.getAdaptive();
+        int maxLimit = adaptive.getMaxLimit() > 0 ? adaptive.getMaxLimit() : 4 * limit(properties, poolSize(dataSource));
+        return new AdaptiveConcurrencyLimit(Math.min(adaptive.getMinLimit(), maxLimit), maxLimit,
+            adaptive.getTolerance(), adaptive.getWindow());
+    }
+
+    /**
+     * Liga o limite adaptativo a todos os repositórios Spring Data, para que ele receba a duração de cada chamada.
+     * 
+     * @param adaptiveLimit Limite adaptativo, resolvido apenas na primeira chamada de repositório.
+     * @return O pós-processador que registra o listener nas fábricas de repositório.
+     */
+    @Bean
+    public static BeanPostProcessor adaptiveConcurrencyLimitPostProcessor(ObjectProvider<AdaptiveConcurrencyLimit> adaptiveLimit) {
+        SingletonSupplier<AdaptiveConcurrencyLimit> listener = SingletonSupplier.of(adaptiveLimit::getIfAvailable);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(invocation -> {
+                        AdaptiveConcurrencyLimit limit = listener.get();
+                        if (limit != null) {
+                            limit.afterInvocation(invocation);
+                        }
+                    }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static int limit(ConcurrencyProperties properties, int poolSize) {
+        return properties.getMaxConcurrentRequests() > 0 ? properties.getMaxConcurrentRequests() : poolSize;
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int maximumPoolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                // Antes da primeira conexão o HikariCP informa -1 quando o tamanho não foi configurado.
+                return maximumPoolSize > 0 ? maximumPoolSize : DEFAULT_POOL_SIZE;
+            }
+        } catch (SQLException e) {
+            log.warn("Não foi possível obter o tamanho do pool de conexões", e);
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,78 @@
+package com.fatec.srp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Propriedades do limitador de requisições simultâneas, lidas do prefixo {@code srp.concurrency} do {@code application.yml}.
+ * 
+ * O limitador impede que um número ilimitado de requisições (especialmente com threads virtuais, que não têm o teto
+ * natural do pool do Tomcat) dispute as conexões do pool do HikariCP ao mesmo tempo.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Agrupa as configurações do limitador em um único objeto tipado.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "srp.concurrency")
+public class ConcurrencyProperties {
+
+    /**
+     * Habilita o limitador de requisições simultâneas.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Quantidade máxima de requisições atendidas ao mesmo tempo.
+     * Quando zero, usa o tamanho máximo do pool de conexões do HikariCP.
+     */
+    private int maxConcurrentRequests = 0;
+
+    /**
+     * Tempo máximo que uma requisição aguarda por uma vaga antes de ser recusada com HTTP 503.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Configuração do limite ajustado pela latência dos repositórios.
+     */
+    private Adaptive adaptive = new Adaptive();
+
+    /**
+     * Propriedades do limite adaptativo, lidas do prefixo {@code srp.concurrency.adaptive}.
+     */
+    @Getter
+    @Setter
+    public static class Adaptive {
+
+        /**
+         * Habilita o limite adaptativo.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Menor limite de requisições admitidas, mesmo com o banco lento.
+         */
+        private int minLimit = 2;
+
+        /**
+         * Maior limite de requisições admitidas (em execução ou aguardando vaga).
+         * Quando zero, usa quatro vezes o limite de requisições simultâneas.
+         */
+        private int maxLimit = 0;
+
+        /**
+         * Razão entre a latência atual dos repositórios e a latência de referência a partir da qual o limite é reduzido.
+         */
+        private double tolerance = 2.0;
+
+        /**
+         * Intervalo entre os ajustes do limite.
+         */
+        private Duration window = Duration.ofMillis(250);
+    }
+}
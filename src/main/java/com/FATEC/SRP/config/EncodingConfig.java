@@ -0,0 +1,84 @@
+package com.fatec.srp.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Configuração das representações binárias das respostas.
+ * 
+ * Além de JSON, os controladores passam a responder em CBOR ({@code Accept: application/cbor}) ou Smile
+ * ({@code Accept: application/x-jackson-smile}), formatos binários mais compactos e mais baratos de gerar e de ler
+ * que o texto JSON. Os conversores são criados a partir do {@link Jackson2ObjectMapperBuilder} do Spring Boot, de
+ * modo que usam os mesmos módulos (como o de entidades Hibernate) e as mesmas opções do JSON; o Spring Boot os
+ * coloca no lugar dos conversores padrão desses formatos, que ignorariam essa configuração. Como a mesma URL passa a
+ * ter mais de uma representação com a mesma ETag, as respostas da API informam {@code Vary: Accept} aos caches.
+ * 
+ * A compressão gzip das respostas acima de {@code server.compression.min-response-size} é feita pelo Tomcat e
+ * configurada no {@code application.yml}.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Polimorfismo**: Cada formato é um {@code HttpMessageConverter} escolhido pelo Spring MVC conforme o cabeçalho {@code Accept}.
+ * - **Injeção de Dependência**: Os conversores recebem o construtor de {@code ObjectMapper} configurado pelo Spring Boot.
+ */
+@Configuration
+public class EncodingConfig {
+
+    /**
+     * Conversor CBOR ({@code application/cbor}).
+     * 
+     * @param builder Construtor de {@code ObjectMapper} configurado pelo Spring Boot.
+     * @return O conversor de mensagens CBOR.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Conversor Smile ({@code application/x-jackson-smile}).
+     * 
+     * @param builder Construtor de {@code ObjectMapper} configurado pelo Spring Boot.
+     * @return O conversor de mensagens Smile.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Acrescenta {@code Vary: Accept} às respostas da API, para que caches intermediários não entreguem uma
+     * representação JSON a quem pediu CBOR ou Smile, e vice-versa.
+     * 
+     * @return Configuração que registra o interceptador nas rotas {@code /api/**}.
+     */
+    @Bean
+    public WebMvcConfigurer varyAcceptConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(@NonNull InterceptorRegistry registry) {
+                registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                            @NonNull Object handler) {
+                        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                        return true;
+                    }
+                }).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
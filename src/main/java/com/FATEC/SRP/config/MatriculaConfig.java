@@ -0,0 +1,15 @@
+package com.fatec.srp.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração das matrículas de alunos em turmas.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Injeção de Dependência**: Disponibiliza {@link MatriculaProperties} para o {@code VagasTurmaService} e o {@code ListaEsperaService}.
+ */
+@Configuration
+@EnableConfigurationProperties(MatriculaProperties.class)
+public class MatriculaConfig {
+}
@@ -0,0 +1,40 @@
+package com.fatec.srp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Propriedades do controle de vagas e da lista de espera das turmas, lidas do prefixo {@code srp.matricula} do {@code application.yml}.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Agrupa as configurações das matrículas em um único objeto tipado.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "srp.matricula")
+public class MatriculaProperties {
+
+    /**
+     * Intervalo entre as gravações, em lote, da quantidade de vagas ocupadas das turmas alteradas.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Intervalo entre as conferências dos contadores de vagas com a contagem de matrículas no banco.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+
+    /**
+     * Intervalo entre as execuções que matriculam os alunos da lista de espera nas vagas liberadas.
+     */
+    private Duration promotionInterval = Duration.ofMillis(500);
+
+    /**
+     * Quantidade máxima de alunos matriculados por turma em cada transação da lista de espera.
+     */
+    private int promotionBatchSize = 100;
+}
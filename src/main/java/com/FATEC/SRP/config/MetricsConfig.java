@@ -0,0 +1,54 @@
+package com.fatec.srp.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fatec.srp.common.SqlStatementCounter;
+import com.fatec.srp.common.SqlStatementMetricsFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuração das métricas da aplicação expostas em {@code /actuator/prometheus}.
+ * 
+ * Os tempos por endpoint ({@code http.server.requests}) e por método de repositório
+ * ({@code spring.data.repository.invocations}) são publicados pela autoconfiguração do Spring Boot Actuator; esta
+ * classe acrescenta a contagem de instruções SQL por requisição, ligando o {@link SqlStatementCounter} ao Hibernate
+ * e registrando o {@link SqlStatementMetricsFilter} nas rotas da API.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Injeção de Dependência**: O filtro recebe o registro de métricas criado pelo Spring.
+ * - **Abstração**: Os controladores e serviços não conhecem a instrumentação.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Registra o contador de instruções SQL no Hibernate.
+     * 
+     * @return Personalizador das propriedades do Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * Registra o filtro que publica as instruções SQL por requisição.
+     * 
+     * @param registry Registro de métricas da aplicação.
+     * @return O registro do filtro nas rotas da API.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(MeterRegistry registry) {
+        FilterRegistrationBean<SqlStatementMetricsFilter> registration = new FilterRegistrationBean<>(
+            new SqlStatementMetricsFilter(registry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
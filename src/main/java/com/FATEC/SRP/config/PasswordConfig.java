@@ -0,0 +1,67 @@
+package com.fatec.srp.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Configuração do cálculo e da verificação de senhas.
+ * 
+ * As senhas são gravadas com o prefixo do algoritmo ({@code {bcrypt}...} ou {@code {argon2}...}), o que permite
+ * trocar o algoritmo ou o custo sem invalidar as senhas existentes. Valores sem prefixo são as senhas antigas em
+ * texto puro, ainda aceitas no login até serem convertidas.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Polimorfismo**: Os algoritmos são usados pela interface comum {@link PasswordEncoder}.
+ * - **Injeção de Dependência**: O codificador é exposto como bean para o {@code SenhaService}.
+ */
+@Configuration
+@EnableConfigurationProperties(PasswordProperties.class)
+public class PasswordConfig {
+
+    /**
+     * Cria o codificador de senhas com o algoritmo configurado para as novas senhas.
+     * 
+     * @param properties Configuração de senhas.
+     * @return Codificador que reconhece o algoritmo de cada senha gravada pelo prefixo.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordProperties properties) {
+        Map<String, PasswordEncoder> encoders = Map.of(
+            "bcrypt", new BCryptPasswordEncoder(properties.getBcryptStrength()),
+            "argon2", new Argon2PasswordEncoder(16, 32, 1, properties.getArgon2Memory(), properties.getArgon2Iterations()));
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(properties.getAlgorithm(), encoders);
+        encoder.setDefaultPasswordEncoderForMatches(new PlainTextPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * Verifica as senhas antigas, gravadas sem prefixo, comparando o texto em tempo constante.
+     * Não é usado para gravar senhas novas.
+     */
+    static class PlainTextPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("Senhas em texto puro não são mais gravadas");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (rawPassword == null || encodedPassword == null) {
+                return false;
+            }
+            return MessageDigest.isEqual(rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                encodedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.fatec.srp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Propriedades do armazenamento de senhas, lidas do prefixo {@code srp.password} do {@code application.yml}.
+ * 
+ * Define o algoritmo e o custo usados nas novas senhas, o tamanho do executor dedicado ao cálculo dos hashes e a
+ * migração das senhas antigas, gravadas em texto puro.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Agrupa as configurações de senha em um único objeto tipado.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "srp.password")
+public class PasswordProperties {
+
+    /**
+     * Algoritmo usado nas novas senhas: {@code bcrypt} ou {@code argon2}. Senhas gravadas com o outro algoritmo
+     * continuam válidas e são recalculadas no próximo login.
+     */
+    private String algorithm = "bcrypt";
+
+    /**
+     * Custo do bcrypt (log2 da quantidade de rodadas, entre 4 e 31).
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * Memória, em KiB, usada pelo argon2 em cada cálculo.
+     */
+    private int argon2Memory = 19456;
+
+    /**
+     * Quantidade de iterações do argon2.
+     */
+    private int argon2Iterations = 2;
+
+    /**
+     * Quantidade de threads do executor de hashes. Quando zero, usa a quantidade de processadores disponíveis.
+     */
+    private int threads = 0;
+
+    /**
+     * Quantidade máxima de cálculos aguardando uma thread livre; acima dela o login é recusado com HTTP 503.
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * Converte, em segundo plano na inicialização, todas as senhas ainda gravadas em texto puro.
+     */
+    private boolean migrateOnStartup = false;
+
+    /**
+     * Quantidade de usuários lidos por vez durante a migração.
+     */
+    private int migrationBatchSize = 100;
+}
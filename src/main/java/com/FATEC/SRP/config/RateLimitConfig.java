@@ -0,0 +1,56 @@
+package com.fatec.srp.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fatec.srp.common.RateLimitFilter;
+import com.fatec.srp.common.RateLimiter;
+
+/**
+ * Configuração do limitador de taxa por cliente.
+ * 
+ * O {@link RateLimitFilter} é registrado nas rotas {@code /api/*} depois do filtro de tokens, que identifica o
+ * usuário, e antes do limitador de requisições simultâneas, para que requisições em excesso sejam recusadas sem
+ * ocupar vagas.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Injeção de Dependência**: O limitador é exposto como bean, o que também publica suas métricas no Actuator.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "srp.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfig {
+
+    /**
+     * Cria o limitador de taxa por cliente.
+     * 
+     * @param properties Configuração do limitador.
+     * @return O limitador com um balde de fichas por cliente.
+     */
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties) {
+        return new RateLimiter(properties.getRequestsPerSecond(), properties.getBurst(),
+            properties.getIdleTimeout(), properties.getMaxClients());
+    }
+
+    /**
+     * Registra o filtro de limite de taxa.
+     * 
+     * @param rateLimiter Limitador de taxa por cliente.
+     * @param objectMapper Serializador usado na resposta de recusa.
+     * @return O registro do filtro nas rotas da API.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+            new RateLimitFilter(rateLimiter, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 7);
+        return registration;
+    }
+}
@@ -0,0 +1,45 @@
+package com.fatec.srp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Propriedades do limitador de taxa por cliente, lidas do prefixo {@code srp.rate-limit} do {@code application.yml}.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Agrupa as configurações do limitador em um único objeto tipado.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "srp.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Habilita o limitador de taxa por cliente.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Requisições por segundo permitidas para cada cliente, em regime contínuo.
+     */
+    private double requestsPerSecond = 20;
+
+    /**
+     * Requisições que um cliente pode fazer de uma vez depois de um período sem uso.
+     */
+    private int burst = 40;
+
+    /**
+     * Tempo sem requisições após o qual o estado de um cliente é descartado.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Quantidade máxima de clientes acompanhados ao mesmo tempo.
+     */
+    private long maxClients = 100000;
+}
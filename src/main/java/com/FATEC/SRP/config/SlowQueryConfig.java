@@ -0,0 +1,59 @@
+package com.fatec.srp.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import com.fatec.srp.common.SlowQueryListener;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Configuração do log de consultas lentas.
+ * 
+ * Substitui o {@code spring.jpa.show-sql}, que escrevia toda instrução de forma síncrona no console, por um
+ * {@link SlowQueryListener} ligado ao pool de conexões por meio do datasource-proxy: apenas as instruções acima de
+ * {@code srp.slow-query.threshold} são registradas.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Composição**: O {@link DataSource} da aplicação é envolvido por um proxy que notifica o listener.
+ * - **Injeção de Dependência**: A troca é feita por um {@link BeanPostProcessor}, sem alterar quem usa o {@link DataSource}.
+ */
+@Configuration
+@EnableConfigurationProperties(SlowQueryProperties.class)
+@ConditionalOnProperty(prefix = "srp.slow-query", name = "enabled", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    /**
+     * Envolve o {@link DataSource} da aplicação com o proxy que mede as instruções.
+     * 
+     * @param properties Configuração do log de consultas lentas, resolvida apenas quando o {@link DataSource} é criado.
+     * @return O pós-processador que troca o {@link DataSource} pelo proxy.
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+
+                SlowQueryProperties slowQuery = properties.getObject();
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(new SlowQueryListener(slowQuery));
+                if (slowQuery.isCountRows()) {
+                    builder.proxyResultSet();
+                }
+                return builder.build();
+            }
+        };
+    }
+}
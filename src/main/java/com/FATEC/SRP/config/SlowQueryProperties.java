@@ -0,0 +1,50 @@
+package com.fatec.srp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Propriedades do log de consultas lentas, lidas do prefixo {@code srp.slow-query} do {@code application.yml}.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Agrupa as configurações do log de consultas lentas em um único objeto tipado.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "srp.slow-query")
+public class SlowQueryProperties {
+
+    /**
+     * Habilita o log de consultas lentas.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tempo de execução a partir do qual uma instrução é considerada lenta.
+     */
+    private Duration threshold = Duration.ofMillis(200);
+
+    /**
+     * Fração, entre 0 e 1, das instruções lentas que são registradas.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Inclui os parâmetros das instruções no log. Desabilite quando os parâmetros puderem conter dados sensíveis.
+     */
+    private boolean logParameters = true;
+
+    /**
+     * Tamanho máximo de cada parâmetro no log; valores maiores são truncados.
+     */
+    private int maxParameterLength = 100;
+
+    /**
+     * Conta as linhas lidas de cada consulta lenta. Exige interceptar os {@code ResultSet}s de todas as consultas.
+     */
+    private boolean countRows = true;
+}
@@ -0,0 +1,43 @@
+package com.fatec.srp.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fatec.srp.common.TokenFilter;
+import com.fatec.srp.service.TokenService;
+
+/**
+ * Configuração da autenticação por token.
+ * 
+ * Registra o {@link TokenFilter} nas rotas {@code /api/*} antes dos limitadores de taxa e de requisições
+ * simultâneas, para que eles já conheçam o usuário e requisições sem permissão sejam recusadas sem ocupar vagas.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Injeção de Dependência**: O filtro recebe o {@link TokenService} criado pelo Spring.
+ */
+@Configuration
+@EnableConfigurationProperties(TokenProperties.class)
+public class TokenConfig {
+
+    /**
+     * Registra o filtro de autenticação por token.
+     * 
+     * @param properties Configuração dos tokens.
+     * @param tokenService Serviço que verifica os tokens.
+     * @param objectMapper Serializador usado na resposta de recusa.
+     * @return O registro do filtro nas rotas da API.
+     */
+    @Bean
+    public FilterRegistrationBean<TokenFilter> tokenFilter(TokenProperties properties, TokenService tokenService,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<TokenFilter> registration = new FilterRegistrationBean<>(
+            new TokenFilter(tokenService, properties.isRequired(), objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
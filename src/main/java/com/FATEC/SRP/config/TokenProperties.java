@@ -0,0 +1,42 @@
+package com.fatec.srp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Propriedades dos tokens de sessão, lidas do prefixo {@code srp.token} do {@code application.yml}.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Agrupa as configurações dos tokens em um único objeto tipado.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "srp.token")
+public class TokenProperties {
+
+    /**
+     * Segredo usado na assinatura HMAC-SHA256 dos tokens, com pelo menos 32 bytes. Quando vazio, um segredo
+     * aleatório é gerado na inicialização e os tokens deixam de valer quando a aplicação reinicia.
+     */
+    private String secret = "";
+
+    /**
+     * Validade dos tokens emitidos no login.
+     */
+    private Duration ttl = Duration.ofHours(8);
+
+    /**
+     * Quantidade máxima de tokens já verificados mantidos em memória.
+     */
+    private int cacheSize = 10000;
+
+    /**
+     * Exige um token válido em todas as rotas {@code /api/*}, exceto o login. Quando desabilitado, o token é
+     * verificado apenas se for enviado, e requisições sem token seguem sem sessão.
+     */
+    private boolean required = false;
+}
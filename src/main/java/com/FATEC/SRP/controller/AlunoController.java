@@ -8,14 +8,37 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.models.ImportacaoModel;
 import com.fatec.srp.service.AlunoService;
+import com.fatec.srp.service.ImportacaoAlunoService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.ProgressoImportacao;
+import com.fatec.srp.common.PainelAluno;
+import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Controlador responsável por gerenciar as operações relacionadas aos alunos.
@@ -37,15 +60,26 @@ public class AlunoController implements IController<AlunoModel, String> {
     @Autowired
     private AlunoService alunoService;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
+    @Autowired
+    private ImportacaoAlunoService importacaoAlunoService;
+
     /**
      * Recupera todos os alunos.
      * <p>
      * Implementa encapsulamento ao retornar os dados em um ResponseBase, estruturando a resposta.
      * </p>
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de AlunoModel encapsulada em um ResponseBase.
      */
     @GetMapping
-    public ResponseEntity<ResponseBase<List<AlunoModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<AlunoModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, alunoService.readVersion())) {
+            return null;
+        }
+
         List<AlunoModel> lAluno = alunoService.read();
 
         ResponseBase<List<AlunoModel>> cBase = ResponseBase.<List<AlunoModel>>builder()
@@ -62,16 +96,227 @@ public class AlunoController implements IController<AlunoModel, String> {
         }
     }
 
+    /**
+     * Recupera uma página de alunos usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de alunos e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = {"size", "!fields"})
+    public ResponseEntity<ResponseBase<List<AlunoModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<AlunoModel> lPage = alunoService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<AlunoModel>> cBase = ResponseBase.<List<AlunoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Recupera os alunos contendo apenas os campos informados, lendo do banco somente as colunas pedidas.
+     * <p>
+     * Aceita os mesmos parâmetros {@code cursor} e {@code size} da paginação; sem {@code size}, retorna todos os registros.
+     * </p>
+     * @param fields Campos separados por vírgula, por exemplo {@code cpf,usuario.nomePessoa,empresa.cnpj}.
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo os campos de cada registro e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<ResponseBase<List<Map<String, Object>>>> getFields(@RequestParam String fields, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        Integer pageSize = size == null ? null : Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<Map<String, Object>> lPage;
+        try {
+            lPage = alunoService.readFields(fields, cursor, pageSize);
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<List<Map<String, Object>>> cBase = ResponseBase.<List<Map<String, Object>>>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(cBase);
+        }
+
+        String nextCursor = null;
+        if (pageSize != null && lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).get("id").toString();
+        }
+
+        ResponseBase<List<Map<String, Object>>> cBase = ResponseBase.<List<Map<String, Object>>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os alunos em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(alunoService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em alunos desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<AlunoModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<AlunoModel> changes = alunoService.readChanges(since);
+
+        ResponseBase<ChangeSet<AlunoModel>> cBase = ResponseBase.<ChangeSet<AlunoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Importa alunos em lote a partir de um arquivo CSV (com cabeçalho) ou NDJSON, criando o usuário de cada aluno.
+     * <p>
+     * Cada registro usa os campos do aluno e do usuário ({@code nomeUsuario}, {@code nomePessoa}, {@code senha},
+     * {@code cpf}, ...) e, opcionalmente, o {@code cnpj} da empresa. Registros inválidos são recusados sem
+     * interromper a importação. Se a importação for interrompida, basta reenviar o mesmo arquivo com o mesmo
+     * {@code id} para continuar do último bloco gravado.
+     * </p>
+     * @param id Identificador da importação, usado para retomá-la e consultar o progresso; gerado se omitido.
+     * @param contentType Tipo do conteúdo: {@code text/csv} ou {@code application/x-ndjson}, com {@code charset} opcional.
+     * @param body Conteúdo do arquivo.
+     * @return ResponseEntity contendo o progresso final encapsulado em um ResponseBase; status 409 se a mesma importação já estiver em andamento e 500 se ela falhar.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<ResponseBase<ProgressoImportacao>> importar(@RequestParam(required = false) String id, @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        boolean csv = mediaType.isCompatibleWith(MediaType.parseMediaType("text/csv"));
+
+        ProgressoImportacao progresso;
+        try {
+            progresso = importacaoAlunoService.importar(id, new InputStreamReader(body, charset), csv);
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            int status = ex instanceof IllegalStateException ? AppConstants.CONFLICT : AppConstants.BAD_REQUEST;
+            ResponseBase<ProgressoImportacao> invalid = ResponseBase.<ProgressoImportacao>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(status)
+                .build();
+            return ResponseEntity.status(status).body(invalid);
+        }
+
+        if (progresso.getSituacao() == ImportacaoModel.Situacao.FALHA) {
+            ResponseBase<ProgressoImportacao> failed = ResponseBase.<ProgressoImportacao>builder()
+                .error(true)
+                .info(progresso.getMensagem())
+                .message(progresso)
+                .status(AppConstants.INTERNAL_SERVER_ERROR)
+                .build();
+            return ResponseEntity.status(AppConstants.INTERNAL_SERVER_ERROR).body(failed);
+        }
+
+        ResponseBase<ProgressoImportacao> cBase = ResponseBase.<ProgressoImportacao>builder()
+            .error(false)
+            .info("OK")
+            .message(progresso)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Consulta o progresso de uma importação de alunos, inclusive enquanto ela está em andamento.
+     *
+     * @param importId Identificador da importação.
+     * @return ResponseEntity contendo o progresso encapsulado em um ResponseBase, ou status 404 se a importação não existir.
+     */
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<ResponseBase<ProgressoImportacao>> getImport(@PathVariable String importId) {
+        ProgressoImportacao progresso = importacaoAlunoService.progresso(importId);
+
+        if (progresso == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ResponseBase<ProgressoImportacao> cBase = ResponseBase.<ProgressoImportacao>builder()
+            .error(false)
+            .info("OK")
+            .message(progresso)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Recupera os dados da página de um aluno em uma única requisição: o aluno, as suas turmas com o curso de cada
+     * uma, a situação de conclusão de cada matrícula e o progresso nas trilhas. Substitui a consulta do aluno, da
+     * lista de matrículas e de cada turma e curso feitas separadamente.
+     * 
+     * @param alunoId O ID do aluno.
+     * @return ResponseEntity contendo um PainelAluno encapsulado em um ResponseBase, ou status 404 se o aluno não existir.
+     */
+    @GetMapping("/{alunoId}/painel")
+    public ResponseEntity<ResponseBase<PainelAluno>> getPainel(@PathVariable String alunoId) {
+        PainelAluno painel;
+        try {
+            painel = alunoService.painel(alunoId);
+        } catch (NoSuchElementException ex) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ResponseBase<PainelAluno> cBase = ResponseBase.<PainelAluno>builder()
+            .error(false)
+            .info("OK")
+            .message(painel)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Recupera um aluno específico pelo ID.
      * <p>
      * Demonstra reutilização de código, delegando a lógica de recuperação ao AlunoService.
      * </p>
      * @param alunoId O ID do aluno a ser recuperado.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo um AlunoModel encapsulado em um ResponseBase.
      */
     @GetMapping("/{alunoId}")
-    public ResponseEntity<ResponseBase<AlunoModel>> getById(@PathVariable String alunoId) {
+    public ResponseEntity<ResponseBase<AlunoModel>> getById(@PathVariable String alunoId, WebRequest request) {
         AlunoModel aluno = new AlunoModel();
 
         try {
@@ -85,6 +330,10 @@ public class AlunoController implements IController<AlunoModel, String> {
                 .build();
             return ResponseEntity.ok(noResult);
         }
+        if (aluno != null && ConditionalRequests.notModified(request, aluno)) {
+            return null;
+        }
+
         ResponseBase<AlunoModel> cBase = ResponseBase.<AlunoModel>builder()
             .error(false)
             .info("OK")
@@ -132,11 +381,12 @@ public class AlunoController implements IController<AlunoModel, String> {
      * </p>
      * @param aluno O AlunoModel contendo os novos dados do aluno.
      * @param alunoId O ID do aluno a ser atualizado.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo o AlunoModel atualizado encapsulado em um ResponseBase.
      */
     @PutMapping("/{alunoId}")
-    public ResponseEntity<ResponseBase<AlunoModel>> update(@PathVariable String alunoId, @RequestBody AlunoModel aluno) {
-        AlunoModel uAluno = alunoService.update(alunoId, aluno);
+    public ResponseEntity<ResponseBase<AlunoModel>> update(@PathVariable String alunoId, @RequestBody AlunoModel aluno, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AlunoModel uAluno = alunoService.update(alunoId, aluno, ConditionalRequests.expectedVersion(ifMatch, alunoId));
 
         ResponseBase<AlunoModel> cBase = ResponseBase.<AlunoModel>builder()
             .error(false)
@@ -148,8 +398,42 @@ public class AlunoController implements IController<AlunoModel, String> {
         if (aluno == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(uAluno)).body(cBase);
         }
     }
 
+    /**
+     * Altera apenas os campos informados de um aluno.
+     * <p>
+     * Somente as colunas alteradas são gravadas. As associações devem ser alteradas pelo {@code PUT}.
+     * </p>
+     * @param alunoId O ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar, por exemplo {@code {"endereco": "Rua A, 10"}}.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
+     * @return ResponseEntity contendo o AlunoModel atualizado encapsulado em um ResponseBase, ou status 400 se algum campo não puder ser alterado.
+     */
+    @PatchMapping("/{alunoId}")
+    public ResponseEntity<ResponseBase<AlunoModel>> patch(@PathVariable String alunoId, @RequestBody JsonNode changes, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AlunoModel uAluno;
+        try {
+            uAluno = alunoService.patch(alunoId, changes, ConditionalRequests.expectedVersion(ifMatch, alunoId));
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<AlunoModel> invalid = ResponseBase.<AlunoModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(invalid);
+        }
+
+        ResponseBase<AlunoModel> cBase = ResponseBase.<AlunoModel>builder()
+            .error(false)
+            .info("OK")
+            .message(uAluno)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok().eTag(ConditionalRequests.etag(uAluno)).body(cBase);
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.fatec.srp.controller;
 
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -8,14 +9,30 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.AlunoTurmaModel;
 import com.fatec.srp.service.AlunoTurmaService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.BulkResult;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.TurmaLotadaException;
+import com.fatec.srp.common.ConflitoHorarioException;
+import com.fatec.srp.common.ListaEsperaException;
 
 /**
  * Controlador responsável por gerenciar as operações relacionadas às associações entre alunos e turmas.
@@ -36,15 +53,23 @@ public class AlunoTurmaController implements IController<AlunoTurmaModel, String
     @Autowired
     private AlunoTurmaService alunoTurmaService;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     /**
      * Recupera todas as associações entre alunos e turmas.
      * <p>
      * Utiliza encapsulamento ao estruturar a resposta em um objeto ResponseBase.
      * </p>
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de AlunoTurmaModel encapsulada em um ResponseBase.
      */
     @GetMapping
-    public ResponseEntity<ResponseBase<List<AlunoTurmaModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<AlunoTurmaModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, alunoTurmaService.readVersion())) {
+            return null;
+        }
+
         List<AlunoTurmaModel> lalunoTurma = alunoTurmaService.read();
 
         ResponseBase<List<AlunoTurmaModel>> cBase = ResponseBase.<List<AlunoTurmaModel>>builder()
@@ -61,16 +86,83 @@ public class AlunoTurmaController implements IController<AlunoTurmaModel, String
         }
     }
 
+    /**
+     * Recupera uma página de matrículas de alunos em turmas usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de matrículas de alunos em turmas e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ResponseBase<List<AlunoTurmaModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<AlunoTurmaModel> lPage = alunoTurmaService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<AlunoTurmaModel>> cBase = ResponseBase.<List<AlunoTurmaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os matrículas de alunos em turmas em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(alunoTurmaService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em matrículas de alunos em turmas desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<AlunoTurmaModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<AlunoTurmaModel> changes = alunoTurmaService.readChanges(since);
+
+        ResponseBase<ChangeSet<AlunoTurmaModel>> cBase = ResponseBase.<ChangeSet<AlunoTurmaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Recupera uma associação específica entre aluno e turma pelo ID.
      * <p>
      * Implementa reutilização de código ao chamar a lógica de leitura definida no serviço.
      * </p>
      * @param alunoTurmaId O ID da associação aluno-turma a ser recuperada.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo um AlunoTurmaModel encapsulado em um ResponseBase.
      */
     @GetMapping("/{alunoTurmaId}")
-    public ResponseEntity<ResponseBase<AlunoTurmaModel>> getById(@PathVariable String alunoTurmaId) {
+    public ResponseEntity<ResponseBase<AlunoTurmaModel>> getById(@PathVariable String alunoTurmaId, WebRequest request) {
         AlunoTurmaModel alunoTurma = new AlunoTurmaModel();
              
         try {
@@ -85,6 +177,10 @@ public class AlunoTurmaController implements IController<AlunoTurmaModel, String
             return ResponseEntity.ok(noResult);
         }
 
+        if (alunoTurma != null && ConditionalRequests.notModified(request, alunoTurma)) {
+            return null;
+        }
+
         ResponseBase<AlunoTurmaModel> cBase = ResponseBase.<AlunoTurmaModel>builder()
             .error(false)
             .info("OK")
@@ -105,11 +201,20 @@ public class AlunoTurmaController implements IController<AlunoTurmaModel, String
      * Demonstra abstração ao delegar a lógica de criação para o serviço de negócio.
      * </p>
      * @param alunoTurma O AlunoTurmaModel contendo os dados da nova associação.
-     * @return ResponseEntity contendo o AlunoTurmaModel criado encapsulado em um ResponseBase.
+     * @return ResponseEntity contendo o AlunoTurmaModel criado encapsulado em um ResponseBase, ou status 409 se a turma não tiver vagas, tiver alunos na lista de espera ou tiver horário em conflito com outra turma do aluno.
      */
     @PostMapping
     public ResponseEntity<ResponseBase<AlunoTurmaModel>> getBody(@RequestBody AlunoTurmaModel alunoTurma) {
-        alunoTurmaService.create(alunoTurma);
+        try {
+            alunoTurmaService.create(alunoTurma);
+        } catch (TurmaLotadaException | ConflitoHorarioException | ListaEsperaException ex) {
+            ResponseBase<AlunoTurmaModel> full = ResponseBase.<AlunoTurmaModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.CONFLICT)
+                .build();
+            return ResponseEntity.status(AppConstants.CONFLICT).body(full);
+        }
 
         ResponseBase<AlunoTurmaModel> cBase = ResponseBase.<AlunoTurmaModel>builder()
             .error(false)
@@ -125,6 +230,38 @@ public class AlunoTurmaController implements IController<AlunoTurmaModel, String
         }
     }
 
+    /**
+     * Cria várias associações entre alunos e turmas em uma única requisição.
+     * <p>
+     * Cada item segue o mesmo formato do cadastro individual ({@code aluno.id} e {@code turma.id}). A resposta
+     * informa, na mesma ordem da entrada, se cada item foi gravado ou o motivo da rejeição.
+     * </p>
+     * @param alunoTurmas Lista de AlunoTurmaModel a serem criados, limitada a {@link AppConstants#BULK_MAX_ITEMS} itens.
+     * @return ResponseEntity contendo o resultado de cada item encapsulado em um ResponseBase.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ResponseBase<List<BulkResult>>> createBulk(@RequestBody List<AlunoTurmaModel> alunoTurmas) {
+        if (alunoTurmas.size() > AppConstants.BULK_MAX_ITEMS) {
+            ResponseBase<List<BulkResult>> tooLarge = ResponseBase.<List<BulkResult>>builder()
+                .error(true)
+                .info("Quantidade máxima de itens por requisição: " + AppConstants.BULK_MAX_ITEMS)
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(tooLarge);
+        }
+
+        List<BulkResult> lResult = alunoTurmaService.createBulk(alunoTurmas);
+
+        ResponseBase<List<BulkResult>> cBase = ResponseBase.<List<BulkResult>>builder()
+            .error(false)
+            .info("OK")
+            .message(lResult)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Atualiza uma associação existente entre aluno e turma.
      * <p>
@@ -132,11 +269,12 @@ public class AlunoTurmaController implements IController<AlunoTurmaModel, String
      * </p>
      * @param alunoTurmaId O ID da associação aluno-turma a ser atualizada.
      * @param alunoTurma O AlunoTurmaModel contendo os novos dados da associação.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo o AlunoTurmaModel atualizado encapsulado em um ResponseBase.
      */
     @PutMapping("/{alunoTurmaId}")
-    public ResponseEntity<ResponseBase<AlunoTurmaModel>> update(@PathVariable String alunoTurmaId, @RequestBody AlunoTurmaModel alunoTurma) {
-        AlunoTurmaModel ualunoTurma = alunoTurmaService.update(alunoTurmaId, alunoTurma);
+    public ResponseEntity<ResponseBase<AlunoTurmaModel>> update(@PathVariable String alunoTurmaId, @RequestBody AlunoTurmaModel alunoTurma, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AlunoTurmaModel ualunoTurma = alunoTurmaService.update(alunoTurmaId, alunoTurma, ConditionalRequests.expectedVersion(ifMatch, alunoTurmaId));
 
         ResponseBase<AlunoTurmaModel> cBase = ResponseBase.<AlunoTurmaModel>builder()
             .error(false)
@@ -148,8 +286,35 @@ public class AlunoTurmaController implements IController<AlunoTurmaModel, String
         if (alunoTurma == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(ualunoTurma)).body(cBase);
+        }
+    }
+
+    /**
+     * Cancela uma matrícula de aluno em turma.
+     * <p>
+     * A vaga liberada é ocupada em seguida, em segundo plano, pelo primeiro aluno da lista de espera da turma.
+     * </p>
+     * @param alunoTurmaId O ID da associação aluno-turma a ser excluída.
+     * @return ResponseEntity contendo o AlunoTurmaModel excluído encapsulado em um ResponseBase, ou status 404 se não existir.
+     */
+    @DeleteMapping("/{alunoTurmaId}")
+    public ResponseEntity<ResponseBase<AlunoTurmaModel>> delete(@PathVariable String alunoTurmaId) {
+        AlunoTurmaModel dalunoTurma;
+        try {
+            dalunoTurma = alunoTurmaService.delete(alunoTurmaId);
+        } catch (NoSuchElementException ex) {
+            return ResponseEntity.notFound().build();
         }
+
+        ResponseBase<AlunoTurmaModel> cBase = ResponseBase.<AlunoTurmaModel>builder()
+            .error(false)
+            .info("OK")
+            .message(dalunoTurma)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
     }
 
 }
@@ -0,0 +1,44 @@
+package com.fatec.srp.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.service.CacheService;
+
+/**
+ * Controlador que expõe as estatísticas do cache de segundo nível.
+ * <p>
+ * Permite acompanhar a taxa de acertos das regiões de cache das entidades de referência
+ * (cargos, classificações, pré-requisitos, trilhas e cursos).
+ * </p>
+ */
+@RequestMapping("/api/cache")
+@RestController
+public class CacheController {
+
+    @Autowired
+    private CacheService cacheService;
+
+    /**
+     * Recupera os contadores de acertos, falhas e inserções de cada região de cache.
+     * 
+     * @return ResponseEntity contendo as estatísticas encapsuladas em um ResponseBase.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ResponseBase<Map<String, Map<String, Long>>>> getStats() {
+        ResponseBase<Map<String, Map<String, Long>>> cBase = ResponseBase.<Map<String, Map<String, Long>>>builder()
+            .error(false)
+            .info("OK")
+            .message(cacheService.statistics())
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+}
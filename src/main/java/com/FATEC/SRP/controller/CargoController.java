@@ -8,14 +8,27 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.CargoModel;
 import com.fatec.srp.service.CargoService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
+import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Controlador responsável por gerenciar as operações relacionadas aos cargos.
@@ -37,15 +50,23 @@ public class CargoController implements IController<CargoModel, String> {
     @Autowired
     private CargoService cargoService;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     /**
      * Recupera todos os cargos.
      * <p>
      * Demonstra abstração ao encapsular a lógica de negócio no serviço e encapsulamento ao organizar a resposta no objeto ResponseBase.
      * </p>
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de CargoModel encapsulada em um ResponseBase.
      */
     @GetMapping
-    public ResponseEntity<ResponseBase<List<CargoModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<CargoModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, cargoService.readVersion())) {
+            return null;
+        }
+
         List<CargoModel> lCargo = cargoService.read();
 
         ResponseBase<List<CargoModel>> cBase = ResponseBase.<List<CargoModel>>builder()
@@ -62,16 +83,83 @@ public class CargoController implements IController<CargoModel, String> {
         }
     }
 
+    /**
+     * Recupera uma página de cargos usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de cargos e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ResponseBase<List<CargoModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<CargoModel> lPage = cargoService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<CargoModel>> cBase = ResponseBase.<List<CargoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os cargos em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(cargoService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em cargos desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<CargoModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<CargoModel> changes = cargoService.readChanges(since);
+
+        ResponseBase<ChangeSet<CargoModel>> cBase = ResponseBase.<ChangeSet<CargoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Recupera um cargo específico pelo ID.
      * <p>
      * Implementa polimorfismo ao sobrescrever o método definido na interface IController.
      * </p>
      * @param cargoId O ID do cargo a ser recuperado.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo um CargoModel encapsulado em um ResponseBase.
      */
     @GetMapping("/{cargoId}")
-    public ResponseEntity<ResponseBase<CargoModel>> getById(@PathVariable String cargoId) {
+    public ResponseEntity<ResponseBase<CargoModel>> getById(@PathVariable String cargoId, WebRequest request) {
         CargoModel cargo = new CargoModel();
         
         try {
@@ -86,6 +174,10 @@ public class CargoController implements IController<CargoModel, String> {
             return ResponseEntity.ok(noResult);
         }
 
+        if (cargo != null && ConditionalRequests.notModified(request, cargo)) {
+            return null;
+        }
+
         ResponseBase<CargoModel> cBase = ResponseBase.<CargoModel>builder()
             .error(false)
             .info("OK")
@@ -133,11 +225,12 @@ public class CargoController implements IController<CargoModel, String> {
      * </p>
      * @param cargoId O ID do cargo a ser atualizado.
      * @param cargo O CargoModel contendo os novos dados do cargo.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo o CargoModel atualizado encapsulado em um ResponseBase.
      */
     @PutMapping("/{cargoId}")
-    public ResponseEntity<ResponseBase<CargoModel>> update(@PathVariable String cargoId, @RequestBody CargoModel cargo) {
-        CargoModel uCargo = cargoService.update(cargoId, cargo);
+    public ResponseEntity<ResponseBase<CargoModel>> update(@PathVariable String cargoId, @RequestBody CargoModel cargo, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CargoModel uCargo = cargoService.update(cargoId, cargo, ConditionalRequests.expectedVersion(ifMatch, cargoId));
 
         ResponseBase<CargoModel> cBase = ResponseBase.<CargoModel>builder()
             .error(false)
@@ -149,8 +242,42 @@ public class CargoController implements IController<CargoModel, String> {
         if (cargo == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(uCargo)).body(cBase);
         }
     }
 
+    /**
+     * Altera apenas os campos informados de um cargo.
+     * <p>
+     * Somente as colunas alteradas são gravadas. As associações devem ser alteradas pelo {@code PUT}.
+     * </p>
+     * @param cargoId O ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar, por exemplo {@code {"nivelPermissao": 2}}.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
+     * @return ResponseEntity contendo o CargoModel atualizado encapsulado em um ResponseBase, ou status 400 se algum campo não puder ser alterado.
+     */
+    @PatchMapping("/{cargoId}")
+    public ResponseEntity<ResponseBase<CargoModel>> patch(@PathVariable String cargoId, @RequestBody JsonNode changes, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CargoModel uCargo;
+        try {
+            uCargo = cargoService.patch(cargoId, changes, ConditionalRequests.expectedVersion(ifMatch, cargoId));
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<CargoModel> invalid = ResponseBase.<CargoModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(invalid);
+        }
+
+        ResponseBase<CargoModel> cBase = ResponseBase.<CargoModel>builder()
+            .error(false)
+            .info("OK")
+            .message(uCargo)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok().eTag(ConditionalRequests.etag(uCargo)).body(cBase);
+    }
+
 }
@@ -8,14 +8,27 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.ClassificacaoModel;
 import com.fatec.srp.service.ClassificacaoService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
+import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Controlador responsável por gerenciar as operações relacionadas às classificações.
@@ -37,15 +50,23 @@ public class ClassificacaoController implements IController<ClassificacaoModel,
     @Autowired
     private ClassificacaoService classificacaoService;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     /**
      * Recupera todas as classificações.
      * <p>
      * Aplica abstração ao encapsular a lógica de negócio no serviço e utiliza encapsulamento para organizar a resposta no objeto ResponseBase.
      * </p>
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de ClassificacaoModel encapsulada em um ResponseBase.
      */
     @GetMapping
-    public ResponseEntity<ResponseBase<List<ClassificacaoModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<ClassificacaoModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, classificacaoService.readVersion())) {
+            return null;
+        }
+
         List<ClassificacaoModel> lclassificacao = classificacaoService.read();
 
         ResponseBase<List<ClassificacaoModel>> cBase = ResponseBase.<List<ClassificacaoModel>>builder()
@@ -62,16 +83,83 @@ public class ClassificacaoController implements IController<ClassificacaoModel,
         }
     }
 
+    /**
+     * Recupera uma página de classificações usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de classificações e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ResponseBase<List<ClassificacaoModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<ClassificacaoModel> lPage = classificacaoService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<ClassificacaoModel>> cBase = ResponseBase.<List<ClassificacaoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os classificações em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(classificacaoService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em classificações desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<ClassificacaoModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<ClassificacaoModel> changes = classificacaoService.readChanges(since);
+
+        ResponseBase<ChangeSet<ClassificacaoModel>> cBase = ResponseBase.<ChangeSet<ClassificacaoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Recupera uma classificação específica pelo ID.
      * <p>
      * Implementa polimorfismo ao sobrescrever o método definido na interface IController.
      * </p>
      * @param classificacaoId O ID da classificação a ser recuperada.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo um ClassificacaoModel encapsulado em um ResponseBase.
      */
     @GetMapping("/{classificacaoId}")
-    public ResponseEntity<ResponseBase<ClassificacaoModel>> getById(@PathVariable String classificacaoId) {
+    public ResponseEntity<ResponseBase<ClassificacaoModel>> getById(@PathVariable String classificacaoId, WebRequest request) {
         ClassificacaoModel classificacao = new ClassificacaoModel();
         
         try {
@@ -86,6 +174,10 @@ public class ClassificacaoController implements IController<ClassificacaoModel,
             return ResponseEntity.ok(noResult);
         }
 
+        if (classificacao != null && ConditionalRequests.notModified(request, classificacao)) {
+            return null;
+        }
+
         ResponseBase<ClassificacaoModel> cBase = ResponseBase.<ClassificacaoModel>builder()
             .error(false)
             .info("OK")
@@ -133,11 +225,12 @@ public class ClassificacaoController implements IController<ClassificacaoModel,
      * </p>
      * @param classificacaoId O ID da classificação a ser atualizada.
      * @param classificacao O ClassificacaoModel contendo os novos dados da classificação.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo o ClassificacaoModel atualizado encapsulado em um ResponseBase.
      */
     @PutMapping("/{classificacaoId}")
-    public ResponseEntity<ResponseBase<ClassificacaoModel>> update(@PathVariable String classificacaoId, @RequestBody ClassificacaoModel classificacao) {
-        ClassificacaoModel uclassificacao = classificacaoService.update(classificacaoId, classificacao);
+    public ResponseEntity<ResponseBase<ClassificacaoModel>> update(@PathVariable String classificacaoId, @RequestBody ClassificacaoModel classificacao, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ClassificacaoModel uclassificacao = classificacaoService.update(classificacaoId, classificacao, ConditionalRequests.expectedVersion(ifMatch, classificacaoId));
 
         ResponseBase<ClassificacaoModel> cBase = ResponseBase.<ClassificacaoModel>builder()
             .error(false)
@@ -149,8 +242,42 @@ public class ClassificacaoController implements IController<ClassificacaoModel,
         if (uclassificacao == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(uclassificacao)).body(cBase);
         }
     }
 
+    /**
+     * Altera apenas os campos informados de uma classificação.
+     * <p>
+     * Somente as colunas alteradas são gravadas. As associações devem ser alteradas pelo {@code PUT}.
+     * </p>
+     * @param classificacaoId O ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar, por exemplo {@code {"nomeClassificacao": "Tecnologia"}}.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
+     * @return ResponseEntity contendo o ClassificacaoModel atualizado encapsulado em um ResponseBase, ou status 400 se algum campo não puder ser alterado.
+     */
+    @PatchMapping("/{classificacaoId}")
+    public ResponseEntity<ResponseBase<ClassificacaoModel>> patch(@PathVariable String classificacaoId, @RequestBody JsonNode changes, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ClassificacaoModel uclassificacao;
+        try {
+            uclassificacao = classificacaoService.patch(classificacaoId, changes, ConditionalRequests.expectedVersion(ifMatch, classificacaoId));
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<ClassificacaoModel> invalid = ResponseBase.<ClassificacaoModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(invalid);
+        }
+
+        ResponseBase<ClassificacaoModel> cBase = ResponseBase.<ClassificacaoModel>builder()
+            .error(false)
+            .info("OK")
+            .message(uclassificacao)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok().eTag(ConditionalRequests.etag(uclassificacao)).body(cBase);
+    }
+
 }
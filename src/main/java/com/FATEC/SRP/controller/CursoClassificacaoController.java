@@ -8,14 +8,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.CursoClassificacaoModel;
 import com.fatec.srp.service.CursoClassificacaoService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
 
 /**
  * Controlador responsável por gerenciar as operações relacionadas às classificações de cursos.
@@ -40,16 +51,24 @@ public class CursoClassificacaoController implements IController<CursoClassifica
      */
     @Autowired
     private CursoClassificacaoService cursoClassificaoService;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
     
     /**
      * Recupera todas as classificações de cursos.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de CursoClassificacaoModel encapsulada em um ResponseBase.
      * 
      * Conceito de OOP:
      * Abstração: O método esconde a complexidade de como os dados são recuperados da camada de serviço, retornando apenas um objeto `ResponseEntity` que encapsula a resposta.
      */
     @GetMapping 
-    public ResponseEntity<ResponseBase<List<CursoClassificacaoModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<CursoClassificacaoModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, cursoClassificaoService.readVersion())) {
+            return null;
+        }
+
         List<CursoClassificacaoModel> lcursoClassificacao = cursoClassificaoService.read();
 
         ResponseBase<List<CursoClassificacaoModel>> cBase = ResponseBase.<List<CursoClassificacaoModel>>builder()
@@ -66,9 +85,76 @@ public class CursoClassificacaoController implements IController<CursoClassifica
         }
     }
 
+    /**
+     * Recupera uma página de associações entre cursos e classificações usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de associações entre cursos e classificações e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ResponseBase<List<CursoClassificacaoModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<CursoClassificacaoModel> lPage = cursoClassificaoService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<CursoClassificacaoModel>> cBase = ResponseBase.<List<CursoClassificacaoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os associações entre cursos e classificações em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(cursoClassificaoService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em associações entre cursos e classificações desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<CursoClassificacaoModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<CursoClassificacaoModel> changes = cursoClassificaoService.readChanges(since);
+
+        ResponseBase<ChangeSet<CursoClassificacaoModel>> cBase = ResponseBase.<ChangeSet<CursoClassificacaoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Recupera uma classificação de curso específica pelo ID.
      * @param cursoClassificacaoId O ID da classificação de curso a ser recuperada.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo um CursoClassificacaoModel encapsulado em um ResponseBase.
      * 
      * Conceito de OOP:
@@ -76,7 +162,7 @@ public class CursoClassificacaoController implements IController<CursoClassifica
      * Polimorfismo: O método retorna um `ResponseEntity` contendo um tipo de dados genérico, permitindo um comportamento consistente para diferentes tipos de retorno.
      */
     @GetMapping("/{cursoClassificacaoId}")
-    public ResponseEntity<ResponseBase<CursoClassificacaoModel>> getById(@PathVariable String cursoClassificacaoId) {
+    public ResponseEntity<ResponseBase<CursoClassificacaoModel>> getById(@PathVariable String cursoClassificacaoId, WebRequest request) {
         CursoClassificacaoModel cursoClassificacao = new CursoClassificacaoModel();
         
         try {
@@ -91,6 +177,10 @@ public class CursoClassificacaoController implements IController<CursoClassifica
             return ResponseEntity.ok(noResult);
         }
 
+        if (cursoClassificacao != null && ConditionalRequests.notModified(request, cursoClassificacao)) {
+            return null;
+        }
+
         ResponseBase<CursoClassificacaoModel> cBase = ResponseBase.<CursoClassificacaoModel>builder()
             .error(false)
             .info("OK")
@@ -135,6 +225,7 @@ public class CursoClassificacaoController implements IController<CursoClassifica
      * Atualiza uma classificação de curso existente.
      * @param cursoClassificacaoId O ID da classificação de curso a ser atualizada.
      * @param cursoClassificacao O CursoClassificacaoModel contendo os novos dados da classificação de curso.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo o CursoClassificacaoModel atualizado encapsulado em um ResponseBase.
      * 
      * Conceito de OOP:
@@ -142,8 +233,8 @@ public class CursoClassificacaoController implements IController<CursoClassifica
      * Encapsulamento: A atualização dos dados é feita de forma encapsulada dentro do método `update()` no serviço, sem expor a lógica interna diretamente.
      */
     @PutMapping("/{cursoClassificacaoId}")
-    public ResponseEntity<ResponseBase<CursoClassificacaoModel>> update(@PathVariable String cursoClassificacaoId, @RequestBody CursoClassificacaoModel cursoClassificacao) {
-        CursoClassificacaoModel ucursoClassificacao = cursoClassificaoService.update(cursoClassificacaoId, cursoClassificacao);
+    public ResponseEntity<ResponseBase<CursoClassificacaoModel>> update(@PathVariable String cursoClassificacaoId, @RequestBody CursoClassificacaoModel cursoClassificacao, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CursoClassificacaoModel ucursoClassificacao = cursoClassificaoService.update(cursoClassificacaoId, cursoClassificacao, ConditionalRequests.expectedVersion(ifMatch, cursoClassificacaoId));
 
         ResponseBase<CursoClassificacaoModel> cBase = ResponseBase.<CursoClassificacaoModel>builder()
             .error(false)
@@ -155,7 +246,7 @@ public class CursoClassificacaoController implements IController<CursoClassifica
         if(cursoClassificacao == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(ucursoClassificacao)).body(cBase);
         }
     }
 
@@ -8,14 +8,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.CursoTrilhaModel;
 import com.fatec.srp.service.CursoTrilhaService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
 
 /**
  * Controlador responsável por gerenciar os endpoints relacionados à entidade CursoTrilha.
@@ -40,9 +51,13 @@ public class CursoTrilhaController implements IController<CursoTrilhaModel, Stri
     @Autowired
     private CursoTrilhaService cursoTrilhaService;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     /**
      * Retorna todos os registros de CursoTrilha disponíveis.
      *
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de registros ou status 404 se nenhum registro for encontrado.
      * 
      * Conceito de OOP:
@@ -50,7 +65,11 @@ public class CursoTrilhaController implements IController<CursoTrilhaModel, Stri
      * - **Abstração**: A complexidade da leitura de múltiplos registros é abstraída pelo serviço, simplificando a lógica do controlador.
      */
     @GetMapping 
-    public ResponseEntity<ResponseBase<List<CursoTrilhaModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<CursoTrilhaModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, cursoTrilhaService.readVersion())) {
+            return null;
+        }
+
         List<CursoTrilhaModel> lcursoTrilha = cursoTrilhaService.read();
 
         ResponseBase<List<CursoTrilhaModel>> cBase = ResponseBase.<List<CursoTrilhaModel>>builder()
@@ -67,10 +86,77 @@ public class CursoTrilhaController implements IController<CursoTrilhaModel, Stri
         }
     }
 
+    /**
+     * Recupera uma página de associações entre cursos e trilhas usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de associações entre cursos e trilhas e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ResponseBase<List<CursoTrilhaModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<CursoTrilhaModel> lPage = cursoTrilhaService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<CursoTrilhaModel>> cBase = ResponseBase.<List<CursoTrilhaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os associações entre cursos e trilhas em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(cursoTrilhaService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em associações entre cursos e trilhas desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<CursoTrilhaModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<CursoTrilhaModel> changes = cursoTrilhaService.readChanges(since);
+
+        ResponseBase<ChangeSet<CursoTrilhaModel>> cBase = ResponseBase.<ChangeSet<CursoTrilhaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Retorna um registro específico de CursoTrilha com base no ID fornecido.
      *
      * @param cursoTrilhaId ID do registro a ser buscado.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo o registro encontrado ou status 404 se não existir.
      * 
      * Conceito de OOP:
@@ -78,7 +164,7 @@ public class CursoTrilhaController implements IController<CursoTrilhaModel, Stri
      * - **Polimorfismo**: O uso do `ResponseEntity` permite a personalização da resposta com base no tipo de dado (`CursoTrilhaModel`), utilizando os conceitos de polimorfismo para adaptar a resposta ao tipo necessário.
      */
     @GetMapping("/{cursoTrilhaId}")
-    public ResponseEntity<ResponseBase<CursoTrilhaModel>> getById(@PathVariable String cursoTrilhaId) {
+    public ResponseEntity<ResponseBase<CursoTrilhaModel>> getById(@PathVariable String cursoTrilhaId, WebRequest request) {
         CursoTrilhaModel cursoTrilha = new CursoTrilhaModel();
         
         try {
@@ -93,6 +179,10 @@ public class CursoTrilhaController implements IController<CursoTrilhaModel, Stri
             return ResponseEntity.ok(noResult);
         }
 
+        if (cursoTrilha != null && ConditionalRequests.notModified(request, cursoTrilha)) {
+            return null;
+        }
+
         ResponseBase<CursoTrilhaModel> cBase = ResponseBase.<CursoTrilhaModel>builder()
             .error(false)
             .info("OK")
@@ -140,6 +230,7 @@ public class CursoTrilhaController implements IController<CursoTrilhaModel, Stri
      *
      * @param cursoTrilhaId ID do registro a ser atualizado.
      * @param cursoTrilha Objeto com os dados atualizados.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo o registro atualizado ou status 404 se o objeto for nulo.
      * 
      * Conceito de OOP:
@@ -148,8 +239,8 @@ public class CursoTrilhaController implements IController<CursoTrilhaModel, Stri
      * - **Polimorfismo**: A resposta de atualização é encapsulada no tipo genérico `ResponseBase`, aproveitando o polimorfismo para se adaptar ao tipo de dados fornecido.
      */
     @PutMapping("/{cursoTrilhaId}")
-    public ResponseEntity<ResponseBase<CursoTrilhaModel>> update(@PathVariable String cursoTrilhaId, @RequestBody CursoTrilhaModel cursoTrilha) {
-        CursoTrilhaModel ucursoTrilha = cursoTrilhaService.update(cursoTrilhaId, cursoTrilha);
+    public ResponseEntity<ResponseBase<CursoTrilhaModel>> update(@PathVariable String cursoTrilhaId, @RequestBody CursoTrilhaModel cursoTrilha, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CursoTrilhaModel ucursoTrilha = cursoTrilhaService.update(cursoTrilhaId, cursoTrilha, ConditionalRequests.expectedVersion(ifMatch, cursoTrilhaId));
 
         ResponseBase<CursoTrilhaModel> cBase = ResponseBase.<CursoTrilhaModel>builder()
             .error(false)
@@ -161,7 +252,7 @@ public class CursoTrilhaController implements IController<CursoTrilhaModel, Stri
         if (cursoTrilha == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(ucursoTrilha)).body(cBase);
         }
     }
 }
@@ -8,14 +8,32 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.util.Map;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.CursoModel;
 import com.fatec.srp.service.CursosService;
+import com.fatec.srp.service.PreRequisitoGrafoService;
+import com.fatec.srp.service.CatalogoBuscaService;
+import com.fatec.srp.common.CadeiaPreRequisitos;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.ResultadoBusca;
+import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Controlador responsável por gerenciar as operações relacionadas aos cursos.
@@ -39,10 +57,20 @@ public class CursosController implements IController<CursoModel, String> {
      */
     @Autowired
     private CursosService cursosService;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
+    @Autowired
+    private PreRequisitoGrafoService preRequisitoGrafoService;
+
+    @Autowired
+    private CatalogoBuscaService catalogoBuscaService;
     
 
     /**
      * Recupera todos os cursos.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de CursoModel encapsulada em um ResponseBase.
      * 
      * Conceito de OOP:
@@ -50,7 +78,11 @@ public class CursosController implements IController<CursoModel, String> {
      * - **Encapsulamento**: A lógica de negócios está encapsulada no serviço, e o controlador apenas delega as operações sem expor detalhes internos.
      */
     @GetMapping 
-    public ResponseEntity<ResponseBase<List<CursoModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<CursoModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, cursosService.readVersion())) {
+            return null;
+        }
+
         List<CursoModel> lCursos = cursosService.read();
 
         ResponseBase<List<CursoModel>> cBase = ResponseBase.<List<CursoModel>>builder()
@@ -67,9 +99,142 @@ public class CursosController implements IController<CursoModel, String> {
         }
     }
 
+    /**
+     * Recupera uma página de cursos usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de cursos e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = {"size", "!fields"})
+    public ResponseEntity<ResponseBase<List<CursoModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<CursoModel> lPage = cursosService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<CursoModel>> cBase = ResponseBase.<List<CursoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Recupera os cursos contendo apenas os campos informados, lendo do banco somente as colunas pedidas.
+     * <p>
+     * Aceita os mesmos parâmetros {@code cursor} e {@code size} da paginação; sem {@code size}, retorna todos os registros.
+     * </p>
+     * @param fields Campos separados por vírgula, por exemplo {@code nomeCurso,cargaHoraria}.
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo os campos de cada registro e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<ResponseBase<List<Map<String, Object>>>> getFields(@RequestParam String fields, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        Integer pageSize = size == null ? null : Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<Map<String, Object>> lPage;
+        try {
+            lPage = cursosService.readFields(fields, cursor, pageSize);
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<List<Map<String, Object>>> cBase = ResponseBase.<List<Map<String, Object>>>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(cBase);
+        }
+
+        String nextCursor = null;
+        if (pageSize != null && lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).get("id").toString();
+        }
+
+        ResponseBase<List<Map<String, Object>>> cBase = ResponseBase.<List<Map<String, Object>>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os cursos em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(cursosService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em cursos desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<CursoModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<CursoModel> changes = cursosService.readChanges(since);
+
+        ResponseBase<ChangeSet<CursoModel>> cBase = ResponseBase.<ChangeSet<CursoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Busca cursos por texto no nome, descrição, requisitos, programação e nos nomes das classificações e trilhas.
+     * <p>
+     * A busca é feita em um índice em memória, ignora acentos e maiúsculas, aceita o início das palavras
+     * ({@code "progr"} encontra "Programação") e ordena os cursos por relevância (BM25).
+     * </p>
+     * @param q Texto buscado; todas as palavras precisam ser encontradas.
+     * @param limit Quantidade máxima de resultados, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo os cursos encontrados encapsulados em um ResponseBase.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ResponseBase<List<ResultadoBusca>>> search(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        int maxResults = Math.max(1, Math.min(limit, AppConstants.MAX_PAGE_SIZE));
+        List<ResultadoBusca> resultados = catalogoBuscaService.buscar(q, maxResults);
+
+        ResponseBase<List<ResultadoBusca>> cBase = ResponseBase.<List<ResultadoBusca>>builder()
+            .error(false)
+            .info("OK")
+            .message(resultados)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Recupera um curso específico pelo ID.
      * @param cursoId O ID do curso a ser recuperado.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo um CursoModel encapsulado em um ResponseBase.
      * 
      * Conceito de OOP:
@@ -77,7 +242,7 @@ public class CursosController implements IController<CursoModel, String> {
      * - **Polimorfismo**: O método `getById` é genérico e permite o uso de diferentes tipos de modelos (nesse caso, `CursoModel`), adaptando-se ao tipo de dado passado.
      */
     @GetMapping("/{cursoId}")
-    public ResponseEntity<ResponseBase<CursoModel>> getById(@PathVariable String cursoId) {
+    public ResponseEntity<ResponseBase<CursoModel>> getById(@PathVariable String cursoId, WebRequest request) {
         CursoModel curso = new CursoModel();
         
         try {
@@ -92,6 +257,10 @@ public class CursosController implements IController<CursoModel, String> {
             return ResponseEntity.ok(noResult);
         }
 
+        if (curso != null && ConditionalRequests.notModified(request, curso)) {
+            return null;
+        }
+
         ResponseBase<CursoModel> cBase = ResponseBase.<CursoModel>builder()
             .error(false)
             .info("OK")
@@ -106,6 +275,28 @@ public class CursosController implements IController<CursoModel, String> {
         }
     }
 
+    /**
+     * Retorna a cadeia completa de pré-requisitos de um curso: os cursos exigidos direta ou indiretamente,
+     * em ordem topológica, e os pré-requisitos de cada um deles. A resposta é calculada a partir do grafo
+     * mantido em memória por {@link PreRequisitoGrafoService}, sem consultas ao banco.
+     *
+     * @param cursoId ID do curso consultado.
+     * @return ResponseEntity contendo a cadeia de pré-requisitos encapsulada em um ResponseBase.
+     */
+    @GetMapping("/{cursoId}/prerequisitos")
+    public ResponseEntity<ResponseBase<CadeiaPreRequisitos>> getPreRequisitos(@PathVariable Integer cursoId) {
+        CadeiaPreRequisitos cadeia = preRequisitoGrafoService.cadeia(cursoId);
+
+        ResponseBase<CadeiaPreRequisitos> cBase = ResponseBase.<CadeiaPreRequisitos>builder()
+            .error(false)
+            .info("OK")
+            .message(cadeia)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Cria um novo curso.
      * @param curso O CursoModel contendo os dados do novo curso.
@@ -137,6 +328,7 @@ public class CursosController implements IController<CursoModel, String> {
      * Atualiza um curso existente.
      * @param cursoId O ID do curso a ser atualizado.
      * @param curso O CursoModel contendo os novos dados do curso.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo o CursoModel atualizado encapsulado em um ResponseBase.
      * 
      * Conceito de OOP:
@@ -145,8 +337,8 @@ public class CursosController implements IController<CursoModel, String> {
      * - **Polimorfismo**: O método `update` lida com tipos genéricos e pode ser reutilizado em outras partes da aplicação, mantendo a flexibilidade no uso de modelos diferentes.
      */
     @PutMapping("/{cursoId}")
-    public ResponseEntity<ResponseBase<CursoModel>> update(@PathVariable String cursoId, @RequestBody CursoModel curso) {
-        CursoModel ucurso = cursosService.update(cursoId, curso);
+    public ResponseEntity<ResponseBase<CursoModel>> update(@PathVariable String cursoId, @RequestBody CursoModel curso, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CursoModel ucurso = cursosService.update(cursoId, curso, ConditionalRequests.expectedVersion(ifMatch, cursoId));
 
         ResponseBase<CursoModel> cBase = ResponseBase.<CursoModel>builder()
             .error(false)
@@ -158,8 +350,42 @@ public class CursosController implements IController<CursoModel, String> {
         if(curso == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(ucurso)).body(cBase);
+        }
+    }
+
+    /**
+     * Altera apenas os campos informados de um curso.
+     * <p>
+     * Somente as colunas alteradas são gravadas. As associações devem ser alteradas pelo {@code PUT}.
+     * </p>
+     * @param cursoId O ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar, por exemplo {@code {"valorCurso": 450.0}}.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
+     * @return ResponseEntity contendo o CursoModel atualizado encapsulado em um ResponseBase, ou status 400 se algum campo não puder ser alterado.
+     */
+    @PatchMapping("/{cursoId}")
+    public ResponseEntity<ResponseBase<CursoModel>> patch(@PathVariable String cursoId, @RequestBody JsonNode changes, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CursoModel ucurso;
+        try {
+            ucurso = cursosService.patch(cursoId, changes, ConditionalRequests.expectedVersion(ifMatch, cursoId));
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<CursoModel> invalid = ResponseBase.<CursoModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(invalid);
         }
+
+        ResponseBase<CursoModel> cBase = ResponseBase.<CursoModel>builder()
+            .error(false)
+            .info("OK")
+            .message(ucurso)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok().eTag(ConditionalRequests.etag(ucurso)).body(cBase);
     }
 
 }
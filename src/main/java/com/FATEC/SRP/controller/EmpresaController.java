@@ -8,14 +8,27 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.EmpresaModel;
 import com.fatec.srp.service.EmpresaService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
+import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Controlador responsável por gerenciar os endpoints relacionados à entidade Empresa.
@@ -40,9 +53,13 @@ public class EmpresaController implements IController<EmpresaModel, String> {
     @Autowired
     private EmpresaService empresaService;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     /**
      * Retorna todos os registros de Empresa disponíveis.
      *
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de registros ou status 404 se nenhum registro for encontrado.
      * 
      * Conceito de OOP:
@@ -50,7 +67,11 @@ public class EmpresaController implements IController<EmpresaModel, String> {
      * - **Abstração**: A complexidade da leitura de múltiplos registros é abstraída pelo serviço, simplificando a lógica do controlador.
      */
     @GetMapping
-    public ResponseEntity<ResponseBase<List<EmpresaModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<EmpresaModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, empresaService.readVersion())) {
+            return null;
+        }
+
         List<EmpresaModel> lempresa = empresaService.read();
 
         ResponseBase<List<EmpresaModel>> cBase = ResponseBase.<List<EmpresaModel>>builder()
@@ -67,10 +88,77 @@ public class EmpresaController implements IController<EmpresaModel, String> {
         }
     }
 
+    /**
+     * Recupera uma página de empresas usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de empresas e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ResponseBase<List<EmpresaModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<EmpresaModel> lPage = empresaService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<EmpresaModel>> cBase = ResponseBase.<List<EmpresaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os empresas em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(empresaService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em empresas desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<EmpresaModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<EmpresaModel> changes = empresaService.readChanges(since);
+
+        ResponseBase<ChangeSet<EmpresaModel>> cBase = ResponseBase.<ChangeSet<EmpresaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Retorna um registro específico de Empresa com base no ID fornecido.
      *
      * @param empresaId ID do registro a ser buscado.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo o registro encontrado ou status 404 se não existir.
      * 
      * Conceito de OOP:
@@ -78,7 +166,7 @@ public class EmpresaController implements IController<EmpresaModel, String> {
      * - **Polimorfismo**: O uso do `ResponseEntity` permite a personalização da resposta com base no tipo de dado (`EmpresaModel`), utilizando os conceitos de polimorfismo para adaptar a resposta ao tipo necessário.
      */
     @GetMapping("/{empresaId}")
-    public ResponseEntity<ResponseBase<EmpresaModel>> getById(@PathVariable String empresaId) {
+    public ResponseEntity<ResponseBase<EmpresaModel>> getById(@PathVariable String empresaId, WebRequest request) {
         EmpresaModel empresa = new EmpresaModel();
         
         try {
@@ -93,6 +181,10 @@ public class EmpresaController implements IController<EmpresaModel, String> {
             return ResponseEntity.ok(noResult);
         }
 
+        if (empresa != null && ConditionalRequests.notModified(request, empresa)) {
+            return null;
+        }
+
         ResponseBase<EmpresaModel> cBase = ResponseBase.<EmpresaModel>builder()
             .error(false)
             .info("OK")
@@ -140,6 +232,7 @@ public class EmpresaController implements IController<EmpresaModel, String> {
      *
      * @param empresaId ID do registro a ser atualizado.
      * @param empresa Objeto com os dados atualizados.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo o registro atualizado ou status 404 se o objeto for nulo.
      * 
      * Conceito de OOP:
@@ -148,8 +241,8 @@ public class EmpresaController implements IController<EmpresaModel, String> {
      * - **Polimorfismo**: A resposta de atualização é encapsulada no tipo genérico `ResponseBase`, aproveitando o polimorfismo para se adaptar ao tipo de dados fornecido.
      */
     @PutMapping("/{empresaId}")
-    public ResponseEntity<ResponseBase<EmpresaModel>> update(@PathVariable String empresaId, @RequestBody EmpresaModel empresa) {
-        EmpresaModel uempresa = empresaService.update(empresaId, empresa);
+    public ResponseEntity<ResponseBase<EmpresaModel>> update(@PathVariable String empresaId, @RequestBody EmpresaModel empresa, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmpresaModel uempresa = empresaService.update(empresaId, empresa, ConditionalRequests.expectedVersion(ifMatch, empresaId));
 
         ResponseBase<EmpresaModel> cBase = ResponseBase.<EmpresaModel>builder()
             .error(false)
@@ -161,7 +254,41 @@ public class EmpresaController implements IController<EmpresaModel, String> {
         if (empresa == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(uempresa)).body(cBase);
         }
     }
+
+    /**
+     * Altera apenas os campos informados de uma empresa.
+     * <p>
+     * Somente as colunas alteradas são gravadas. As associações devem ser alteradas pelo {@code PUT}.
+     * </p>
+     * @param empresaId O ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar, por exemplo {@code {"endereco": "Rua A, 10"}}.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
+     * @return ResponseEntity contendo o EmpresaModel atualizado encapsulado em um ResponseBase, ou status 400 se algum campo não puder ser alterado.
+     */
+    @PatchMapping("/{empresaId}")
+    public ResponseEntity<ResponseBase<EmpresaModel>> patch(@PathVariable String empresaId, @RequestBody JsonNode changes, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmpresaModel uempresa;
+        try {
+            uempresa = empresaService.patch(empresaId, changes, ConditionalRequests.expectedVersion(ifMatch, empresaId));
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<EmpresaModel> invalid = ResponseBase.<EmpresaModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(invalid);
+        }
+
+        ResponseBase<EmpresaModel> cBase = ResponseBase.<EmpresaModel>builder()
+            .error(false)
+            .info("OK")
+            .message(uempresa)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok().eTag(ConditionalRequests.etag(uempresa)).body(cBase);
+    }
 }
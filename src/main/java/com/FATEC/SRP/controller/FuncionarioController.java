@@ -8,14 +8,26 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.util.Map;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.FuncionarioModel;
 import com.fatec.srp.service.FuncionarioService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
 
 /**
  * Controlador responsável por gerenciar os endpoints relacionados à entidade funcionario.
@@ -40,9 +52,13 @@ public class FuncionarioController implements IController<FuncionarioModel, Stri
     @Autowired
     private FuncionarioService FuncionarioService;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     /**
      * Retorna todos os registros de funcionario disponíveis.
      *
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de registros ou status 404 se nenhum registro for encontrado.
      * 
      * Conceito de OOP:
@@ -50,7 +66,11 @@ public class FuncionarioController implements IController<FuncionarioModel, Stri
      * - **Abstração**: A complexidade da leitura de múltiplos registros é abstraída pelo serviço, simplificando a lógica do controlador.
      */
     @GetMapping
-    public ResponseEntity<ResponseBase<List<FuncionarioModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<FuncionarioModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, FuncionarioService.readVersion())) {
+            return null;
+        }
+
         List<FuncionarioModel> lfuncionario = FuncionarioService.read();
 
         ResponseBase<List<FuncionarioModel>> cBase = ResponseBase.<List<FuncionarioModel>>builder()
@@ -67,10 +87,118 @@ public class FuncionarioController implements IController<FuncionarioModel, Stri
         }
     }
 
+    /**
+     * Recupera uma página de funcionários usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de funcionários e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = {"size", "!fields"})
+    public ResponseEntity<ResponseBase<List<FuncionarioModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<FuncionarioModel> lPage = FuncionarioService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<FuncionarioModel>> cBase = ResponseBase.<List<FuncionarioModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Recupera os funcionários contendo apenas os campos informados, lendo do banco somente as colunas pedidas.
+     * <p>
+     * Aceita os mesmos parâmetros {@code cursor} e {@code size} da paginação; sem {@code size}, retorna todos os registros.
+     * </p>
+     * @param fields Campos separados por vírgula, por exemplo {@code usuario.nomePessoa,cargo.nomeCargo}.
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo os campos de cada registro e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<ResponseBase<List<Map<String, Object>>>> getFields(@RequestParam String fields, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        Integer pageSize = size == null ? null : Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<Map<String, Object>> lPage;
+        try {
+            lPage = FuncionarioService.readFields(fields, cursor, pageSize);
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<List<Map<String, Object>>> cBase = ResponseBase.<List<Map<String, Object>>>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(cBase);
+        }
+
+        String nextCursor = null;
+        if (pageSize != null && lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).get("id").toString();
+        }
+
+        ResponseBase<List<Map<String, Object>>> cBase = ResponseBase.<List<Map<String, Object>>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os funcionários em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(FuncionarioService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em funcionários desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<FuncionarioModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<FuncionarioModel> changes = FuncionarioService.readChanges(since);
+
+        ResponseBase<ChangeSet<FuncionarioModel>> cBase = ResponseBase.<ChangeSet<FuncionarioModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Retorna um registro específico de funcionario com base no ID fornecido.
      *
      * @param funcionarioId ID do registro a ser buscado.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo o registro encontrado ou status 404 se não existir.
      * 
      * Conceito de OOP:
@@ -78,7 +206,7 @@ public class FuncionarioController implements IController<FuncionarioModel, Stri
      * - **Polimorfismo**: O uso do `ResponseEntity` permite a personalização da resposta com base no tipo de dado (`FuncionarioModel`), utilizando os conceitos de polimorfismo para adaptar a resposta ao tipo necessário.
      */
     @GetMapping("/{funcionarioId}")
-    public ResponseEntity<ResponseBase<FuncionarioModel>> getById(@PathVariable String funcionarioId) {
+    public ResponseEntity<ResponseBase<FuncionarioModel>> getById(@PathVariable String funcionarioId, WebRequest request) {
         FuncionarioModel funcionario = new FuncionarioModel();
         
         try {
@@ -93,6 +221,10 @@ public class FuncionarioController implements IController<FuncionarioModel, Stri
             return ResponseEntity.ok(noResult);
         }
 
+        if (funcionario != null && ConditionalRequests.notModified(request, funcionario)) {
+            return null;
+        }
+
         ResponseBase<FuncionarioModel> cBase = ResponseBase.<FuncionarioModel>builder()
             .error(false)
             .info("OK")
@@ -140,6 +272,7 @@ public class FuncionarioController implements IController<FuncionarioModel, Stri
      *
      * @param funcionarioId ID do registro a ser atualizado.
      * @param funcionario Objeto com os dados atualizados.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo o registro atualizado ou status 404 se o objeto for nulo.
      * 
      * Conceito de OOP:
@@ -148,8 +281,8 @@ public class FuncionarioController implements IController<FuncionarioModel, Stri
      * - **Polimorfismo**: A resposta de atualização é encapsulada no tipo genérico `ResponseBase`, aproveitando o polimorfismo para se adaptar ao tipo de dados fornecido.
      */
     @PutMapping("/{funcionarioId}")
-    public ResponseEntity<ResponseBase<FuncionarioModel>> update(@PathVariable String funcionarioId, @RequestBody FuncionarioModel funcionario) {
-        FuncionarioModel ufuncionario = FuncionarioService.update(funcionarioId, funcionario);
+    public ResponseEntity<ResponseBase<FuncionarioModel>> update(@PathVariable String funcionarioId, @RequestBody FuncionarioModel funcionario, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        FuncionarioModel ufuncionario = FuncionarioService.update(funcionarioId, funcionario, ConditionalRequests.expectedVersion(ifMatch, funcionarioId));
 
         ResponseBase<FuncionarioModel> cBase = ResponseBase.<FuncionarioModel>builder()
             .error(false)
@@ -161,7 +294,7 @@ public class FuncionarioController implements IController<FuncionarioModel, Stri
         if (funcionario == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(ufuncionario)).body(cBase);
         }
     }
 }
@@ -8,14 +8,26 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.FuncionarioTurmaModel;
 import com.fatec.srp.service.FuncionarioTurmaService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.ConflitoHorarioException;
 
 /**
  * Controlador responsável por gerenciar os endpoints relacionados à entidade FuncionarioTurma.
@@ -40,9 +52,13 @@ public class FuncionarioTurmaController implements IController<FuncionarioTurmaM
     @Autowired
     private FuncionarioTurmaService funcionarioTurmaService;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     /**
      * Retorna todos os registros de FuncionarioTurma disponíveis.
      *
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de registros ou status 404 se nenhum registro for encontrado.
      * 
      * Conceito de OOP:
@@ -50,7 +66,11 @@ public class FuncionarioTurmaController implements IController<FuncionarioTurmaM
      * - **Abstração**: A complexidade da leitura de múltiplos registros é abstraída pelo serviço, simplificando a lógica do controlador.
      */
     @GetMapping
-    public ResponseEntity<ResponseBase<List<FuncionarioTurmaModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<FuncionarioTurmaModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, funcionarioTurmaService.readVersion())) {
+            return null;
+        }
+
         List<FuncionarioTurmaModel> lfuncionarioTurma = funcionarioTurmaService.read();
 
         ResponseBase<List<FuncionarioTurmaModel>> cBase = ResponseBase.<List<FuncionarioTurmaModel>>builder()
@@ -67,10 +87,77 @@ public class FuncionarioTurmaController implements IController<FuncionarioTurmaM
         }
     }
 
+    /**
+     * Recupera uma página de associações entre funcionários e turmas usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de associações entre funcionários e turmas e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ResponseBase<List<FuncionarioTurmaModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<FuncionarioTurmaModel> lPage = funcionarioTurmaService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<FuncionarioTurmaModel>> cBase = ResponseBase.<List<FuncionarioTurmaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os associações entre funcionários e turmas em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(funcionarioTurmaService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em associações entre funcionários e turmas desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<FuncionarioTurmaModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<FuncionarioTurmaModel> changes = funcionarioTurmaService.readChanges(since);
+
+        ResponseBase<ChangeSet<FuncionarioTurmaModel>> cBase = ResponseBase.<ChangeSet<FuncionarioTurmaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Retorna um registro específico de FuncionarioTurma com base no ID fornecido.
      *
      * @param funcionarioTurmaId ID do registro a ser buscado.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo o registro encontrado ou status 404 se não existir.
      * 
      * Conceito de OOP:
@@ -78,7 +165,7 @@ public class FuncionarioTurmaController implements IController<FuncionarioTurmaM
      * - **Polimorfismo**: O uso do `ResponseEntity` permite a personalização da resposta com base no tipo de dado (`FuncionarioTurmaModel`), utilizando os conceitos de polimorfismo para adaptar a resposta ao tipo necessário.
      */
     @GetMapping("/{funcionarioTurmaId}")
-    public ResponseEntity<ResponseBase<FuncionarioTurmaModel>> getById(@PathVariable String funcionarioTurmaId) {
+    public ResponseEntity<ResponseBase<FuncionarioTurmaModel>> getById(@PathVariable String funcionarioTurmaId, WebRequest request) {
         FuncionarioTurmaModel funcionarioTurma = new FuncionarioTurmaModel();
 
         try {
@@ -93,6 +180,10 @@ public class FuncionarioTurmaController implements IController<FuncionarioTurmaM
             return ResponseEntity.ok(noResult);
         }
 
+        if (funcionarioTurma != null && ConditionalRequests.notModified(request, funcionarioTurma)) {
+            return null;
+        }
+
         ResponseBase<FuncionarioTurmaModel> cBase = ResponseBase.<FuncionarioTurmaModel>builder()
             .error(false)
             .info("OK")
@@ -111,7 +202,7 @@ public class FuncionarioTurmaController implements IController<FuncionarioTurmaM
      * Cria um novo registro de FuncionarioTurma.
      *
      * @param funcionarioTurma Objeto representando o registro a ser criado.
-     * @return ResponseEntity contendo o registro recém-criado ou status 404 se o objeto for nulo.
+     * @return ResponseEntity contendo o registro recém-criado ou status 404 se o objeto for nulo; status 409 se a turma tiver horário em conflito com outra turma do funcionário.
      * 
      * Conceito de OOP:
      * - **Encapsulamento**: A criação do funcionário da turma é encapsulada no método `create` do serviço `FuncionarioTurmaService`, deixando a lógica de persistência de dados fora do controlador.
@@ -119,7 +210,16 @@ public class FuncionarioTurmaController implements IController<FuncionarioTurmaM
      */
     @PostMapping
     public ResponseEntity<ResponseBase<FuncionarioTurmaModel>> getBody(@RequestBody FuncionarioTurmaModel funcionarioTurma) {
-        funcionarioTurmaService.create(funcionarioTurma);
+        try {
+            funcionarioTurmaService.create(funcionarioTurma);
+        } catch (ConflitoHorarioException ex) {
+            ResponseBase<FuncionarioTurmaModel> conflict = ResponseBase.<FuncionarioTurmaModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.CONFLICT)
+                .build();
+            return ResponseEntity.status(AppConstants.CONFLICT).body(conflict);
+        }
 
         ResponseBase<FuncionarioTurmaModel> cBase = ResponseBase.<FuncionarioTurmaModel>builder()
             .error(false)
@@ -140,6 +240,7 @@ public class FuncionarioTurmaController implements IController<FuncionarioTurmaM
      *
      * @param funcionarioTurmaId ID do registro a ser atualizado.
      * @param funcionarioTurma Objeto com os dados atualizados.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo o registro atualizado ou status 404 se o objeto for nulo.
      * 
      * Conceito de OOP:
@@ -148,8 +249,8 @@ public class FuncionarioTurmaController implements IController<FuncionarioTurmaM
      * - **Polimorfismo**: A resposta de atualização é encapsulada no tipo genérico `ResponseBase`, aproveitando o polimorfismo para se adaptar ao tipo de dados fornecido.
      */
     @PutMapping("/{funcionarioTurmaId}")
-    public ResponseEntity<ResponseBase<FuncionarioTurmaModel>> update(@PathVariable String funcionarioTurmaId, @RequestBody FuncionarioTurmaModel funcionarioTurma) {
-        FuncionarioTurmaModel ufuncionarioTurma = funcionarioTurmaService.update(funcionarioTurmaId, funcionarioTurma);
+    public ResponseEntity<ResponseBase<FuncionarioTurmaModel>> update(@PathVariable String funcionarioTurmaId, @RequestBody FuncionarioTurmaModel funcionarioTurma, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        FuncionarioTurmaModel ufuncionarioTurma = funcionarioTurmaService.update(funcionarioTurmaId, funcionarioTurma, ConditionalRequests.expectedVersion(ifMatch, funcionarioTurmaId));
 
         ResponseBase<FuncionarioTurmaModel> cBase = ResponseBase.<FuncionarioTurmaModel>builder()
             .error(false)
@@ -161,7 +262,7 @@ public class FuncionarioTurmaController implements IController<FuncionarioTurmaM
         if (funcionarioTurma == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(ufuncionarioTurma)).body(cBase);
         }
     }
 }
@@ -3,6 +3,7 @@ package com.fatec.srp.controller;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Interface genérica que define as operações básicas de um controlador para uma entidade.
@@ -20,9 +21,22 @@ public interface IController<T, ID> {
      * <p>
      * Promove encapsulamento ao utilizar ResponseEntity para estruturar a resposta.
      * </p>
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de entidades ou uma resposta de erro.
      */
-    public ResponseEntity<ResponseBase<List<T>>> getAll();
+    public ResponseEntity<ResponseBase<List<T>>> getAll(WebRequest request);
+
+    /**
+     * Recupera uma página de registros da entidade usando paginação por chave ({@code id > cursor ORDER BY id}).
+     * <p>
+     * O custo de cada página independe do tamanho da tabela, pois a busca parte diretamente do cursor
+     * no índice da chave primária em vez de carregar todos os registros.
+     * </p>
+     * @param cursor Identificador do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros na página.
+     * @return ResponseEntity contendo a página de entidades e o cursor da próxima página.
+     */
+    public ResponseEntity<ResponseBase<List<T>>> getPage(ID cursor, int size);
 
     /**
      * Recupera um registro específico da entidade com base no identificador fornecido.
@@ -30,9 +44,10 @@ public interface IController<T, ID> {
      * Polimorfismo: a implementação pode variar conforme a entidade que o controlador gerencia.
      * </p>
      * @param id Identificador único do registro.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo o registro encontrado ou uma resposta de erro.
      */
-    public ResponseEntity<ResponseBase<T>> getById(ID id);
+    public ResponseEntity<ResponseBase<T>> getById(ID id, WebRequest request);
 
     /**
      * Cria um novo registro da entidade com base nos dados fornecidos.
@@ -51,7 +66,8 @@ public interface IController<T, ID> {
      * </p>
      * @param id Identificador único do registro a ser atualizado.
      * @param body Objeto contendo os dados atualizados do registro.
+     * @param ifMatch Valor do cabeçalho {@code If-Match} com a ETag da versão que o cliente espera alterar, ou {@code null}.
      * @return ResponseEntity contendo o registro atualizado ou uma resposta de erro.
      */
-    public ResponseEntity<ResponseBase<T>> update(ID id, T body);
+    public ResponseEntity<ResponseBase<T>> update(ID id, T body, String ifMatch);
 }
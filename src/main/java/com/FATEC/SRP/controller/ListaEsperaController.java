@@ -0,0 +1,133 @@
+package com.fatec.srp.controller;
+
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.PosicaoListaEspera;
+import com.fatec.srp.models.ListaEsperaModel;
+import com.fatec.srp.service.ListaEsperaService;
+
+/**
+ * Controlador responsável pela lista de espera das turmas.
+ * <p>
+ * Os alunos entram na fila de uma turma lotada e são matriculados automaticamente, em ordem de chegada, quando
+ * uma vaga é liberada. As consultas de tamanho da fila e de posição custam um número fixo de consultas ao banco,
+ * independentemente do tamanho da fila.
+ * </p>
+ */
+@RequestMapping("/api/listaEspera")
+@RestController
+public class ListaEsperaController {
+
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+
+    /**
+     * Coloca um aluno no fim da fila de uma turma.
+     *
+     * @param espera Objeto com {@code aluno.id} e {@code turma.id}.
+     * @return ResponseEntity contendo a posição do aluno na fila encapsulada em um ResponseBase; status 404 se o aluno ou a turma não existir e 409 se o aluno já estiver matriculado ou na fila, se houver conflito de horário ou se a turma tiver vaga livre sem fila.
+     */
+    @PostMapping
+    public ResponseEntity<ResponseBase<PosicaoListaEspera>> entrar(@RequestBody ListaEsperaModel espera) {
+        PosicaoListaEspera posicao;
+        try {
+            posicao = listaEsperaService.entrar(espera.getAluno().getId(), espera.getTurma().getId());
+        } catch (NoSuchElementException ex) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException ex) {
+            ResponseBase<PosicaoListaEspera> conflict = ResponseBase.<PosicaoListaEspera>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.CONFLICT)
+                .build();
+            return ResponseEntity.status(AppConstants.CONFLICT).body(conflict);
+        }
+
+        ResponseBase<PosicaoListaEspera> cBase = ResponseBase.<PosicaoListaEspera>builder()
+            .error(false)
+            .info("OK")
+            .message(posicao)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Retira um registro da lista de espera.
+     *
+     * @param esperaId ID do registro na lista de espera.
+     * @return ResponseEntity com um ResponseBase vazio, ou status 404 se o registro não existir.
+     */
+    @DeleteMapping("/{esperaId}")
+    public ResponseEntity<ResponseBase<Object>> sair(@PathVariable Integer esperaId) {
+        try {
+            listaEsperaService.sair(esperaId);
+        } catch (NoSuchElementException ex) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ResponseBase<Object> cBase = ResponseBase.<Object>builder()
+            .error(false)
+            .info("OK")
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Consulta a quantidade de alunos na fila de uma turma.
+     *
+     * @param turmaId ID da turma.
+     * @return ResponseEntity contendo a quantidade de alunos aguardando vaga encapsulada em um ResponseBase.
+     */
+    @GetMapping("/turma/{turmaId}")
+    public ResponseEntity<ResponseBase<Long>> getTamanho(@PathVariable Integer turmaId) {
+        ResponseBase<Long> cBase = ResponseBase.<Long>builder()
+            .error(false)
+            .info("OK")
+            .message(listaEsperaService.tamanho(turmaId))
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Consulta a posição de um aluno na fila de uma turma.
+     *
+     * @param turmaId ID da turma.
+     * @param alunoId ID do aluno.
+     * @return ResponseEntity contendo a posição encapsulada em um ResponseBase, ou status 404 se o aluno não estiver na fila.
+     */
+    @GetMapping("/turma/{turmaId}/aluno/{alunoId}")
+    public ResponseEntity<ResponseBase<PosicaoListaEspera>> getPosicao(@PathVariable Integer turmaId, @PathVariable Integer alunoId) {
+        PosicaoListaEspera posicao = listaEsperaService.posicao(turmaId, alunoId);
+
+        if (posicao == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ResponseBase<PosicaoListaEspera> cBase = ResponseBase.<PosicaoListaEspera>builder()
+            .error(false)
+            .info("OK")
+            .message(posicao)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+}
@@ -8,14 +8,28 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.CicloPreRequisitoException;
 import com.fatec.srp.models.PreRequisitoModel;
 import com.fatec.srp.service.PreRequisitoService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
+import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Controlador responsável por gerenciar os endpoints relacionados à entidade PreRequisito.
@@ -40,9 +54,13 @@ public class PreRequisitoController implements IController<PreRequisitoModel, St
     @Autowired
     private PreRequisitoService preRequisitoService;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     /**
      * Retorna todos os registros de PreRequisito disponíveis.
      *
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de registros ou status 404 se nenhum registro for encontrado.
      * 
      * Conceito de OOP:
@@ -50,7 +68,11 @@ public class PreRequisitoController implements IController<PreRequisitoModel, St
      * - **Abstração**: A complexidade da leitura de múltiplos registros é abstraída pelo serviço, simplificando a lógica do controlador.
      */
     @GetMapping
-    public ResponseEntity<ResponseBase<List<PreRequisitoModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<PreRequisitoModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, preRequisitoService.readVersion())) {
+            return null;
+        }
+
         List<PreRequisitoModel> lPreRequisito = preRequisitoService.read();
 
         ResponseBase<List<PreRequisitoModel>> cBase = ResponseBase.<List<PreRequisitoModel>>builder()
@@ -67,10 +89,77 @@ public class PreRequisitoController implements IController<PreRequisitoModel, St
         }
     }
 
+    /**
+     * Recupera uma página de pré-requisitos usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de pré-requisitos e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ResponseBase<List<PreRequisitoModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<PreRequisitoModel> lPage = preRequisitoService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<PreRequisitoModel>> cBase = ResponseBase.<List<PreRequisitoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os pré-requisitos em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(preRequisitoService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em pré-requisitos desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<PreRequisitoModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<PreRequisitoModel> changes = preRequisitoService.readChanges(since);
+
+        ResponseBase<ChangeSet<PreRequisitoModel>> cBase = ResponseBase.<ChangeSet<PreRequisitoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Retorna um registro específico de PreRequisito com base no ID fornecido.
      *
      * @param preRequisitoId ID do registro a ser buscado.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo o registro encontrado ou status 404 se não existir.
      * 
      * Conceito de OOP:
@@ -78,7 +167,7 @@ public class PreRequisitoController implements IController<PreRequisitoModel, St
      * - **Polimorfismo**: O uso do `ResponseEntity` permite a personalização da resposta com base no tipo de dado (`PreRequisitoModel`), utilizando os conceitos de polimorfismo para adaptar a resposta ao tipo necessário.
      */
     @GetMapping("/{preRequisitoId}")
-    public ResponseEntity<ResponseBase<PreRequisitoModel>> getById(@PathVariable String preRequisitoId) {
+    public ResponseEntity<ResponseBase<PreRequisitoModel>> getById(@PathVariable String preRequisitoId, WebRequest request) {
         PreRequisitoModel preRequisito = new PreRequisitoModel();
         
         try {
@@ -93,6 +182,10 @@ public class PreRequisitoController implements IController<PreRequisitoModel, St
             return ResponseEntity.ok(noResult);
         }
 
+        if (preRequisito != null && ConditionalRequests.notModified(request, preRequisito)) {
+            return null;
+        }
+
         ResponseBase<PreRequisitoModel> cBase = ResponseBase.<PreRequisitoModel>builder()
             .error(false)
             .info("OK")
@@ -140,7 +233,9 @@ public class PreRequisitoController implements IController<PreRequisitoModel, St
      *
      * @param preRequisitoId ID do registro a ser atualizado.
      * @param preRequisito Objeto com os dados atualizados.
-     * @return ResponseEntity contendo o registro atualizado ou status 404 se o objeto for nulo.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
+     * @return ResponseEntity contendo o registro atualizado ou status 404 se o objeto for nulo,
+     * ou status 409 se o novo curso equivalente criar um ciclo de pré-requisitos entre cursos.
      * 
      * Conceito de OOP:
      * - **Encapsulamento**: A lógica de atualização dos dados é encapsulada no serviço `PreRequisitoService`, mantendo o controlador simples e focado na interação com a camada de serviço.
@@ -148,8 +243,18 @@ public class PreRequisitoController implements IController<PreRequisitoModel, St
      * - **Polimorfismo**: A resposta de atualização é encapsulada no tipo genérico `ResponseBase`, aproveitando o polimorfismo para se adaptar ao tipo de dados fornecido.
      */
     @PutMapping("/{preRequisitoId}")
-    public ResponseEntity<ResponseBase<PreRequisitoModel>> update(@PathVariable String preRequisitoId, @RequestBody PreRequisitoModel preRequisito) {
-        PreRequisitoModel uPreRequisito = preRequisitoService.update(preRequisitoId, preRequisito);
+    public ResponseEntity<ResponseBase<PreRequisitoModel>> update(@PathVariable String preRequisitoId, @RequestBody PreRequisitoModel preRequisito, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PreRequisitoModel uPreRequisito;
+        try {
+            uPreRequisito = preRequisitoService.update(preRequisitoId, preRequisito, ConditionalRequests.expectedVersion(ifMatch, preRequisitoId));
+        } catch (CicloPreRequisitoException ex) {
+            ResponseBase<PreRequisitoModel> conflict = ResponseBase.<PreRequisitoModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.CONFLICT)
+                .build();
+            return ResponseEntity.status(AppConstants.CONFLICT).body(conflict);
+        }
 
         ResponseBase<PreRequisitoModel> cBase = ResponseBase.<PreRequisitoModel>builder()
             .error(false)
@@ -161,7 +266,41 @@ public class PreRequisitoController implements IController<PreRequisitoModel, St
         if (uPreRequisito == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(uPreRequisito)).body(cBase);
+        }
+    }
+
+    /**
+     * Altera apenas os campos informados de um pré-requisito.
+     * <p>
+     * Somente as colunas alteradas são gravadas. As associações devem ser alteradas pelo {@code PUT}.
+     * </p>
+     * @param preRequisitoId O ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar, por exemplo {@code {"descPrerequisito": "Lógica de programação"}}.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
+     * @return ResponseEntity contendo o PreRequisitoModel atualizado encapsulado em um ResponseBase, ou status 400 se algum campo não puder ser alterado.
+     */
+    @PatchMapping("/{preRequisitoId}")
+    public ResponseEntity<ResponseBase<PreRequisitoModel>> patch(@PathVariable String preRequisitoId, @RequestBody JsonNode changes, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PreRequisitoModel uPreRequisito;
+        try {
+            uPreRequisito = preRequisitoService.patch(preRequisitoId, changes, ConditionalRequests.expectedVersion(ifMatch, preRequisitoId));
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<PreRequisitoModel> invalid = ResponseBase.<PreRequisitoModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(invalid);
         }
+
+        ResponseBase<PreRequisitoModel> cBase = ResponseBase.<PreRequisitoModel>builder()
+            .error(false)
+            .info("OK")
+            .message(uPreRequisito)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok().eTag(ConditionalRequests.etag(uPreRequisito)).body(cBase);
     }
 }
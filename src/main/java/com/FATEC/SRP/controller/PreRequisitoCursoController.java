@@ -8,14 +8,26 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.CicloPreRequisitoException;
 import com.fatec.srp.models.PreRequisitoCursoModel;
 import com.fatec.srp.service.PreRequisitoCursoService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
 
 /**
  * Controlador responsável por gerenciar os endpoints relacionados à entidade PreRequisitoCurso.
@@ -40,9 +52,13 @@ public class PreRequisitoCursoController implements IController<PreRequisitoCurs
     @Autowired
     private PreRequisitoCursoService preRequisitoCursoService;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     /**
      * Retorna todos os registros de PreRequisitoCurso disponíveis.
      *
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo uma lista de registros ou status 404 se nenhum registro for encontrado.
      * 
      * Conceito de OOP:
@@ -50,7 +66,11 @@ public class PreRequisitoCursoController implements IController<PreRequisitoCurs
      * - **Abstração**: A complexidade da leitura de múltiplos registros é abstraída pelo serviço, simplificando a lógica do controlador.
      */
     @GetMapping 
-    public ResponseEntity<ResponseBase<List<PreRequisitoCursoModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<PreRequisitoCursoModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, preRequisitoCursoService.readVersion())) {
+            return null;
+        }
+
         List<PreRequisitoCursoModel> lprerequisitoCurso = preRequisitoCursoService.read();
 
         ResponseBase<List<PreRequisitoCursoModel>> cBase = ResponseBase.<List<PreRequisitoCursoModel>>builder()
@@ -67,10 +87,77 @@ public class PreRequisitoCursoController implements IController<PreRequisitoCurs
         }
     }
 
+    /**
+     * Recupera uma página de pré-requisitos de cursos usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de pré-requisitos de cursos e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ResponseBase<List<PreRequisitoCursoModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<PreRequisitoCursoModel> lPage = preRequisitoCursoService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<PreRequisitoCursoModel>> cBase = ResponseBase.<List<PreRequisitoCursoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os pré-requisitos de cursos em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(preRequisitoCursoService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em pré-requisitos de cursos desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<PreRequisitoCursoModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<PreRequisitoCursoModel> changes = preRequisitoCursoService.readChanges(since);
+
+        ResponseBase<ChangeSet<PreRequisitoCursoModel>> cBase = ResponseBase.<ChangeSet<PreRequisitoCursoModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Retorna um registro específico de PreRequisitoCurso com base no ID fornecido.
      *
      * @param prerequisitoCursoId ID do registro a ser buscado.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo o registro encontrado ou status 404 se não existir.
      * 
      * Conceito de OOP:
@@ -78,7 +165,7 @@ public class PreRequisitoCursoController implements IController<PreRequisitoCurs
      * - **Polimorfismo**: O uso do `ResponseEntity` permite a personalização da resposta com base no tipo de dado (`PreRequisitoCursoModel`), utilizando os conceitos de polimorfismo para adaptar a resposta ao tipo necessário.
      */
     @GetMapping("/{prerequisitoCursoId}")
-    public ResponseEntity<ResponseBase<PreRequisitoCursoModel>> getById(@PathVariable String prerequisitoCursoId) {
+    public ResponseEntity<ResponseBase<PreRequisitoCursoModel>> getById(@PathVariable String prerequisitoCursoId, WebRequest request) {
         PreRequisitoCursoModel prerequisitoCurso = new PreRequisitoCursoModel();
         
         try {
@@ -93,6 +180,10 @@ public class PreRequisitoCursoController implements IController<PreRequisitoCurs
             return ResponseEntity.ok(noResult);
         }
 
+        if (prerequisitoCurso != null && ConditionalRequests.notModified(request, prerequisitoCurso)) {
+            return null;
+        }
+
         ResponseBase<PreRequisitoCursoModel> cBase = ResponseBase.<PreRequisitoCursoModel>builder()
             .error(false)
             .info("OK")
@@ -111,7 +202,8 @@ public class PreRequisitoCursoController implements IController<PreRequisitoCurs
      * Cria um novo registro de PreRequisitoCurso.
      *
      * @param prerequisitoCurso Objeto representando o registro a ser criado.
-     * @return ResponseEntity contendo o registro recém-criado ou status 404 se o objeto for nulo.
+     * @return ResponseEntity contendo o registro recém-criado ou status 404 se o objeto for nulo,
+     * ou status 409 se o pré-requisito criar um ciclo entre cursos.
      * 
      * Conceito de OOP:
      * - **Encapsulamento**: A criação do pré-requisito de curso é encapsulada no método `create` do serviço `PreRequisitoCursoService`, deixando a lógica de persistência de dados fora do controlador.
@@ -119,7 +211,16 @@ public class PreRequisitoCursoController implements IController<PreRequisitoCurs
      */
     @PostMapping
     public ResponseEntity<ResponseBase<PreRequisitoCursoModel>> getBody(@RequestBody PreRequisitoCursoModel prerequisitoCurso) {
-        preRequisitoCursoService.create(prerequisitoCurso);
+        try {
+            preRequisitoCursoService.create(prerequisitoCurso);
+        } catch (CicloPreRequisitoException ex) {
+            ResponseBase<PreRequisitoCursoModel> conflict = ResponseBase.<PreRequisitoCursoModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.CONFLICT)
+                .build();
+            return ResponseEntity.status(AppConstants.CONFLICT).body(conflict);
+        }
 
         ResponseBase<PreRequisitoCursoModel> cBase = ResponseBase.<PreRequisitoCursoModel>builder()
             .error(false)
@@ -140,7 +241,9 @@ public class PreRequisitoCursoController implements IController<PreRequisitoCurs
      *
      * @param prerequisitoCursoId ID do registro a ser atualizado.
      * @param prerequisitoCurso Objeto com os dados atualizados.
-     * @return ResponseEntity contendo o registro atualizado ou status 404 se o objeto for nulo.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
+     * @return ResponseEntity contendo o registro atualizado ou status 404 se o objeto for nulo,
+     * ou status 409 se a alteração criar um ciclo de pré-requisitos entre cursos.
      * 
      * Conceito de OOP:
      * - **Encapsulamento**: A lógica de atualização dos dados é encapsulada no serviço `PreRequisitoCursoService`, mantendo o controlador simples e focado na interação com a camada de serviço.
@@ -148,8 +251,18 @@ public class PreRequisitoCursoController implements IController<PreRequisitoCurs
      * - **Polimorfismo**: A resposta de atualização é encapsulada no tipo genérico `ResponseBase`, aproveitando o polimorfismo para se adaptar ao tipo de dados fornecido.
      */
     @PutMapping("/{prerequisitoCursoId}")
-    public ResponseEntity<ResponseBase<PreRequisitoCursoModel>> update(@PathVariable String prerequisitoCursoId, @RequestBody PreRequisitoCursoModel prerequisitoCurso) {
-        PreRequisitoCursoModel uprerequisitoCurso = preRequisitoCursoService.update(prerequisitoCursoId, prerequisitoCurso);
+    public ResponseEntity<ResponseBase<PreRequisitoCursoModel>> update(@PathVariable String prerequisitoCursoId, @RequestBody PreRequisitoCursoModel prerequisitoCurso, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PreRequisitoCursoModel uprerequisitoCurso;
+        try {
+            uprerequisitoCurso = preRequisitoCursoService.update(prerequisitoCursoId, prerequisitoCurso, ConditionalRequests.expectedVersion(ifMatch, prerequisitoCursoId));
+        } catch (CicloPreRequisitoException ex) {
+            ResponseBase<PreRequisitoCursoModel> conflict = ResponseBase.<PreRequisitoCursoModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.CONFLICT)
+                .build();
+            return ResponseEntity.status(AppConstants.CONFLICT).body(conflict);
+        }
 
         ResponseBase<PreRequisitoCursoModel> cBase = ResponseBase.<PreRequisitoCursoModel>builder()
             .error(false)
@@ -161,7 +274,7 @@ public class PreRequisitoCursoController implements IController<PreRequisitoCurs
         if (uprerequisitoCurso == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(uprerequisitoCurso)).body(cBase);
         }
     }
 }
@@ -1,5 +1,7 @@
 package com.fatec.srp.controller;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -27,4 +29,11 @@ public class ResponseBase<T> {
     private int status;
 
     private T message;
+
+    /**
+     * Cursor da próxima página em respostas paginadas por chave.
+     * Omitido do JSON quando não há próxima página ou quando a resposta não é paginada.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 }
@@ -8,14 +8,29 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.TrilhaModel;
 import com.fatec.srp.service.TrilhaService;
+import com.fatec.srp.service.TrilhaProjecaoService;
+import com.fatec.srp.common.TrilhaCursos;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
+import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Controlador para gerenciar as trilhas de aprendizado.
@@ -34,13 +49,24 @@ public class TrilhaController implements IController<TrilhaModel, String> {
     @Autowired
     private TrilhaService trilhaService;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
+    @Autowired
+    private TrilhaProjecaoService trilhaProjecaoService;
+
     /**
      * Recupera todas as trilhas cadastradas.
      * 
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo a lista de trilhas ou código de erro 404 se não encontrado.
      */
     @GetMapping
-    public ResponseEntity<ResponseBase<List<TrilhaModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<TrilhaModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, trilhaService.readVersion())) {
+            return null;
+        }
+
         List<TrilhaModel> ltrilha = trilhaService.read();
 
         ResponseBase<List<TrilhaModel>> cBase = ResponseBase.<List<TrilhaModel>>builder()
@@ -57,14 +83,81 @@ public class TrilhaController implements IController<TrilhaModel, String> {
         }
     }
 
+    /**
+     * Recupera uma página de trilhas usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de trilhas e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ResponseBase<List<TrilhaModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<TrilhaModel> lPage = trilhaService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<TrilhaModel>> cBase = ResponseBase.<List<TrilhaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os trilhas em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(trilhaService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em trilhas desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<TrilhaModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<TrilhaModel> changes = trilhaService.readChanges(since);
+
+        ResponseBase<ChangeSet<TrilhaModel>> cBase = ResponseBase.<ChangeSet<TrilhaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Recupera uma trilha pelo seu ID.
      * 
      * @param trilhaId ID da trilha a ser recuperada.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo a trilha ou código de erro 404 se não encontrado.
      */
     @GetMapping("/{trilhaId}")
-    public ResponseEntity<ResponseBase<TrilhaModel>> getById(@PathVariable String trilhaId) {
+    public ResponseEntity<ResponseBase<TrilhaModel>> getById(@PathVariable String trilhaId, WebRequest request) {
         TrilhaModel trilha = new TrilhaModel();
         
         try {
@@ -79,6 +172,10 @@ public class TrilhaController implements IController<TrilhaModel, String> {
             return ResponseEntity.ok(noResult);
         }
 
+        if (trilha != null && ConditionalRequests.notModified(request, trilha)) {
+            return null;
+        }
+
         ResponseBase<TrilhaModel> cBase = ResponseBase.<TrilhaModel>builder()
             .error(false)
             .info("OK")
@@ -93,6 +190,27 @@ public class TrilhaController implements IController<TrilhaModel, String> {
         }
     }
 
+    /**
+     * Recupera os cursos de uma trilha, na ordem em que foram associados, com nome, carga horária, valor e os totais
+     * da trilha. A resposta vem da projeção mantida em memória por {@link TrilhaProjecaoService}, sem consultas ao banco.
+     * 
+     * @param trilhaId ID da trilha.
+     * @return ResponseEntity contendo a projeção da trilha, ou mensagem nula se a trilha não existir.
+     */
+    @GetMapping("/{trilhaId}/cursos")
+    public ResponseEntity<ResponseBase<TrilhaCursos>> getCursos(@PathVariable Integer trilhaId) {
+        TrilhaCursos trilhaCursos = trilhaProjecaoService.projecao(trilhaId);
+
+        ResponseBase<TrilhaCursos> cBase = ResponseBase.<TrilhaCursos>builder()
+            .error(false)
+            .info("OK")
+            .message(trilhaCursos)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Cria uma nova trilha.
      * 
@@ -122,11 +240,12 @@ public class TrilhaController implements IController<TrilhaModel, String> {
      * 
      * @param trilhaId ID da trilha a ser atualizada.
      * @param trilha Objeto com os novos dados da trilha.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo a trilha atualizada ou código de erro 404 se não encontrado.
      */
     @PutMapping("/{trilhaId}")
-    public ResponseEntity<ResponseBase<TrilhaModel>> update(@PathVariable String trilhaId, @RequestBody TrilhaModel trilha) {
-        TrilhaModel utrilha = trilhaService.update(trilhaId, trilha);
+    public ResponseEntity<ResponseBase<TrilhaModel>> update(@PathVariable String trilhaId, @RequestBody TrilhaModel trilha, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TrilhaModel utrilha = trilhaService.update(trilhaId, trilha, ConditionalRequests.expectedVersion(ifMatch, trilhaId));
 
         ResponseBase<TrilhaModel> cBase = ResponseBase.<TrilhaModel>builder()
             .error(false)
@@ -138,7 +257,41 @@ public class TrilhaController implements IController<TrilhaModel, String> {
         if(trilha == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(utrilha)).body(cBase);
         }
     }
+
+    /**
+     * Altera apenas os campos informados de uma trilha.
+     * <p>
+     * Somente as colunas alteradas são gravadas. As associações devem ser alteradas pelo {@code PUT}.
+     * </p>
+     * @param trilhaId O ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar, por exemplo {@code {"descTrilha": "Formação em dados"}}.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
+     * @return ResponseEntity contendo o TrilhaModel atualizado encapsulado em um ResponseBase, ou status 400 se algum campo não puder ser alterado.
+     */
+    @PatchMapping("/{trilhaId}")
+    public ResponseEntity<ResponseBase<TrilhaModel>> patch(@PathVariable String trilhaId, @RequestBody JsonNode changes, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TrilhaModel utrilha;
+        try {
+            utrilha = trilhaService.patch(trilhaId, changes, ConditionalRequests.expectedVersion(ifMatch, trilhaId));
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<TrilhaModel> invalid = ResponseBase.<TrilhaModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(invalid);
+        }
+
+        ResponseBase<TrilhaModel> cBase = ResponseBase.<TrilhaModel>builder()
+            .error(false)
+            .info("OK")
+            .message(utrilha)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok().eTag(ConditionalRequests.etag(utrilha)).body(cBase);
+    }
 }
@@ -8,14 +8,33 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.TurmaModel;
 import com.fatec.srp.service.TurmaService;
+import com.fatec.srp.service.VagasTurmaService;
+import com.fatec.srp.service.ConflitoHorarioService;
+import com.fatec.srp.common.ConflitoHorario;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.VagasTurma;
+import com.fasterxml.jackson.databind.JsonNode;
 
 
 /**
@@ -35,14 +54,28 @@ public class TurmaController implements IController<TurmaModel, String> {
     
     @Autowired
     private TurmaService turmaService;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
+    @Autowired
+    private VagasTurmaService vagasTurmaService;
+
+    @Autowired
+    private ConflitoHorarioService conflitoHorarioService;
     
     /**
      * Recupera todas as turmas cadastradas.
      * 
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo a lista de turmas ou código de erro 404 se não encontrado.
      */
     @GetMapping 
-    public ResponseEntity<ResponseBase<List<TurmaModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<TurmaModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, turmaService.readVersion())) {
+            return null;
+        }
+
         List<TurmaModel> lturma = turmaService.read();
 
         ResponseBase<List<TurmaModel>> cBase = ResponseBase.<List<TurmaModel>>builder()
@@ -59,14 +92,122 @@ public class TurmaController implements IController<TurmaModel, String> {
         }
     }
 
+    /**
+     * Recupera uma página de turmas usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de turmas e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = {"size", "!fields"})
+    public ResponseEntity<ResponseBase<List<TurmaModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<TurmaModel> lPage = turmaService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<TurmaModel>> cBase = ResponseBase.<List<TurmaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Recupera os turmas contendo apenas os campos informados, lendo do banco somente as colunas pedidas.
+     * <p>
+     * Aceita os mesmos parâmetros {@code cursor} e {@code size} da paginação; sem {@code size}, retorna todos os registros.
+     * </p>
+     * @param fields Campos separados por vírgula, por exemplo {@code periodo,dataInicio,curso.nomeCurso}.
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo os campos de cada registro e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<ResponseBase<List<Map<String, Object>>>> getFields(@RequestParam String fields, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        Integer pageSize = size == null ? null : Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<Map<String, Object>> lPage;
+        try {
+            lPage = turmaService.readFields(fields, cursor, pageSize);
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<List<Map<String, Object>>> cBase = ResponseBase.<List<Map<String, Object>>>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(cBase);
+        }
+
+        String nextCursor = null;
+        if (pageSize != null && lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).get("id").toString();
+        }
+
+        ResponseBase<List<Map<String, Object>>> cBase = ResponseBase.<List<Map<String, Object>>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os turmas em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(turmaService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em turmas desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<TurmaModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<TurmaModel> changes = turmaService.readChanges(since);
+
+        ResponseBase<ChangeSet<TurmaModel>> cBase = ResponseBase.<ChangeSet<TurmaModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Recupera uma turma pelo seu ID.
      * 
      * @param turmaId ID da turma a ser recuperada.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo a turma ou código de erro 404 se não encontrado.
      */
     @GetMapping("/{turmaId}")
-    public ResponseEntity<ResponseBase<TurmaModel>> getById(@PathVariable String turmaId) {
+    public ResponseEntity<ResponseBase<TurmaModel>> getById(@PathVariable String turmaId, WebRequest request) {
         TurmaModel turma = new TurmaModel();
         
         try {
@@ -81,6 +222,10 @@ public class TurmaController implements IController<TurmaModel, String> {
             return ResponseEntity.ok(noResult);
         }
 
+        if (turma != null && ConditionalRequests.notModified(request, turma)) {
+            return null;
+        }
+
         ResponseBase<TurmaModel> cBase = ResponseBase.<TurmaModel>builder()
             .error(false)
             .info("OK")
@@ -95,6 +240,55 @@ public class TurmaController implements IController<TurmaModel, String> {
         }
     }
 
+    /**
+     * Consulta as vagas de uma turma: capacidade, vagas ocupadas e vagas disponíveis.
+     * 
+     * @param turmaId ID da turma.
+     * @return ResponseEntity contendo a situação das vagas encapsulada em um ResponseBase, ou código 404 se a turma não existir.
+     */
+    @GetMapping("/{turmaId}/vagas")
+    public ResponseEntity<ResponseBase<VagasTurma>> getVagas(@PathVariable Integer turmaId) {
+        VagasTurma vagas;
+        try {
+            vagas = vagasTurmaService.situacao(turmaId);
+        } catch (NoSuchElementException ex) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ResponseBase<VagasTurma> cBase = ResponseBase.<VagasTurma>builder()
+            .error(false)
+            .info("OK")
+            .message(vagas)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Lista os conflitos de horário existentes entre as turmas de cada aluno e de cada funcionário: pares de turmas
+     * do mesmo período e com datas sobrepostas. Novos vínculos em conflito já são recusados; o relatório mostra os
+     * gravados antes dessa verificação e os causados pela alteração das datas de uma turma. Informados os dois
+     * filtros, o relatório traz os conflitos do aluno e os do funcionário.
+     * 
+     * @param alunoId Restringe o relatório a um aluno (opcional).
+     * @param funcionarioId Restringe o relatório a um funcionário (opcional).
+     * @return ResponseEntity contendo a lista de conflitos encapsulada em um ResponseBase.
+     */
+    @GetMapping("/conflicts")
+    public ResponseEntity<ResponseBase<List<ConflitoHorario>>> getConflitos(
+            @RequestParam(required = false) Integer alunoId,
+            @RequestParam(required = false) Integer funcionarioId) {
+        ResponseBase<List<ConflitoHorario>> cBase = ResponseBase.<List<ConflitoHorario>>builder()
+            .error(false)
+            .info("OK")
+            .message(conflitoHorarioService.conflitos(alunoId, funcionarioId))
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Cria uma nova turma.
      * 
@@ -124,11 +318,12 @@ public class TurmaController implements IController<TurmaModel, String> {
      * 
      * @param turmaId ID da turma a ser atualizada.
      * @param turma Objeto com os novos dados da turma.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo a turma atualizada ou código de erro 404 se não encontrado.
      */
     @PutMapping("/{turmaId}")
-    public ResponseEntity<ResponseBase<TurmaModel>> update(@PathVariable String turmaId, @RequestBody TurmaModel turma) {
-        TurmaModel uturma = turmaService.update(turmaId, turma);
+    public ResponseEntity<ResponseBase<TurmaModel>> update(@PathVariable String turmaId, @RequestBody TurmaModel turma, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TurmaModel uturma = turmaService.update(turmaId, turma, ConditionalRequests.expectedVersion(ifMatch, turmaId));
 
         ResponseBase<TurmaModel> cBase = ResponseBase.<TurmaModel>builder()
             .error(false)
@@ -140,7 +335,41 @@ public class TurmaController implements IController<TurmaModel, String> {
         if(turma == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(uturma)).body(cBase);
         }
     }
+
+    /**
+     * Altera apenas os campos informados de uma turma.
+     * <p>
+     * Somente as colunas alteradas são gravadas. As associações devem ser alteradas pelo {@code PUT}.
+     * </p>
+     * @param turmaId O ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar, por exemplo {@code {"periodo": "Manhã"}}.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
+     * @return ResponseEntity contendo o TurmaModel atualizado encapsulado em um ResponseBase, ou status 400 se algum campo não puder ser alterado.
+     */
+    @PatchMapping("/{turmaId}")
+    public ResponseEntity<ResponseBase<TurmaModel>> patch(@PathVariable String turmaId, @RequestBody JsonNode changes, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TurmaModel uturma;
+        try {
+            uturma = turmaService.patch(turmaId, changes, ConditionalRequests.expectedVersion(ifMatch, turmaId));
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<TurmaModel> invalid = ResponseBase.<TurmaModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(invalid);
+        }
+
+        ResponseBase<TurmaModel> cBase = ResponseBase.<TurmaModel>builder()
+            .error(false)
+            .info("OK")
+            .message(uturma)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok().eTag(ConditionalRequests.etag(uturma)).body(cBase);
+    }
 }
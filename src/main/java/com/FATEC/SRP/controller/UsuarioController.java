@@ -8,14 +8,31 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.List;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fatec.srp.common.AppConstants;
 import com.fatec.srp.models.UsuarioModel;
 import com.fatec.srp.service.UsuarioService;
+import com.fatec.srp.service.SenhaService;
+import com.fatec.srp.service.TokenService;
+import com.fatec.srp.common.NdjsonExporter;
+import com.fatec.srp.common.ConditionalRequests;
+import com.fatec.srp.common.ChangeSet;
+import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Controlador para gerenciar os usuários.
@@ -34,14 +51,28 @@ public class UsuarioController implements IController<UsuarioModel, String> {
     
     @Autowired
     private UsuarioService usuarioService;
+
+    @Autowired
+    private SenhaService senhaService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
     
     /**
      * Recupera todos os usuários cadastrados.
      * 
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo a lista de usuários ou código de erro 404 se não encontrado.
      */
     @GetMapping 
-    public ResponseEntity<ResponseBase<List<UsuarioModel>>> getAll() {
+    public ResponseEntity<ResponseBase<List<UsuarioModel>>> getAll(WebRequest request) {
+        if (ConditionalRequests.notModified(request, usuarioService.readVersion())) {
+            return null;
+        }
+
         List<UsuarioModel> lusuario = usuarioService.read();
 
         ResponseBase<List<UsuarioModel>> cBase = ResponseBase.<List<UsuarioModel>>builder()
@@ -58,14 +89,81 @@ public class UsuarioController implements IController<UsuarioModel, String> {
         }
     }
 
+    /**
+     * Recupera uma página de usuários usando paginação por chave (cursor).
+     * 
+     * @param cursor ID do último registro recebido na página anterior; omitido na primeira página.
+     * @param size Quantidade de registros desejada, limitada a {@link AppConstants#MAX_PAGE_SIZE}.
+     * @return ResponseEntity contendo a página de usuários e o cursor da próxima página encapsulados em um ResponseBase.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ResponseBase<List<UsuarioModel>>> getPage(@RequestParam(required = false) String cursor, @RequestParam int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        List<UsuarioModel> lPage = usuarioService.readPage(cursor, pageSize);
+
+        String nextCursor = null;
+        if (lPage.size() == pageSize) {
+            nextCursor = lPage.get(lPage.size() - 1).getId().toString();
+        }
+
+        ResponseBase<List<UsuarioModel>> cBase = ResponseBase.<List<UsuarioModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(lPage)
+            .nextCursor(nextCursor)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
+    /**
+     * Exporta todos os usuários em formato NDJSON (um objeto JSON por linha).
+     * <p>
+     * Selecionado quando o cliente envia {@code Accept: application/x-ndjson}. Os registros são
+     * escritos conforme são lidos do banco, mantendo o uso de memória constante.
+     * </p>
+     * @return ResponseEntity contendo o corpo transmitido sob demanda.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(usuarioService::readStream));
+    }
+
+    /**
+     * Recupera as alterações em usuários desde a última sincronização do cliente.
+     * <p>
+     * Retorna apenas os registros incluídos ou alterados após {@code since} e os IDs excluídos no mesmo período.
+     * O campo {@code until} da resposta deve ser enviado como {@code since} na próxima chamada.
+     * </p>
+     * @param since Instante da última sincronização, em ISO-8601 (por exemplo {@code 2024-05-01T10:00:00}).
+     * @return ResponseEntity contendo o conjunto de alterações encapsulado em um ResponseBase.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ResponseBase<ChangeSet<UsuarioModel>>> getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ChangeSet<UsuarioModel> changes = usuarioService.readChanges(since);
+
+        ResponseBase<ChangeSet<UsuarioModel>> cBase = ResponseBase.<ChangeSet<UsuarioModel>>builder()
+            .error(false)
+            .info("OK")
+            .message(changes)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok(cBase);
+    }
+
     /**
      * Recupera um usuário pelo seu ID.
      * 
      * @param usuarioId ID do usuário a ser recuperado.
+     * @param request Requisição usada para avaliar os cabeçalhos {@code If-None-Match} e {@code If-Modified-Since}.
      * @return ResponseEntity contendo o usuário ou código de erro 404 se não encontrado.
      */
     @GetMapping("/{usuarioId}")
-    public ResponseEntity<ResponseBase<UsuarioModel>> getById(@PathVariable String usuarioId) {
+    public ResponseEntity<ResponseBase<UsuarioModel>> getById(@PathVariable String usuarioId, WebRequest request) {
         UsuarioModel usuario = new UsuarioModel();
         
         try {
@@ -80,6 +178,10 @@ public class UsuarioController implements IController<UsuarioModel, String> {
             return ResponseEntity.ok(noResult);
         }
 
+        if (usuario != null && ConditionalRequests.notModified(request, usuario)) {
+            return null;
+        }
+
         ResponseBase<UsuarioModel> cBase = ResponseBase.<UsuarioModel>builder()
             .error(false)
             .info("OK")
@@ -94,29 +196,48 @@ public class UsuarioController implements IController<UsuarioModel, String> {
         }
     }
 
+    /**
+     * Autentica um usuário pelo nome de usuário e senha.
+     * 
+     * A busca do usuário é feita na thread da requisição e a verificação da senha no executor de senhas do
+     * {@link SenhaService}; a thread da requisição é liberada enquanto o hash é calculado.
+     * 
+     * @param usuario Objeto com o nome de usuário e a senha informados.
+     * @return Future da resposta: 200 com o token de acesso na mensagem se as credenciais forem válidas, 401 se não
+     * forem, ou 503 se o executor de senhas estiver sobrecarregado.
+     */
     @PostMapping("/login")
-    public ResponseEntity<ResponseBase<String>> login(@RequestBody UsuarioModel usuario) {
+    public CompletableFuture<ResponseEntity<ResponseBase<String>>> login(@RequestBody UsuarioModel usuario) {
         UsuarioModel user = usuarioService.readByName(usuario.getNomeUsuario());
-        
-        if(user == null) {
-            return ResponseEntity.status(AppConstants.UNAUTHORIZED).build();
-        }
-        
-        String givenPassword = usuario.getSenha();
-        String actualPassword = user.getSenha();
-        
-        if (!givenPassword.equals(actualPassword)) {
-            return ResponseEntity.status(AppConstants.UNAUTHORIZED).build();
+
+        CompletableFuture<Boolean> autenticado;
+        try {
+            autenticado = senhaService.autenticar(user, usuario.getSenha());
+        } catch (RejectedExecutionException ex) {
+            ResponseBase<String> busy = ResponseBase.<String>builder()
+                .error(true)
+                .info("Servidor sobrecarregado, tente novamente")
+                .status(AppConstants.SERVICE_UNAVAILABLE)
+                .build();
+            return CompletableFuture.completedFuture(ResponseEntity.status(AppConstants.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(busy));
         }
-     
-        ResponseBase<String> res = ResponseBase.<String>builder()
-            .error(false)
-            .info("OK")
-            .message("")
-            .status(AppConstants.OK)
-            .build();
 
-        return ResponseEntity.ok(res);
+        return autenticado.thenApply(valido -> {
+            if (!valido) {
+                return ResponseEntity.status(AppConstants.UNAUTHORIZED).<ResponseBase<String>>build();
+            }
+
+            ResponseBase<String> res = ResponseBase.<String>builder()
+                .error(false)
+                .info("OK")
+                .message(tokenService.emitir(user))
+                .status(AppConstants.OK)
+                .build();
+
+            return ResponseEntity.ok(res);
+        });
     }
 
     /**
@@ -148,11 +269,12 @@ public class UsuarioController implements IController<UsuarioModel, String> {
      * 
      * @param usuarioId ID do usuário a ser atualizado.
      * @param usuario Objeto com os novos dados do usuário.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
      * @return ResponseEntity contendo o usuário atualizado ou código de erro 404 se não encontrado.
      */
     @PutMapping("/{usuarioId}")
-    public ResponseEntity<ResponseBase<UsuarioModel>> update(@PathVariable String usuarioId, @RequestBody UsuarioModel usuario) {
-        UsuarioModel uusuario = usuarioService.update(usuarioId, usuario);
+    public ResponseEntity<ResponseBase<UsuarioModel>> update(@PathVariable String usuarioId, @RequestBody UsuarioModel usuario, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UsuarioModel uusuario = usuarioService.update(usuarioId, usuario, ConditionalRequests.expectedVersion(ifMatch, usuarioId));
 
         ResponseBase<UsuarioModel> cBase = ResponseBase.<UsuarioModel>builder()
             .error(false)
@@ -164,8 +286,42 @@ public class UsuarioController implements IController<UsuarioModel, String> {
         if(usuario == null) {
             return ResponseEntity.notFound().build();
         } else {
-            return ResponseEntity.ok(cBase);
+            return ResponseEntity.ok().eTag(ConditionalRequests.etag(uusuario)).body(cBase);
+        }
+    }
+
+    /**
+     * Altera apenas os campos informados de um usuário.
+     * <p>
+     * Somente as colunas alteradas são gravadas. As associações devem ser alteradas pelo {@code PUT}.
+     * </p>
+     * @param usuarioId O ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar, por exemplo {@code {"nomeSocial": "Ana"}}.
+     * @param ifMatch ETag da versão que o cliente espera alterar; se divergir da atual, responde com status 412.
+     * @return ResponseEntity contendo o UsuarioModel atualizado encapsulado em um ResponseBase, ou status 400 se algum campo não puder ser alterado.
+     */
+    @PatchMapping("/{usuarioId}")
+    public ResponseEntity<ResponseBase<UsuarioModel>> patch(@PathVariable String usuarioId, @RequestBody JsonNode changes, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UsuarioModel uusuario;
+        try {
+            uusuario = usuarioService.patch(usuarioId, changes, ConditionalRequests.expectedVersion(ifMatch, usuarioId));
+        } catch (IllegalArgumentException ex) {
+            ResponseBase<UsuarioModel> invalid = ResponseBase.<UsuarioModel>builder()
+                .error(true)
+                .info(ex.getMessage())
+                .status(AppConstants.BAD_REQUEST)
+                .build();
+            return ResponseEntity.status(AppConstants.BAD_REQUEST).body(invalid);
         }
+
+        ResponseBase<UsuarioModel> cBase = ResponseBase.<UsuarioModel>builder()
+            .error(false)
+            .info("OK")
+            .message(uusuario)
+            .status(AppConstants.OK)
+            .build();
+
+        return ResponseEntity.ok().eTag(ConditionalRequests.etag(uusuario)).body(cBase);
     }
 
 }
@@ -1,6 +1,7 @@
 package com.fatec.srp.models;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -20,6 +21,13 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa um modelo de aluno, incluindo informações pessoais, acadêmicas e de registro.
@@ -34,8 +42,21 @@ import jakarta.persistence.PreUpdate;
 @Getter
 @Setter
 @Entity
-@Table(name="Aluno")
-public class AlunoModel {
+@DynamicUpdate
+@NamedEntityGraph(name = AlunoModel.GRAPH_DETALHES, attributeNodes = {
+    @NamedAttributeNode("usuario"),
+    @NamedAttributeNode("empresa")
+})
+@Table(name="Aluno", indexes = {
+    @Index(name = "ix_aluno_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_aluno_dt_alteracao", columnList = "dt_alteracao")
+})
+public class AlunoModel implements IAuditable {
+
+    /**
+     * Nome do grafo de entidade que carrega o aluno junto com seu usuário e sua empresa em uma única consulta.
+     */
+    public static final String GRAPH_DETALHES = "AlunoModel.detalhes";
 
     /**
      * Representa o usuário associado a este aluno. A relação é de um para um com a classe `UsuarioModel`.
@@ -45,7 +66,7 @@ public class AlunoModel {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "id_usuario", referencedColumnName = "id")
     private UsuarioModel usuario;
 
@@ -59,7 +80,7 @@ public class AlunoModel {
     /**
      * Representa a empresa associada a este aluno. A relação é de muitos para um com a classe `EmpresaModel`.
      */
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name= "empresa_id", referencedColumnName = "id", nullable = true)
     private EmpresaModel empresa;
 
@@ -150,6 +171,14 @@ public class AlunoModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método chamado automaticamente antes da persistência de um novo registro de aluno.
      * Atribui a data e hora atuais ao campo `dtCadastro`.
@@ -167,4 +196,12 @@ public class AlunoModel {
     protected void onUpdate() {
         dtAlteracao = LocalDateTime.now();
     }
+
+    /**
+     * O usuário e a empresa são serializados junto com o aluno.
+     */
+    @Override
+    public List<IAuditable> associacoes() {
+        return Arrays.asList(usuario, empresa);
+    }
 }
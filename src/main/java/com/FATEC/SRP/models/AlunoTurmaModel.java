@@ -1,6 +1,8 @@
 package com.fatec.srp.models;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -15,6 +17,15 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa a associação entre um aluno e uma turma. 
@@ -29,28 +40,53 @@ import jakarta.persistence.PreUpdate;
 @Getter
 @Setter
 @Entity
-@Table(name="Aluno_Turmas")
-public class AlunoTurmaModel {
+@DynamicUpdate
+@NamedEntityGraph(name = AlunoTurmaModel.GRAPH_DETALHES,
+    attributeNodes = {
+        @NamedAttributeNode(value = "aluno", subgraph = "aluno"),
+        @NamedAttributeNode(value = "turma", subgraph = "turma")
+    },
+    subgraphs = {
+        @NamedSubgraph(name = "aluno", attributeNodes = { @NamedAttributeNode("usuario"), @NamedAttributeNode("empresa") }),
+        @NamedSubgraph(name = "turma", attributeNodes = @NamedAttributeNode("curso"))
+    }
+)
+@Table(name="Aluno_Turmas", indexes = {
+    @Index(name = "ix_aluno_turmas_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_aluno_turmas_dt_alteracao", columnList = "dt_alteracao"),
+    @Index(name = "ix_aluno_turmas_id_aluno", columnList = "id_aluno")
+})
+public class AlunoTurmaModel implements IAuditable {
+
+    /**
+     * Nome do grafo de entidade que carrega a matrícula com o aluno (usuário e empresa) e a turma (curso)
+     * em uma única consulta.
+     */
+    public static final String GRAPH_DETALHES = "AlunoTurmaModel.detalhes";
     
     /**
      * Identificador único da associação entre aluno e turma.
-     * Este campo é gerado automaticamente.
+     * Este campo é gerado por uma sequência com otimizador "pooled": cada ida ao banco reserva
+     * {@code allocationSize} identificadores, o que permite ao Hibernate agrupar os INSERTs em lotes JDBC
+     * (com {@link GenerationType#IDENTITY} o lote é desativado, pois o ID só é conhecido após cada INSERT).
+     * Bancos criados com a coluna IDENTITY são migrados na inicialização por {@code db/schema-sqlserver.sql}.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "aluno_turmas_seq")
+    @SequenceGenerator(name = "aluno_turmas_seq", sequenceName = "aluno_turmas_seq", allocationSize = 50)
     private Integer id;
 
     /**
      * Representa o aluno associado a esta turma. A relação é de muitos para um com a classe `AlunoModel`.
      */
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "id_aluno", referencedColumnName = "id")
     private AlunoModel aluno;
     
     /**
      * Representa a turma associada a este aluno. A relação é de muitos para um com a classe `TurmaModel`.
      */
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "turma_id", referencedColumnName = "id")
     private TurmaModel turma;
 
@@ -72,6 +108,14 @@ public class AlunoTurmaModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método chamado automaticamente antes da persistência de um novo registro de associação aluno-turma.
      * Atribui a data e hora atuais ao campo `dtCadastro`.
@@ -89,4 +133,12 @@ public class AlunoTurmaModel {
     protected void onUpdate() {
         dtAlteracao = LocalDateTime.now();
     }
+
+    /**
+     * O aluno e a turma são serializados junto com a matrícula, cada um com as próprias associações.
+     */
+    @Override
+    public List<IAuditable> associacoes() {
+        return Arrays.asList(aluno, turma);
+    }
 }
@@ -16,6 +16,12 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa o modelo de um cargo dentro de uma organização.
@@ -30,8 +36,13 @@ import jakarta.persistence.GenerationType;
 @Getter
 @Setter
 @Entity
-@Table(name="Cargos")
-public class CargoModel {
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cargos")
+@Table(name="Cargos", indexes = {
+    @Index(name = "ix_cargos_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_cargos_dt_alteracao", columnList = "dt_alteracao")
+})
+public class CargoModel implements IAuditable {
     
     /**
      * Identificador único do cargo. Este campo é gerado automaticamente.
@@ -73,6 +84,14 @@ public class CargoModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método chamado automaticamente antes da persistência de um novo registro de cargo.
      * Atribui a data e hora atuais ao campo `dtCadastro`.
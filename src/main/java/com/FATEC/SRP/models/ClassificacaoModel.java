@@ -16,6 +16,12 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa a classificação de um curso ou outro tipo de conteúdo dentro de uma organização.
@@ -30,8 +36,13 @@ import jakarta.persistence.GenerationType;
 @Getter
 @Setter
 @Entity
-@Table(name="Classificacoes")
-public class ClassificacaoModel {
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "classificacoes")
+@Table(name="Classificacoes", indexes = {
+    @Index(name = "ix_classificacoes_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_classificacoes_dt_alteracao", columnList = "dt_alteracao")
+})
+public class ClassificacaoModel implements IAuditable {
     
     /**
      * Identificador único da classificação. Este campo é gerado automaticamente.
@@ -66,6 +77,14 @@ public class ClassificacaoModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método chamado automaticamente antes da persistência de um novo registro de classificação.
      * Atribui a data e hora atuais ao campo `dtCadastro`.
@@ -1,6 +1,8 @@
 package com.fatec.srp.models;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -14,6 +16,11 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa a associação entre cursos e classificações.
@@ -28,8 +35,12 @@ import jakarta.persistence.GenerationType;
 @Getter
 @Setter
 @Entity
-@Table(name="Cursos_Classificacoes")
-public class CursoClassificacaoModel {
+@DynamicUpdate
+@Table(name="Cursos_Classificacoes", indexes = {
+    @Index(name = "ix_cursos_classificacoes_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_cursos_classificacoes_dt_alteracao", columnList = "dt_alteracao")
+})
+public class CursoClassificacaoModel implements IAuditable {
     
     /**
      * Identificador único da associação entre curso e classificação. Este campo é gerado automaticamente.
@@ -64,6 +75,14 @@ public class CursoClassificacaoModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método chamado automaticamente antes da persistência de uma nova associação entre curso e classificação.
      * Atribui a data e hora atuais ao campo `dtCadastro`.
@@ -72,4 +91,21 @@ public class CursoClassificacaoModel {
     protected void onCreate() {
         dtCadastro = LocalDateTime.now();
     }
+
+    /**
+     * Método chamado automaticamente antes da atualização de uma associação existente entre curso e classificação.
+     * Atribui a data e hora atuais ao campo `dtAlteracao`.
+     */
+    @PreUpdate
+    protected void onUpdate() {
+        dtAlteracao = LocalDateTime.now();
+    }
+
+    /**
+     * A classificação e o curso são serializados junto com a associação.
+     */
+    @Override
+    public List<IAuditable> associacoes() {
+        return Arrays.asList(classificacao, curso);
+    }
 }
@@ -16,6 +16,12 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa um curso na aplicação. 
@@ -31,8 +37,13 @@ import jakarta.persistence.GenerationType;
 @Getter
 @Setter
 @Entity
-@Table(name="Cursos")
-public class CursoModel {
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cursos")
+@Table(name="Cursos", indexes = {
+    @Index(name = "ix_cursos_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_cursos_dt_alteracao", columnList = "dt_alteracao")
+})
+public class CursoModel implements IAuditable {
     
     /**
      * Identificador único do curso. Este campo é gerado automaticamente.
@@ -108,6 +119,14 @@ public class CursoModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método chamado automaticamente antes da persistência de um novo curso.
      * Atribui a data e hora atuais ao campo `dtCadastro`.
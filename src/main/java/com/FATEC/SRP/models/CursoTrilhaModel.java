@@ -1,6 +1,8 @@
 package com.fatec.srp.models;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -14,6 +16,11 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa a associação entre cursos e trilhas no sistema. 
@@ -28,8 +35,12 @@ import jakarta.persistence.GenerationType;
 @Getter
 @Setter
 @Entity
-@Table(name="Cursos_Trilhas")
-public class CursoTrilhaModel {
+@DynamicUpdate
+@Table(name="Cursos_Trilhas", indexes = {
+    @Index(name = "ix_cursos_trilhas_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_cursos_trilhas_dt_alteracao", columnList = "dt_alteracao")
+})
+public class CursoTrilhaModel implements IAuditable {
     
     /**
      * Identificador único da associação entre um curso e uma trilha. 
@@ -59,6 +70,20 @@ public class CursoTrilhaModel {
     @Column(name = "dt_cadastro", updatable = false)
     private LocalDateTime dtCadastro;
 
+    /**
+     * Data da última alteração da associação. Este campo é atualizado automaticamente antes de cada atualização.
+     */
+    @Column(name = "dt_alteracao")
+    private LocalDateTime dtAlteracao;
+
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método chamado automaticamente antes da persistência da associação entre o curso e a trilha.
      * Atribui a data e hora atuais ao campo `dtCadastro`.
@@ -67,4 +92,21 @@ public class CursoTrilhaModel {
     protected void onCreate() {
         dtCadastro = LocalDateTime.now();
     }
+
+    /**
+     * Método chamado automaticamente antes da atualização de uma associação existente entre curso e trilha.
+     * Atribui a data e hora atuais ao campo `dtAlteracao`.
+     */
+    @PreUpdate
+    protected void onUpdate() {
+        dtAlteracao = LocalDateTime.now();
+    }
+
+    /**
+     * A trilha e o curso são serializados junto com a associação.
+     */
+    @Override
+    public List<IAuditable> associacoes() {
+        return Arrays.asList(trilha, curso);
+    }
 }
@@ -16,6 +16,10 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa uma empresa no sistema. Esta classe é mapeada para a tabela "Empresas" no banco de dados.
@@ -31,8 +35,13 @@ import jakarta.persistence.GenerationType;
 @Getter
 @Setter
 @Entity
-@Table(name="Empresas")
-public class EmpresaModel {
+@DynamicUpdate
+@Table(name="Empresas", indexes = {
+    @Index(name = "ix_empresas_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_empresas_dt_alteracao", columnList = "dt_alteracao"),
+    @Index(name = "ix_empresas_cnpj", columnList = "cnpj")
+})
+public class EmpresaModel implements IAuditable {
     
     /**
      * Identificador único da empresa. Este campo é gerado automaticamente.
@@ -96,6 +105,14 @@ public class EmpresaModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método chamado automaticamente antes da persistência da empresa.
      * Atribui a data e hora atuais ao campo `dtCadastro`.
@@ -0,0 +1,68 @@
+package com.fatec.srp.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Registro de exclusão ("tombstone") de uma entidade. Esta classe é mapeada para a tabela "Exclusoes" no banco de dados.
+ * 
+ * Cada exclusão feita pelos serviços grava o nome da entidade, o ID removido e o momento da exclusão, permitindo que
+ * os clientes de sincronização incremental ({@code /changes}) removam de suas cópias locais os registros que deixaram
+ * de existir.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Os dados da exclusão são acessados apenas pelos getters e setters.
+ * - **Abstração**: Representa uma exclusão de qualquer entidade sem depender do tipo concreto excluído.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "Exclusoes", indexes = {
+    @Index(name = "ix_exclusoes_entidade_dt_exclusao", columnList = "entidade, dt_exclusao")
+})
+public class ExclusaoModel {
+
+    /**
+     * Identificador único do registro de exclusão. Este campo é gerado automaticamente.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * Nome da entidade excluída (nome simples da classe do modelo, por exemplo {@code CargoModel}).
+     */
+    @Column(name = "entidade", nullable = false, length = 40)
+    private String entidade;
+
+    /**
+     * ID do registro excluído.
+     */
+    @Column(name = "registro_id", nullable = false)
+    private Integer registroId;
+
+    /**
+     * Data e hora da exclusão.
+     */
+    @Column(name = "dt_exclusao", nullable = false, updatable = false)
+    private LocalDateTime dtExclusao;
+
+    /**
+     * Método chamado automaticamente antes da persistência do registro de exclusão.
+     * Atribui a data e hora atuais ao campo `dtExclusao`.
+     */
+    @PrePersist
+    protected void onCreate() {
+        dtExclusao = LocalDateTime.now();
+    }
+}
@@ -1,6 +1,7 @@
 package com.fatec.srp.models;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -20,6 +21,10 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa um funcionário no sistema. Esta classe é mapeada para a tabela "Funcionarios" no banco de dados.
@@ -34,8 +39,12 @@ import jakarta.persistence.PreUpdate;
 @Getter
 @Setter
 @Entity
-@Table(name="Funcionarios")
-public class FuncionarioModel {
+@DynamicUpdate
+@Table(name="Funcionarios", indexes = {
+    @Index(name = "ix_funcionarios_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_funcionarios_dt_alteracao", columnList = "dt_alteracao")
+})
+public class FuncionarioModel implements IAuditable {
     
     /**
      * Usuário associado ao funcionário. Relacionamento de um para um com a classe `UsuarioModel`.
@@ -80,6 +89,14 @@ public class FuncionarioModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método chamado automaticamente antes da persistência do funcionário.
      * Atribui a data e hora atuais ao campo `dtCadastro`.
@@ -97,4 +114,12 @@ public class FuncionarioModel {
     protected void onUpdate() {
         dtAlteracao = LocalDateTime.now();
     }
+
+    /**
+     * O usuário e o cargo são serializados junto com o funcionário.
+     */
+    @Override
+    public List<IAuditable> associacoes() {
+        return Arrays.asList(usuario, cargo);
+    }
 }
@@ -1,6 +1,8 @@
 package com.fatec.srp.models;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -15,6 +17,14 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa a associação entre um funcionário e uma turma. Esta classe é mapeada para a tabela "funcionario_turmas" no banco de dados.
@@ -29,8 +39,28 @@ import jakarta.persistence.GenerationType;
 @Getter
 @Setter
 @Entity
-@Table(name="funcionario_turmas")
-public class FuncionarioTurmaModel {
+@DynamicUpdate
+@NamedEntityGraph(name = FuncionarioTurmaModel.GRAPH_DETALHES,
+    attributeNodes = {
+        @NamedAttributeNode(value = "funcionario", subgraph = "funcionario"),
+        @NamedAttributeNode(value = "turma", subgraph = "turma")
+    },
+    subgraphs = {
+        @NamedSubgraph(name = "funcionario", attributeNodes = { @NamedAttributeNode("usuario"), @NamedAttributeNode("cargo") }),
+        @NamedSubgraph(name = "turma", attributeNodes = @NamedAttributeNode("curso"))
+    }
+)
+@Table(name="funcionario_turmas", indexes = {
+    @Index(name = "ix_funcionario_turmas_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_funcionario_turmas_dt_alteracao", columnList = "dt_alteracao")
+})
+public class FuncionarioTurmaModel implements IAuditable {
+
+    /**
+     * Nome do grafo de entidade que carrega a associação com o funcionário (usuário e cargo) e a turma (curso)
+     * em uma única consulta.
+     */
+    public static final String GRAPH_DETALHES = "FuncionarioTurmaModel.detalhes";
     
     /**
      * Identificador único da associação entre o funcionário e a turma.
@@ -42,14 +72,14 @@ public class FuncionarioTurmaModel {
     /**
      * Funcionário associado à turma. Relacionamento de muitos para um com a classe `FuncionarioModel`.
      */
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name= "id_funcionario", referencedColumnName = "id")
     private FuncionarioModel funcionario; 
 
     /**
      * Turma associada ao funcionário. Relacionamento de muitos para um com a classe `TurmaModel`.
      */
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name= "turma_id", referencedColumnName = "id")
     private TurmaModel turma;
 
@@ -71,6 +101,14 @@ public class FuncionarioTurmaModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método chamado automaticamente antes da persistência da associação entre o funcionário e a turma.
      * Atribui a data e hora atuais ao campo `dtCadastro`.
@@ -88,4 +126,12 @@ public class FuncionarioTurmaModel {
     protected void onUpdate() {
         dtAlteracao = LocalDateTime.now();
     }
+
+    /**
+     * O funcionário e a turma são serializados junto com a associação, cada um com as próprias associações.
+     */
+    @Override
+    public List<IAuditable> associacoes() {
+        return Arrays.asList(funcionario, turma);
+    }
 }
@@ -0,0 +1,49 @@
+package com.fatec.srp.models;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Interface das entidades que registram a data de cadastro e da última alteração.
+ * 
+ * As datas são mantidas pelos métodos {@code @PrePersist} e {@code @PreUpdate} de cada entidade e, junto com a
+ * versão ({@code @Version}), usadas como validadores das requisições condicionais ({@code ETag}, {@code Last-Modified}
+ * e {@code If-Match}). Como as respostas também serializam as entidades associadas carregadas, o validador de uma
+ * entidade considera as que ela informa em {@link #associacoes()}.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Abstração**: Permite tratar as datas de qualquer entidade de forma uniforme, sem conhecer o tipo concreto.
+ * - **Polimorfismo**: Cada modelo implementa a interface por meio dos getters gerados pelo Lombok.
+ */
+public interface IAuditable {
+
+    /**
+     * @return Identificador da entidade.
+     */
+    Integer getId();
+
+    /**
+     * @return Data de cadastro da entidade.
+     */
+    LocalDateTime getDtCadastro();
+
+    /**
+     * @return Data da última alteração da entidade, ou {@code null} se nunca foi alterada.
+     */
+    LocalDateTime getDtAlteracao();
+
+    /**
+     * @return Versão do registro, incrementada pelo Hibernate a cada alteração.
+     */
+    long getVersao();
+
+    /**
+     * Entidades associadas serializadas junto com esta, cujas versões e datas compõem os validadores da resposta.
+     * O nome não segue o padrão de getter para que o Jackson não o serialize.
+     *
+     * @return Associações diretas, possivelmente {@code null} ou proxies ainda não carregados.
+     */
+    default List<IAuditable> associacoes() {
+        return List.of();
+    }
+}
@@ -0,0 +1,105 @@
+package com.fatec.srp.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Ponto de controle de uma importação de alunos em lote. Esta classe é mapeada para a tabela "Importacoes" no banco de dados.
+ * 
+ * O registro é atualizado na mesma transação que grava cada bloco de alunos, de modo que
+ * {@code registrosProcessados} indica exatamente quantos registros do arquivo já foram tratados. Ao reenviar o
+ * mesmo arquivo com o mesmo identificador, a importação continua a partir desse ponto.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Os dados da importação são acessados apenas pelos getters e setters.
+ * - **Modificação de Estado**: As datas de cadastro e alteração são configuradas automaticamente na persistência e na atualização.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "Importacoes")
+public class ImportacaoModel {
+
+    /**
+     * Situação de uma importação.
+     */
+    public enum Situacao {
+        EM_ANDAMENTO, CONCLUIDA, FALHA
+    }
+
+    /**
+     * Identificador da importação, informado pelo cliente ou gerado no início da importação.
+     */
+    @Id
+    @Column(name = "id", length = 64)
+    private String id;
+
+    /**
+     * Quantidade de registros do arquivo já tratados (importados ou recusados), em ordem.
+     */
+    @Column(name = "registros_processados", nullable = false)
+    private long registrosProcessados;
+
+    /**
+     * Quantidade de alunos criados.
+     */
+    @Column(name = "importados", nullable = false)
+    private long importados;
+
+    /**
+     * Quantidade de registros recusados.
+     */
+    @Column(name = "falhas", nullable = false)
+    private long falhas;
+
+    /**
+     * Situação atual da importação.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "situacao", nullable = false, length = 15)
+    private Situacao situacao;
+
+    /**
+     * Motivo da interrupção, quando a importação falha.
+     */
+    @Column(name = "mensagem", length = 500)
+    private String mensagem;
+
+    /**
+     * Data de início da primeira execução da importação.
+     */
+    @Column(name = "dt_cadastro", updatable = false)
+    private LocalDateTime dtCadastro;
+
+    /**
+     * Data da última atualização do ponto de controle.
+     */
+    @Column(name = "dt_alteracao")
+    private LocalDateTime dtAlteracao;
+
+    /**
+     * Método chamado automaticamente antes da persistência do registro, definindo a data de cadastro.
+     */
+    @PrePersist
+    protected void onCreate() {
+        dtCadastro = LocalDateTime.now();
+    }
+
+    /**
+     * Método chamado automaticamente antes da atualização do registro, definindo a data da alteração.
+     */
+    @PreUpdate
+    protected void onUpdate() {
+        dtAlteracao = LocalDateTime.now();
+    }
+}
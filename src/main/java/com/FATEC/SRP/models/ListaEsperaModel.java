@@ -0,0 +1,74 @@
+package com.fatec.srp.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Representa um aluno aguardando vaga em uma turma lotada. Esta classe é mapeada para a tabela "Lista_Espera" no banco de dados.
+ * 
+ * A ordem da fila de cada turma é a ordem dos IDs: o registro de menor ID é o próximo a ser matriculado quando uma
+ * vaga for liberada. O índice {@code (turma_id, id)} permite ler o início da fila e calcular a posição de um aluno
+ * sem percorrer a tabela.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Associação**: A classe se relaciona com `AlunoModel` e `TurmaModel` por associações de muitos para um.
+ * - **Encapsulamento**: Os dados do registro são acessados apenas pelos getters e setters.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "Lista_Espera",
+    uniqueConstraints = @UniqueConstraint(name = "ux_lista_espera_turma_aluno", columnNames = { "turma_id", "id_aluno" }),
+    indexes = @Index(name = "ix_lista_espera_turma_id", columnList = "turma_id, id")
+)
+public class ListaEsperaModel {
+
+    /**
+     * Identificador único do registro, que também define a ordem de chegada na fila.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * Aluno que aguarda a vaga.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_aluno", referencedColumnName = "id")
+    private AlunoModel aluno;
+
+    /**
+     * Turma em que o aluno aguarda a vaga.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "turma_id", referencedColumnName = "id")
+    private TurmaModel turma;
+
+    /**
+     * Data de entrada na fila.
+     */
+    @Column(name = "dt_cadastro", updatable = false)
+    private LocalDateTime dtCadastro;
+
+    /**
+     * Método chamado automaticamente antes da persistência do registro, definindo a data de entrada na fila.
+     */
+    @PrePersist
+    protected void onCreate() {
+        dtCadastro = LocalDateTime.now();
+    }
+}
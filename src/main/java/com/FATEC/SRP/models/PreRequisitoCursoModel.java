@@ -1,13 +1,24 @@
 package com.fatec.srp.models;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -24,8 +35,12 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name="prerequisito_curso")
-public class PreRequisitoCursoModel {
+@DynamicUpdate
+@Table(name="prerequisito_curso", indexes = {
+    @Index(name = "ix_prerequisito_curso_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_prerequisito_curso_dt_alteracao", columnList = "dt_alteracao")
+})
+public class PreRequisitoCursoModel implements IAuditable {
     
     /**
      * Identificador único da associação entre o pré-requisito e o curso.
@@ -47,4 +62,50 @@ public class PreRequisitoCursoModel {
     @ManyToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "curso_id", referencedColumnName = "id")
     private CursoModel curso;
+
+    /**
+     * Data de cadastro da associação. Este campo não pode ser atualizado após a persistência.
+     */
+    @Column(name = "dt_cadastro", updatable = false)
+    private LocalDateTime dtCadastro;
+
+    /**
+     * Data da última alteração da associação. Este campo é atualizado automaticamente antes de cada atualização.
+     */
+    @Column(name = "dt_alteracao")
+    private LocalDateTime dtAlteracao;
+
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
+    /**
+     * Método chamado automaticamente antes da persistência de uma nova associação entre pré-requisito e curso.
+     * Atribui a data e hora atuais ao campo `dtCadastro`.
+     */
+    @PrePersist
+    protected void onCreate() {
+        dtCadastro = LocalDateTime.now();
+    }
+
+    /**
+     * Método chamado automaticamente antes da atualização de uma associação existente entre pré-requisito e curso.
+     * Atribui a data e hora atuais ao campo `dtAlteracao`.
+     */
+    @PreUpdate
+    protected void onUpdate() {
+        dtAlteracao = LocalDateTime.now();
+    }
+
+    /**
+     * O pré-requisito e o curso são serializados junto com a associação.
+     */
+    @Override
+    public List<IAuditable> associacoes() {
+        return Arrays.asList(preRequisito, curso);
+    }
 }
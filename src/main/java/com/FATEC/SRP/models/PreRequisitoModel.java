@@ -1,6 +1,7 @@
 package com.fatec.srp.models;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -16,13 +17,22 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa os pré-requisitos para cursos no sistema. Esta classe é mapeada para a tabela "Prerequisitos" no banco de dados.
  * Contém informações sobre os pré-requisitos, como nome, descrição, e as relações com os cursos que os utilizam.
  * 
  * Conceitos OOP utilizados:
- * - **Associação**: A classe possui uma associação de um para muitos com `PreRequisitoCursoModel`, indicando que um pré-requisito pode ser utilizado em vários cursos.
+ * - **Associação**: A classe possui uma associação de um para muitos com `PreRequisitoCursoModel`, indicando que um pré-requisito pode ser utilizado em vários cursos,
+ *   e uma associação opcional de muitos para um com `CursoModel`, indicando o curso que satisfaz o pré-requisito.
  * - **Encapsulamento**: Os campos como `nomePrerequisito`, `descPrerequisito` e as listas de cursos estão encapsulados, garantindo que o acesso e modificação sejam controlados.
  * - **Abstração**: A classe abstrai os detalhes dos pré-requisitos e suas relações com os cursos, permitindo que esses dados sejam manipulados de forma simplificada.
  * - **Modificação de Estado**: A classe tem métodos que alteram o estado do objeto, como as datas de cadastro e alteração, automaticamente configuradas no momento de persistência.
@@ -30,8 +40,13 @@ import jakarta.persistence.GenerationType;
 @Getter
 @Setter
 @Entity
-@Table(name="Prerequisitos")
-public class PreRequisitoModel {
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "prerequisitos")
+@Table(name="Prerequisitos", indexes = {
+    @Index(name = "ix_prerequisitos_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_prerequisitos_dt_alteracao", columnList = "dt_alteracao")
+})
+public class PreRequisitoModel implements IAuditable {
     
     /**
      * Identificador único do pré-requisito.
@@ -59,6 +74,14 @@ public class PreRequisitoModel {
     @Column(name = "desc_prerequisito", nullable = false, length = 100)
     private String descPrerequisito;
 
+    /**
+     * Curso cuja conclusão satisfaz este pré-requisito, quando houver. É a partir desta associação que
+     * os pré-requisitos entre cursos formam um grafo (curso → pré-requisito → curso equivalente).
+     */
+    @ManyToOne
+    @JoinColumn(name = "curso_equivalente_id")
+    private CursoModel cursoEquivalente;
+
     /**
      * Data de cadastro do pré-requisito. Não pode ser alterada após o cadastro.
      */
@@ -71,6 +94,14 @@ public class PreRequisitoModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método que é chamado antes de persistir o objeto, definindo a data de cadastro.
      */
@@ -86,4 +117,12 @@ public class PreRequisitoModel {
     protected void onUpdate() {
         dtAlteracao = LocalDateTime.now();
     }
+
+    /**
+     * O curso equivalente é serializado junto com o pré-requisito.
+     */
+    @Override
+    public List<IAuditable> associacoes() {
+        return Arrays.asList(cursoEquivalente);
+    }
 }
@@ -16,6 +16,12 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa uma trilha de aprendizado no sistema, contendo informações sobre o nome e descrição da trilha.
@@ -30,8 +36,13 @@ import jakarta.persistence.GenerationType;
 @Getter
 @Setter
 @Entity
-@Table(name="Trilhas")
-public class TrilhaModel {
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "trilhas")
+@Table(name="Trilhas", indexes = {
+    @Index(name = "ix_trilhas_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_trilhas_dt_alteracao", columnList = "dt_alteracao")
+})
+public class TrilhaModel implements IAuditable {
     
     /**
      * Identificador único da trilha.
@@ -71,6 +82,14 @@ public class TrilhaModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método que é chamado antes de persistir o objeto, definindo a data de cadastro.
      */
@@ -2,9 +2,11 @@ package com.fatec.srp.models;
 
 import java.sql.Date;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -20,6 +22,13 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa uma turma no sistema, associada a um curso e com informações sobre a data de início, término e período.
@@ -35,8 +44,18 @@ import jakarta.persistence.GenerationType;
 @Getter
 @Setter
 @Entity
-@Table(name="Turmas")
-public class TurmaModel {
+@DynamicUpdate
+@NamedEntityGraph(name = TurmaModel.GRAPH_DETALHES, attributeNodes = @NamedAttributeNode("curso"))
+@Table(name="Turmas", indexes = {
+    @Index(name = "ix_turmas_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_turmas_dt_alteracao", columnList = "dt_alteracao")
+})
+public class TurmaModel implements IAuditable {
+
+    /**
+     * Nome do grafo de entidade que carrega a turma junto com seu curso em uma única consulta.
+     */
+    public static final String GRAPH_DETALHES = "TurmaModel.detalhes";
 
     /**
      * Identificador único da turma.
@@ -48,7 +67,7 @@ public class TurmaModel {
     /**
      * Curso associado à turma. Relacionamento de muitos para um com a classe `CursoModel`.
      */
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "id_curso", referencedColumnName = "id")
     private CursoModel curso;
 
@@ -70,6 +89,21 @@ public class TurmaModel {
     @Column(name = "periodo", nullable = false, length = 15)
     private String periodo;
 
+    /**
+     * Quantidade máxima de alunos matriculados na turma. Sem valor, a turma não tem limite de vagas.
+     */
+    @Column(name = "capacidade")
+    private Integer capacidade;
+
+    /**
+     * Quantidade de alunos matriculados, gravada em segundo plano pelo {@code VagasTurmaService}. Pode estar
+     * alguns instantes atrás do valor real; a admissão de matrículas usa os contadores mantidos em memória.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(name = "vagas_ocupadas", nullable = false, insertable = false, updatable = false)
+    private int vagasOcupadas;
+
     /**
      * Data de cadastro da turma. Não pode ser alterada após o cadastro.
      */
@@ -89,6 +123,14 @@ public class TurmaModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Lista de associações entre alunos e turmas. Relacionamento de um para muitos com a classe `AlunoTurmaModel`.
      */
@@ -111,4 +153,12 @@ public class TurmaModel {
     protected void onUpdate() {
         dtAlteracao = LocalDateTime.now();
     }
+
+    /**
+     * O curso é serializado junto com a turma.
+     */
+    @Override
+    public List<IAuditable> associacoes() {
+        return Arrays.asList(curso);
+    }
 }
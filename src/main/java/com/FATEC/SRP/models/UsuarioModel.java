@@ -12,6 +12,10 @@ import lombok.Getter;
 import lombok.Setter;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Representa um usuário no sistema. Cada usuário tem um nome de usuário, nome completo, nome social, senha,
@@ -26,8 +30,13 @@ import jakarta.persistence.PreUpdate;
 @Getter
 @Setter
 @Entity
-@Table(name="Usuario")
-public class UsuarioModel {
+@DynamicUpdate
+@Table(name="Usuario", indexes = {
+    @Index(name = "ix_usuario_dt_cadastro", columnList = "dt_cadastro"),
+    @Index(name = "ix_usuario_dt_alteracao", columnList = "dt_alteracao"),
+    @Index(name = "ux_usuario_nome_usuario", columnList = "nome_usuario", unique = true)
+})
+public class UsuarioModel implements IAuditable {
 
     /**
      * Nome de usuário único no sistema.
@@ -74,6 +83,14 @@ public class UsuarioModel {
     @Column(name = "dt_alteracao")
     private LocalDateTime dtAlteracao;
 
+    /**
+     * Versão do registro, incrementada a cada alteração e usada no controle de concorrência otimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
     /**
      * Método chamado antes de persistir o objeto, definindo a data de cadastro.
      */
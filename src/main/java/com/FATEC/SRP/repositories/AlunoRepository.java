@@ -1,8 +1,21 @@
 package com.fatec.srp.repositories;
 
 import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ListVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.Optional;
+import java.time.LocalDateTime;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositório para a entidade {@link AlunoModel}.
@@ -19,4 +32,73 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface AlunoRepository extends JpaRepository<AlunoModel, Integer> {
+
+    /**
+     * Busca todos os registros carregando cada aluno com usuário e empresa em uma única consulta,
+     * conforme o grafo {@link AlunoModel#GRAPH_DETALHES}, evitando uma consulta adicional por associação.
+     *
+     * @return Lista de objetos {@link AlunoModel}.
+     */
+    @EntityGraph(AlunoModel.GRAPH_DETALHES)
+    @Query("select a from AlunoModel a")
+    List<AlunoModel> findAllDetalhado();
+
+    /**
+     * Busca um registro pelo ID já com as associações do grafo {@link AlunoModel#GRAPH_DETALHES} carregadas,
+     * pois elas são carregadas sob demanda e precisam estar disponíveis na serialização da resposta.
+     *
+     * @param id ID do registro.
+     * @return Objeto {@link AlunoModel}, se encontrado.
+     */
+    @EntityGraph(AlunoModel.GRAPH_DETALHES)
+    Optional<AlunoModel> findById(Integer id);
+
+    /**
+     * Busca os registros com ID maior que o cursor informado, ordenados por ID (paginação por chave).
+     * A consulta gerada é equivalente a {@code WHERE id > :cursor ORDER BY id}, que percorre o índice
+     * da chave primária e mantém o custo constante independentemente da posição da página.
+     *
+     * @param cursor ID do último registro da página anterior.
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Lista de objetos {@link AlunoModel}.
+     */
+    @EntityGraph(AlunoModel.GRAPH_DETALHES)
+    List<AlunoModel> findByIdGreaterThanOrderByIdAsc(Integer cursor, Limit limit);
+
+    /**
+     * Percorre todos os registros como um {@link Stream}, lendo do banco em blocos de
+     * {@link AppConstants#STREAM_FETCH_SIZE} linhas, sem materializar a tabela inteira em memória.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream de objetos {@link AlunoModel} ordenados por ID.
+     */
+    @EntityGraph(AlunoModel.GRAPH_DETALHES)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from AlunoModel a order by a.id")
+    Stream<AlunoModel> streamAll();
+
+    /**
+     * Calcula a versão da listagem completa ({@code COUNT(*)}, {@code MAX(dt_cadastro)} e {@code MAX(dt_alteracao)})
+     * sem carregar os registros, para responder às requisições condicionais de {@code getAll}. As associações
+     * serializadas na listagem entram por junção com a maior data de alteração de cada uma.
+     *
+     * @return Versão atual da tabela e das associações.
+     */
+    @Query("select new com.fatec.srp.common.ListVersion(count(x), max(x.dtCadastro), max(x.dtAlteracao), max(u.dtAlteracao), max(e.dtAlteracao)) "
+        + "from AlunoModel x left join x.usuario u left join x.empresa e")
+    ListVersion findListVersion();
+
+    /**
+     * Busca os registros incluídos ou alterados após o instante informado, usando os índices de
+     * {@code dt_cadastro} e {@code dt_alteracao}.
+     *
+     * @param since Instante a partir do qual os registros são retornados (exclusivo).
+     * @return Lista de objetos {@link AlunoModel} ordenados por ID.
+     */
+    @EntityGraph(AlunoModel.GRAPH_DETALHES)
+    @Query("select x from AlunoModel x where x.dtCadastro > :since or x.dtAlteracao > :since order by x.id")
+    List<AlunoModel> findChangedSince(@Param("since") LocalDateTime since);
 }
@@ -1,8 +1,22 @@
 package com.fatec.srp.repositories;
 
 import com.fatec.srp.models.AlunoTurmaModel;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ListVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.Optional;
+import java.time.LocalDateTime;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositório para a entidade {@link AlunoTurmaModel}.
@@ -19,4 +33,127 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface AlunoTurmaRepository extends JpaRepository<AlunoTurmaModel, Integer> {
+
+    /**
+     * Busca todos os registros carregando cada matrícula com aluno (usuário e empresa) e turma (curso) em uma única consulta,
+     * conforme o grafo {@link AlunoTurmaModel#GRAPH_DETALHES}, evitando uma consulta adicional por associação.
+     *
+     * @return Lista de objetos {@link AlunoTurmaModel}.
+     */
+    @EntityGraph(AlunoTurmaModel.GRAPH_DETALHES)
+    @Query("select a from AlunoTurmaModel a")
+    List<AlunoTurmaModel> findAllDetalhado();
+
+    /**
+     * Busca um registro pelo ID já com as associações do grafo {@link AlunoTurmaModel#GRAPH_DETALHES} carregadas,
+     * pois elas são carregadas sob demanda e precisam estar disponíveis na serialização da resposta.
+     *
+     * @param id ID do registro.
+     * @return Objeto {@link AlunoTurmaModel}, se encontrado.
+     */
+    @EntityGraph(AlunoTurmaModel.GRAPH_DETALHES)
+    Optional<AlunoTurmaModel> findById(Integer id);
+
+    /**
+     * Busca os registros com ID maior que o cursor informado, ordenados por ID (paginação por chave).
+     * A consulta gerada é equivalente a {@code WHERE id > :cursor ORDER BY id}, que percorre o índice
+     * da chave primária e mantém o custo constante independentemente da posição da página.
+     *
+     * @param cursor ID do último registro da página anterior.
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Lista de objetos {@link AlunoTurmaModel}.
+     */
+    @EntityGraph(AlunoTurmaModel.GRAPH_DETALHES)
+    List<AlunoTurmaModel> findByIdGreaterThanOrderByIdAsc(Integer cursor, Limit limit);
+
+    /**
+     * Percorre todos os registros como um {@link Stream}, lendo do banco em blocos de
+     * {@link AppConstants#STREAM_FETCH_SIZE} linhas, sem materializar a tabela inteira em memória.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream de objetos {@link AlunoTurmaModel} ordenados por ID.
+     */
+    @EntityGraph(AlunoTurmaModel.GRAPH_DETALHES)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from AlunoTurmaModel a order by a.id")
+    Stream<AlunoTurmaModel> streamAll();
+
+    /**
+     * Calcula a versão da listagem completa ({@code COUNT(*)}, {@code MAX(dt_cadastro)} e {@code MAX(dt_alteracao)})
+     * sem carregar os registros, para responder às requisições condicionais de {@code getAll}. As associações
+     * serializadas na listagem entram por junção com a maior data de alteração de cada uma.
+     *
+     * @return Versão atual da tabela e das associações.
+     */
+    @Query("select new com.fatec.srp.common.ListVersion(count(x), max(x.dtCadastro), max(x.dtAlteracao), max(a.dtAlteracao), max(u.dtAlteracao), max(e.dtAlteracao), max(t.dtAlteracao), max(c.dtAlteracao)) "
+        + "from AlunoTurmaModel x left join x.aluno a left join a.usuario u left join a.empresa e left join x.turma t left join t.curso c")
+    ListVersion findListVersion();
+
+    /**
+     * Busca os registros incluídos ou alterados após o instante informado, usando os índices de
+     * {@code dt_cadastro} e {@code dt_alteracao}.
+     *
+     * @param since Instante a partir do qual os registros são retornados (exclusivo).
+     * @return Lista de objetos {@link AlunoTurmaModel} ordenados por ID.
+     */
+    @EntityGraph(AlunoTurmaModel.GRAPH_DETALHES)
+    @Query("select x from AlunoTurmaModel x where x.dtCadastro > :since or x.dtAlteracao > :since order by x.id")
+    List<AlunoTurmaModel> findChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Conta as matrículas de cada turma ({@code COUNT(*)} agrupado por turma).
+     *
+     * @return Lista de {@code [turmaId, quantidade]}; turmas sem matrículas não aparecem.
+     */
+    @Query("select a.turma.id, count(a) from AlunoTurmaModel a group by a.turma.id")
+    List<Object[]> countPorTurma();
+
+    /**
+     * Conta as matrículas de uma turma.
+     *
+     * @param turmaId ID da turma.
+     * @return Quantidade de matrículas.
+     */
+    long countByTurmaId(Integer turmaId);
+
+    /**
+     * Verifica se o aluno já está matriculado na turma.
+     *
+     * @param alunoId ID do aluno.
+     * @param turmaId ID da turma.
+     * @return {@code true} se houver matrícula do aluno na turma.
+     */
+    boolean existsByAlunoIdAndTurmaId(Integer alunoId, Integer turmaId);
+
+    /**
+     * Exclui uma matrícula sem propagar a exclusão para o aluno e a turma, que são associados com
+     * {@code CascadeType.ALL} e continuam existindo após o cancelamento da matrícula.
+     *
+     * @param id ID da matrícula.
+     * @return Quantidade de registros excluídos.
+     */
+    @Modifying
+    @Query("delete from AlunoTurmaModel a where a.id = :id")
+    int excluir(@Param("id") Integer id);
+
+    /**
+     * Busca os pares aluno/turma de todas as matrículas, sem carregar as entidades.
+     *
+     * @return Lista de {@code [alunoId, turmaId]}.
+     */
+    @Query("select a.aluno.id, a.turma.id from AlunoTurmaModel a")
+    List<Object[]> findVinculos();
+
+    /**
+     * Busca as matrículas de um aluno já com a turma e o curso de cada uma, em uma única consulta que percorre o
+     * índice {@code ix_aluno_turmas_id_aluno}, independentemente da quantidade de matrículas.
+     *
+     * @param alunoId ID do aluno.
+     * @return Lista de objetos {@link AlunoTurmaModel} ordenados por ID.
+     */
+    @Query("select a from AlunoTurmaModel a join fetch a.turma t join fetch t.curso where a.aluno.id = :alunoId order by a.id")
+    List<AlunoTurmaModel> findByAlunoComTurmaECurso(@Param("alunoId") Integer alunoId);
 }
@@ -1,8 +1,20 @@
 package com.fatec.srp.repositories;
 
 import com.fatec.srp.models.CursoTrilhaModel;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ListVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositório para a entidade {@link CursoTrilhaModel}.
@@ -20,4 +32,86 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface CursoTrilhaRepository extends JpaRepository<CursoTrilhaModel, Integer> {
+
+    /**
+     * Busca os registros com ID maior que o cursor informado, ordenados por ID (paginação por chave).
+     * A consulta gerada é equivalente a {@code WHERE id > :cursor ORDER BY id}, que percorre o índice
+     * da chave primária e mantém o custo constante independentemente da posição da página.
+     *
+     * @param cursor ID do último registro da página anterior.
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Lista de objetos {@link CursoTrilhaModel}.
+     */
+    List<CursoTrilhaModel> findByIdGreaterThanOrderByIdAsc(Integer cursor, Limit limit);
+
+    /**
+     * Percorre todos os registros como um {@link Stream}, lendo do banco em blocos de
+     * {@link AppConstants#STREAM_FETCH_SIZE} linhas, sem materializar a tabela inteira em memória.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream de objetos {@link CursoTrilhaModel} ordenados por ID.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from CursoTrilhaModel c order by c.id")
+    Stream<CursoTrilhaModel> streamAll();
+
+    /**
+     * Calcula a versão da listagem completa ({@code COUNT(*)}, {@code MAX(dt_cadastro)} e {@code MAX(dt_alteracao)})
+     * sem carregar os registros, para responder às requisições condicionais de {@code getAll}. As associações
+     * serializadas na listagem entram por junção com a maior data de alteração de cada uma.
+     *
+     * @return Versão atual da tabela e das associações.
+     */
+    @Query("select new com.fatec.srp.common.ListVersion(count(x), max(x.dtCadastro), max(x.dtAlteracao), max(t.dtAlteracao), max(c.dtAlteracao)) "
+        + "from CursoTrilhaModel x left join x.trilha t left join x.curso c")
+    ListVersion findListVersion();
+
+    /**
+     * Busca os registros incluídos ou alterados após o instante informado, usando os índices de
+     * {@code dt_cadastro} e {@code dt_alteracao}.
+     *
+     * @param since Instante a partir do qual os registros são retornados (exclusivo).
+     * @return Lista de objetos {@link CursoTrilhaModel} ordenados por ID.
+     */
+    @Query("select x from CursoTrilhaModel x where x.dtCadastro > :since or x.dtAlteracao > :since order by x.id")
+    List<CursoTrilhaModel> findChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Busca todas as associações com a trilha e o curso na mesma instrução SQL, usada para montar as projeções
+     * das trilhas na inicialização.
+     *
+     * @return Lista de objetos {@link CursoTrilhaModel} ordenados por ID.
+     */
+    @Query("select x from CursoTrilhaModel x join fetch x.trilha join fetch x.curso order by x.id")
+    List<CursoTrilhaModel> findAllComTrilhaECurso();
+
+    /**
+     * Lista o curso e o nome da trilha de cada associação, usados para montar o índice de busca de cursos
+     * sem carregar as entidades.
+     *
+     * @return Lista de arrays {@code [cursoId, nomeTrilha]}.
+     */
+    @Query("select x.curso.id, x.trilha.nomeTrilha from CursoTrilhaModel x")
+    List<Object[]> findNomesTrilhas();
+
+    /**
+     * Lista o curso e o nome da trilha das associações dos cursos informados.
+     *
+     * @param cursoIds IDs dos cursos.
+     * @return Lista de arrays {@code [cursoId, nomeTrilha]}.
+     */
+    @Query("select x.curso.id, x.trilha.nomeTrilha from CursoTrilhaModel x where x.curso.id in :cursoIds")
+    List<Object[]> findNomesTrilhas(@Param("cursoIds") Collection<Integer> cursoIds);
+
+    /**
+     * Lista os cursos associados a uma trilha.
+     *
+     * @param trilhaId ID da trilha.
+     * @return IDs dos cursos.
+     */
+    @Query("select distinct x.curso.id from CursoTrilhaModel x where x.trilha.id = :trilhaId")
+    List<Integer> findCursoIdsByTrilhaId(@Param("trilhaId") Integer trilhaId);
 }
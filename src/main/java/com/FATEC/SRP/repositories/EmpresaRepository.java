@@ -1,8 +1,20 @@
 package com.fatec.srp.repositories;
 
 import com.fatec.srp.models.EmpresaModel;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ListVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositório para a entidade {@link EmpresaModel}.
@@ -20,4 +32,57 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface EmpresaRepository extends JpaRepository<EmpresaModel, Integer> {
+
+    /**
+     * Busca os registros com ID maior que o cursor informado, ordenados por ID (paginação por chave).
+     * A consulta gerada é equivalente a {@code WHERE id > :cursor ORDER BY id}, que percorre o índice
+     * da chave primária e mantém o custo constante independentemente da posição da página.
+     *
+     * @param cursor ID do último registro da página anterior.
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Lista de objetos {@link EmpresaModel}.
+     */
+    List<EmpresaModel> findByIdGreaterThanOrderByIdAsc(Integer cursor, Limit limit);
+
+    /**
+     * Percorre todos os registros como um {@link Stream}, lendo do banco em blocos de
+     * {@link AppConstants#STREAM_FETCH_SIZE} linhas, sem materializar a tabela inteira em memória.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream de objetos {@link EmpresaModel} ordenados por ID.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from EmpresaModel e order by e.id")
+    Stream<EmpresaModel> streamAll();
+
+    /**
+     * Calcula a versão da listagem completa ({@code COUNT(*)}, {@code MAX(dt_cadastro)} e {@code MAX(dt_alteracao)})
+     * sem carregar os registros, para responder às requisições condicionais de {@code getAll}.
+     *
+     * @return Versão atual da tabela.
+     */
+    @Query("select new com.fatec.srp.common.ListVersion(count(x), max(x.dtCadastro), max(x.dtAlteracao)) from EmpresaModel x")
+    ListVersion findListVersion();
+
+    /**
+     * Busca os registros incluídos ou alterados após o instante informado, usando os índices de
+     * {@code dt_cadastro} e {@code dt_alteracao}.
+     *
+     * @param since Instante a partir do qual os registros são retornados (exclusivo).
+     * @return Lista de objetos {@link EmpresaModel} ordenados por ID.
+     */
+    @Query("select x from EmpresaModel x where x.dtCadastro > :since or x.dtAlteracao > :since order by x.id")
+    List<EmpresaModel> findChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Busca os IDs das empresas com os CNPJs informados, usando o índice de {@code cnpj}.
+     *
+     * @param cnpjs CNPJs procurados, no mesmo formato em que foram cadastrados.
+     * @return Lista de pares {@code [cnpj, id]}.
+     */
+    @Query("select x.cnpj, x.id from EmpresaModel x where x.cnpj in :cnpjs")
+    List<Object[]> findIdsByCnpj(@Param("cnpjs") Collection<String> cnpjs);
 }
@@ -0,0 +1,32 @@
+package com.fatec.srp.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fatec.srp.models.ExclusaoModel;
+
+/**
+ * Repositório para a entidade {@link ExclusaoModel}.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Abstração**: A interface abstrai as operações de banco de dados para os registros de exclusão.
+ * - **Herança**: Herda os métodos de persistência da interface `JpaRepository`.
+ */
+@Repository
+public interface ExclusaoRepository extends JpaRepository<ExclusaoModel, Integer> {
+
+    /**
+     * Busca os IDs excluídos de uma entidade após o instante informado, usando o índice {@code (entidade, dt_exclusao)}.
+     *
+     * @param entidade Nome da entidade.
+     * @param since Instante a partir do qual as exclusões são retornadas (exclusivo).
+     * @return Lista de IDs excluídos, em ordem de exclusão.
+     */
+    @Query("select e.registroId from ExclusaoModel e where e.entidade = :entidade and e.dtExclusao > :since order by e.dtExclusao")
+    List<Integer> findRegistroIdsExcluidos(@Param("entidade") String entidade, @Param("since") LocalDateTime since);
+}
@@ -1,8 +1,21 @@
 package com.fatec.srp.repositories;
 
 import com.fatec.srp.models.FuncionarioTurmaModel;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ListVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.Optional;
+import java.time.LocalDateTime;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositório para a entidade {@link FuncionarioTurmaModel}.
@@ -20,4 +33,81 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface FuncionarioTurmaRepository extends JpaRepository<FuncionarioTurmaModel, Integer> {
+
+    /**
+     * Busca todos os registros carregando cada associação com funcionário (usuário e cargo) e turma (curso) em uma única consulta,
+     * conforme o grafo {@link FuncionarioTurmaModel#GRAPH_DETALHES}, evitando uma consulta adicional por associação.
+     *
+     * @return Lista de objetos {@link FuncionarioTurmaModel}.
+     */
+    @EntityGraph(FuncionarioTurmaModel.GRAPH_DETALHES)
+    @Query("select f from FuncionarioTurmaModel f")
+    List<FuncionarioTurmaModel> findAllDetalhado();
+
+    /**
+     * Busca um registro pelo ID já com as associações do grafo {@link FuncionarioTurmaModel#GRAPH_DETALHES} carregadas,
+     * pois elas são carregadas sob demanda e precisam estar disponíveis na serialização da resposta.
+     *
+     * @param id ID do registro.
+     * @return Objeto {@link FuncionarioTurmaModel}, se encontrado.
+     */
+    @EntityGraph(FuncionarioTurmaModel.GRAPH_DETALHES)
+    Optional<FuncionarioTurmaModel> findById(Integer id);
+
+    /**
+     * Busca os registros com ID maior que o cursor informado, ordenados por ID (paginação por chave).
+     * A consulta gerada é equivalente a {@code WHERE id > :cursor ORDER BY id}, que percorre o índice
+     * da chave primária e mantém o custo constante independentemente da posição da página.
+     *
+     * @param cursor ID do último registro da página anterior.
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Lista de objetos {@link FuncionarioTurmaModel}.
+     */
+    @EntityGraph(FuncionarioTurmaModel.GRAPH_DETALHES)
+    List<FuncionarioTurmaModel> findByIdGreaterThanOrderByIdAsc(Integer cursor, Limit limit);
+
+    /**
+     * Percorre todos os registros como um {@link Stream}, lendo do banco em blocos de
+     * {@link AppConstants#STREAM_FETCH_SIZE} linhas, sem materializar a tabela inteira em memória.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream de objetos {@link FuncionarioTurmaModel} ordenados por ID.
+     */
+    @EntityGraph(FuncionarioTurmaModel.GRAPH_DETALHES)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select f from FuncionarioTurmaModel f order by f.id")
+    Stream<FuncionarioTurmaModel> streamAll();
+
+    /**
+     * Calcula a versão da listagem completa ({@code COUNT(*)}, {@code MAX(dt_cadastro)} e {@code MAX(dt_alteracao)})
+     * sem carregar os registros, para responder às requisições condicionais de {@code getAll}. As associações
+     * serializadas na listagem entram por junção com a maior data de alteração de cada uma.
+     *
+     * @return Versão atual da tabela e das associações.
+     */
+    @Query("select new com.fatec.srp.common.ListVersion(count(x), max(x.dtCadastro), max(x.dtAlteracao), max(f.dtAlteracao), max(u.dtAlteracao), max(cg.dtAlteracao), max(t.dtAlteracao), max(c.dtAlteracao)) "
+        + "from FuncionarioTurmaModel x left join x.funcionario f left join f.usuario u left join f.cargo cg left join x.turma t left join t.curso c")
+    ListVersion findListVersion();
+
+    /**
+     * Busca os registros incluídos ou alterados após o instante informado, usando os índices de
+     * {@code dt_cadastro} e {@code dt_alteracao}.
+     *
+     * @param since Instante a partir do qual os registros são retornados (exclusivo).
+     * @return Lista de objetos {@link FuncionarioTurmaModel} ordenados por ID.
+     */
+    @EntityGraph(FuncionarioTurmaModel.GRAPH_DETALHES)
+    @Query("select x from FuncionarioTurmaModel x where x.dtCadastro > :since or x.dtAlteracao > :since order by x.id")
+    List<FuncionarioTurmaModel> findChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Busca os pares funcionário/turma de todas as associações, sem carregar as entidades.
+     *
+     * @return Lista de {@code [funcionarioId, turmaId]}.
+     */
+    @Query("select f.funcionario.id, f.turma.id from FuncionarioTurmaModel f")
+    List<Object[]> findVinculos();
 }
@@ -0,0 +1,17 @@
+package com.fatec.srp.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.fatec.srp.models.ImportacaoModel;
+
+/**
+ * Repositório para a entidade {@link ImportacaoModel}.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Abstração**: A interface abstrai as operações de banco de dados para os pontos de controle das importações.
+ * - **Herança**: Herda os métodos de persistência da interface `JpaRepository`.
+ */
+@Repository
+public interface ImportacaoRepository extends JpaRepository<ImportacaoModel, String> {
+}
@@ -0,0 +1,79 @@
+package com.fatec.srp.repositories;
+
+import com.fatec.srp.models.ListaEsperaModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório para a entidade {@link ListaEsperaModel}.
+ * 
+ * As consultas por turma usam o índice {@code (turma_id, id)}, de modo que ler o início da fila, contar os alunos
+ * e calcular uma posição custam uma única consulta cada, independentemente do tamanho da fila.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Abstração**: A interface abstrai as operações de banco de dados da lista de espera.
+ * - **Herança**: Herda os métodos de persistência da interface `JpaRepository`.
+ */
+@Repository
+public interface ListaEsperaRepository extends JpaRepository<ListaEsperaModel, Integer> {
+
+    /**
+     * Busca os primeiros alunos da fila de uma turma, em ordem de chegada, já com o aluno e a turma carregados.
+     *
+     * @param turmaId ID da turma.
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Lista de objetos {@link ListaEsperaModel} ordenados por ID.
+     */
+    @Query("select e from ListaEsperaModel e join fetch e.aluno join fetch e.turma where e.turma.id = :turmaId order by e.id")
+    List<ListaEsperaModel> findProximos(@Param("turmaId") Integer turmaId, Limit limit);
+
+    /**
+     * Conta os alunos na fila de uma turma.
+     *
+     * @param turmaId ID da turma.
+     * @return Quantidade de alunos aguardando vaga.
+     */
+    long countByTurmaId(Integer turmaId);
+
+    /**
+     * Calcula a posição de um aluno na fila de uma turma, contando os registros da turma com ID menor ou igual ao dele.
+     *
+     * @param turmaId ID da turma.
+     * @param alunoId ID do aluno.
+     * @return Posição do aluno, começando em 1, ou 0 se ele não estiver na fila.
+     */
+    @Query("select count(e) from ListaEsperaModel e where e.turma.id = :turmaId and e.id <= "
+        + "(select x.id from ListaEsperaModel x where x.turma.id = :turmaId and x.aluno.id = :alunoId)")
+    long findPosicao(@Param("turmaId") Integer turmaId, @Param("alunoId") Integer alunoId);
+
+    /**
+     * Verifica se o aluno já está na fila da turma.
+     *
+     * @param turmaId ID da turma.
+     * @param alunoId ID do aluno.
+     * @return {@code true} se houver registro do aluno na fila.
+     */
+    boolean existsByTurmaIdAndAlunoId(Integer turmaId, Integer alunoId);
+
+    /**
+     * Busca as turmas com alunos aguardando vaga.
+     *
+     * @return IDs das turmas.
+     */
+    @Query("select distinct e.turma.id from ListaEsperaModel e")
+    List<Integer> findTurmasComFila();
+
+    /**
+     * Busca, entre as turmas informadas, as que têm alunos aguardando vaga.
+     *
+     * @param turmaIds IDs das turmas.
+     * @return IDs das turmas com fila.
+     */
+    @Query("select distinct e.turma.id from ListaEsperaModel e where e.turma.id in :turmaIds")
+    List<Integer> findTurmasComFila(@Param("turmaIds") Collection<Integer> turmaIds);
+}
@@ -1,8 +1,19 @@
 package com.fatec.srp.repositories;
 
 import com.fatec.srp.models.PreRequisitoCursoModel;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ListVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositório para a entidade {@link PreRequisitoCursoModel}.
@@ -21,4 +32,59 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface PreRequisitoCursoRepository extends JpaRepository<PreRequisitoCursoModel, Integer> {
     // A interface JpaRepository já fornece as operações básicas como save(), findById(), delete(), etc.
+
+    /**
+     * Busca os registros com ID maior que o cursor informado, ordenados por ID (paginação por chave).
+     * A consulta gerada é equivalente a {@code WHERE id > :cursor ORDER BY id}, que percorre o índice
+     * da chave primária e mantém o custo constante independentemente da posição da página.
+     *
+     * @param cursor ID do último registro da página anterior.
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Lista de objetos {@link PreRequisitoCursoModel}.
+     */
+    List<PreRequisitoCursoModel> findByIdGreaterThanOrderByIdAsc(Integer cursor, Limit limit);
+
+    /**
+     * Percorre todos os registros como um {@link Stream}, lendo do banco em blocos de
+     * {@link AppConstants#STREAM_FETCH_SIZE} linhas, sem materializar a tabela inteira em memória.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream de objetos {@link PreRequisitoCursoModel} ordenados por ID.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from PreRequisitoCursoModel p order by p.id")
+    Stream<PreRequisitoCursoModel> streamAll();
+
+    /**
+     * Calcula a versão da listagem completa ({@code COUNT(*)}, {@code MAX(dt_cadastro)} e {@code MAX(dt_alteracao)})
+     * sem carregar os registros, para responder às requisições condicionais de {@code getAll}. As associações
+     * serializadas na listagem entram por junção com a maior data de alteração de cada uma.
+     *
+     * @return Versão atual da tabela e das associações.
+     */
+    @Query("select new com.fatec.srp.common.ListVersion(count(x), max(x.dtCadastro), max(x.dtAlteracao), max(p.dtAlteracao), max(ce.dtAlteracao), max(c.dtAlteracao)) "
+        + "from PreRequisitoCursoModel x left join x.preRequisito p left join p.cursoEquivalente ce left join x.curso c")
+    ListVersion findListVersion();
+
+    /**
+     * Busca os registros incluídos ou alterados após o instante informado, usando os índices de
+     * {@code dt_cadastro} e {@code dt_alteracao}.
+     *
+     * @param since Instante a partir do qual os registros são retornados (exclusivo).
+     * @return Lista de objetos {@link PreRequisitoCursoModel} ordenados por ID.
+     */
+    @Query("select x from PreRequisitoCursoModel x where x.dtCadastro > :since or x.dtAlteracao > :since order by x.id")
+    List<PreRequisitoCursoModel> findChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Lista apenas os identificadores de cada associação ({@code id}, {@code curso_id}, {@code prerequisito_id}),
+     * usados para montar o grafo de pré-requisitos sem carregar as entidades.
+     *
+     * @return Lista de arrays {@code [id, cursoId, preRequisitoId]}.
+     */
+    @Query("select x.id, x.curso.id, x.preRequisito.id from PreRequisitoCursoModel x")
+    List<Object[]> findArestas();
 }
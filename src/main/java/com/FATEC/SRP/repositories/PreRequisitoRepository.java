@@ -1,8 +1,19 @@
 package com.fatec.srp.repositories;
 
 import com.fatec.srp.models.PreRequisitoModel;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ListVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositório para a entidade {@link PreRequisitoModel}.
@@ -20,4 +31,77 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface PreRequisitoRepository extends JpaRepository<PreRequisitoModel, Integer> {
+
+    /**
+     * Busca todos os registros usando o cache de consultas do Hibernate. O resultado é mantido na região
+     * {@link AppConstants#CACHE_QUERY_REGION} e invalidado automaticamente quando a tabela é alterada.
+     *
+     * @return Lista de objetos {@link PreRequisitoModel}.
+     */
+    @Override
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = AppConstants.CACHE_QUERY_REGION)
+    })
+    List<PreRequisitoModel> findAll();
+
+    /**
+     * Busca os registros com ID maior que o cursor informado, ordenados por ID (paginação por chave).
+     * A consulta gerada é equivalente a {@code WHERE id > :cursor ORDER BY id}, que percorre o índice
+     * da chave primária e mantém o custo constante independentemente da posição da página.
+     *
+     * @param cursor ID do último registro da página anterior.
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Lista de objetos {@link PreRequisitoModel}.
+     */
+    List<PreRequisitoModel> findByIdGreaterThanOrderByIdAsc(Integer cursor, Limit limit);
+
+    /**
+     * Percorre todos os registros como um {@link Stream}, lendo do banco em blocos de
+     * {@link AppConstants#STREAM_FETCH_SIZE} linhas, sem materializar a tabela inteira em memória.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream de objetos {@link PreRequisitoModel} ordenados por ID.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from PreRequisitoModel p order by p.id")
+    Stream<PreRequisitoModel> streamAll();
+
+    /**
+     * Calcula a versão da listagem completa ({@code COUNT(*)}, {@code MAX(dt_cadastro)} e {@code MAX(dt_alteracao)})
+     * sem carregar os registros, para responder às requisições condicionais de {@code getAll}. O resultado fica no cache de consultas
+     * e é invalidado automaticamente quando a tabela ou a de cursos é alterada, pois o curso equivalente entra por
+     * junção com a maior data de alteração.
+     *
+     * @return Versão atual da tabela e dos cursos equivalentes.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = AppConstants.CACHE_QUERY_REGION)
+    })
+    @Query("select new com.fatec.srp.common.ListVersion(count(x), max(x.dtCadastro), max(x.dtAlteracao), max(ce.dtAlteracao)) "
+        + "from PreRequisitoModel x left join x.cursoEquivalente ce")
+    ListVersion findListVersion();
+
+    /**
+     * Busca os registros incluídos ou alterados após o instante informado, usando os índices de
+     * {@code dt_cadastro} e {@code dt_alteracao}.
+     *
+     * @param since Instante a partir do qual os registros são retornados (exclusivo).
+     * @return Lista de objetos {@link PreRequisitoModel} ordenados por ID.
+     */
+    @Query("select x from PreRequisitoModel x where x.dtCadastro > :since or x.dtAlteracao > :since order by x.id")
+    List<PreRequisitoModel> findChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Lista os pré-requisitos satisfeitos pela conclusão de um curso, usados para montar o grafo de pré-requisitos
+     * sem carregar as entidades.
+     *
+     * @return Lista de arrays {@code [preRequisitoId, cursoEquivalenteId]}.
+     */
+    @Query("select x.id, x.cursoEquivalente.id from PreRequisitoModel x where x.cursoEquivalente is not null")
+    List<Object[]> findCursosEquivalentes();
 }
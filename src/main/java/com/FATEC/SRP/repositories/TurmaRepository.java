@@ -1,8 +1,22 @@
 package com.fatec.srp.repositories;
 
 import com.fatec.srp.models.TurmaModel;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ListVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.Optional;
+import java.time.LocalDateTime;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositório para a entidade {@link TurmaModel}.
@@ -20,4 +34,118 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface TurmaRepository extends JpaRepository<TurmaModel, Integer> {
+
+    /**
+     * Busca todos os registros carregando cada turma com seu curso em uma única consulta,
+     * conforme o grafo {@link TurmaModel#GRAPH_DETALHES}, evitando uma consulta adicional por associação.
+     *
+     * @return Lista de objetos {@link TurmaModel}.
+     */
+    @EntityGraph(TurmaModel.GRAPH_DETALHES)
+    @Query("select t from TurmaModel t")
+    List<TurmaModel> findAllDetalhado();
+
+    /**
+     * Busca um registro pelo ID já com as associações do grafo {@link TurmaModel#GRAPH_DETALHES} carregadas,
+     * pois elas são carregadas sob demanda e precisam estar disponíveis na serialização da resposta.
+     *
+     * @param id ID do registro.
+     * @return Objeto {@link TurmaModel}, se encontrado.
+     */
+    @EntityGraph(TurmaModel.GRAPH_DETALHES)
+    Optional<TurmaModel> findById(Integer id);
+
+    /**
+     * Busca os registros com ID maior que o cursor informado, ordenados por ID (paginação por chave).
+     * A consulta gerada é equivalente a {@code WHERE id > :cursor ORDER BY id}, que percorre o índice
+     * da chave primária e mantém o custo constante independentemente da posição da página.
+     *
+     * @param cursor ID do último registro da página anterior.
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Lista de objetos {@link TurmaModel}.
+     */
+    @EntityGraph(TurmaModel.GRAPH_DETALHES)
+    List<TurmaModel> findByIdGreaterThanOrderByIdAsc(Integer cursor, Limit limit);
+
+    /**
+     * Percorre todos os registros como um {@link Stream}, lendo do banco em blocos de
+     * {@link AppConstants#STREAM_FETCH_SIZE} linhas, sem materializar a tabela inteira em memória.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream de objetos {@link TurmaModel} ordenados por ID.
+     */
+    @EntityGraph(TurmaModel.GRAPH_DETALHES)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from TurmaModel t order by t.id")
+    Stream<TurmaModel> streamAll();
+
+    /**
+     * Calcula a versão da listagem completa ({@code COUNT(*)}, {@code MAX(dt_cadastro)} e {@code MAX(dt_alteracao)})
+     * sem carregar os registros, para responder às requisições condicionais de {@code getAll}. As associações
+     * serializadas na listagem entram por junção com a maior data de alteração de cada uma.
+     *
+     * @return Versão atual da tabela e das associações.
+     */
+    @Query("select new com.fatec.srp.common.ListVersion(count(x), max(x.dtCadastro), max(x.dtAlteracao), max(c.dtAlteracao)) "
+        + "from TurmaModel x left join x.curso c")
+    ListVersion findListVersion();
+
+    /**
+     * Busca os registros incluídos ou alterados após o instante informado, usando os índices de
+     * {@code dt_cadastro} e {@code dt_alteracao}.
+     *
+     * @param since Instante a partir do qual os registros são retornados (exclusivo).
+     * @return Lista de objetos {@link TurmaModel} ordenados por ID.
+     */
+    @EntityGraph(TurmaModel.GRAPH_DETALHES)
+    @Query("select x from TurmaModel x where x.dtCadastro > :since or x.dtAlteracao > :since order by x.id")
+    List<TurmaModel> findChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Busca a capacidade e a quantidade de vagas ocupadas gravada de todas as turmas, sem carregar as entidades.
+     *
+     * @return Lista de {@code [id, capacidade, vagasOcupadas]}.
+     */
+    @Query("select t.id, t.capacidade, t.vagasOcupadas from TurmaModel t")
+    List<Object[]> findCapacidades();
+
+    /**
+     * Busca a capacidade e a quantidade de vagas ocupadas gravada de uma turma, sem carregar a entidade.
+     *
+     * @param id ID da turma.
+     * @return Lista com um único {@code [id, capacidade, vagasOcupadas]}, ou vazia se a turma não existir.
+     */
+    @Query("select t.id, t.capacidade, t.vagasOcupadas from TurmaModel t where t.id = :id")
+    List<Object[]> findCapacidadeById(@Param("id") Integer id);
+
+    /**
+     * Grava a quantidade de vagas ocupadas de uma turma sem alterar a versão nem a data de alteração do registro.
+     *
+     * @param id ID da turma.
+     * @param vagasOcupadas Quantidade de alunos matriculados.
+     * @return Quantidade de registros alterados.
+     */
+    @Modifying
+    @Query("update TurmaModel t set t.vagasOcupadas = :vagasOcupadas where t.id = :id")
+    int updateVagasOcupadas(@Param("id") Integer id, @Param("vagasOcupadas") int vagasOcupadas);
+
+    /**
+     * Busca o período e as datas de todas as turmas, sem carregar as entidades.
+     *
+     * @return Lista de {@code [id, periodo, dataInicio, dataFim]}.
+     */
+    @Query("select t.id, t.periodo, t.dataInicio, t.dataFim from TurmaModel t")
+    List<Object[]> findHorarios();
+
+    /**
+     * Busca o período e as datas de uma turma, sem carregar a entidade.
+     *
+     * @param id ID da turma.
+     * @return Lista com um único {@code [id, periodo, dataInicio, dataFim]}, ou vazia se a turma não existir.
+     */
+    @Query("select t.id, t.periodo, t.dataInicio, t.dataFim from TurmaModel t where t.id = :id")
+    List<Object[]> findHorarioById(@Param("id") Integer id);
 }
@@ -1,8 +1,22 @@
 package com.fatec.srp.repositories;
 
 import com.fatec.srp.models.UsuarioModel;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ListVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.hibernate.jpa.HibernateHints;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositório para a entidade {@link UsuarioModel}.
@@ -20,5 +34,105 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface UsuarioRepository extends JpaRepository<UsuarioModel, Integer> {
+    /**
+     * Busca o usuário pelo nome de usuário, resolvida por uma busca no índice único {@code ux_usuario_nome_usuario}.
+     *
+     * @param nomeUsuario Nome de usuário.
+     * @return O usuário encontrado, ou {@code null}.
+     */
     UsuarioModel findByNomeUsuario(String nomeUsuario);
+
+    /**
+     * Busca os usuários com ID maior que o cursor cuja senha ainda está em texto puro (sem o prefixo
+     * {@code {algoritmo}}), usada pela migração das senhas.
+     *
+     * @param cursor ID do último usuário do lote anterior.
+     * @param limit Quantidade máxima de usuários retornados.
+     * @return Lista de objetos {@link UsuarioModel} ordenados por ID.
+     */
+    @Query("select u from UsuarioModel u where u.id > :cursor and u.senha not like '{%}%' order by u.id")
+    List<UsuarioModel> findSenhasLegadas(@Param("cursor") Integer cursor, Limit limit);
+
+    /**
+     * Substitui a senha gravada somente se ela ainda for a informada em {@code atual}, para não sobrescrever uma
+     * troca de senha feita enquanto o novo hash era calculado. A versão é incrementada para que alterações
+     * baseadas na leitura anterior sejam recusadas.
+     *
+     * @param id ID do usuário.
+     * @param atual Senha gravada quando o novo hash começou a ser calculado.
+     * @param nova Nova senha codificada.
+     * @param agora Data da alteração.
+     * @return Quantidade de registros alterados (0 ou 1).
+     */
+    @Transactional
+    @Modifying
+    @Query("update UsuarioModel u set u.senha = :nova, u.dtAlteracao = :agora, u.versao = u.versao + 1 where u.id = :id and u.senha = :atual")
+    int substituirSenha(@Param("id") Integer id, @Param("atual") String atual, @Param("nova") String nova,
+        @Param("agora") LocalDateTime agora);
+
+    /**
+     * Busca os registros com ID maior que o cursor informado, ordenados por ID (paginação por chave).
+     * A consulta gerada é equivalente a {@code WHERE id > :cursor ORDER BY id}, que percorre o índice
+     * da chave primária e mantém o custo constante independentemente da posição da página.
+     *
+     * @param cursor ID do último registro da página anterior.
+     * @param limit Quantidade máxima de registros retornados.
+     * @return Lista de objetos {@link UsuarioModel}.
+     */
+    List<UsuarioModel> findByIdGreaterThanOrderByIdAsc(Integer cursor, Limit limit);
+
+    /**
+     * Percorre todos os registros como um {@link Stream}, lendo do banco em blocos de
+     * {@link AppConstants#STREAM_FETCH_SIZE} linhas, sem materializar a tabela inteira em memória.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream de objetos {@link UsuarioModel} ordenados por ID.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from UsuarioModel u order by u.id")
+    Stream<UsuarioModel> streamAll();
+
+    /**
+     * Calcula a versão da listagem completa ({@code COUNT(*)}, {@code MAX(dt_cadastro)} e {@code MAX(dt_alteracao)})
+     * sem carregar os registros, para responder às requisições condicionais de {@code getAll}.
+     *
+     * @return Versão atual da tabela.
+     */
+    @Query("select new com.fatec.srp.common.ListVersion(count(x), max(x.dtCadastro), max(x.dtAlteracao)) from UsuarioModel x")
+    ListVersion findListVersion();
+
+    /**
+     * Busca os registros incluídos ou alterados após o instante informado, usando os índices de
+     * {@code dt_cadastro} e {@code dt_alteracao}.
+     *
+     * @param since Instante a partir do qual os registros são retornados (exclusivo).
+     * @return Lista de objetos {@link UsuarioModel} ordenados por ID.
+     */
+    @Query("select x from UsuarioModel x where x.dtCadastro > :since or x.dtAlteracao > :since order by x.id")
+    List<UsuarioModel> findChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Verifica quais dos nomes de usuário informados já estão cadastrados, usando o índice único de {@code nome_usuario}.
+     *
+     * @param nomes Nomes de usuário procurados.
+     * @return Nomes já cadastrados.
+     */
+    @Query("select u.nomeUsuario from UsuarioModel u where u.nomeUsuario in :nomes")
+    List<String> findNomesUsuarioCadastrados(@Param("nomes") Collection<String> nomes);
+
+    /**
+     * Busca o nível de permissão do cargo do funcionário associado ao usuário, sem carregar as entidades.
+     *
+     * A consulta parte do usuário, de modo que um usuário excluído é distinguido de um usuário que não é funcionário.
+     *
+     * @param usuarioId ID do usuário.
+     * @return Lista vazia se o usuário não existir; caso contrário, um único elemento com o nível de permissão, ou
+     *         {@code null} se o usuário não for funcionário.
+     */
+    @Query("select c.nivelPermissao from UsuarioModel u left join FuncionarioModel f on f.usuario = u "
+        + "left join f.cargo c where u.id = :usuarioId")
+    List<Integer> findNivelPermissao(@Param("usuarioId") Integer usuarioId);
 }
@@ -3,16 +3,35 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.models.AlunoTurmaModel;
+import com.fatec.srp.models.TurmaModel;
 import com.fatec.srp.models.EmpresaModel;
 import com.fatec.srp.models.UsuarioModel;
 import com.fatec.srp.repositories.AlunoRepository;
+import com.fatec.srp.repositories.AlunoTurmaRepository;
 import com.fatec.srp.repositories.EmpresaRepository;
 import com.fatec.srp.repositories.UsuarioRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.FieldProjection;
+import com.fatec.srp.common.OptimisticLocking;
+import com.fatec.srp.common.PartialUpdate;
+import com.fatec.srp.common.PainelAluno;
+import com.fatec.srp.common.TrilhaCursos;
+import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço que oferece operações de CRUD para a entidade {@link AlunoModel}.
@@ -36,6 +55,9 @@ public class AlunoService implements IService<AlunoModel, String> {
 
     @Autowired
     private AlunoRepository AlunoRepository;
+
+    @Autowired
+    private ExclusaoService ExclusaoService;
     
     @Autowired
     private EmpresaRepository EmpresaRepository;
@@ -43,19 +65,104 @@ public class AlunoService implements IService<AlunoModel, String> {
     @Autowired
     private UsuarioRepository UsuarioRepository;
 
+    @Autowired
+    private SenhaService SenhaService;
+
+    @Autowired
+    private FieldProjection fieldProjection;
+
+    @Autowired
+    private PartialUpdate partialUpdate;
+
+    @Autowired
+    private AlunoTurmaRepository AlunoTurmaRepository;
+
+    @Autowired
+    private TrilhaProjecaoService TrilhaProjecaoService;
+
+    @Autowired
+    private TokenService TokenService;
+
     /**
      * Recupera todos os alunos registrados no banco de dados.
      * 
      * @return Lista de objetos {@link AlunoModel}.
      */
     public List<AlunoModel> read() {
-        List<AlunoModel> cList = AlunoRepository.findAll();
+        List<AlunoModel> cList = AlunoRepository.findAllDetalhado();
         for (AlunoModel alunoModel : cList) {
             alunoModel.getUsuario().setSenha("");
         }
         return cList;
     }
 
+    /**
+     * Recupera uma página de alunos a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link AlunoModel} ordenada por ID.
+     */
+    public List<AlunoModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<AlunoModel> cList = AlunoRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        for (AlunoModel alunoModel : cList) {
+            alunoModel.getUsuario().setSenha("");
+        }
+        return cList;
+    }
+
+    /**
+     * Recupera uma página de alunos contendo apenas os campos informados, sem carregar as entidades.
+     * 
+     * @param fields Campos separados por vírgula; associações no formato {@code associacao.campo}.
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página, ou {@code null} para todos.
+     * @return Lista de mapas com o ID e os campos pedidos, ordenada por ID.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser consultado.
+     */
+    public List<Map<String, Object>> readFields(String fields, String cursor, Integer size) {
+        Integer parsedCursor = cursor == null ? null : Integer.valueOf(cursor);
+        return fieldProjection.query(AlunoModel.class, fields, parsedCursor, size);
+    }
+
+    /**
+     * Calcula a versão atual da listagem de alunos sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return AlunoRepository.findListVersion();
+    }
+
+    /**
+     * Recupera alunos incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<AlunoModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<AlunoModel> changed = AlunoRepository.findChangedSince(since);
+        for (AlunoModel alunoModel : changed) {
+            alunoModel.getUsuario().setSenha("");
+        }
+        return ExclusaoService.changeSet(AlunoModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os alunos como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link AlunoModel}.
+     */
+    public Stream<AlunoModel> readStream() {
+        return AlunoRepository.streamAll().map(alunoModel -> {
+            alunoModel.getUsuario().setSenha("");
+            return alunoModel;
+        });
+    }
+
     /**
      * Recupera um aluno específico pelo seu ID.
      * 
@@ -68,6 +175,58 @@ public class AlunoService implements IService<AlunoModel, String> {
         return Aluno;
     }
     
+    /**
+     * Monta os dados da página de um aluno: o aluno, as suas matrículas com a turma e o curso de cada uma e o
+     * progresso nas trilhas que contêm esses cursos.
+     * 
+     * São sempre duas consultas, independentemente da quantidade de matrículas: o aluno com usuário e empresa
+     * ({@link AlunoModel#GRAPH_DETALHES}) e as matrículas com turma e curso em um único {@code join fetch}. As
+     * trilhas vêm das projeções mantidas em memória pelo {@link TrilhaProjecaoService}. Como nas listagens, a senha
+     * do usuário é omitida.
+     * 
+     * @param AlunoId ID do aluno.
+     * @return Objeto {@link PainelAluno}.
+     * @throws NoSuchElementException se o aluno não existir.
+     */
+    public PainelAluno painel(String AlunoId) {
+        AlunoModel Aluno = read(AlunoId);
+        Aluno.getUsuario().setSenha("");
+        List<AlunoTurmaModel> alunoTurmas = AlunoTurmaRepository.findByAlunoComTurmaECurso(Aluno.getId());
+
+        List<PainelAluno.Matricula> matriculas = new ArrayList<>(alunoTurmas.size());
+        Set<Integer> cursos = new HashSet<>();
+        Set<Integer> cursosConcluidos = new HashSet<>();
+        int turmasConcluidas = 0;
+        for (AlunoTurmaModel alunoTurma : alunoTurmas) {
+            TurmaModel turma = alunoTurma.getTurma();
+            matriculas.add(new PainelAluno.Matricula(alunoTurma.getId(), alunoTurma.isConcluido(), alunoTurma.getDtCadastro(), turma));
+            cursos.add(turma.getCurso().getId());
+            if (alunoTurma.isConcluido()) {
+                cursosConcluidos.add(turma.getCurso().getId());
+                turmasConcluidas++;
+            }
+        }
+
+        List<PainelAluno.ProgressoTrilha> trilhas = new ArrayList<>();
+        for (TrilhaCursos trilha : TrilhaProjecaoService.projecoesComCursos(cursos)) {
+            Set<Integer> cursosDaTrilha = new HashSet<>();
+            trilha.getCursos().forEach(curso -> cursosDaTrilha.add(curso.getCursoId()));
+            int concluidos = 0;
+            int emAndamento = 0;
+            for (Integer cursoId : cursosDaTrilha) {
+                if (cursosConcluidos.contains(cursoId)) {
+                    concluidos++;
+                } else if (cursos.contains(cursoId)) {
+                    emAndamento++;
+                }
+            }
+            int percentual = cursosDaTrilha.isEmpty() ? 0 : concluidos * 100 / cursosDaTrilha.size();
+            trilhas.add(new PainelAluno.ProgressoTrilha(trilha.getTrilhaId(), trilha.getNomeTrilha(), cursosDaTrilha.size(), concluidos, emAndamento, percentual));
+        }
+
+        return new PainelAluno(Aluno, matriculas, trilhas, alunoTurmas.size(), turmasConcluidas);
+    }
+
     /**
      * Cria um novo aluno no banco de dados.
      * 
@@ -93,6 +252,7 @@ public class AlunoService implements IService<AlunoModel, String> {
     public AlunoModel createWithUser(AlunoModel model) {
         
         UsuarioModel user = model.getUsuario();
+        user.setSenha(SenhaService.codificar(user.getSenha()));
         UsuarioRepository.save(user);
         model.setUsuario(user);
 
@@ -110,11 +270,13 @@ public class AlunoService implements IService<AlunoModel, String> {
      * 
      * @param AlunoId ID do aluno a ser atualizado.
      * @param uModel Objeto {@link AlunoModel} com os novos dados.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto {@link AlunoModel} atualizado.
      */
     @Transactional
-    public AlunoModel update(String AlunoId, AlunoModel uModel) {
+    public AlunoModel update(String AlunoId, AlunoModel uModel, Long expectedVersion) {
         AlunoModel Aluno = read(AlunoId);
+        OptimisticLocking.verify(Aluno, expectedVersion);
 
         Optional<UsuarioModel> usuarioOptional = UsuarioRepository.findById(uModel.getUsuario().getId());
         uModel.setUsuario(usuarioOptional.get());
@@ -138,6 +300,21 @@ public class AlunoService implements IService<AlunoModel, String> {
         AlunoRepository.save(Aluno);
         return Aluno;
     }
+
+    /**
+     * Altera apenas os campos informados de um aluno, mantendo os demais. Os campos são aplicados sobre o registro
+     * atual e a gravação segue as mesmas regras de {@link #update}.
+     * 
+     * @param AlunoId ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
+     * @return Objeto {@link AlunoModel} atualizado.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser alterado.
+     */
+    @Transactional
+    public AlunoModel patch(String AlunoId, JsonNode changes, Long expectedVersion) {
+        return update(AlunoId, partialUpdate.apply(read(AlunoId), changes), expectedVersion);
+    }
     
     /**
      * Exclui um aluno do banco de dados pelo ID.
@@ -150,6 +327,11 @@ public class AlunoService implements IService<AlunoModel, String> {
         int parsedId = Integer.parseInt(AlunoId);
         AlunoModel AlunoToDelete = read(AlunoId);
         AlunoRepository.deleteById(parsedId);
+        ExclusaoService.registrar(AlunoModel.class, parsedId);
+        if (AlunoToDelete.getUsuario() != null) {
+            // O usuário é excluído junto com o aluno (CascadeType.ALL).
+            TokenService.invalidarUsuario(AlunoToDelete.getUsuario().getId());
+        }
         return AlunoToDelete;
     }
 }
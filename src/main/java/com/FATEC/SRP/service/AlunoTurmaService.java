@@ -3,6 +3,8 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.fatec.srp.models.AlunoTurmaModel;
 import com.fatec.srp.models.TurmaModel;
@@ -10,9 +12,25 @@ import com.fatec.srp.models.AlunoModel;
 import com.fatec.srp.repositories.AlunoRepository;
 import com.fatec.srp.repositories.TurmaRepository;
 import com.fatec.srp.repositories.AlunoTurmaRepository;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.BulkResult;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.ConflitoHorarioException;
+import com.fatec.srp.common.ListaEsperaException;
+import com.fatec.srp.common.OptimisticLocking;
+import com.fatec.srp.common.TurmaLotadaException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.time.LocalDateTime;
 
 /**
  * Serviço que oferece operações de CRUD para a entidade {@link AlunoTurmaModel}.
@@ -37,22 +55,78 @@ public class AlunoTurmaService implements IService<AlunoTurmaModel, String> {
     @Autowired
     private AlunoTurmaRepository AlunoTurmaRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
     @Autowired
     private TurmaRepository TurmaRepository;
 
     @Autowired
     private AlunoRepository AlunoRepository;
 
+    @Autowired
+    private VagasTurmaService VagasTurmaService;
+
+    @Autowired
+    private ListaEsperaService ListaEsperaService;
+
+    @Autowired
+    private ConflitoHorarioService ConflitoHorarioService;
+
     /**
      * Recupera todos os registros de alunos matriculados em turmas.
      * 
      * @return Lista de objetos {@link AlunoTurmaModel}.
      */
     public List<AlunoTurmaModel> read() {
-        List<AlunoTurmaModel> cList = AlunoTurmaRepository.findAll();
+        List<AlunoTurmaModel> cList = AlunoTurmaRepository.findAllDetalhado();
+        return cList;
+    }
+
+    /**
+     * Recupera uma página de matrículas de alunos em turmas a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link AlunoTurmaModel} ordenada por ID.
+     */
+    public List<AlunoTurmaModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<AlunoTurmaModel> cList = AlunoTurmaRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
         return cList;
     }
 
+    /**
+     * Calcula a versão atual da listagem de matrículas de alunos em turmas sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return AlunoTurmaRepository.findListVersion();
+    }
+
+    /**
+     * Recupera matrículas de alunos em turmas incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<AlunoTurmaModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<AlunoTurmaModel> changed = AlunoTurmaRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(AlunoTurmaModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os matrículas de alunos em turmas como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link AlunoTurmaModel}.
+     */
+    public Stream<AlunoTurmaModel> readStream() {
+        return AlunoTurmaRepository.streamAll();
+    }
+
     /**
      * Recupera um registro específico de aluno matriculado em uma turma pelo seu ID.
      * 
@@ -70,6 +144,9 @@ public class AlunoTurmaService implements IService<AlunoTurmaModel, String> {
      * 
      * @param model Objeto {@link AlunoTurmaModel} contendo os dados da matrícula do aluno.
      * @return O objeto {@link AlunoTurmaModel} persistido.
+     * @throws TurmaLotadaException se todas as vagas da turma estiverem ocupadas.
+     * @throws ConflitoHorarioException se o aluno já estiver em outra turma do mesmo período com datas sobrepostas.
+     * @throws ListaEsperaException se a turma tiver alunos na lista de espera, a quem pertencem as vagas que surgirem.
      */
     @Transactional
     public AlunoTurmaModel create(AlunoTurmaModel model) {
@@ -80,20 +157,146 @@ public class AlunoTurmaService implements IService<AlunoTurmaModel, String> {
         Optional<TurmaModel> turmaOptional = TurmaRepository.findById(model.getTurma().getId());
         model.setTurma(turmaOptional.get());
 
+        long aguardando = ListaEsperaService.tamanho(model.getTurma().getId());
+        if (aguardando > 0) {
+            throw new ListaEsperaException(model.getTurma().getId(), aguardando);
+        }
+        ConflitoHorarioService.reservarAluno(model.getAluno().getId(), model.getTurma().getId());
+        VagasTurmaService.reservar(model.getTurma().getId());
         AlunoTurmaModel AlunoTurma = AlunoTurmaRepository.save(model);
         return AlunoTurma;
     }
+
+    /**
+     * Cria várias matrículas de alunos em turmas em uma única transação.
+     * 
+     * Os alunos e as turmas referenciados são buscados com uma consulta {@code IN} por entidade, em blocos de
+     * {@link AppConstants#BULK_LOOKUP_CHUNK} IDs, e as matrículas válidas são inseridas em lotes JDBC
+     * ({@code hibernate.jdbc.batch_size}). Itens que referenciam um aluno ou uma turma inexistente, uma turma sem
+     * vagas, uma turma com alunos na lista de espera ou uma turma com horário em conflito com outra do aluno
+     * (inclusive de itens anteriores do mesmo lote) são rejeitados individualmente, sem impedir a gravação dos demais.
+     * 
+     * @param models Lista de objetos {@link AlunoTurmaModel} contendo os IDs do aluno e da turma.
+     * @return Lista com o resultado de cada item, na mesma ordem da entrada.
+     */
+    @Transactional
+    public List<BulkResult> createBulk(List<AlunoTurmaModel> models) {
+        Set<Integer> alunoIds = new HashSet<>();
+        Set<Integer> turmaIds = new HashSet<>();
+        for (AlunoTurmaModel model : models) {
+            if (model.getAluno() != null && model.getAluno().getId() != null) {
+                alunoIds.add(model.getAluno().getId());
+            }
+            if (model.getTurma() != null && model.getTurma().getId() != null) {
+                turmaIds.add(model.getTurma().getId());
+            }
+        }
+
+        Map<Integer, AlunoModel> alunos = findAllById(AlunoRepository, alunoIds, AlunoModel::getId);
+        Map<Integer, TurmaModel> turmas = findAllById(TurmaRepository, turmaIds, TurmaModel::getId);
+        Set<Integer> turmasComFila = ListaEsperaService.turmasComFila(turmas.keySet());
+
+        BulkResult[] results = new BulkResult[models.size()];
+        List<Integer> savedIndexes = new ArrayList<>();
+        List<AlunoTurmaModel> toSave = new ArrayList<>();
+
+        for (int i = 0; i < models.size(); i++) {
+            AlunoTurmaModel model = models.get(i);
+            AlunoModel aluno = model.getAluno() == null ? null : alunos.get(model.getAluno().getId());
+            TurmaModel turma = model.getTurma() == null ? null : turmas.get(model.getTurma().getId());
+
+            if (aluno == null || turma == null) {
+                results[i] = BulkResult.builder()
+                    .index(i)
+                    .error(true)
+                    .info(aluno == null ? "Aluno não encontrado" : "Turma não encontrada")
+                    .build();
+                continue;
+            }
+
+            if (turmasComFila.contains(turma.getId())) {
+                results[i] = BulkResult.builder()
+                    .index(i)
+                    .error(true)
+                    .info("Turma com lista de espera")
+                    .build();
+                continue;
+            }
+
+            try {
+                ConflitoHorarioService.reservarAluno(aluno.getId(), turma.getId());
+            } catch (ConflitoHorarioException ex) {
+                results[i] = BulkResult.builder()
+                    .index(i)
+                    .error(true)
+                    .info("Conflito de horário")
+                    .build();
+                continue;
+            }
+
+            try {
+                VagasTurmaService.reservar(turma.getId());
+            } catch (TurmaLotadaException ex) {
+                // A gravação em lote segue, então o vínculo reservado acima é desfeito já, antes dos próximos itens.
+                ConflitoHorarioService.desfazerReservaAluno(aluno.getId(), turma.getId());
+                results[i] = BulkResult.builder()
+                    .index(i)
+                    .error(true)
+                    .info("Turma sem vagas")
+                    .build();
+                continue;
+            }
+
+            model.setId(null);
+            model.setAluno(aluno);
+            model.setTurma(turma);
+            toSave.add(model);
+            savedIndexes.add(i);
+        }
+
+        AlunoTurmaRepository.saveAll(toSave);
+
+        for (int i = 0; i < toSave.size(); i++) {
+            int index = savedIndexes.get(i);
+            results[index] = BulkResult.builder()
+                .index(index)
+                .id(toSave.get(i).getId())
+                .error(false)
+                .info("OK")
+                .build();
+        }
+
+        return List.of(results);
+    }
+
+    /**
+     * Busca as entidades com os IDs informados usando consultas {@code IN} divididas em blocos.
+     */
+    private static <T> Map<Integer, T> findAllById(JpaRepository<T, Integer> repository, Set<Integer> ids, Function<T, Integer> idOf) {
+        List<Integer> idList = new ArrayList<>(ids);
+        Map<Integer, T> found = new HashMap<>();
+
+        for (int start = 0; start < idList.size(); start += AppConstants.BULK_LOOKUP_CHUNK) {
+            int end = Math.min(start + AppConstants.BULK_LOOKUP_CHUNK, idList.size());
+            for (T entity : repository.findAllById(idList.subList(start, end))) {
+                found.put(idOf.apply(entity), entity);
+            }
+        }
+        return found;
+    }
     
     /**
      * Atualiza os dados de matrícula de um aluno em uma turma existente.
      * 
      * @param AlunoTurmaId ID do registro de matrícula a ser atualizado.
      * @param uModel Objeto {@link AlunoTurmaModel} com os novos dados de matrícula.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto {@link AlunoTurmaModel} atualizado.
      */
     @Transactional
-    public AlunoTurmaModel update(String AlunoTurmaId, AlunoTurmaModel uModel) {
+    public AlunoTurmaModel update(String AlunoTurmaId, AlunoTurmaModel uModel, Long expectedVersion) {
         AlunoTurmaModel AlunoTurma = read(AlunoTurmaId);
+        OptimisticLocking.verify(AlunoTurma, expectedVersion);
 
         Optional<AlunoModel> alunoOptional = AlunoRepository.findById(uModel.getAluno().getId());
         uModel.setAluno(alunoOptional.get());
@@ -108,6 +311,9 @@ public class AlunoTurmaService implements IService<AlunoTurmaModel, String> {
     /**
      * Exclui um registro de matrícula de aluno em uma turma pelo ID.
      * 
+     * A vaga é devolvida após a confirmação da transação e o próximo aluno da lista de espera da turma é matriculado
+     * em segundo plano pelo {@link ListaEsperaService}.
+     * 
      * @param AlunoTurmaId ID do registro de matrícula a ser excluído.
      * @return O objeto {@link AlunoTurmaModel} que foi excluído.
      */
@@ -115,7 +321,11 @@ public class AlunoTurmaService implements IService<AlunoTurmaModel, String> {
     public AlunoTurmaModel delete(String AlunoTurmaId) {
         int parsedId = Integer.parseInt(AlunoTurmaId);
         AlunoTurmaModel AlunoTurmaToDelete = read(AlunoTurmaId);
-        AlunoTurmaRepository.deleteById(parsedId);
+        AlunoTurmaRepository.excluir(parsedId);
+        ExclusaoService.registrar(AlunoTurmaModel.class, parsedId);
+        VagasTurmaService.liberar(AlunoTurmaToDelete.getTurma().getId());
+        ConflitoHorarioService.liberarAluno(AlunoTurmaToDelete.getAluno().getId(), AlunoTurmaToDelete.getTurma().getId());
+        ListaEsperaService.agendar(AlunoTurmaToDelete.getTurma().getId());
         return AlunoTurmaToDelete;
     }
 }
@@ -0,0 +1,66 @@
+package com.fatec.srp.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fatec.srp.config.CacheProperties;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Serviço que expõe as estatísticas do cache de segundo nível do Hibernate.
+ * 
+ * Para cada região configurada em {@link CacheProperties} são informados acertos, falhas e inserções,
+ * além dos totais do cache de entidades e do cache de consultas.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Os detalhes da API de estatísticas do Hibernate ficam ocultos atrás de um único método.
+ * - **Injeção de Dependência**: A fábrica de entidades e as propriedades de cache são injetadas pelo Spring.
+ */
+@Service
+public class CacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    /**
+     * Recupera as estatísticas de acertos e falhas de cada região de cache.
+     * 
+     * @return Mapa indexado pelo nome da região, com os contadores de cada uma, e a entrada {@code total}.
+     */
+    public Map<String, Map<String, Long>> statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+
+        for (String regionName : cacheProperties.getRegions().keySet()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+
+            Map<String, Long> counters = new LinkedHashMap<>();
+            counters.put("hits", region.getHitCount());
+            counters.put("misses", region.getMissCount());
+            counters.put("puts", region.getPutCount());
+            result.put(regionName, counters);
+        }
+
+        Map<String, Long> total = new LinkedHashMap<>();
+        total.put("entityHits", statistics.getSecondLevelCacheHitCount());
+        total.put("entityMisses", statistics.getSecondLevelCacheMissCount());
+        total.put("queryHits", statistics.getQueryCacheHitCount());
+        total.put("queryMisses", statistics.getQueryCacheMissCount());
+        result.put("total", total);
+
+        return result;
+    }
+}
@@ -3,11 +3,19 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.CargoModel;
 import com.fatec.srp.repositories.CargoRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.OptimisticLocking;
+import com.fatec.srp.common.PartialUpdate;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço que oferece operações de CRUD para a entidade {@link CargoModel}.
@@ -32,6 +40,15 @@ public class CargoService implements IService<CargoModel, String> {
     @Autowired
     private CargoRepository CargoRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
+    @Autowired
+    private TokenService TokenService;
+
+    @Autowired
+    private PartialUpdate partialUpdate;
+
     /**
      * Recupera todos os registros de cargos.
      * 
@@ -42,6 +59,50 @@ public class CargoService implements IService<CargoModel, String> {
         return cList;
     }
 
+    /**
+     * Recupera uma página de cargos a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link CargoModel} ordenada por ID.
+     */
+    public List<CargoModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<CargoModel> cList = CargoRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Calcula a versão atual da listagem de cargos sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return CargoRepository.findListVersion();
+    }
+
+    /**
+     * Recupera cargos incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<CargoModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<CargoModel> changed = CargoRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(CargoModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os cargos como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link CargoModel}.
+     */
+    public Stream<CargoModel> readStream() {
+        return CargoRepository.streamAll();
+    }
+
     /**
      * Recupera um registro específico de cargo pelo seu ID.
      * 
@@ -71,18 +132,36 @@ public class CargoService implements IService<CargoModel, String> {
      * 
      * @param cargoId ID do cargo a ser atualizado.
      * @param uModel Objeto {@link CargoModel} com os novos dados do cargo.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto {@link CargoModel} atualizado.
      */
     @Transactional
-    public CargoModel update(String cargoId, CargoModel uModel) {
+    public CargoModel update(String cargoId, CargoModel uModel, Long expectedVersion) {
         CargoModel cargo = read(cargoId);
+        OptimisticLocking.verify(cargo, expectedVersion);
 
         cargo.setNivelPermissao(uModel.getNivelPermissao());
         cargo.setNomeCargo(uModel.getNomeCargo());
 
         CargoRepository.save(cargo);
+        TokenService.invalidarPermissoes();
         return cargo;
     }
+
+    /**
+     * Altera apenas os campos informados de um cargo, mantendo os demais. Os campos são aplicados sobre o registro
+     * atual e a gravação segue as mesmas regras de {@link #update}.
+     * 
+     * @param cargoId ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
+     * @return Objeto {@link CargoModel} atualizado.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser alterado.
+     */
+    @Transactional
+    public CargoModel patch(String cargoId, JsonNode changes, Long expectedVersion) {
+        return update(cargoId, partialUpdate.apply(read(cargoId), changes), expectedVersion);
+    }
     
     /**
      * Exclui um cargo pelo ID.
@@ -95,6 +174,8 @@ public class CargoService implements IService<CargoModel, String> {
         int parsedId = Integer.parseInt(cargoId);
         CargoModel cargoToDelete = read(cargoId);
         CargoRepository.deleteById(parsedId);
+        ExclusaoService.registrar(CargoModel.class, parsedId);
+        TokenService.invalidarPermissoes();
         return cargoToDelete;
     }
 }
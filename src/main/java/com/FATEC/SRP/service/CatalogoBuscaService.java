@@ -0,0 +1,204 @@
+package com.fatec.srp.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fatec.srp.common.IndiceTextual;
+import com.fatec.srp.common.ResultadoBusca;
+import com.fatec.srp.common.Transacoes;
+import com.fatec.srp.models.CursoModel;
+import com.fatec.srp.repositories.CursoClassificacaoRepository;
+import com.fatec.srp.repositories.CursoTrilhaRepository;
+import com.fatec.srp.repositories.CursosRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviço de busca textual no catálogo de cursos.
+ *
+ * Mantém um {@link IndiceTextual} em memória com o nome, a descrição, os requisitos e a programação de cada curso e
+ * os nomes das classificações e trilhas a que ele pertence. O índice é montado na inicialização e, a cada gravação
+ * de cursos, associações, classificações ou trilhas, os cursos afetados são relidos dentro da própria transação e
+ * reindexados após a confirmação, de modo que a busca nunca consulta o banco.
+ *
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: O índice e os resumos dos cursos ficam escondidos; apenas a busca e os avisos de alteração são expostos.
+ * - **Composição**: A tokenização e o ranqueamento são delegados ao {@link IndiceTextual}.
+ */
+@Service
+public class CatalogoBuscaService {
+
+    private static final int PESO_NOME = 3;
+
+    private static final int PESO_ASSOCIACAO = 2;
+
+    private static final int PESO_TEXTO = 1;
+
+    @Autowired
+    private CursosRepository CursosRepository;
+
+    @Autowired
+    private CursoClassificacaoRepository CursoClassificacaoRepository;
+
+    @Autowired
+    private CursoTrilhaRepository CursoTrilhaRepository;
+
+    private final IndiceTextual indice = new IndiceTextual();
+
+    private final Map<Integer, Resumo> resumos = new ConcurrentHashMap<>();
+
+    /**
+     * Monta o índice com todos os cursos e os nomes de suas classificações e trilhas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        List<CursoModel> cursos = CursosRepository.findAll();
+        Map<Integer, List<String>> classificacoes = agrupar(CursoClassificacaoRepository.findNomesClassificacoes());
+        Map<Integer, List<String>> trilhas = agrupar(CursoTrilhaRepository.findNomesTrilhas());
+
+        indice.limpar();
+        resumos.clear();
+        for (CursoModel curso : cursos) {
+            aplicar(Documento.de(curso, classificacoes, trilhas));
+        }
+    }
+
+    /**
+     * Busca cursos pelo texto informado.
+     *
+     * @param consulta Palavras buscadas; todas precisam ser encontradas, exatas ou como início de palavra.
+     * @param limite Quantidade máxima de resultados.
+     * @return Cursos em ordem decrescente de relevância.
+     */
+    public List<ResultadoBusca> buscar(String consulta, int limite) {
+        List<IndiceTextual.Resultado> encontrados = indice.buscar(consulta, limite);
+        List<ResultadoBusca> resultados = new ArrayList<>(encontrados.size());
+        for (IndiceTextual.Resultado encontrado : encontrados) {
+            Resumo resumo = resumos.get(encontrado.id());
+            if (resumo != null) {
+                resultados.add(new ResultadoBusca(encontrado.id(), resumo.nome(), resumo.descricao(),
+                    resumo.cargaHoraria(), resumo.valor(), encontrado.pontuacao()));
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * Relê os cursos informados na transação atual e os reindexa após a confirmação. Cursos que não existem mais
+     * são removidos do índice.
+     *
+     * @param cursoIds IDs dos cursos alterados.
+     */
+    public void cursosAlterados(Collection<Integer> cursoIds) {
+        Set<Integer> ids = new HashSet<>(cursoIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, List<String>> classificacoes = agrupar(CursoClassificacaoRepository.findNomesClassificacoes(ids));
+        Map<Integer, List<String>> trilhas = agrupar(CursoTrilhaRepository.findNomesTrilhas(ids));
+        List<Documento> documentos = new ArrayList<>();
+        for (CursoModel curso : CursosRepository.findAllById(ids)) {
+            documentos.add(Documento.de(curso, classificacoes, trilhas));
+            ids.remove(curso.getId());
+        }
+
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                ids.forEach(this::remover);
+                documentos.forEach(this::aplicar);
+            }
+        });
+    }
+
+    /**
+     * Relê um curso na transação atual e o reindexa após a confirmação.
+     *
+     * @param cursoId ID do curso alterado.
+     */
+    public void cursoAlterado(Integer cursoId) {
+        cursosAlterados(List.of(cursoId));
+    }
+
+    /**
+     * Remove um curso do índice após a confirmação da transação.
+     *
+     * @param cursoId ID do curso excluído.
+     */
+    public void cursoExcluido(Integer cursoId) {
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                remover(cursoId);
+            }
+        });
+    }
+
+    /**
+     * Reindexa os cursos de uma classificação renomeada.
+     *
+     * @param classificacaoId ID da classificação alterada.
+     */
+    public void classificacaoAlterada(Integer classificacaoId) {
+        cursosAlterados(CursoClassificacaoRepository.findCursoIdsByClassificacaoId(classificacaoId));
+    }
+
+    /**
+     * Reindexa os cursos de uma trilha renomeada.
+     *
+     * @param trilhaId ID da trilha alterada.
+     */
+    public void trilhaAlterada(Integer trilhaId) {
+        cursosAlterados(CursoTrilhaRepository.findCursoIdsByTrilhaId(trilhaId));
+    }
+
+    private void aplicar(Documento documento) {
+        indice.indexar(documento.id(), documento.campos());
+        resumos.put(documento.id(), documento.resumo());
+    }
+
+    private void remover(Integer cursoId) {
+        indice.remover(cursoId);
+        resumos.remove(cursoId);
+    }
+
+    private static Map<Integer, List<String>> agrupar(List<Object[]> nomes) {
+        Map<Integer, List<String>> porCurso = new HashMap<>();
+        for (Object[] linha : nomes) {
+            porCurso.computeIfAbsent((Integer) linha[0], id -> new ArrayList<>()).add((String) linha[1]);
+        }
+        return porCurso;
+    }
+
+    private record Resumo(String nome, String descricao, String cargaHoraria, Float valor) {
+    }
+
+    private record Documento(Integer id, List<IndiceTextual.Campo> campos, Resumo resumo) {
+
+        static Documento de(CursoModel curso, Map<Integer, List<String>> classificacoes, Map<Integer, List<String>> trilhas) {
+            List<IndiceTextual.Campo> campos = new ArrayList<>();
+            campos.add(new IndiceTextual.Campo(curso.getNomeCurso(), PESO_NOME));
+            campos.add(new IndiceTextual.Campo(curso.getDescCurso(), PESO_TEXTO));
+            campos.add(new IndiceTextual.Campo(curso.getRequisitos(), PESO_TEXTO));
+            campos.add(new IndiceTextual.Campo(curso.getProgramacao(), PESO_TEXTO));
+            for (String nome : classificacoes.getOrDefault(curso.getId(), List.of())) {
+                campos.add(new IndiceTextual.Campo(nome, PESO_ASSOCIACAO));
+            }
+            for (String nome : trilhas.getOrDefault(curso.getId(), List.of())) {
+                campos.add(new IndiceTextual.Campo(nome, PESO_ASSOCIACAO));
+            }
+
+            Resumo resumo = new Resumo(curso.getNomeCurso(), curso.getDescCurso(), curso.getCargaHoraria(), curso.getValorCurso());
+            return new Documento(curso.getId(), campos, resumo);
+        }
+    }
+}
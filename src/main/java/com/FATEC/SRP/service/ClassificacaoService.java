@@ -3,11 +3,19 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.ClassificacaoModel;
 import com.fatec.srp.repositories.ClassificacaoRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.OptimisticLocking;
+import com.fatec.srp.common.PartialUpdate;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço que oferece operações de CRUD para a entidade {@link ClassificacaoModel}.
@@ -32,6 +40,15 @@ public class ClassificacaoService implements IService<ClassificacaoModel, String
     @Autowired
     private ClassificacaoRepository ClassificacaoRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
+    @Autowired
+    private CatalogoBuscaService CatalogoBuscaService;
+
+    @Autowired
+    private PartialUpdate partialUpdate;
+
     /**
      * Recupera todos os registros de classificações.
      * 
@@ -42,6 +59,50 @@ public class ClassificacaoService implements IService<ClassificacaoModel, String
         return cList;
     }
 
+    /**
+     * Recupera uma página de classificações a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link ClassificacaoModel} ordenada por ID.
+     */
+    public List<ClassificacaoModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<ClassificacaoModel> cList = ClassificacaoRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Calcula a versão atual da listagem de classificações sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return ClassificacaoRepository.findListVersion();
+    }
+
+    /**
+     * Recupera classificações incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<ClassificacaoModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<ClassificacaoModel> changed = ClassificacaoRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(ClassificacaoModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os classificações como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link ClassificacaoModel}.
+     */
+    public Stream<ClassificacaoModel> readStream() {
+        return ClassificacaoRepository.streamAll();
+    }
+
     /**
      * Recupera um registro específico de classificação pelo seu ID.
      * 
@@ -71,17 +132,35 @@ public class ClassificacaoService implements IService<ClassificacaoModel, String
      * 
      * @param classificacaoId ID da classificação a ser atualizada.
      * @param uModel Objeto {@link ClassificacaoModel} com os novos dados da classificação.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto {@link ClassificacaoModel} atualizado.
      */
     @Transactional
-    public ClassificacaoModel update(String classificacaoId, ClassificacaoModel uModel) {
+    public ClassificacaoModel update(String classificacaoId, ClassificacaoModel uModel, Long expectedVersion) {
         ClassificacaoModel classificacao = read(classificacaoId);
+        OptimisticLocking.verify(classificacao, expectedVersion);
 
         classificacao.setNomeClassificacao(uModel.getNomeClassificacao());
 
         ClassificacaoRepository.save(classificacao);
+        CatalogoBuscaService.classificacaoAlterada(classificacao.getId());
         return classificacao;
     }
+
+    /**
+     * Altera apenas os campos informados de uma classificação, mantendo os demais. Os campos são aplicados sobre o registro
+     * atual e a gravação segue as mesmas regras de {@link #update}.
+     * 
+     * @param classificacaoId ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
+     * @return Objeto {@link ClassificacaoModel} atualizado.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser alterado.
+     */
+    @Transactional
+    public ClassificacaoModel patch(String classificacaoId, JsonNode changes, Long expectedVersion) {
+        return update(classificacaoId, partialUpdate.apply(read(classificacaoId), changes), expectedVersion);
+    }
     
     /**
      * Exclui uma classificação pelo ID.
@@ -94,6 +173,7 @@ public class ClassificacaoService implements IService<ClassificacaoModel, String
         int parsedId = Integer.parseInt(classificacaoId);
         ClassificacaoModel classificacaoToDelete = read(classificacaoId);
         ClassificacaoRepository.deleteById(parsedId);
+        ExclusaoService.registrar(ClassificacaoModel.class, parsedId);
         return classificacaoToDelete;
     }
 }
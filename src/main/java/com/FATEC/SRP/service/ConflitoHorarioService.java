@@ -0,0 +1,464 @@
+package com.fatec.srp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fatec.srp.common.ArvoreIntervalos;
+import com.fatec.srp.common.ConflitoHorario;
+import com.fatec.srp.common.ConflitoHorarioException;
+import com.fatec.srp.common.Transacoes;
+import com.fatec.srp.repositories.AlunoTurmaRepository;
+import com.fatec.srp.repositories.FuncionarioTurmaRepository;
+import com.fatec.srp.repositories.TurmaRepository;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Serviço que detecta conflitos de horário entre as turmas de um mesmo aluno ou funcionário.
+ *
+ * Duas turmas estão em conflito quando têm o mesmo período (comparado sem diferenciar maiúsculas) e ao menos um dia
+ * em comum entre {@code dataInicio} e {@code dataFim}. Para cada aluno e cada funcionário é mantida em memória uma
+ * {@link ArvoreIntervalos} por período com as suas turmas, de modo que conferir um novo vínculo custa
+ * {@code O(log n)} sobre as poucas turmas da pessoa, sem consultar o banco.
+ *
+ * Assim como as vagas no {@link VagasTurmaService}, o vínculo é reservado no índice dentro da transação que grava a
+ * matrícula ou a associação do funcionário, de forma atômica com a conferência, e desfeito se essa transação for
+ * desfeita; duas gravações simultâneas de turmas conflitantes para a mesma pessoa não passam as duas. Exclusões e
+ * alterações de turmas são aplicadas após a confirmação; ao alterar as datas ou o período de uma turma, apenas os
+ * intervalos dessa turma são movidos nas árvores das pessoas vinculadas a ela. O índice é montado a partir do banco
+ * na inicialização.
+ *
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: As árvores e os vínculos de cada pessoa ficam escondidos atrás das operações de reserva e liberação.
+ * - **Reutilização**: Alunos e funcionários usam a mesma estrutura {@link Agendas}, uma instância para cada.
+ */
+@Service
+public class ConflitoHorarioService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConflitoHorarioService.class);
+
+    /**
+     * Horário de uma turma sem período ou datas, que nunca entra em conflito.
+     */
+    private static final Horario SEM_HORARIO = new Horario(null, null, 0, 0);
+
+    @Autowired
+    private TurmaRepository TurmaRepository;
+
+    @Autowired
+    private AlunoTurmaRepository AlunoTurmaRepository;
+
+    @Autowired
+    private FuncionarioTurmaRepository FuncionarioTurmaRepository;
+
+    private final Map<Integer, Horario> horarios = new HashMap<>();
+
+    private final Agendas alunos = new Agendas("aluno");
+
+    private final Agendas funcionarios = new Agendas("funcionario");
+
+    /**
+     * Monta o índice com o horário de todas as turmas e os vínculos de alunos e funcionários gravados no banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        List<Object[]> turmas = TurmaRepository.findHorarios();
+        List<Object[]> matriculas = AlunoTurmaRepository.findVinculos();
+        List<Object[]> associacoes = FuncionarioTurmaRepository.findVinculos();
+
+        synchronized (this) {
+            for (Object[] turma : turmas) {
+                horarios.putIfAbsent((Integer) turma[0], horario(turma));
+            }
+            for (Object[] vinculo : matriculas) {
+                alunos.adicionar((Integer) vinculo[0], (Integer) vinculo[1], horarios.get((Integer) vinculo[1]));
+            }
+            for (Object[] vinculo : associacoes) {
+                funcionarios.adicionar((Integer) vinculo[0], (Integer) vinculo[1], horarios.get((Integer) vinculo[1]));
+            }
+        }
+        log.info("Índice de horários carregado: {} turmas, {} matrículas, {} associações de funcionários",
+            turmas.size(), matriculas.size(), associacoes.size());
+    }
+
+    /**
+     * Confere e reserva o vínculo do aluno com a turma para a matrícula que está sendo gravada. Se a transação em
+     * andamento for desfeita, a reserva é desfeita.
+     *
+     * @param alunoId ID do aluno.
+     * @param turmaId ID da turma.
+     * @throws ConflitoHorarioException se o aluno já estiver em outra turma do mesmo período com datas sobrepostas.
+     * @throws NoSuchElementException se a turma não existir.
+     */
+    public void reservarAluno(Integer alunoId, Integer turmaId) {
+        reservar(alunos, alunoId, turmaId);
+    }
+
+    /**
+     * Confere e reserva o vínculo do funcionário com a turma para a associação que está sendo gravada. Se a
+     * transação em andamento for desfeita, a reserva é desfeita.
+     *
+     * @param funcionarioId ID do funcionário.
+     * @param turmaId ID da turma.
+     * @throws ConflitoHorarioException se o funcionário já estiver em outra turma do mesmo período com datas sobrepostas.
+     * @throws NoSuchElementException se a turma não existir.
+     */
+    public void reservarFuncionario(Integer funcionarioId, Integer turmaId) {
+        reservar(funcionarios, funcionarioId, turmaId);
+    }
+
+    /**
+     * Retorna as turmas do aluno que conflitam com a turma informada, sem reservar o vínculo.
+     *
+     * @param alunoId ID do aluno.
+     * @param turmaId ID da turma.
+     * @return IDs das turmas em conflito; vazia se não houver conflito.
+     * @throws NoSuchElementException se a turma não existir.
+     */
+    public List<Integer> conflitosAluno(Integer alunoId, Integer turmaId) {
+        Horario horario = horario(turmaId);
+        synchronized (this) {
+            return alunos.conflitos(alunoId, turmaId, horario);
+        }
+    }
+
+    /**
+     * Desfaz imediatamente a reserva feita por {@link #reservarAluno} na transação em andamento, para uma matrícula
+     * que não será gravada, enquanto a transação segue com as demais (por exemplo, um item recusado de uma gravação
+     * em lote). Os itens seguintes da mesma transação já não enxergam o vínculo.
+     *
+     * @param alunoId ID do aluno.
+     * @param turmaId ID da turma.
+     */
+    public void desfazerReservaAluno(Integer alunoId, Integer turmaId) {
+        desfazer(alunos, alunoId, turmaId);
+    }
+
+    /**
+     * Remove o vínculo de uma matrícula excluída, após a confirmação da transação.
+     */
+    public void liberarAluno(Integer alunoId, Integer turmaId) {
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                alunos.remover(alunoId, turmaId, horarios.get(turmaId));
+            }
+        });
+    }
+
+    /**
+     * Remove o vínculo de uma associação de funcionário excluída, após a confirmação da transação.
+     */
+    public void liberarFuncionario(Integer funcionarioId, Integer turmaId) {
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                funcionarios.remover(funcionarioId, turmaId, horarios.get(turmaId));
+            }
+        });
+    }
+
+    /**
+     * Registra o horário de uma turma criada ou alterada, após a confirmação da transação. Se o período ou as datas
+     * mudarem, o intervalo da turma é movido nas árvores dos alunos e funcionários vinculados a ela; conflitos
+     * causados pela alteração não são recusados e aparecem em {@link #conflitos}.
+     */
+    public void turmaGravada(Integer turmaId, String periodo, Date dataInicio, Date dataFim) {
+        Horario novo = horario(periodo, dataInicio, dataFim);
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                Horario antigo = horarios.put(turmaId, novo);
+                if (antigo != null && !antigo.equals(novo)) {
+                    alunos.turmaAlterada(turmaId, antigo, novo);
+                    funcionarios.turmaAlterada(turmaId, antigo, novo);
+                }
+            }
+        });
+    }
+
+    /**
+     * Remove uma turma e os seus vínculos do índice, após a confirmação da transação.
+     */
+    public void turmaExcluida(Integer turmaId) {
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                Horario horario = horarios.remove(turmaId);
+                alunos.turmaExcluida(turmaId, horario);
+                funcionarios.turmaExcluida(turmaId, horario);
+            }
+        });
+    }
+
+    /**
+     * Lista os conflitos de horário existentes, por exemplo os gravados antes desta verificação ou causados pela
+     * alteração das datas de uma turma.
+     *
+     * Sem filtros, lista os conflitos de todos os alunos e funcionários; com um ou os dois filtros, apenas os das
+     * pessoas informadas.
+     *
+     * @param alunoId Restringe o relatório a um aluno, ou {@code null}.
+     * @param funcionarioId Restringe o relatório a um funcionário, ou {@code null}.
+     * @return Lista de {@link ConflitoHorario}, um por par de turmas em conflito de cada pessoa.
+     */
+    public synchronized List<ConflitoHorario> conflitos(Integer alunoId, Integer funcionarioId) {
+        List<ConflitoHorario> conflitos = new ArrayList<>();
+        boolean todos = alunoId == null && funcionarioId == null;
+        if (todos || alunoId != null) {
+            alunos.relatorio(alunoId, horarios, conflitos);
+        }
+        if (todos || funcionarioId != null) {
+            funcionarios.relatorio(funcionarioId, horarios, conflitos);
+        }
+        conflitos.sort(Comparator.comparing(ConflitoHorario::getTipo)
+            .thenComparing(ConflitoHorario::getPessoaId)
+            .thenComparing(ConflitoHorario::getTurmaId)
+            .thenComparing(ConflitoHorario::getTurmaConflitanteId));
+        return conflitos;
+    }
+
+    private void reservar(Agendas agendas, Integer pessoaId, Integer turmaId) {
+        Horario horario = horario(turmaId);
+        synchronized (this) {
+            List<Integer> conflitos = agendas.conflitos(pessoaId, turmaId, horario);
+            if (!conflitos.isEmpty()) {
+                throw new ConflitoHorarioException(turmaId, conflitos);
+            }
+            agendas.adicionar(pessoaId, turmaId, horario);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new Reserva(agendas, pessoaId, turmaId));
+        }
+    }
+
+    private void desfazer(Agendas agendas, Integer pessoaId, Integer turmaId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Reserva reserva = null;
+            for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+                if (sincronizacao instanceof Reserva r && r.ativa && r.agendas == agendas
+                        && r.pessoaId.equals(pessoaId) && r.turmaId.equals(turmaId)) {
+                    reserva = r;
+                }
+            }
+            if (reserva == null) {
+                return;
+            }
+            reserva.ativa = false;
+        }
+        synchronized (this) {
+            agendas.remover(pessoaId, turmaId, horarios.get(turmaId));
+        }
+    }
+
+    /**
+     * Vínculo reservado na transação em andamento, removido se ela for desfeita. Uma reserva já desfeita por
+     * {@link #desfazer} fica inativa e não é removida de novo.
+     */
+    private final class Reserva implements TransactionSynchronization {
+
+        final Agendas agendas;
+
+        final Integer pessoaId;
+
+        final Integer turmaId;
+
+        boolean ativa = true;
+
+        Reserva(Agendas agendas, Integer pessoaId, Integer turmaId) {
+            this.agendas = agendas;
+            this.pessoaId = pessoaId;
+            this.turmaId = turmaId;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (ativa && status != STATUS_COMMITTED) {
+                synchronized (ConflitoHorarioService.this) {
+                    agendas.remover(pessoaId, turmaId, horarios.get(turmaId));
+                }
+            }
+        }
+    }
+
+    /**
+     * Retorna o horário de uma turma, buscando-o no banco se a turma ainda não estiver no índice.
+     */
+    private Horario horario(Integer turmaId) {
+        synchronized (this) {
+            Horario horario = horarios.get(turmaId);
+            if (horario != null) {
+                return horario;
+            }
+        }
+
+        List<Object[]> turma = TurmaRepository.findHorarioById(turmaId);
+        if (turma.isEmpty()) {
+            throw new NoSuchElementException("Turma não encontrada: " + turmaId);
+        }
+        Horario carregado = horario(turma.get(0));
+        synchronized (this) {
+            Horario horario = horarios.putIfAbsent(turmaId, carregado);
+            return horario != null ? horario : carregado;
+        }
+    }
+
+    private static Horario horario(Object[] turma) {
+        return horario((String) turma[1], (Date) turma[2], (Date) turma[3]);
+    }
+
+    private static Horario horario(String periodo, Date dataInicio, Date dataFim) {
+        if (periodo == null || periodo.isBlank() || dataInicio == null || dataFim == null) {
+            return SEM_HORARIO;
+        }
+        long inicio = dataInicio.toLocalDate().toEpochDay();
+        long fim = dataFim.toLocalDate().toEpochDay();
+        return new Horario(periodo, periodo.trim().toLowerCase(Locale.ROOT), Math.min(inicio, fim), Math.max(inicio, fim));
+    }
+
+    /**
+     * Período e intervalo de dias de uma turma.
+     *
+     * @param periodo Período como gravado na turma.
+     * @param chave Período normalizado, usado para separar as árvores; {@code null} se a turma não tiver horário.
+     */
+    private record Horario(String periodo, String chave, long inicio, long fim) {
+    }
+
+    /**
+     * Turmas de cada pessoa (aluno ou funcionário), com uma árvore de intervalos por período, e o caminho inverso
+     * das turmas para as pessoas, usado ao alterar ou excluir uma turma. Acessada sempre com o bloqueio do serviço.
+     *
+     * Nada impede gravar duas vezes a mesma pessoa na mesma turma, por isso cada turma da pessoa guarda quantos
+     * vínculos a ligam a ela; o intervalo só sai da árvore quando o último deles é removido.
+     */
+    private static final class Agendas {
+
+        final String tipo;
+
+        final Map<Integer, Map<Integer, Integer>> turmasPorPessoa = new HashMap<>();
+
+        final Map<Integer, Set<Integer>> pessoasPorTurma = new HashMap<>();
+
+        final Map<Integer, Map<String, ArvoreIntervalos>> arvores = new HashMap<>();
+
+        Agendas(String tipo) {
+            this.tipo = tipo;
+        }
+
+        List<Integer> conflitos(Integer pessoaId, Integer turmaId, Horario horario) {
+            ArvoreIntervalos arvore = horario.chave() == null ? null : arvores.getOrDefault(pessoaId, Map.of()).get(horario.chave());
+            if (arvore == null) {
+                return List.of();
+            }
+            List<Integer> conflitos = arvore.sobrepostos(horario.inicio(), horario.fim());
+            conflitos.remove(turmaId);
+            return conflitos;
+        }
+
+        void adicionar(Integer pessoaId, Integer turmaId, Horario horario) {
+            if (turmasPorPessoa.computeIfAbsent(pessoaId, id -> new HashMap<>()).merge(turmaId, 1, Integer::sum) > 1) {
+                return;
+            }
+            pessoasPorTurma.computeIfAbsent(turmaId, id -> new HashSet<>()).add(pessoaId);
+            indexar(pessoaId, turmaId, horario);
+        }
+
+        void remover(Integer pessoaId, Integer turmaId, Horario horario) {
+            Map<Integer, Integer> turmas = turmasPorPessoa.get(pessoaId);
+            Integer vinculos = turmas == null ? null : turmas.get(turmaId);
+            if (vinculos == null) {
+                return;
+            }
+            if (vinculos > 1) {
+                turmas.put(turmaId, vinculos - 1);
+                return;
+            }
+            turmas.remove(turmaId);
+            if (turmas.isEmpty()) {
+                turmasPorPessoa.remove(pessoaId);
+            }
+            Set<Integer> pessoas = pessoasPorTurma.get(turmaId);
+            if (pessoas != null && pessoas.remove(pessoaId) && pessoas.isEmpty()) {
+                pessoasPorTurma.remove(turmaId);
+            }
+            desindexar(pessoaId, turmaId, horario);
+        }
+
+        void turmaAlterada(Integer turmaId, Horario antigo, Horario novo) {
+            for (Integer pessoaId : pessoasPorTurma.getOrDefault(turmaId, Set.of())) {
+                desindexar(pessoaId, turmaId, antigo);
+                indexar(pessoaId, turmaId, novo);
+            }
+        }
+
+        void turmaExcluida(Integer turmaId, Horario horario) {
+            Set<Integer> pessoas = pessoasPorTurma.remove(turmaId);
+            if (pessoas == null) {
+                return;
+            }
+            for (Integer pessoaId : pessoas) {
+                Map<Integer, Integer> turmas = turmasPorPessoa.get(pessoaId);
+                if (turmas != null && turmas.remove(turmaId) != null && turmas.isEmpty()) {
+                    turmasPorPessoa.remove(pessoaId);
+                }
+                desindexar(pessoaId, turmaId, horario);
+            }
+        }
+
+        void relatorio(Integer pessoaId, Map<Integer, Horario> horarios, List<ConflitoHorario> conflitos) {
+            Set<Integer> pessoas = pessoaId == null ? turmasPorPessoa.keySet() : Set.of(pessoaId);
+            for (Integer pessoa : pessoas) {
+                for (Integer turmaId : turmasPorPessoa.getOrDefault(pessoa, Map.of()).keySet()) {
+                    Horario horario = horarios.get(turmaId);
+                    if (horario == null) {
+                        continue;
+                    }
+                    for (Integer conflitante : conflitos(pessoa, turmaId, horario)) {
+                        if (turmaId < conflitante) {
+                            conflitos.add(new ConflitoHorario(tipo, pessoa, horario.periodo(), turmaId, conflitante));
+                        }
+                    }
+                }
+            }
+        }
+
+        private void indexar(Integer pessoaId, Integer turmaId, Horario horario) {
+            if (horario != null && horario.chave() != null) {
+                arvores.computeIfAbsent(pessoaId, id -> new HashMap<>())
+                    .computeIfAbsent(horario.chave(), chave -> new ArvoreIntervalos())
+                    .inserir(horario.inicio(), horario.fim(), turmaId);
+            }
+        }
+
+        private void desindexar(Integer pessoaId, Integer turmaId, Horario horario) {
+            if (horario == null || horario.chave() == null) {
+                return;
+            }
+            Map<String, ArvoreIntervalos> porPeriodo = arvores.get(pessoaId);
+            ArvoreIntervalos arvore = porPeriodo == null ? null : porPeriodo.get(horario.chave());
+            if (arvore == null) {
+                return;
+            }
+            arvore.remover(horario.inicio(), turmaId);
+            if (arvore.vazia()) {
+                porPeriodo.remove(horario.chave());
+                if (porPeriodo.isEmpty()) {
+                    arvores.remove(pessoaId);
+                }
+            }
+        }
+    }
+}
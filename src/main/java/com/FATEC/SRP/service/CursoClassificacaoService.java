@@ -3,6 +3,7 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.ClassificacaoModel;
 import com.fatec.srp.models.CursoClassificacaoModel;
@@ -10,9 +11,14 @@ import com.fatec.srp.models.CursoModel;
 import com.fatec.srp.repositories.ClassificacaoRepository;
 import com.fatec.srp.repositories.CursoClassificacaoRepository;
 import com.fatec.srp.repositories.CursosRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.OptimisticLocking;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço que oferece operações de CRUD para a entidade {@link CursoClassificacaoModel}.
@@ -37,12 +43,18 @@ public class CursoClassificacaoService implements IService<CursoClassificacaoMod
     @Autowired
     private CursoClassificacaoRepository CursoClassificacaoRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
     @Autowired
     private CursosRepository CursosRepository;
 
     @Autowired
     private ClassificacaoRepository ClassificacaoRepository;
 
+    @Autowired
+    private CatalogoBuscaService CatalogoBuscaService;
+
     /**
      * Recupera todos os registros de curso e classificação.
      * 
@@ -53,6 +65,50 @@ public class CursoClassificacaoService implements IService<CursoClassificacaoMod
         return cList;
     }
 
+    /**
+     * Recupera uma página de associações entre cursos e classificações a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link CursoClassificacaoModel} ordenada por ID.
+     */
+    public List<CursoClassificacaoModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<CursoClassificacaoModel> cList = CursoClassificacaoRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Calcula a versão atual da listagem de associações entre cursos e classificações sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return CursoClassificacaoRepository.findListVersion();
+    }
+
+    /**
+     * Recupera associações entre cursos e classificações incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<CursoClassificacaoModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<CursoClassificacaoModel> changed = CursoClassificacaoRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(CursoClassificacaoModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os associações entre cursos e classificações como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link CursoClassificacaoModel}.
+     */
+    public Stream<CursoClassificacaoModel> readStream() {
+        return CursoClassificacaoRepository.streamAll();
+    }
+
     /**
      * Recupera um registro específico de curso e classificação pelo seu ID.
      * 
@@ -81,6 +137,7 @@ public class CursoClassificacaoService implements IService<CursoClassificacaoMod
         model.setClassificacao(classificacaoOptional.get());
 
         CursoClassificacaoModel cursoClassificacao = CursoClassificacaoRepository.save(model);
+        CatalogoBuscaService.cursoAlterado(cursoClassificacao.getCurso().getId());
         return cursoClassificacao;
     }
     
@@ -89,19 +146,23 @@ public class CursoClassificacaoService implements IService<CursoClassificacaoMod
      * 
      * @param cursoClassificacaoId ID do curso e classificação a ser atualizado.
      * @param uModel Objeto {@link CursoClassificacaoModel} com os novos dados de curso e classificação.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto {@link CursoClassificacaoModel} atualizado.
      */
     @Transactional
-    public CursoClassificacaoModel update(String cursoClassificacaoId, CursoClassificacaoModel uModel) {
+    public CursoClassificacaoModel update(String cursoClassificacaoId, CursoClassificacaoModel uModel, Long expectedVersion) {
         CursoClassificacaoModel cursoClassificacao = read(cursoClassificacaoId);
+        OptimisticLocking.verify(cursoClassificacao, expectedVersion);
+        Integer cursoAnterior = cursoClassificacao.getCurso().getId();
 
         Optional<CursoModel> cursoOptional = CursosRepository.findById(uModel.getCurso().getId());
-        uModel.setCurso(cursoOptional.get());
+        cursoClassificacao.setCurso(cursoOptional.get());
 
         Optional<ClassificacaoModel> classificacaoOptional = ClassificacaoRepository.findById(uModel.getClassificacao().getId());
-        uModel.setClassificacao(classificacaoOptional.get());
+        cursoClassificacao.setClassificacao(classificacaoOptional.get());
 
         CursoClassificacaoRepository.save(cursoClassificacao);
+        CatalogoBuscaService.cursosAlterados(List.of(cursoAnterior, cursoClassificacao.getCurso().getId()));
         return cursoClassificacao;
     }
     
@@ -116,6 +177,8 @@ public class CursoClassificacaoService implements IService<CursoClassificacaoMod
         int parsedId = Integer.parseInt(cursoClassificacaoId);
         CursoClassificacaoModel cursoClassificacaoToDelete = read(cursoClassificacaoId);
         CursoClassificacaoRepository.deleteById(parsedId);
+        ExclusaoService.registrar(CursoClassificacaoModel.class, parsedId);
+        CatalogoBuscaService.cursoAlterado(cursoClassificacaoToDelete.getCurso().getId());
         return cursoClassificacaoToDelete;
     }
 }
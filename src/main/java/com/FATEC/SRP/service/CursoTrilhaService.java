@@ -3,6 +3,7 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.CursoModel;
 import com.fatec.srp.models.CursoTrilhaModel;
@@ -10,9 +11,14 @@ import com.fatec.srp.models.TrilhaModel;
 import com.fatec.srp.repositories.CursoTrilhaRepository;
 import com.fatec.srp.repositories.CursosRepository;
 import com.fatec.srp.repositories.TrilhaRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.OptimisticLocking;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço que oferece operações de CRUD para a entidade {@link CursoTrilhaModel}.
@@ -37,12 +43,21 @@ public class CursoTrilhaService implements IService<CursoTrilhaModel, String> {
     @Autowired
     private CursoTrilhaRepository CursoTrilhaRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
     @Autowired
     private TrilhaRepository TrilhaRepository;
 
     @Autowired
     private CursosRepository CursosRepository;
 
+    @Autowired
+    private TrilhaProjecaoService TrilhaProjecaoService;
+
+    @Autowired
+    private CatalogoBuscaService CatalogoBuscaService;
+
     /**
      * Recupera todos os cursos associados a trilhas.
      * 
@@ -53,6 +68,50 @@ public class CursoTrilhaService implements IService<CursoTrilhaModel, String> {
         return cList;
     }
 
+    /**
+     * Recupera uma página de associações entre cursos e trilhas a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link CursoTrilhaModel} ordenada por ID.
+     */
+    public List<CursoTrilhaModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<CursoTrilhaModel> cList = CursoTrilhaRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Calcula a versão atual da listagem de associações entre cursos e trilhas sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return CursoTrilhaRepository.findListVersion();
+    }
+
+    /**
+     * Recupera associações entre cursos e trilhas incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<CursoTrilhaModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<CursoTrilhaModel> changed = CursoTrilhaRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(CursoTrilhaModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os associações entre cursos e trilhas como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link CursoTrilhaModel}.
+     */
+    public Stream<CursoTrilhaModel> readStream() {
+        return CursoTrilhaRepository.streamAll();
+    }
+
     /**
      * Recupera um curso associado a uma trilha específica pelo seu ID.
      * 
@@ -81,6 +140,8 @@ public class CursoTrilhaService implements IService<CursoTrilhaModel, String> {
         model.setTrilha(trilhaOptional.get());
 
         CursoTrilhaModel CursoTrilha = CursoTrilhaRepository.save(model);
+        TrilhaProjecaoService.associacaoGravada(CursoTrilha);
+        CatalogoBuscaService.cursoAlterado(CursoTrilha.getCurso().getId());
         return CursoTrilha;
     }
     
@@ -89,19 +150,24 @@ public class CursoTrilhaService implements IService<CursoTrilhaModel, String> {
      * 
      * @param CursoTrilhaId ID da associação a ser atualizada.
      * @param uModel Objeto {@link CursoTrilhaModel} com os novos dados.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto {@link CursoTrilhaModel} atualizado.
      */
     @Transactional
-    public CursoTrilhaModel update(String CursoTrilhaId, CursoTrilhaModel uModel) {
+    public CursoTrilhaModel update(String CursoTrilhaId, CursoTrilhaModel uModel, Long expectedVersion) {
         CursoTrilhaModel CursoTrilha = read(CursoTrilhaId);
+        OptimisticLocking.verify(CursoTrilha, expectedVersion);
+        Integer cursoAnterior = CursoTrilha.getCurso().getId();
 
         Optional<CursoModel> cursoOptional = CursosRepository.findById(uModel.getCurso().getId());
-        uModel.setCurso(cursoOptional.get());
+        CursoTrilha.setCurso(cursoOptional.get());
 
         Optional<TrilhaModel> trilhaOptional = TrilhaRepository.findById(uModel.getTrilha().getId());
-        uModel.setTrilha(trilhaOptional.get());
+        CursoTrilha.setTrilha(trilhaOptional.get());
 
         CursoTrilhaRepository.save(CursoTrilha);
+        TrilhaProjecaoService.associacaoGravada(CursoTrilha);
+        CatalogoBuscaService.cursosAlterados(List.of(cursoAnterior, CursoTrilha.getCurso().getId()));
         return CursoTrilha;
     }
     
@@ -116,6 +182,9 @@ public class CursoTrilhaService implements IService<CursoTrilhaModel, String> {
         int parsedId = Integer.parseInt(CursoTrilhaId);
         CursoTrilhaModel CursoTrilhaToDelete = read(CursoTrilhaId);
         CursoTrilhaRepository.deleteById(parsedId);
+        ExclusaoService.registrar(CursoTrilhaModel.class, parsedId);
+        TrilhaProjecaoService.associacaoExcluida(parsedId);
+        CatalogoBuscaService.cursoAlterado(CursoTrilhaToDelete.getCurso().getId());
         return CursoTrilhaToDelete;
     }
 }
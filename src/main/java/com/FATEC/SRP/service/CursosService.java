@@ -3,11 +3,21 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.CursoModel;
 import com.fatec.srp.repositories.CursosRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.FieldProjection;
+import com.fatec.srp.common.OptimisticLocking;
+import com.fatec.srp.common.PartialUpdate;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço que oferece operações de CRUD para a entidade {@link CursoModel}.
@@ -32,6 +42,21 @@ public class CursosService implements IService<CursoModel, String> {
     @Autowired
     private CursosRepository cursosRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
+    @Autowired
+    private TrilhaProjecaoService TrilhaProjecaoService;
+
+    @Autowired
+    private CatalogoBuscaService CatalogoBuscaService;
+
+    @Autowired
+    private FieldProjection fieldProjection;
+
+    @Autowired
+    private PartialUpdate partialUpdate;
+
     /**
      * Recupera todos os cursos registrados.
      * 
@@ -42,6 +67,64 @@ public class CursosService implements IService<CursoModel, String> {
         return cList;
     }
 
+    /**
+     * Recupera uma página de cursos a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link CursoModel} ordenada por ID.
+     */
+    public List<CursoModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<CursoModel> cList = cursosRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Recupera uma página de cursos contendo apenas os campos informados, sem carregar as entidades.
+     * 
+     * @param fields Campos separados por vírgula; associações no formato {@code associacao.campo}.
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página, ou {@code null} para todos.
+     * @return Lista de mapas com o ID e os campos pedidos, ordenada por ID.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser consultado.
+     */
+    public List<Map<String, Object>> readFields(String fields, String cursor, Integer size) {
+        Integer parsedCursor = cursor == null ? null : Integer.valueOf(cursor);
+        return fieldProjection.query(CursoModel.class, fields, parsedCursor, size);
+    }
+
+    /**
+     * Calcula a versão atual da listagem de cursos sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return cursosRepository.findListVersion();
+    }
+
+    /**
+     * Recupera cursos incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<CursoModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<CursoModel> changed = cursosRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(CursoModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os cursos como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link CursoModel}.
+     */
+    public Stream<CursoModel> readStream() {
+        return cursosRepository.streamAll();
+    }
+
     /**
      * Recupera um curso específico pelo seu ID.
      * 
@@ -63,6 +146,7 @@ public class CursosService implements IService<CursoModel, String> {
     @Transactional
     public CursoModel create(CursoModel model) {
         CursoModel curso = cursosRepository.save(model);
+        CatalogoBuscaService.cursoAlterado(curso.getId());
         return curso;
     }
     
@@ -71,11 +155,13 @@ public class CursosService implements IService<CursoModel, String> {
      * 
      * @param cursoId ID do curso a ser atualizado.
      * @param uModel Objeto {@link CursoModel} com os novos dados do curso.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto {@link CursoModel} atualizado.
      */
     @Transactional
-    public CursoModel update(String cursoId, CursoModel uModel) {
+    public CursoModel update(String cursoId, CursoModel uModel, Long expectedVersion) {
         CursoModel curso = read(cursoId);
+        OptimisticLocking.verify(curso, expectedVersion);
 
         curso.setDescCurso(uModel.getDescCurso());
         curso.setNomeCurso(uModel.getNomeCurso());
@@ -85,8 +171,25 @@ public class CursosService implements IService<CursoModel, String> {
         curso.setValorCurso(uModel.getValorCurso());
 
         cursosRepository.save(curso);
+        TrilhaProjecaoService.cursoGravado(curso);
+        CatalogoBuscaService.cursoAlterado(curso.getId());
         return curso;
     }
+
+    /**
+     * Altera apenas os campos informados de um curso, mantendo os demais. Os campos são aplicados sobre o registro
+     * atual e a gravação segue as mesmas regras de {@link #update}.
+     * 
+     * @param cursoId ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
+     * @return Objeto {@link CursoModel} atualizado.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser alterado.
+     */
+    @Transactional
+    public CursoModel patch(String cursoId, JsonNode changes, Long expectedVersion) {
+        return update(cursoId, partialUpdate.apply(read(cursoId), changes), expectedVersion);
+    }
     
     /**
      * Exclui um curso pelo ID.
@@ -99,6 +202,9 @@ public class CursosService implements IService<CursoModel, String> {
         int parsedId = Integer.parseInt(cursoId);
         CursoModel cursoToDelete = read(cursoId);
         cursosRepository.deleteById(parsedId);
+        ExclusaoService.registrar(CursoModel.class, parsedId);
+        TrilhaProjecaoService.cursoExcluido(parsedId);
+        CatalogoBuscaService.cursoExcluido(parsedId);
         return cursoToDelete;
     }
 }
@@ -3,11 +3,19 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.EmpresaModel;
 import com.fatec.srp.repositories.EmpresaRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.OptimisticLocking;
+import com.fatec.srp.common.PartialUpdate;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço que oferece operações de CRUD para a entidade {@link EmpresaModel}.
@@ -32,6 +40,12 @@ public class EmpresaService implements IService<EmpresaModel, String> {
     @Autowired
     private EmpresaRepository EmpresaRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
+    @Autowired
+    private PartialUpdate partialUpdate;
+
     /**
      * Recupera todas as empresas.
      * 
@@ -42,6 +56,50 @@ public class EmpresaService implements IService<EmpresaModel, String> {
         return cList;
     }
 
+    /**
+     * Recupera uma página de empresas a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link EmpresaModel} ordenada por ID.
+     */
+    public List<EmpresaModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<EmpresaModel> cList = EmpresaRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Calcula a versão atual da listagem de empresas sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return EmpresaRepository.findListVersion();
+    }
+
+    /**
+     * Recupera empresas incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<EmpresaModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<EmpresaModel> changed = EmpresaRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(EmpresaModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os empresas como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link EmpresaModel}.
+     */
+    public Stream<EmpresaModel> readStream() {
+        return EmpresaRepository.streamAll();
+    }
+
     /**
      * Recupera uma empresa específica pelo seu ID.
      * 
@@ -71,11 +129,13 @@ public class EmpresaService implements IService<EmpresaModel, String> {
      * 
      * @param EmpresaId ID da empresa a ser atualizada.
      * @param uModel Objeto {@link EmpresaModel} com os novos dados.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto {@link EmpresaModel} atualizado.
      */
     @Transactional
-    public EmpresaModel update(String EmpresaId, EmpresaModel uModel) {
+    public EmpresaModel update(String EmpresaId, EmpresaModel uModel, Long expectedVersion) {
         EmpresaModel Empresa = read(EmpresaId);
+        OptimisticLocking.verify(Empresa, expectedVersion);
 
         Empresa.setAgencia(uModel.getAgencia());
         Empresa.setBanco(uModel.getBanco());
@@ -87,6 +147,21 @@ public class EmpresaService implements IService<EmpresaModel, String> {
         EmpresaRepository.save(Empresa);
         return Empresa;
     }
+
+    /**
+     * Altera apenas os campos informados de uma empresa, mantendo os demais. Os campos são aplicados sobre o registro
+     * atual e a gravação segue as mesmas regras de {@link #update}.
+     * 
+     * @param EmpresaId ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
+     * @return Objeto {@link EmpresaModel} atualizado.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser alterado.
+     */
+    @Transactional
+    public EmpresaModel patch(String EmpresaId, JsonNode changes, Long expectedVersion) {
+        return update(EmpresaId, partialUpdate.apply(read(EmpresaId), changes), expectedVersion);
+    }
     
     /**
      * Exclui uma empresa pelo ID.
@@ -99,6 +174,7 @@ public class EmpresaService implements IService<EmpresaModel, String> {
         int parsedId = Integer.parseInt(EmpresaId);
         EmpresaModel EmpresaToDelete = read(EmpresaId);
         EmpresaRepository.deleteById(parsedId);
+        ExclusaoService.registrar(EmpresaModel.class, parsedId);
         return EmpresaToDelete;
     }
 }
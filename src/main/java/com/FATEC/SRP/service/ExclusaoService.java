@@ -0,0 +1,85 @@
+package com.fatec.srp.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.models.ExclusaoModel;
+import com.fatec.srp.repositories.ExclusaoRepository;
+
+/**
+ * Serviço que registra as exclusões feitas pelos demais serviços e monta as respostas de sincronização incremental.
+ * 
+ * As exclusões são gravadas na mesma transação do {@code delete} que as originou, de modo que um registro de
+ * exclusão só existe se a exclusão foi efetivada.
+ * 
+ * Conceitos OOP utilizados:
+ * - **Responsabilidade Única**: Concentra o controle de exclusões em um único serviço, reutilizado por todas as entidades.
+ * - **Injeção de Dependência**: O repositório {@link ExclusaoRepository} é injetado automaticamente pelo Spring.
+ */
+@Service
+public class ExclusaoService {
+
+    @Autowired
+    private ExclusaoRepository ExclusaoRepository;
+
+    /**
+     * Registra a exclusão de um registro.
+     * 
+     * @param entidade Classe do modelo excluído.
+     * @param registroId ID do registro excluído.
+     */
+    @Transactional
+    public void registrar(Class<?> entidade, Integer registroId) {
+        ExclusaoModel exclusao = new ExclusaoModel();
+        exclusao.setEntidade(entidade.getSimpleName());
+        exclusao.setRegistroId(registroId);
+        ExclusaoRepository.save(exclusao);
+    }
+
+    /**
+     * Recupera os IDs excluídos de uma entidade após o instante informado.
+     * 
+     * @param entidade Classe do modelo.
+     * @param since Instante a partir do qual as exclusões são retornadas.
+     * @return Lista de IDs excluídos.
+     */
+    public List<Integer> readSince(Class<?> entidade, LocalDateTime since) {
+        return ExclusaoRepository.findRegistroIdsExcluidos(entidade.getSimpleName(), since);
+    }
+
+    /**
+     * Instante a ser usado pelo cliente como {@code since} da próxima sincronização.
+     * 
+     * É calculado antes das consultas e recuado em {@link AppConstants#CHANGES_OVERLAP_SECONDS}, para que registros
+     * gravados por transações ainda não confirmadas no momento da consulta apareçam na sincronização seguinte.
+     * 
+     * @return Instante da próxima sincronização.
+     */
+    public LocalDateTime nextSince() {
+        return LocalDateTime.now().minusSeconds(AppConstants.CHANGES_OVERLAP_SECONDS);
+    }
+
+    /**
+     * Monta o conjunto de alterações de uma entidade.
+     * 
+     * @param <T> Tipo do modelo.
+     * @param entidade Classe do modelo.
+     * @param since Instante informado pelo cliente.
+     * @param until Instante calculado por {@link #nextSince()} antes da consulta dos registros alterados.
+     * @param changed Registros incluídos ou alterados após {@code since}.
+     * @return Objeto {@link ChangeSet} com os registros alterados e os IDs excluídos.
+     */
+    public <T> ChangeSet<T> changeSet(Class<T> entidade, LocalDateTime since, LocalDateTime until, List<T> changed) {
+        return ChangeSet.<T>builder()
+            .changed(changed)
+            .deleted(readSince(entidade, since))
+            .until(until)
+            .build();
+    }
+}
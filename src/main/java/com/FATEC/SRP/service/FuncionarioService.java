@@ -3,6 +3,7 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.CargoModel;
 import com.fatec.srp.models.FuncionarioModel;
@@ -10,9 +11,16 @@ import com.fatec.srp.models.UsuarioModel;
 import com.fatec.srp.repositories.CargoRepository;
 import com.fatec.srp.repositories.FuncionarioRepository;
 import com.fatec.srp.repositories.UsuarioRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.FieldProjection;
+import com.fatec.srp.common.OptimisticLocking;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço que oferece operações de CRUD para a entidade {@link FuncionarioModel}.
@@ -43,6 +51,15 @@ public class FuncionarioService implements IService<FuncionarioModel, String> {
     @Autowired
     private FuncionarioRepository FuncionarioRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
+    @Autowired
+    private TokenService TokenService;
+
+    @Autowired
+    private FieldProjection fieldProjection;
+
     /**
      * Recupera todos os registros de funcionários e turmas.
      * 
@@ -53,6 +70,64 @@ public class FuncionarioService implements IService<FuncionarioModel, String> {
         return cList;
     }
 
+    /**
+     * Recupera uma página de funcionários a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link FuncionarioModel} ordenada por ID.
+     */
+    public List<FuncionarioModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<FuncionarioModel> cList = FuncionarioRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Recupera uma página de funcionários contendo apenas os campos informados, sem carregar as entidades.
+     * 
+     * @param fields Campos separados por vírgula; associações no formato {@code associacao.campo}.
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página, ou {@code null} para todos.
+     * @return Lista de mapas com o ID e os campos pedidos, ordenada por ID.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser consultado.
+     */
+    public List<Map<String, Object>> readFields(String fields, String cursor, Integer size) {
+        Integer parsedCursor = cursor == null ? null : Integer.valueOf(cursor);
+        return fieldProjection.query(FuncionarioModel.class, fields, parsedCursor, size);
+    }
+
+    /**
+     * Calcula a versão atual da listagem de funcionários sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return FuncionarioRepository.findListVersion();
+    }
+
+    /**
+     * Recupera funcionários incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<FuncionarioModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<FuncionarioModel> changed = FuncionarioRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(FuncionarioModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os funcionários como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link FuncionarioModel}.
+     */
+    public Stream<FuncionarioModel> readStream() {
+        return FuncionarioRepository.streamAll();
+    }
+
     /**
      * Recupera um registro específico de funcionário e turma pelo ID.
      * 
@@ -80,7 +155,9 @@ public class FuncionarioService implements IService<FuncionarioModel, String> {
         Optional<CargoModel> cargoOptional = cargoRepository.findById(model.getCargo().getId());
         model.setCargo(cargoOptional.get());
 
-        return FuncionarioRepository.save(model);
+        FuncionarioModel funcionario = FuncionarioRepository.save(model);
+        TokenService.invalidarPermissoes();
+        return funcionario;
     }
     
     /**
@@ -88,11 +165,13 @@ public class FuncionarioService implements IService<FuncionarioModel, String> {
      * 
      * @param funcionarioId ID do registro a ser atualizado.
      * @param uModel Objeto {@link FuncionarioModel} com os novos dados.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto {@link FuncionarioModel} atualizado.
      */
     @Transactional
-    public FuncionarioModel update(String funcionarioId, FuncionarioModel uModel) {
+    public FuncionarioModel update(String funcionarioId, FuncionarioModel uModel, Long expectedVersion) {
         FuncionarioModel funcionario = read(funcionarioId);
+        OptimisticLocking.verify(funcionario, expectedVersion);
 
         Optional<UsuarioModel> usuarioOptional = usuarioRepository.findById(uModel.getUsuario().getId());
         funcionario.setUsuario(usuarioOptional.get());
@@ -101,6 +180,7 @@ public class FuncionarioService implements IService<FuncionarioModel, String> {
         funcionario.setCargo(cargoOptional.get());
 
         FuncionarioRepository.save(funcionario);
+        TokenService.invalidarPermissoes();
         return funcionario;
     }
     
@@ -115,6 +195,8 @@ public class FuncionarioService implements IService<FuncionarioModel, String> {
         int parsedId = Integer.parseInt(funcionarioId);
         FuncionarioModel funcionarioToDelete = read(funcionarioId);
         FuncionarioRepository.deleteById(parsedId);
+        ExclusaoService.registrar(FuncionarioModel.class, parsedId);
+        TokenService.invalidarPermissoes();
         return funcionarioToDelete;
     }
 }
@@ -2,10 +2,13 @@ package com.fatec.srp.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.FuncionarioModel;
 import com.fatec.srp.models.FuncionarioTurmaModel;
@@ -13,6 +16,10 @@ import com.fatec.srp.models.TurmaModel;
 import com.fatec.srp.repositories.FuncionarioRepository;
 import com.fatec.srp.repositories.FuncionarioTurmaRepository;
 import com.fatec.srp.repositories.TurmaRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.OptimisticLocking;
+import com.fatec.srp.common.ConflitoHorarioException;
 
 /**
  * Serviço que oferece operações de CRUD para a entidade {@link FuncionarioTurmaModel}.
@@ -37,22 +44,72 @@ public class FuncionarioTurmaService implements IService<FuncionarioTurmaModel,
     @Autowired
     private FuncionarioTurmaRepository FuncionarioTurmaRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
     @Autowired
     private FuncionarioRepository FuncionarioRepository;
 
     @Autowired
     private TurmaRepository TurmaRepository;
 
+    @Autowired
+    private ConflitoHorarioService ConflitoHorarioService;
+
     /**
      * Recupera todos os registros de funcionários e turmas.
      * 
      * @return Lista de objetos {@link FuncionarioTurmaModel}.
      */
     public List<FuncionarioTurmaModel> read() {
-        List<FuncionarioTurmaModel> cList = FuncionarioTurmaRepository.findAll();
+        List<FuncionarioTurmaModel> cList = FuncionarioTurmaRepository.findAllDetalhado();
         return cList;
     }
 
+    /**
+     * Recupera uma página de associações entre funcionários e turmas a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link FuncionarioTurmaModel} ordenada por ID.
+     */
+    public List<FuncionarioTurmaModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<FuncionarioTurmaModel> cList = FuncionarioTurmaRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Calcula a versão atual da listagem de associações entre funcionários e turmas sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return FuncionarioTurmaRepository.findListVersion();
+    }
+
+    /**
+     * Recupera associações entre funcionários e turmas incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<FuncionarioTurmaModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<FuncionarioTurmaModel> changed = FuncionarioTurmaRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(FuncionarioTurmaModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os associações entre funcionários e turmas como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link FuncionarioTurmaModel}.
+     */
+    public Stream<FuncionarioTurmaModel> readStream() {
+        return FuncionarioTurmaRepository.streamAll();
+    }
+
     /**
      * Recupera um registro específico de funcionário e turma pelo ID.
      * 
@@ -70,6 +127,7 @@ public class FuncionarioTurmaService implements IService<FuncionarioTurmaModel,
      * 
      * @param model Objeto {@link FuncionarioTurmaModel} contendo os dados do novo registro.
      * @return O objeto {@link FuncionarioTurmaModel} persistido.
+     * @throws ConflitoHorarioException se o funcionário já estiver em outra turma do mesmo período com datas sobrepostas.
      */
     @Transactional
     public FuncionarioTurmaModel create(FuncionarioTurmaModel model) {
@@ -80,6 +138,7 @@ public class FuncionarioTurmaService implements IService<FuncionarioTurmaModel,
         Optional<TurmaModel> turmaOptional = TurmaRepository.findById(model.getTurma().getId());
         model.setTurma(turmaOptional.get());
 
+        ConflitoHorarioService.reservarFuncionario(model.getFuncionario().getId(), model.getTurma().getId());
         FuncionarioTurmaModel FuncionarioTurma = FuncionarioTurmaRepository.save(model);
         return FuncionarioTurma;
     }
@@ -89,11 +148,13 @@ public class FuncionarioTurmaService implements IService<FuncionarioTurmaModel,
      * 
      * @param FuncionarioTurmaId ID do registro a ser atualizado.
      * @param uModel Objeto {@link FuncionarioTurmaModel} com os novos dados.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto {@link FuncionarioTurmaModel} atualizado.
      */
     @Transactional
-    public FuncionarioTurmaModel update(String FuncionarioTurmaId, FuncionarioTurmaModel uModel) {
+    public FuncionarioTurmaModel update(String FuncionarioTurmaId, FuncionarioTurmaModel uModel, Long expectedVersion) {
         FuncionarioTurmaModel FuncionarioTurma = read(FuncionarioTurmaId);
+        OptimisticLocking.verify(FuncionarioTurma, expectedVersion);
 
         FuncionarioTurma.setRazaoSocial(uModel.getRazaoSocial());
 
@@ -118,6 +179,8 @@ public class FuncionarioTurmaService implements IService<FuncionarioTurmaModel,
         int parsedId = Integer.parseInt(FuncionarioTurmaId);
         FuncionarioTurmaModel FuncionarioTurmaToDelete = read(FuncionarioTurmaId);
         FuncionarioTurmaRepository.deleteById(parsedId);
+        ExclusaoService.registrar(FuncionarioTurmaModel.class, parsedId);
+        ConflitoHorarioService.liberarFuncionario(FuncionarioTurmaToDelete.getFuncionario().getId(), FuncionarioTurmaToDelete.getTurma().getId());
         return FuncionarioTurmaToDelete;
     }
 }
@@ -1,7 +1,11 @@
 package com.fatec.srp.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.ListVersion;
+
 /**
  * Interface genérica para serviços que realizam operações CRUD (Criar, Ler, Atualizar, Excluir) em entidades.
  * 
@@ -24,6 +28,41 @@ public interface IService<T, ID> {
      */
     public List<T> read();
 
+    /**
+     * Recupera uma página de registros da entidade a partir de um cursor, ordenada pelo ID.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros na página.
+     * @return Lista de objetos do tipo {@link T} com ID maior que o cursor.
+     * 
+     * Conceitos OOP utilizados:
+     * - **Abstração**: O método define o comportamento de paginação sem expor a consulta utilizada pela implementação.
+     */
+    public List<T> readPage(ID cursor, int size);
+
+    /**
+     * Calcula a versão atual da listagem completa sem carregar os registros, usada como validador
+     * das requisições condicionais.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem de registros e as datas mais recentes de cadastro e alteração.
+     * 
+     * Conceitos OOP utilizados:
+     * - **Abstração**: O método define como obter a versão da listagem sem expor a consulta agregada utilizada.
+     */
+    public ListVersion readVersion();
+
+    /**
+     * Recupera os registros incluídos ou alterados e os IDs excluídos após o instante informado,
+     * para sincronização incremental.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com os registros alterados, os IDs excluídos e o instante da próxima sincronização.
+     * 
+     * Conceitos OOP utilizados:
+     * - **Abstração**: O método define o comportamento da sincronização sem expor como as alterações são rastreadas.
+     */
+    public ChangeSet<T> readChanges(LocalDateTime since);
+
     /**
      * Recupera um registro específico da entidade com base no ID.
      * 
@@ -40,13 +79,16 @@ public interface IService<T, ID> {
      * 
      * @param id ID do registro a ser atualizado.
      * @param entity Objeto com os dados atualizados.
+     * @param expectedVersion Versão do registro esperada pelo cliente, ou {@code null} para não conferir. Se a versão
+     * atual for diferente, ou se o registro for alterado por outra transação antes da gravação, é lançada uma
+     * {@link org.springframework.dao.OptimisticLockingFailureException}.
      * @return O objeto do tipo {@link T} atualizado.
      * 
      * Conceitos OOP utilizados:
      * - **Encapsulamento**: O método encapsula o processo de atualização de um registro, onde os detalhes de como a atualização é feita ficam ocultos.
      * - **Abstração**: O comportamento de atualizar um registro é abstraído na interface, permitindo diferentes implementações.
      */
-    public T update(ID id, T entity);
+    public T update(ID id, T entity, Long expectedVersion);
 
     /**
      * Exclui um registro da entidade com base no ID.
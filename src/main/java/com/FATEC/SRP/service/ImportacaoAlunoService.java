@@ -0,0 +1,583 @@
+package com.fatec.srp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ProgressoImportacao;
+import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.models.ImportacaoModel;
+import com.fatec.srp.models.UsuarioModel;
+import com.fatec.srp.repositories.AlunoRepository;
+import com.fatec.srp.repositories.EmpresaRepository;
+import com.fatec.srp.repositories.ImportacaoRepository;
+import com.fatec.srp.repositories.UsuarioRepository;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço que importa alunos em lote a partir de arquivos CSV ou NDJSON, criando o usuário e o aluno de cada registro.
+ *
+ * O arquivo é lido em fluxo, um registro por vez, e gravado em blocos de {@link AppConstants#IMPORT_CHUNK_SIZE}
+ * registros, cada bloco em uma transação. Antes de cada bloco:
+ * - as empresas são resolvidas pelo CNPJ com uma única consulta, e o resultado fica em um cache da importação;
+ * - os nomes de usuário já cadastrados ou repetidos no arquivo são recusados com uma única consulta;
+ * - as senhas são codificadas em paralelo no executor de senhas, sem ocupar todas as suas threads nem a sua fila.
+ *
+ * A mesma transação do bloco atualiza o ponto de controle da importação ({@link ImportacaoModel}). Se a importação
+ * for interrompida, o reenvio do mesmo arquivo com o mesmo identificador ignora os registros já tratados e continua
+ * do bloco seguinte. Um bloco recusado pelo banco (por exemplo, um campo maior que a coluna) é regravado registro a
+ * registro, para que apenas os registros inválidos sejam recusados.
+ *
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: A leitura do arquivo, os blocos e o ponto de controle ficam escondidos atrás de {@link #importar} e {@link #progresso}.
+ * - **Polimorfismo**: Os formatos CSV e NDJSON são lidos por implementações diferentes de um mesmo leitor de registros.
+ */
+@Service
+public class ImportacaoAlunoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoAlunoService.class);
+
+    private static final Pattern ID_VALIDO = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    /**
+     * Tempo em que o progresso de uma importação encerrada continua em memória, com a lista de registros recusados.
+     */
+    private static final Duration RETENCAO = Duration.ofHours(1);
+
+    @Autowired
+    private ImportacaoRepository ImportacaoRepository;
+
+    @Autowired
+    private AlunoRepository AlunoRepository;
+
+    @Autowired
+    private UsuarioRepository UsuarioRepository;
+
+    @Autowired
+    private EmpresaRepository EmpresaRepository;
+
+    @Autowired
+    private SenhaService SenhaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, Execucao> execucoes = new ConcurrentHashMap<>();
+
+    /**
+     * Importa os alunos do arquivo informado, retomando a partir do ponto de controle se a importação já existir.
+     * A chamada termina quando o arquivo for todo lido ou quando a importação falhar; o progresso pode ser
+     * consultado por {@link #progresso(String)} enquanto isso.
+     *
+     * Os registros são contados a partir de 1, sem o cabeçalho do CSV nem as linhas em branco do NDJSON.
+     *
+     * @param id Identificador da importação, ou {@code null} para gerar um novo.
+     * @param entrada Conteúdo do arquivo.
+     * @param csv {@code true} para CSV com cabeçalho, {@code false} para NDJSON.
+     * @return Progresso final da importação.
+     * @throws IllegalArgumentException se o identificador for inválido.
+     * @throws IllegalStateException se a importação já estiver em andamento.
+     */
+    public ProgressoImportacao importar(String id, Reader entrada, boolean csv) {
+        String importacaoId = id == null ? UUID.randomUUID().toString() : id;
+        if (!ID_VALIDO.matcher(importacaoId).matches()) {
+            throw new IllegalArgumentException("Identificador de importação inválido: use até 64 letras, números, '.', '_' ou '-'");
+        }
+
+        Instant limite = Instant.now().minus(RETENCAO);
+        execucoes.values().removeIf(e -> e.fim != null && e.fim.isBefore(limite));
+
+        Execucao execucao = new Execucao(importacaoId);
+        if (execucoes.compute(importacaoId, (k, atual) -> atual != null && atual.fim == null ? atual : execucao) != execucao) {
+            throw new IllegalStateException("A importação " + importacaoId + " já está em andamento");
+        }
+
+        try {
+            ImportacaoModel importacao = ImportacaoRepository.findById(importacaoId).orElseGet(() -> {
+                ImportacaoModel nova = new ImportacaoModel();
+                nova.setId(importacaoId);
+                return nova;
+            });
+            execucao.iniciar(importacao);
+            if (importacao.getSituacao() == ImportacaoModel.Situacao.CONCLUIDA) {
+                execucao.encerrar(ImportacaoModel.Situacao.CONCLUIDA, null);
+                return execucao.progresso();
+            }
+            importacao.setSituacao(ImportacaoModel.Situacao.EM_ANDAMENTO);
+            importacao.setMensagem(null);
+            ImportacaoRepository.save(importacao);
+
+            ler(execucao, csv ? leitorCsv(entrada) : leitorNdjson(entrada));
+            encerrar(execucao, ImportacaoModel.Situacao.CONCLUIDA, null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Importação {} interrompida no registro {}", importacaoId, execucao.processados, e);
+            encerrar(execucao, ImportacaoModel.Situacao.FALHA, mensagem(e));
+        }
+        return execucao.progresso();
+    }
+
+    /**
+     * Retorna o progresso de uma importação. Importações em andamento ou encerradas há pouco são respondidas da
+     * memória, com os registros recusados; as demais, do ponto de controle gravado.
+     *
+     * @param id Identificador da importação.
+     * @return Objeto {@link ProgressoImportacao}, ou {@code null} se a importação não existir.
+     */
+    public ProgressoImportacao progresso(String id) {
+        Execucao execucao = execucoes.get(id);
+        if (execucao != null) {
+            return execucao.progresso();
+        }
+        return ImportacaoRepository.findById(id)
+            .map(importacao -> new ProgressoImportacao(importacao.getId(), importacao.getSituacao(), 0,
+                importacao.getRegistrosProcessados(), importacao.getImportados(), importacao.getFalhas(), 0,
+                importacao.getDtCadastro(), importacao.getDtAlteracao(), importacao.getMensagem(), List.of()))
+            .orElse(null);
+    }
+
+    private void ler(Execucao execucao, Leitor leitor) throws IOException {
+        try (leitor) {
+            long retomarApos = execucao.processados;
+            long numero = 0;
+            List<Item> lote = new ArrayList<>(AppConstants.IMPORT_CHUNK_SIZE);
+            Registro registro;
+            while ((registro = leitor.proximo()) != null) {
+                numero++;
+                execucao.lidos.incrementAndGet();
+                if (numero <= retomarApos) {
+                    continue;
+                }
+                lote.add(converter(numero, registro));
+                if (lote.size() == AppConstants.IMPORT_CHUNK_SIZE) {
+                    processar(execucao, lote);
+                    lote = new ArrayList<>(AppConstants.IMPORT_CHUNK_SIZE);
+                }
+            }
+            if (!lote.isEmpty()) {
+                processar(execucao, lote);
+            }
+        }
+    }
+
+    private Item converter(long numero, Registro registro) {
+        if (registro.erro() != null) {
+            return Item.recusado(numero, registro.erro());
+        }
+        Linha linha;
+        try {
+            linha = objectMapper.treeToValue(registro.dados(), Linha.class);
+        } catch (JsonProcessingException e) {
+            return Item.recusado(numero, "Valor inválido: " + e.getOriginalMessage());
+        }
+        String faltando = linha.campoObrigatorioAusente();
+        if (faltando != null) {
+            return Item.recusado(numero, "Campo obrigatório não informado: " + faltando);
+        }
+        return new Item(numero, linha);
+    }
+
+    /**
+     * Resolve as empresas e os nomes de usuário do bloco, codifica as senhas e grava o bloco.
+     */
+    private void processar(Execucao execucao, List<Item> lote) {
+        resolverEmpresas(execucao, lote);
+        recusarNomesRepetidos(lote);
+
+        List<Item> validos = lote.stream().filter(item -> item.erro == null).toList();
+        List<String> senhas = SenhaService.codificarLote(validos.stream().map(item -> item.linha.senha()).toList());
+        for (int i = 0; i < validos.size(); i++) {
+            validos.get(i).senhaCodificada = senhas.get(i);
+        }
+
+        try {
+            gravar(execucao, lote);
+        } catch (DataIntegrityViolationException e) {
+            if (lote.size() == 1) {
+                Item item = lote.get(0);
+                item.erro = "Registro recusado pelo banco: " + mensagem(e);
+                gravar(execucao, lote);
+            } else {
+                for (Item item : lote) {
+                    processarIsolado(execucao, item);
+                }
+            }
+        }
+    }
+
+    private void processarIsolado(Execucao execucao, Item item) {
+        try {
+            gravar(execucao, List.of(item));
+        } catch (DataIntegrityViolationException e) {
+            item.erro = "Registro recusado pelo banco: " + mensagem(e);
+            gravar(execucao, List.of(item));
+        }
+    }
+
+    private void resolverEmpresas(Execucao execucao, List<Item> lote) {
+        Set<String> pendentes = new HashSet<>();
+        for (Item item : lote) {
+            String cnpj = item.erro == null ? texto(item.linha.cnpj()) : null;
+            if (cnpj != null && !execucao.empresas.containsKey(cnpj)) {
+                pendentes.add(cnpj);
+            }
+        }
+        if (!pendentes.isEmpty()) {
+            for (Object[] empresa : EmpresaRepository.findIdsByCnpj(pendentes)) {
+                execucao.empresas.put((String) empresa[0], (Integer) empresa[1]);
+            }
+            for (String cnpj : pendentes) {
+                execucao.empresas.putIfAbsent(cnpj, null);
+            }
+        }
+
+        for (Item item : lote) {
+            String cnpj = item.erro == null ? texto(item.linha.cnpj()) : null;
+            if (cnpj != null && execucao.empresas.get(cnpj) == null) {
+                item.erro = "Empresa não encontrada para o CNPJ " + cnpj;
+            }
+        }
+    }
+
+    private void recusarNomesRepetidos(List<Item> lote) {
+        Set<String> nomes = new HashSet<>();
+        for (Item item : lote) {
+            if (item.erro == null && !nomes.add(texto(item.linha.nomeUsuario()))) {
+                item.erro = "Nome de usuário repetido no arquivo: " + texto(item.linha.nomeUsuario());
+            }
+        }
+        if (nomes.isEmpty()) {
+            return;
+        }
+
+        Set<String> cadastrados = new HashSet<>(UsuarioRepository.findNomesUsuarioCadastrados(nomes));
+        for (Item item : lote) {
+            if (item.erro == null && cadastrados.contains(texto(item.linha.nomeUsuario()))) {
+                item.erro = "Nome de usuário já cadastrado: " + texto(item.linha.nomeUsuario());
+            }
+        }
+    }
+
+    /**
+     * Grava os registros válidos e avança o ponto de controle até o último registro, em uma única transação.
+     */
+    private void gravar(Execucao execucao, List<Item> itens) {
+        List<UsuarioModel> usuarios = new ArrayList<>(itens.size());
+        List<AlunoModel> alunos = new ArrayList<>(itens.size());
+        List<ProgressoImportacao.Erro> erros = new ArrayList<>();
+        for (Item item : itens) {
+            if (item.erro != null) {
+                erros.add(new ProgressoImportacao.Erro(item.numero, item.erro));
+            }
+        }
+        long processados = itens.get(itens.size() - 1).numero;
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (Item item : itens) {
+                if (item.erro == null) {
+                    UsuarioModel usuario = item.usuario();
+                    usuarios.add(usuario);
+                    alunos.add(item.aluno(usuario, execucao.empresas, EmpresaRepository));
+                }
+            }
+            UsuarioRepository.saveAll(usuarios);
+            AlunoRepository.saveAll(alunos);
+
+            ImportacaoModel importacao = ImportacaoRepository.findById(execucao.id).orElseThrow();
+            importacao.setRegistrosProcessados(processados);
+            importacao.setImportados(importacao.getImportados() + alunos.size());
+            importacao.setFalhas(importacao.getFalhas() + erros.size());
+        });
+
+        execucao.confirmar(processados, alunos.size(), erros);
+    }
+
+    private void encerrar(Execucao execucao, ImportacaoModel.Situacao situacao, String mensagem) {
+        try {
+            ImportacaoRepository.findById(execucao.id).ifPresent(importacao -> {
+                importacao.setSituacao(situacao);
+                importacao.setMensagem(mensagem);
+                ImportacaoRepository.save(importacao);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível gravar a situação da importação {}", execucao.id, e);
+        }
+        execucao.encerrar(situacao, mensagem);
+    }
+
+    /**
+     * Primeira linha da mensagem da causa mais específica, sem a instrução SQL que alguns drivers anexam.
+     */
+    private static String mensagem(Exception e) {
+        String mensagem = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        if (mensagem == null) {
+            mensagem = e.getClass().getSimpleName();
+        }
+        int quebra = mensagem.indexOf('\n');
+        if (quebra > 0) {
+            mensagem = mensagem.substring(0, quebra);
+        }
+        return mensagem.length() > 500 ? mensagem.substring(0, 500) : mensagem;
+    }
+
+    private static String texto(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.strip();
+    }
+
+    private Leitor leitorCsv(Reader entrada) throws IOException {
+        MappingIterator<JsonNode> linhas = CSV_MAPPER.readerFor(JsonNode.class)
+            .with(CsvSchema.emptySchema().withHeader())
+            .readValues(entrada);
+        return new Leitor() {
+            @Override
+            public Registro proximo() throws IOException {
+                return linhas.hasNextValue() ? new Registro(linhas.nextValue(), null) : null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                linhas.close();
+            }
+        };
+    }
+
+    private Leitor leitorNdjson(Reader entrada) {
+        BufferedReader linhas = new BufferedReader(entrada);
+        return new Leitor() {
+            @Override
+            public Registro proximo() throws IOException {
+                String linha;
+                do {
+                    linha = linhas.readLine();
+                } while (linha != null && linha.isBlank());
+                if (linha == null) {
+                    return null;
+                }
+                try {
+                    return new Registro(objectMapper.readTree(linha), null);
+                } catch (JsonProcessingException e) {
+                    return new Registro(null, "JSON inválido: " + e.getOriginalMessage());
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                linhas.close();
+            }
+        };
+    }
+
+    /**
+     * Leitor de registros de um arquivo de importação.
+     */
+    private interface Leitor extends Closeable {
+
+        /**
+         * @return Próximo registro, ou {@code null} no fim do arquivo.
+         */
+        Registro proximo() throws IOException;
+    }
+
+    /**
+     * Registro lido do arquivo, ou o motivo pelo qual não pôde ser interpretado.
+     */
+    private record Registro(JsonNode dados, String erro) {
+    }
+
+    /**
+     * Campos aceitos em cada registro do arquivo. Colunas desconhecidas são ignoradas.
+     */
+    private record Linha(String nomeUsuario, String nomePessoa, String nomeSocial, String email, String senha,
+            String cpf, String rg, String endereco, String cep, String nivelEscolaridade, String nomePai,
+            String nomeMae, String nomeResponsavel, String banco, String agencia, Boolean candidato, Boolean pcd,
+            String descricaoPcd, LocalDate dtNascimento, String cnpj) {
+
+        String campoObrigatorioAusente() {
+            String[][] obrigatorios = {
+                { "nomeUsuario", nomeUsuario }, { "nomePessoa", nomePessoa }, { "senha", senha }, { "cpf", cpf },
+                { "rg", rg }, { "endereco", endereco }, { "cep", cep }, { "nivelEscolaridade", nivelEscolaridade },
+                { "nomePai", nomePai }, { "nomeMae", nomeMae }
+            };
+            for (String[] campo : obrigatorios) {
+                if (texto(campo[1]) == null) {
+                    return campo[0];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Registro do bloco em gravação, com a posição no arquivo e, se recusado, o motivo.
+     */
+    private static final class Item {
+
+        final long numero;
+
+        final Linha linha;
+
+        String erro;
+
+        String senhaCodificada;
+
+        Item(long numero, Linha linha) {
+            this.numero = numero;
+            this.linha = linha;
+        }
+
+        static Item recusado(long numero, String erro) {
+            Item item = new Item(numero, null);
+            item.erro = erro;
+            return item;
+        }
+
+        UsuarioModel usuario() {
+            UsuarioModel usuario = new UsuarioModel();
+            usuario.setNomeUsuario(texto(linha.nomeUsuario()));
+            usuario.setNomePessoa(texto(linha.nomePessoa()));
+            usuario.setNomeSocial(texto(linha.nomeSocial()));
+            usuario.setEmail(texto(linha.email()));
+            usuario.setSenha(senhaCodificada);
+            return usuario;
+        }
+
+        AlunoModel aluno(UsuarioModel usuario, Map<String, Integer> empresas, EmpresaRepository empresaRepository) {
+            String cnpj = texto(linha.cnpj());
+            String descricaoPcd = texto(linha.descricaoPcd());
+
+            AlunoModel aluno = new AlunoModel();
+            aluno.setUsuario(usuario);
+            aluno.setEmpresa(cnpj == null ? null : empresaRepository.getReferenceById(empresas.get(cnpj)));
+            aluno.setCandidato(linha.candidato());
+            aluno.setEndereco(texto(linha.endereco()));
+            aluno.setBanco(texto(linha.banco()));
+            aluno.setAgencia(texto(linha.agencia()));
+            aluno.setCpf(texto(linha.cpf()));
+            aluno.setRg(texto(linha.rg()));
+            aluno.setNivelEscolaridade(texto(linha.nivelEscolaridade()));
+            aluno.setCep(texto(linha.cep()));
+            aluno.setNomePai(texto(linha.nomePai()));
+            aluno.setNomeMae(texto(linha.nomeMae()));
+            aluno.setNomeResponsavel(texto(linha.nomeResponsavel()));
+            aluno.setPcd(linha.pcd());
+            aluno.setDescricaoPcd(descricaoPcd == null ? "" : descricaoPcd);
+            aluno.setDtNascimento(linha.dtNascimento() == null ? null : linha.dtNascimento().atStartOfDay());
+            return aluno;
+        }
+    }
+
+    /**
+     * Estado em memória de uma execução de importação. Os contadores são alterados apenas pela thread que importa
+     * e lidos pelas consultas de progresso.
+     */
+    private static final class Execucao {
+
+        final String id;
+
+        final Instant inicio = Instant.now();
+
+        final LocalDateTime dtInicio = LocalDateTime.now();
+
+        /**
+         * Cache da importação: CNPJ para ID da empresa, ou {@code null} se não houver empresa com o CNPJ.
+         */
+        final Map<String, Integer> empresas = new HashMap<>();
+
+        final AtomicLong lidos = new AtomicLong();
+
+        final List<ProgressoImportacao.Erro> erros = Collections.synchronizedList(new ArrayList<>());
+
+        volatile ImportacaoModel.Situacao situacao = ImportacaoModel.Situacao.EM_ANDAMENTO;
+
+        volatile long processadosNoInicio;
+
+        volatile long processados;
+
+        volatile long importados;
+
+        volatile long falhas;
+
+        volatile LocalDateTime dtAlteracao;
+
+        volatile String mensagem;
+
+        volatile Instant fim;
+
+        Execucao(String id) {
+            this.id = id;
+        }
+
+        void iniciar(ImportacaoModel importacao) {
+            processadosNoInicio = importacao.getRegistrosProcessados();
+            processados = importacao.getRegistrosProcessados();
+            importados = importacao.getImportados();
+            falhas = importacao.getFalhas();
+        }
+
+        void confirmar(long processados, int importados, List<ProgressoImportacao.Erro> recusados) {
+            this.processados = processados;
+            this.importados += importados;
+            this.falhas += recusados.size();
+            this.dtAlteracao = LocalDateTime.now();
+            synchronized (erros) {
+                for (ProgressoImportacao.Erro erro : recusados) {
+                    if (erros.size() < AppConstants.IMPORT_MAX_ERRORS) {
+                        erros.add(erro);
+                    }
+                }
+            }
+        }
+
+        void encerrar(ImportacaoModel.Situacao situacao, String mensagem) {
+            this.situacao = situacao;
+            this.mensagem = mensagem;
+            this.fim = Instant.now();
+        }
+
+        ProgressoImportacao progresso() {
+            Instant ate = fim != null ? fim : Instant.now();
+            double segundos = Math.max(Duration.between(inicio, ate).toMillis(), 1) / 1000.0;
+            List<ProgressoImportacao.Erro> copia;
+            synchronized (erros) {
+                copia = List.copyOf(erros);
+            }
+            return new ProgressoImportacao(id, situacao, lidos.get(), processados, importados, falhas,
+                (processados - processadosNoInicio) / segundos, dtInicio, dtAlteracao, mensagem, copia);
+        }
+    }
+}
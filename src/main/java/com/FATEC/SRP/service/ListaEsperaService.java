@@ -0,0 +1,302 @@
+package com.fatec.srp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.PosicaoListaEspera;
+import com.fatec.srp.common.Transacoes;
+import com.fatec.srp.common.TurmaLotadaException;
+import com.fatec.srp.common.VagasTurma;
+import com.fatec.srp.config.MatriculaProperties;
+import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.models.AlunoTurmaModel;
+import com.fatec.srp.models.ListaEsperaModel;
+import com.fatec.srp.models.TurmaModel;
+import com.fatec.srp.repositories.AlunoRepository;
+import com.fatec.srp.repositories.AlunoTurmaRepository;
+import com.fatec.srp.repositories.ListaEsperaRepository;
+import com.fatec.srp.repositories.TurmaRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serviço que mantém a lista de espera das turmas lotadas e matricula os alunos da fila quando surgem vagas.
+ *
+ * A fila de cada turma fica na tabela {@code Lista_Espera}, em ordem de chegada (ID). Quando uma matrícula é
+ * excluída ou a capacidade da turma muda, a turma é apenas marcada; uma thread em segundo plano percorre as turmas
+ * marcadas a cada {@code srp.matricula.promotion-interval} e, para cada uma, reserva as vagas no
+ * {@link VagasTurmaService} e matricula os primeiros da fila em uma única transação, em blocos de até
+ * {@code srp.matricula.promotion-batch-size} alunos. A exclusão da matrícula não espera a promoção; enquanto a fila
+ * não estiver vazia, o {@link AlunoTurmaService} recusa matrículas diretas na turma, de modo que a vaga devolvida
+ * espera a próxima promoção em vez de ir para quem não entrou na fila.
+ *
+ * Só essa thread promove alunos, então cancelamentos simultâneos apenas marcam a mesma turma. Se um aluno sair da
+ * fila enquanto é promovido, a exclusão do registro falha, a transação inteira é desfeita (devolvendo as vagas
+ * reservadas) e a turma é processada novamente na execução seguinte. Na inicialização, e a cada
+ * {@code srp.matricula.reconcile-interval}, todas as turmas com fila são marcadas, de modo que promoções
+ * interrompidas por uma parada da aplicação são retomadas.
+ *
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: A fila de turmas marcadas e a thread de promoção ficam escondidas atrás de {@link #agendar}.
+ * - **Responsabilidade Única**: A admissão por vagas continua no {@link VagasTurmaService}; esta classe apenas ordena os alunos que aguardam.
+ */
+@Service
+public class ListaEsperaService {
+
+    private static final Logger log = LoggerFactory.getLogger(ListaEsperaService.class);
+
+    @Autowired
+    private ListaEsperaRepository ListaEsperaRepository;
+
+    @Autowired
+    private AlunoTurmaRepository AlunoTurmaRepository;
+
+    @Autowired
+    private AlunoRepository AlunoRepository;
+
+    @Autowired
+    private TurmaRepository TurmaRepository;
+
+    @Autowired
+    private VagasTurmaService VagasTurmaService;
+
+    @Autowired
+    private ConflitoHorarioService ConflitoHorarioService;
+
+    @Autowired
+    private MatriculaProperties matriculaProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Turmas em que pode haver vaga para os alunos da fila.
+     */
+    private final Set<Integer> marcadas = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService agendador;
+
+    @PostConstruct
+    void iniciar() {
+        agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lista-espera");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long promocao = matriculaProperties.getPromotionInterval().toMillis();
+        long conferencia = matriculaProperties.getReconcileInterval().toMillis();
+        agendador.scheduleWithFixedDelay(this::promoverMarcadas, promocao, promocao, TimeUnit.MILLISECONDS);
+        agendador.scheduleWithFixedDelay(this::marcarTurmasComFila, conferencia, conferencia, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        agendador.shutdown();
+    }
+
+    /**
+     * Marca todas as turmas com alunos na fila, retomando as promoções pendentes ao iniciar a aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void marcarTurmasComFila() {
+        try {
+            marcadas.addAll(ListaEsperaRepository.findTurmasComFila());
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível consultar as turmas com lista de espera", e);
+        }
+    }
+
+    /**
+     * Coloca o aluno no fim da fila da turma.
+     *
+     * Só entra na fila quem não pode ser matriculado agora: se a turma tiver vaga livre e ninguém aguardando, a
+     * entrada é recusada para que o aluno seja matriculado diretamente. Com a fila não vazia, a vaga livre é de quem
+     * já aguarda e será ocupada pela próxima promoção, então o aluno entra no fim da fila.
+     *
+     * @param alunoId ID do aluno.
+     * @param turmaId ID da turma.
+     * @return Posição do aluno na fila.
+     * @throws NoSuchElementException se o aluno ou a turma não existir.
+     * @throws IllegalStateException se o aluno já estiver matriculado na turma ou na fila, se a turma tiver horário
+     * em conflito com outra turma do aluno, ou se a turma tiver vaga livre e a fila estiver vazia.
+     */
+    @Transactional
+    public PosicaoListaEspera entrar(Integer alunoId, Integer turmaId) {
+        AlunoModel aluno = AlunoRepository.findById(alunoId).get();
+        TurmaModel turma = TurmaRepository.findById(turmaId).get();
+        if (AlunoTurmaRepository.existsByAlunoIdAndTurmaId(alunoId, turmaId)) {
+            throw new IllegalStateException("O aluno " + alunoId + " já está matriculado na turma " + turmaId);
+        }
+        if (ListaEsperaRepository.existsByTurmaIdAndAlunoId(turmaId, alunoId)) {
+            throw new IllegalStateException("O aluno " + alunoId + " já está na lista de espera da turma " + turmaId);
+        }
+        List<Integer> conflitos = ConflitoHorarioService.conflitosAluno(alunoId, turmaId);
+        if (!conflitos.isEmpty()) {
+            throw new IllegalStateException("A turma " + turmaId + " tem horário em conflito com as turmas " + conflitos + " do aluno " + alunoId);
+        }
+        VagasTurma vagas = VagasTurmaService.situacao(turmaId);
+        boolean temVaga = vagas.getDisponiveis() == null || vagas.getDisponiveis() > 0;
+        if (temVaga && ListaEsperaRepository.countByTurmaId(turmaId) == 0) {
+            throw new IllegalStateException("A turma " + turmaId + " tem vagas disponíveis; matricule o aluno diretamente");
+        }
+
+        ListaEsperaModel espera = new ListaEsperaModel();
+        espera.setAluno(aluno);
+        espera.setTurma(turma);
+        try {
+            ListaEsperaRepository.save(espera);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("O aluno " + alunoId + " já está na lista de espera da turma " + turmaId);
+        }
+
+        agendar(turmaId);
+        return posicao(turmaId, alunoId);
+    }
+
+    /**
+     * Retira um registro da lista de espera.
+     *
+     * @param id ID do registro na lista de espera.
+     * @throws NoSuchElementException se o registro não existir.
+     */
+    @Transactional
+    public void sair(Integer id) {
+        ListaEsperaModel espera = ListaEsperaRepository.findById(id).get();
+        ListaEsperaRepository.delete(espera);
+    }
+
+    /**
+     * Retorna a quantidade de alunos na fila de uma turma, com uma única consulta.
+     *
+     * @param turmaId ID da turma.
+     * @return Quantidade de alunos aguardando vaga.
+     */
+    public long tamanho(Integer turmaId) {
+        return ListaEsperaRepository.countByTurmaId(turmaId);
+    }
+
+    /**
+     * Filtra as turmas que têm alunos na fila, com uma consulta a cada {@link AppConstants#BULK_LOOKUP_CHUNK} turmas.
+     *
+     * @param turmaIds IDs das turmas.
+     * @return IDs das turmas com alunos aguardando vaga.
+     */
+    public Set<Integer> turmasComFila(Set<Integer> turmaIds) {
+        List<Integer> ids = new ArrayList<>(turmaIds);
+        Set<Integer> comFila = new HashSet<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += AppConstants.BULK_LOOKUP_CHUNK) {
+            int fim = Math.min(inicio + AppConstants.BULK_LOOKUP_CHUNK, ids.size());
+            comFila.addAll(ListaEsperaRepository.findTurmasComFila(ids.subList(inicio, fim)));
+        }
+        return comFila;
+    }
+
+    /**
+     * Retorna a posição de um aluno na fila de uma turma, com duas consultas independentemente do tamanho da fila.
+     *
+     * @param turmaId ID da turma.
+     * @param alunoId ID do aluno.
+     * @return Objeto {@link PosicaoListaEspera}, ou {@code null} se o aluno não estiver na fila.
+     */
+    public PosicaoListaEspera posicao(Integer turmaId, Integer alunoId) {
+        long posicao = ListaEsperaRepository.findPosicao(turmaId, alunoId);
+        if (posicao == 0) {
+            return null;
+        }
+        return new PosicaoListaEspera(turmaId, alunoId, posicao, ListaEsperaRepository.countByTurmaId(turmaId));
+    }
+
+    /**
+     * Marca a turma para promoção dos alunos da fila após a confirmação da transação em andamento. Chamado quando
+     * uma vaga pode ter sido liberada.
+     *
+     * @param turmaId ID da turma.
+     */
+    public void agendar(Integer turmaId) {
+        Transacoes.aposConfirmar(() -> marcadas.add(turmaId));
+    }
+
+    /**
+     * Promove os alunos da fila de todas as turmas marcadas.
+     */
+    void promoverMarcadas() {
+        List<Integer> turmas = new ArrayList<>();
+        for (Iterator<Integer> it = marcadas.iterator(); it.hasNext();) {
+            turmas.add(it.next());
+            it.remove();
+        }
+
+        for (Integer turmaId : turmas) {
+            try {
+                if (promover(turmaId)) {
+                    marcadas.add(turmaId);
+                }
+            } catch (RuntimeException e) {
+                marcadas.add(turmaId);
+                log.warn("Não foi possível promover a lista de espera da turma {}", turmaId, e);
+            }
+        }
+    }
+
+    /**
+     * Matricula os primeiros alunos da fila da turma enquanto houver vagas, em uma única transação. Alunos que já
+     * foram matriculados na turma por outro caminho, ou que passaram a ter outra turma com horário em conflito,
+     * apenas saem da fila.
+     *
+     * @return {@code true} se o bloco foi preenchido e ainda pode haver alunos e vagas para a próxima execução.
+     */
+    private boolean promover(Integer turmaId) {
+        int lote = matriculaProperties.getPromotionBatchSize();
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<ListaEsperaModel> fila = ListaEsperaRepository.findProximos(turmaId, Limit.of(lote));
+            int promovidos = 0;
+            for (ListaEsperaModel espera : fila) {
+                Integer alunoId = espera.getAluno().getId();
+                List<Integer> conflitos = ConflitoHorarioService.conflitosAluno(alunoId, turmaId);
+                if (!conflitos.isEmpty()) {
+                    log.info("Aluno {} saiu da lista de espera da turma {} por conflito de horário com as turmas {}", alunoId, turmaId, conflitos);
+                } else if (!AlunoTurmaRepository.existsByAlunoIdAndTurmaId(alunoId, turmaId)) {
+                    try {
+                        VagasTurmaService.reservar(turmaId);
+                    } catch (TurmaLotadaException e) {
+                        break;
+                    }
+                    ConflitoHorarioService.reservarAluno(alunoId, turmaId);
+
+                    AlunoTurmaModel matricula = new AlunoTurmaModel();
+                    matricula.setAluno(espera.getAluno());
+                    matricula.setTurma(espera.getTurma());
+                    AlunoTurmaRepository.save(matricula);
+                }
+                ListaEsperaRepository.delete(espera);
+                promovidos++;
+            }
+            if (promovidos > 0) {
+                log.debug("{} alunos saíram da lista de espera da turma {}", promovidos, turmaId);
+            }
+            return promovidos == lote;
+        });
+    }
+}
@@ -3,6 +3,7 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.CursoModel;
 import com.fatec.srp.models.PreRequisitoCursoModel;
@@ -10,9 +11,14 @@ import com.fatec.srp.models.PreRequisitoModel;
 import com.fatec.srp.repositories.CursosRepository;
 import com.fatec.srp.repositories.PreRequisitoCursoRepository;
 import com.fatec.srp.repositories.PreRequisitoRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.OptimisticLocking;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço responsável pelas operações CRUD relacionadas aos pré-requisitos de cursos.
@@ -30,12 +36,18 @@ public class PreRequisitoCursoService implements IService<PreRequisitoCursoModel
     @Autowired
     private PreRequisitoCursoRepository PreRequisitoCursoRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
     @Autowired
     private CursosRepository CursosRepository;
 
     @Autowired
     private PreRequisitoRepository PreRequisitoRepository;
 
+    @Autowired
+    private PreRequisitoGrafoService PreRequisitoGrafoService;
+
     /**
      * Recupera todos os registros de pré-requisitos de cursos.
      * 
@@ -49,6 +61,50 @@ public class PreRequisitoCursoService implements IService<PreRequisitoCursoModel
         return cList;
     }
 
+    /**
+     * Recupera uma página de pré-requisitos de cursos a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link PreRequisitoCursoModel} ordenada por ID.
+     */
+    public List<PreRequisitoCursoModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<PreRequisitoCursoModel> cList = PreRequisitoCursoRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Calcula a versão atual da listagem de pré-requisitos de cursos sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return PreRequisitoCursoRepository.findListVersion();
+    }
+
+    /**
+     * Recupera pré-requisitos de cursos incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<PreRequisitoCursoModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<PreRequisitoCursoModel> changed = PreRequisitoCursoRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(PreRequisitoCursoModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os pré-requisitos de cursos como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link PreRequisitoCursoModel}.
+     */
+    public Stream<PreRequisitoCursoModel> readStream() {
+        return PreRequisitoCursoRepository.streamAll();
+    }
+
     /**
      * Recupera um registro específico de pré-requisito de curso com base no ID.
      * 
@@ -84,7 +140,10 @@ public class PreRequisitoCursoService implements IService<PreRequisitoCursoModel
         Optional<PreRequisitoModel> preRequisitoOptional = PreRequisitoRepository.findById(model.getPreRequisito().getId());
         model.setPreRequisito(preRequisitoOptional.get());
 
+        PreRequisitoGrafoService.validarAssociacao(model.getCurso().getId(), model.getPreRequisito().getId());
+
         PreRequisitoCursoModel PreRequisitoCurso = PreRequisitoCursoRepository.save(model);
+        PreRequisitoGrafoService.associacaoGravada(PreRequisitoCurso.getId(), PreRequisitoCurso.getCurso().getId(), PreRequisitoCurso.getPreRequisito().getId());
         return PreRequisitoCurso;
     }
 
@@ -93,6 +152,7 @@ public class PreRequisitoCursoService implements IService<PreRequisitoCursoModel
      * 
      * @param PreRequisitoCursoId ID do registro a ser atualizado.
      * @param uModel Objeto contendo os dados atualizados.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto do tipo {@link PreRequisitoCursoModel} atualizado.
      * 
      * Conceitos OOP utilizados:
@@ -100,16 +160,20 @@ public class PreRequisitoCursoService implements IService<PreRequisitoCursoModel
      * - **Abstração**: A operação de atualizar os dados do pré-requisito do curso é abstraída, tornando o código mais modular.
      */
     @Transactional
-    public PreRequisitoCursoModel update(String PreRequisitoCursoId, PreRequisitoCursoModel uModel) {
+    public PreRequisitoCursoModel update(String PreRequisitoCursoId, PreRequisitoCursoModel uModel, Long expectedVersion) {
         PreRequisitoCursoModel PreRequisitoCurso = read(PreRequisitoCursoId);
+        OptimisticLocking.verify(PreRequisitoCurso, expectedVersion);
 
         Optional<CursoModel> cursosOptional = CursosRepository.findById(uModel.getCurso().getId());
-        uModel.setCurso(cursosOptional.get());
+        PreRequisitoCurso.setCurso(cursosOptional.get());
 
         Optional<PreRequisitoModel> preRequisitoOptional = PreRequisitoRepository.findById(uModel.getPreRequisito().getId());
-        uModel.setPreRequisito(preRequisitoOptional.get());
+        PreRequisitoCurso.setPreRequisito(preRequisitoOptional.get());
+
+        PreRequisitoGrafoService.validarAssociacao(PreRequisitoCurso.getCurso().getId(), PreRequisitoCurso.getPreRequisito().getId());
 
         PreRequisitoCursoRepository.save(PreRequisitoCurso);
+        PreRequisitoGrafoService.associacaoGravada(PreRequisitoCurso.getId(), PreRequisitoCurso.getCurso().getId(), PreRequisitoCurso.getPreRequisito().getId());
         return PreRequisitoCurso;
     }
 
@@ -128,6 +192,8 @@ public class PreRequisitoCursoService implements IService<PreRequisitoCursoModel
         int parsedId = Integer.parseInt(PreRequisitoCursoId);
         PreRequisitoCursoModel PreRequisitoCursoToDelete = read(PreRequisitoCursoId);
         PreRequisitoCursoRepository.deleteById(parsedId);
+        ExclusaoService.registrar(PreRequisitoCursoModel.class, parsedId);
+        PreRequisitoGrafoService.associacaoExcluida(parsedId);
         return PreRequisitoCursoToDelete;
     }
 }
@@ -0,0 +1,456 @@
+package com.fatec.srp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fatec.srp.common.CadeiaPreRequisitos;
+import com.fatec.srp.common.CicloPreRequisitoException;
+import com.fatec.srp.common.Transacoes;
+import com.fatec.srp.repositories.PreRequisitoCursoRepository;
+import com.fatec.srp.repositories.PreRequisitoRepository;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serviço que mantém em memória o grafo de pré-requisitos entre cursos.
+ *
+ * Um curso A depende de um curso B quando A possui um pré-requisito ({@code PreRequisitoCursoModel}) cujo
+ * {@code cursoEquivalente} é B. O grafo é guardado em um instantâneo imutável com índices densos: as dependências
+ * de cada curso em arrays {@code int[]} no formato CSR, o fecho transitivo de cada curso em um {@link BitSet} e
+ * uma ordem topológica global. As consultas leem o instantâneo sem bloqueio e sem acessar o banco.
+ *
+ * O grafo é carregado uma vez na inicialização. Depois disso, cada gravação ou exclusão de pré-requisito é aplicada
+ * às associações mantidas em memória após a confirmação da transação, e o instantâneo inteiro é reconstruído a partir
+ * delas, sem reler o banco ({@code O(n + m)} para a ordem e {@code O(n * m / 64)} para o fecho).
+ *
+ * Antes da gravação, {@link #validarAssociacao} e {@link #validarEquivalente} rejeitam arestas que fechariam um ciclo
+ * e reservam as arestas aceitas até o fim da transação. A verificação considera o fecho confirmado e as arestas
+ * reservadas por transações ainda abertas, de modo que duas transações simultâneas que gravam A→B e B→A não passam
+ * as duas; a reserva é descartada quando a transação termina, seja confirmada (a aresta passa a fazer parte do
+ * instantâneo) ou desfeita.
+ *
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: A representação do grafo e o cálculo do fecho ficam escondidos atrás de operações de consulta e validação.
+ * - **Imutabilidade**: Cada instantâneo é substituído por inteiro, permitindo leituras concorrentes sem sincronização.
+ */
+@Service
+public class PreRequisitoGrafoService {
+
+    private static final Logger log = LoggerFactory.getLogger(PreRequisitoGrafoService.class);
+
+    @Autowired
+    private PreRequisitoCursoRepository PreRequisitoCursoRepository;
+
+    @Autowired
+    private PreRequisitoRepository PreRequisitoRepository;
+
+    /**
+     * Associações curso-pré-requisito conhecidas, indexadas pelo ID da associação: {@code [cursoId, preRequisitoId]}.
+     */
+    private final Map<Integer, int[]> associacoes = new HashMap<>();
+
+    /**
+     * Curso equivalente de cada pré-requisito que possui um.
+     */
+    private final Map<Integer, Integer> equivalentes = new HashMap<>();
+
+    /**
+     * Associações gravadas por transações ainda abertas: {@code [cursoId, preRequisitoId]}.
+     */
+    private final List<int[]> associacoesReservadas = new ArrayList<>();
+
+    /**
+     * Cursos equivalentes definidos por transações ainda abertas: {@code [preRequisitoId, cursoEquivalenteId]}.
+     */
+    private final List<int[]> equivalentesReservados = new ArrayList<>();
+
+    private volatile Grafo grafo = new Grafo(associacoes, equivalentes);
+
+    /**
+     * Carrega as associações e os cursos equivalentes do banco e monta o primeiro instantâneo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        associacoes.clear();
+        equivalentes.clear();
+        for (Object[] linha : PreRequisitoCursoRepository.findArestas()) {
+            associacoes.put((Integer) linha[0], new int[] { (Integer) linha[1], (Integer) linha[2] });
+        }
+        for (Object[] linha : PreRequisitoRepository.findCursosEquivalentes()) {
+            equivalentes.put((Integer) linha[0], (Integer) linha[1]);
+        }
+        recalcular();
+    }
+
+    /**
+     * Retorna a cadeia completa de pré-requisitos de um curso, em ordem topológica.
+     *
+     * @param cursoId ID do curso consultado.
+     * @return Objeto {@link CadeiaPreRequisitos} com os cursos exigidos e os pré-requisitos de cada um.
+     */
+    public CadeiaPreRequisitos cadeia(Integer cursoId) {
+        Grafo g = grafo;
+        Integer v = g.indice.get(cursoId);
+        if (v == null) {
+            return new CadeiaPreRequisitos(cursoId, List.of(), List.of());
+        }
+
+        BitSet fecho = g.fecho[v];
+        int[] posicoes = new int[fecho.cardinality()];
+        int k = 0;
+        for (int i = fecho.nextSetBit(0); i >= 0; i = fecho.nextSetBit(i + 1)) {
+            posicoes[k++] = g.posicao[i];
+        }
+        Arrays.sort(posicoes);
+
+        List<Integer> cursos = new ArrayList<>(posicoes.length);
+        Set<Integer> preRequisitos = new LinkedHashSet<>();
+        for (int p : posicoes) {
+            int u = g.ordem[p];
+            cursos.add(g.cursoIds[u]);
+            g.preRequisitosDe(u, preRequisitos);
+        }
+        g.preRequisitosDe(v, preRequisitos);
+
+        return new CadeiaPreRequisitos(cursoId, cursos, new ArrayList<>(preRequisitos));
+    }
+
+    /**
+     * Verifica se associar o pré-requisito ao curso criaria um ciclo e, se não criar, reserva a associação até o fim
+     * da transação em andamento.
+     *
+     * @param cursoId ID do curso que receberá o pré-requisito.
+     * @param preRequisitoId ID do pré-requisito associado.
+     * @throws CicloPreRequisitoException se o curso equivalente do pré-requisito já depender do curso.
+     */
+    public synchronized void validarAssociacao(Integer cursoId, Integer preRequisitoId) {
+        List<int[]> arestas = arestasPendentes();
+        for (Integer equivalente : equivalentesDe(preRequisitoId)) {
+            validarAresta(cursoId, equivalente, arestas);
+        }
+        reservar(associacoesReservadas, new int[] { cursoId, preRequisitoId });
+    }
+
+    /**
+     * Verifica se definir o curso equivalente de um pré-requisito criaria um ciclo em algum dos cursos que o utilizam
+     * e, se não criar, reserva o curso equivalente até o fim da transação em andamento.
+     *
+     * @param preRequisitoId ID do pré-requisito alterado.
+     * @param cursoEquivalenteId ID do novo curso equivalente, ou {@code null}.
+     * @throws CicloPreRequisitoException se o curso equivalente já depender de algum desses cursos.
+     */
+    public synchronized void validarEquivalente(Integer preRequisitoId, Integer cursoEquivalenteId) {
+        if (cursoEquivalenteId == null) {
+            return;
+        }
+        List<int[]> arestas = arestasPendentes();
+        for (Integer cursoId : cursosQueUsam(preRequisitoId)) {
+            validarAresta(cursoId, cursoEquivalenteId, arestas);
+        }
+        reservar(equivalentesReservados, new int[] { preRequisitoId, cursoEquivalenteId });
+    }
+
+    /**
+     * Registra a gravação de uma associação curso-pré-requisito, aplicada após a confirmação da transação.
+     */
+    public void associacaoGravada(Integer id, Integer cursoId, Integer preRequisitoId) {
+        aposConfirmar(() -> associacoes.put(id, new int[] { cursoId, preRequisitoId }));
+    }
+
+    /**
+     * Registra a exclusão de uma associação curso-pré-requisito, aplicada após a confirmação da transação.
+     */
+    public void associacaoExcluida(Integer id) {
+        aposConfirmar(() -> associacoes.remove(id));
+    }
+
+    /**
+     * Registra o curso equivalente de um pré-requisito gravado, aplicado após a confirmação da transação.
+     */
+    public void preRequisitoGravado(Integer id, Integer cursoEquivalenteId) {
+        aposConfirmar(() -> {
+            if (cursoEquivalenteId == null) {
+                equivalentes.remove(id);
+            } else {
+                equivalentes.put(id, cursoEquivalenteId);
+            }
+        });
+    }
+
+    /**
+     * Registra a exclusão de um pré-requisito, aplicada após a confirmação da transação.
+     */
+    public void preRequisitoExcluido(Integer id) {
+        aposConfirmar(() -> equivalentes.remove(id));
+    }
+
+    private void validarAresta(Integer cursoId, Integer cursoEquivalenteId, List<int[]> arestasPendentes) {
+        if (cursoEquivalenteId.equals(cursoId) || alcanca(cursoEquivalenteId, cursoId, arestasPendentes)) {
+            throw new CicloPreRequisitoException(cursoId, cursoEquivalenteId);
+        }
+    }
+
+    /**
+     * Verifica se há caminho de {@code origem} até {@code destino} no grafo confirmado acrescido das arestas
+     * reservadas. Os trechos confirmados são resolvidos pelo fecho; só as arestas reservadas, poucas, são percorridas.
+     */
+    private boolean alcanca(Integer origem, Integer destino, List<int[]> arestasPendentes) {
+        Grafo g = grafo;
+        Integer indiceDestino = g.indice.get(destino);
+        Set<Integer> visitados = new HashSet<>();
+        Deque<Integer> pilha = new ArrayDeque<>();
+        pilha.push(origem);
+        while (!pilha.isEmpty()) {
+            Integer curso = pilha.pop();
+            if (curso.equals(destino)) {
+                return true;
+            }
+            if (!visitados.add(curso)) {
+                continue;
+            }
+            Integer indice = g.indice.get(curso);
+            BitSet fecho = indice == null ? null : g.fecho[indice];
+            if (fecho != null && indiceDestino != null && fecho.get(indiceDestino)) {
+                return true;
+            }
+            for (int[] aresta : arestasPendentes) {
+                Integer indiceOrigem = g.indice.get(aresta[0]);
+                if (aresta[0] == curso || (fecho != null && indiceOrigem != null && fecho.get(indiceOrigem))) {
+                    pilha.push(aresta[1]);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Arestas {@code [cursoId, cursoEquivalenteId]} que as reservas acrescentam ao grafo confirmado. Um pré-requisito
+     * com o curso equivalente em alteração é considerado com o valor confirmado e com o reservado.
+     */
+    private List<int[]> arestasPendentes() {
+        List<int[]> arestas = new ArrayList<>();
+        for (int[] associacao : associacoesReservadas) {
+            for (Integer equivalente : equivalentesDe(associacao[1])) {
+                arestas.add(new int[] { associacao[0], equivalente });
+            }
+        }
+        for (int[] equivalente : equivalentesReservados) {
+            for (Integer cursoId : cursosQueUsam(equivalente[0])) {
+                arestas.add(new int[] { cursoId, equivalente[1] });
+            }
+        }
+        return arestas;
+    }
+
+    private Set<Integer> equivalentesDe(Integer preRequisitoId) {
+        Set<Integer> cursos = new HashSet<>();
+        Integer confirmado = equivalentes.get(preRequisitoId);
+        if (confirmado != null) {
+            cursos.add(confirmado);
+        }
+        for (int[] reservado : equivalentesReservados) {
+            if (reservado[0] == preRequisitoId) {
+                cursos.add(reservado[1]);
+            }
+        }
+        return cursos;
+    }
+
+    private Set<Integer> cursosQueUsam(Integer preRequisitoId) {
+        Set<Integer> cursos = new HashSet<>();
+        for (int[] associacao : associacoes.values()) {
+            if (associacao[1] == preRequisitoId) {
+                cursos.add(associacao[0]);
+            }
+        }
+        for (int[] associacao : associacoesReservadas) {
+            if (associacao[1] == preRequisitoId) {
+                cursos.add(associacao[0]);
+            }
+        }
+        return cursos;
+    }
+
+    /**
+     * Mantém a reserva até o fim da transação em andamento. Sem transação, a gravação é aplicada em seguida e a
+     * reserva não é necessária.
+     */
+    private void reservar(List<int[]> reservas, int[] reserva) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        reservas.add(reserva);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (PreRequisitoGrafoService.this) {
+                    reservas.remove(reserva);
+                }
+            }
+        });
+    }
+
+    private void aposConfirmar(Runnable alteracao) {
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                alteracao.run();
+                recalcular();
+            }
+        });
+    }
+
+    private void recalcular() {
+        Grafo novo = new Grafo(associacoes, equivalentes);
+        if (novo.ciclico) {
+            log.warn("O grafo de pré-requisitos contém ciclos; a ordem dos cursos envolvidos não é garantida");
+        }
+        grafo = novo;
+    }
+
+    /**
+     * Instantâneo imutável do grafo, com os cursos numerados de {@code 0} a {@code n - 1}.
+     */
+    private static final class Grafo {
+
+        final Map<Integer, Integer> indice = new HashMap<>();
+
+        final int[] cursoIds;
+
+        /** Dependências diretas do curso {@code i}: {@code dependencias[dependenciasInicio[i] .. dependenciasInicio[i + 1])}. */
+        final int[] dependenciasInicio;
+        final int[] dependencias;
+
+        /** Pré-requisitos diretos do curso {@code i}, no mesmo formato. */
+        final int[] preRequisitosInicio;
+        final int[] preRequisitos;
+
+        /** Cursos exigidos direta ou indiretamente por cada curso. */
+        final BitSet[] fecho;
+
+        /** Ordem topológica global (dependências primeiro) e a posição de cada curso nela. */
+        final int[] ordem;
+        final int[] posicao;
+
+        final boolean ciclico;
+
+        Grafo(Map<Integer, int[]> associacoes, Map<Integer, Integer> equivalentes) {
+            int m = associacoes.size();
+            int[] origens = new int[m];
+            int[] preRequisitoIds = new int[m];
+            int[] destinos = new int[m];
+            int arestas = 0;
+            int k = 0;
+            for (int[] associacao : associacoes.values()) {
+                origens[k] = indexar(associacao[0]);
+                preRequisitoIds[k] = associacao[1];
+                Integer equivalente = equivalentes.get(associacao[1]);
+                destinos[k] = equivalente == null ? -1 : indexar(equivalente);
+                if (destinos[k] >= 0) {
+                    arestas++;
+                }
+                k++;
+            }
+
+            int n = indice.size();
+            cursoIds = new int[n];
+            indice.forEach((id, i) -> cursoIds[i] = id);
+
+            preRequisitosInicio = new int[n + 1];
+            preRequisitos = new int[m];
+            dependenciasInicio = new int[n + 1];
+            dependencias = new int[arestas];
+            int[] dependentesInicio = new int[n + 1];
+            int[] dependentes = new int[arestas];
+            for (int e = 0; e < m; e++) {
+                preRequisitosInicio[origens[e] + 1]++;
+                if (destinos[e] >= 0) {
+                    dependenciasInicio[origens[e] + 1]++;
+                    dependentesInicio[destinos[e] + 1]++;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                preRequisitosInicio[i + 1] += preRequisitosInicio[i];
+                dependenciasInicio[i + 1] += dependenciasInicio[i];
+                dependentesInicio[i + 1] += dependentesInicio[i];
+            }
+            int[] proxPre = Arrays.copyOf(preRequisitosInicio, n);
+            int[] proxDep = Arrays.copyOf(dependenciasInicio, n);
+            int[] proxDependente = Arrays.copyOf(dependentesInicio, n);
+            for (int e = 0; e < m; e++) {
+                preRequisitos[proxPre[origens[e]]++] = preRequisitoIds[e];
+                if (destinos[e] >= 0) {
+                    dependencias[proxDep[origens[e]]++] = destinos[e];
+                    dependentes[proxDependente[destinos[e]]++] = origens[e];
+                }
+            }
+
+            // Kahn: um curso entra na ordem quando todas as suas dependências já entraram.
+            ordem = new int[n];
+            posicao = new int[n];
+            int[] pendentes = new int[n];
+            int fim = 0;
+            for (int i = 0; i < n; i++) {
+                pendentes[i] = dependenciasInicio[i + 1] - dependenciasInicio[i];
+                if (pendentes[i] == 0) {
+                    ordem[fim++] = i;
+                }
+            }
+            for (int inicio = 0; inicio < fim; inicio++) {
+                int u = ordem[inicio];
+                for (int j = dependentesInicio[u]; j < dependentesInicio[u + 1]; j++) {
+                    if (--pendentes[dependentes[j]] == 0) {
+                        ordem[fim++] = dependentes[j];
+                    }
+                }
+            }
+            ciclico = fim < n;
+            for (int i = 0; fim < n && i < n; i++) {
+                if (pendentes[i] > 0) {
+                    ordem[fim++] = i;
+                }
+            }
+
+            // Fecho transitivo na ordem topológica: as dependências de cada curso já estão calculadas.
+            fecho = new BitSet[n];
+            for (int p = 0; p < n; p++) {
+                int u = ordem[p];
+                posicao[u] = p;
+                BitSet f = new BitSet(n);
+                for (int j = dependenciasInicio[u]; j < dependenciasInicio[u + 1]; j++) {
+                    int d = dependencias[j];
+                    f.set(d);
+                    if (fecho[d] != null) {
+                        f.or(fecho[d]);
+                    }
+                }
+                fecho[u] = f;
+            }
+        }
+
+        void preRequisitosDe(int curso, Set<Integer> destino) {
+            for (int j = preRequisitosInicio[curso]; j < preRequisitosInicio[curso + 1]; j++) {
+                destino.add(preRequisitos[j]);
+            }
+        }
+
+        private int indexar(Integer cursoId) {
+            return indice.computeIfAbsent(cursoId, id -> indice.size());
+        }
+    }
+}
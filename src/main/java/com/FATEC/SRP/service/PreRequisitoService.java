@@ -3,11 +3,21 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.PreRequisitoModel;
+import com.fatec.srp.models.CursoModel;
 import com.fatec.srp.repositories.PreRequisitoRepository;
+import com.fatec.srp.repositories.CursosRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.OptimisticLocking;
+import com.fatec.srp.common.PartialUpdate;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço responsável pelas operações CRUD relacionadas aos pré-requisitos.
@@ -25,6 +35,18 @@ public class PreRequisitoService implements IService<PreRequisitoModel, String>
     @Autowired
     private PreRequisitoRepository PreRequisitoRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
+    @Autowired
+    private CursosRepository CursosRepository;
+
+    @Autowired
+    private PreRequisitoGrafoService PreRequisitoGrafoService;
+
+    @Autowired
+    private PartialUpdate partialUpdate;
+
     /**
      * Recupera todos os registros de pré-requisitos.
      * 
@@ -38,6 +60,50 @@ public class PreRequisitoService implements IService<PreRequisitoModel, String>
         return cList;
     }
 
+    /**
+     * Recupera uma página de pré-requisitos a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link PreRequisitoModel} ordenada por ID.
+     */
+    public List<PreRequisitoModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<PreRequisitoModel> cList = PreRequisitoRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Calcula a versão atual da listagem de pré-requisitos sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return PreRequisitoRepository.findListVersion();
+    }
+
+    /**
+     * Recupera pré-requisitos incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<PreRequisitoModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<PreRequisitoModel> changed = PreRequisitoRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(PreRequisitoModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os pré-requisitos como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link PreRequisitoModel}.
+     */
+    public Stream<PreRequisitoModel> readStream() {
+        return PreRequisitoRepository.streamAll();
+    }
+
     /**
      * Recupera um registro específico de pré-requisito com base no ID.
      * 
@@ -65,7 +131,10 @@ public class PreRequisitoService implements IService<PreRequisitoModel, String>
      */
     @Transactional
     public PreRequisitoModel create(PreRequisitoModel model) {
+        model.setCursoEquivalente(cursoEquivalente(model));
+
         PreRequisitoModel PreRequisito = PreRequisitoRepository.save(model);
+        PreRequisitoGrafoService.preRequisitoGravado(PreRequisito.getId(), cursoEquivalenteId(PreRequisito));
         return PreRequisito;
     }
 
@@ -74,6 +143,7 @@ public class PreRequisitoService implements IService<PreRequisitoModel, String>
      * 
      * @param PreRequisitoId ID do registro a ser atualizado.
      * @param uModel Objeto contendo os dados atualizados.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto do tipo {@link PreRequisitoModel} atualizado.
      * 
      * Conceitos OOP utilizados:
@@ -81,16 +151,36 @@ public class PreRequisitoService implements IService<PreRequisitoModel, String>
      * - **Abstração**: A operação de atualizar os dados do pré-requisito é abstraída, tornando o código mais modular.
      */
     @Transactional
-    public PreRequisitoModel update(String PreRequisitoId, PreRequisitoModel uModel) {
+    public PreRequisitoModel update(String PreRequisitoId, PreRequisitoModel uModel, Long expectedVersion) {
         PreRequisitoModel PreRequisito = read(PreRequisitoId);
+        OptimisticLocking.verify(PreRequisito, expectedVersion);
 
         PreRequisito.setNomePrerequisito(uModel.getNomePrerequisito());
         PreRequisito.setDescPrerequisito(uModel.getDescPrerequisito());
+        PreRequisito.setCursoEquivalente(cursoEquivalente(uModel));
+
+        PreRequisitoGrafoService.validarEquivalente(PreRequisito.getId(), cursoEquivalenteId(PreRequisito));
 
         PreRequisitoRepository.save(PreRequisito);
+        PreRequisitoGrafoService.preRequisitoGravado(PreRequisito.getId(), cursoEquivalenteId(PreRequisito));
         return PreRequisito;
     }
 
+    /**
+     * Altera apenas os campos informados de um pré-requisito, mantendo os demais. Os campos são aplicados sobre o registro
+     * atual e a gravação segue as mesmas regras de {@link #update}.
+     * 
+     * @param PreRequisitoId ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
+     * @return Objeto {@link PreRequisitoModel} atualizado.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser alterado.
+     */
+    @Transactional
+    public PreRequisitoModel patch(String PreRequisitoId, JsonNode changes, Long expectedVersion) {
+        return update(PreRequisitoId, partialUpdate.apply(read(PreRequisitoId), changes), expectedVersion);
+    }
+
     /**
      * Exclui um registro de pré-requisito.
      * 
@@ -106,6 +196,22 @@ public class PreRequisitoService implements IService<PreRequisitoModel, String>
         int parsedId = Integer.parseInt(PreRequisitoId);
         PreRequisitoModel PreRequisitoToDelete = read(PreRequisitoId);
         PreRequisitoRepository.deleteById(parsedId);
+        ExclusaoService.registrar(PreRequisitoModel.class, parsedId);
+        PreRequisitoGrafoService.preRequisitoExcluido(parsedId);
         return PreRequisitoToDelete;
     }
+
+    /**
+     * Resolve o curso equivalente informado apenas pelo ID no corpo da requisição.
+     */
+    private CursoModel cursoEquivalente(PreRequisitoModel model) {
+        if (model.getCursoEquivalente() == null || model.getCursoEquivalente().getId() == null) {
+            return null;
+        }
+        return CursosRepository.findById(model.getCursoEquivalente().getId()).get();
+    }
+
+    private static Integer cursoEquivalenteId(PreRequisitoModel model) {
+        return model.getCursoEquivalente() == null ? null : model.getCursoEquivalente().getId();
+    }
 }
@@ -0,0 +1,224 @@
+package com.fatec.srp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.fatec.srp.config.PasswordProperties;
+import com.fatec.srp.models.UsuarioModel;
+import com.fatec.srp.repositories.UsuarioRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serviço responsável por codificar e verificar senhas.
+ *
+ * O cálculo dos hashes (bcrypt ou argon2) é custoso em CPU de propósito, por isso roda em um executor próprio com
+ * quantidade fixa de threads e fila limitada: com a fila cheia as chamadas falham com
+ * {@link RejectedExecutionException} em vez de ocupar as threads que atendem as demais
+ * requisições. O executor não é exposto como bean porque um {@link java.util.concurrent.Executor} no contexto
+ * desativaria o executor padrão do Spring usado pelas tarefas {@code @Async}.
+ *
+ * Os lotes (importação de alunos e migração de senhas) ocupam no máximo uma thread a menos que o executor tem, e
+ * calculam o restante na própria thread chamadora: mesmo durante uma importação longa sobra sempre uma thread e a
+ * fila inteira para os logins e cadastros.
+ *
+ * As senhas antigas, gravadas em texto puro, são convertidas no primeiro login bem-sucedido e, opcionalmente,
+ * em lote na inicialização ({@code srp.password.migrate-on-startup}).
+ *
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: O executor e o algoritmo de hash ficam escondidos atrás de operações de codificação e autenticação.
+ * - **Abstração**: Os chamadores recebem um {@link CompletableFuture} e não dependem de onde o cálculo é feito.
+ */
+@Service
+public class SenhaService {
+
+    private static final Logger log = LoggerFactory.getLogger(SenhaService.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PasswordProperties passwordProperties;
+
+    @Autowired
+    private UsuarioRepository UsuarioRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Cálculos de lote que podem estar no executor ao mesmo tempo, somados todos os lotes em andamento.
+     */
+    private Semaphore vagasLote;
+
+    /**
+     * Hash de uma senha aleatória, verificado quando o usuário não existe para que a resposta leve o mesmo tempo
+     * e não revele quais nomes de usuário estão cadastrados.
+     */
+    private volatile String hashFicticio;
+
+    @PostConstruct
+    void iniciar() {
+        int threads = passwordProperties.getThreads() > 0 ? passwordProperties.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(passwordProperties.getQueueCapacity()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "senha-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "senha", Tags.empty()).bindTo(meterRegistry);
+        vagasLote = new Semaphore(threads - 1);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Codifica uma senha nova com o algoritmo configurado. A thread chamadora aguarda o resultado, mas o cálculo
+     * ocupa uma thread do executor de senhas.
+     *
+     * @param senha Senha em texto puro.
+     * @return Senha codificada, com o prefixo do algoritmo.
+     * @throws RejectedExecutionException se a fila do executor estiver cheia.
+     */
+    public String codificar(String senha) {
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(senha), executor).join();
+    }
+
+    /**
+     * Verifica a senha informada no login contra a senha gravada do usuário, no executor de senhas.
+     * Se a senha estiver correta e gravada em texto puro ou com algoritmo/custo diferente do configurado,
+     * ela é recalculada e substituída.
+     *
+     * @param usuario Usuário encontrado pelo nome, ou {@code null} se não existir.
+     * @param senha Senha informada no login.
+     * @return Future concluído com {@code true} se a senha estiver correta.
+     * @throws RejectedExecutionException se a fila do executor estiver cheia.
+     */
+    public CompletableFuture<Boolean> autenticar(UsuarioModel usuario, String senha) {
+        if (senha == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (usuario == null) {
+            return CompletableFuture.supplyAsync(() -> {
+                passwordEncoder.matches(senha, hashFicticio());
+                return false;
+            }, executor);
+        }
+
+        Integer id = usuario.getId();
+        String senhaGravada = usuario.getSenha();
+        return CompletableFuture.supplyAsync(() -> {
+            boolean valida = passwordEncoder.matches(senha, senhaGravada);
+            if (valida && passwordEncoder.upgradeEncoding(senhaGravada)) {
+                UsuarioRepository.substituirSenha(id, senhaGravada, passwordEncoder.encode(senha), LocalDateTime.now());
+            }
+            return valida;
+        }, executor);
+    }
+
+    /**
+     * Converte em lote as senhas ainda gravadas em texto puro, quando {@code srp.password.migrate-on-startup}
+     * estiver habilitado. Roda em segundo plano para não atrasar a inicialização.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrarNaInicializacao() {
+        if (passwordProperties.isMigrateOnStartup()) {
+            int migradas = migrar();
+            log.info("Migração de senhas concluída: {} senhas convertidas", migradas);
+        }
+    }
+
+    /**
+     * Codifica várias senhas em paralelo no executor de senhas, sem ocupar mais que uma thread a menos que o executor
+     * tem. As senhas que não encontram vaga no executor são calculadas na própria thread chamadora, de modo que o
+     * lote nunca é recusado e nunca enche a fila usada pelos logins.
+     *
+     * @param senhas Senhas em texto puro.
+     * @return Senhas codificadas, na mesma ordem.
+     */
+    public List<String> codificarLote(List<String> senhas) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(senhas.size());
+        for (String senha : senhas) {
+            CompletableFuture<String> hash = null;
+            if (vagasLote.tryAcquire()) {
+                try {
+                    hash = CompletableFuture.supplyAsync(() -> passwordEncoder.encode(senha), executor);
+                    hash.whenComplete((resultado, erro) -> vagasLote.release());
+                } catch (RejectedExecutionException e) {
+                    vagasLote.release();
+                }
+            }
+            hashes.add(hash != null ? hash : CompletableFuture.completedFuture(passwordEncoder.encode(senha)));
+        }
+
+        List<String> codificadas = new ArrayList<>(hashes.size());
+        for (CompletableFuture<String> hash : hashes) {
+            codificadas.add(hash.join());
+        }
+        return codificadas;
+    }
+
+    /**
+     * Converte todas as senhas ainda gravadas em texto puro, em lotes de {@code srp.password.migration-batch-size}
+     * usuários. Os hashes de cada lote são calculados em paralelo por {@link #codificarLote(List)}.
+     *
+     * @return Quantidade de senhas convertidas.
+     */
+    public int migrar() {
+        int migradas = 0;
+        int cursor = 0;
+        List<UsuarioModel> lote;
+        do {
+            lote = UsuarioRepository.findSenhasLegadas(cursor, Limit.of(passwordProperties.getMigrationBatchSize()));
+            List<String> hashes = codificarLote(lote.stream().map(UsuarioModel::getSenha).toList());
+
+            LocalDateTime agora = LocalDateTime.now();
+            for (int i = 0; i < lote.size(); i++) {
+                UsuarioModel usuario = lote.get(i);
+                migradas += UsuarioRepository.substituirSenha(usuario.getId(), usuario.getSenha(), hashes.get(i), agora);
+                cursor = usuario.getId();
+            }
+        } while (!lote.isEmpty());
+        return migradas;
+    }
+
+    private String hashFicticio() {
+        String hash = hashFicticio;
+        if (hash == null) {
+            hash = passwordEncoder.encode(Long.toHexString(System.nanoTime()));
+            hashFicticio = hash;
+        }
+        return hash;
+    }
+}
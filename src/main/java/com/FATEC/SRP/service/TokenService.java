@@ -0,0 +1,202 @@
+package com.fatec.srp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fatec.srp.common.Sessao;
+import com.fatec.srp.common.Transacoes;
+import com.fatec.srp.config.TokenProperties;
+import com.fatec.srp.models.UsuarioModel;
+import com.fatec.srp.repositories.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Serviço que emite e verifica os tokens de sessão (JWT assinados com HMAC-SHA256).
+ *
+ * Os tokens são emitidos no login e carregam apenas o ID e o nome do usuário e as datas de emissão e expiração.
+ * Cada token verificado é guardado em um cache limitado por tamanho, junto com o nível de permissão do cargo do
+ * usuário, carregado do banco uma única vez por token. Assim, requisições repetidas com o mesmo token não
+ * recalculam a assinatura nem consultam o banco. Um token de um usuário que não existe mais é recusado, e a exclusão
+ * de um usuário descarta as sessões dele que estavam em cache ({@link #invalidarUsuario}).
+ *
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: O formato do token, a chave e o cache ficam escondidos atrás de {@link #emitir} e {@link #verificar}.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+    private static final String CABECALHO = BASE64.encodeToString(
+        "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private TokenProperties tokenProperties;
+
+    @Autowired
+    private UsuarioRepository UsuarioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Instância configurada com a chave, clonada a cada assinatura porque {@link Mac} não é thread-safe.
+     */
+    private Mac prototipo;
+
+    private Cache<String, Sessao> verificados;
+
+    @PostConstruct
+    void iniciar() throws GeneralSecurityException {
+        byte[] segredo = tokenProperties.getSecret().getBytes(StandardCharsets.UTF_8);
+        if (segredo.length == 0) {
+            segredo = new byte[32];
+            new SecureRandom().nextBytes(segredo);
+            log.warn("srp.token.secret não configurado; usando um segredo aleatório, os tokens não valerão após reiniciar");
+        } else if (segredo.length < 32) {
+            log.warn("srp.token.secret tem menos de 32 bytes");
+        }
+        prototipo = Mac.getInstance(ALGORITMO);
+        prototipo.init(new SecretKeySpec(segredo, ALGORITMO));
+
+        verificados = Caffeine.newBuilder()
+            .maximumSize(tokenProperties.getCacheSize())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verificados, "tokens");
+    }
+
+    /**
+     * Emite um token para o usuário autenticado.
+     *
+     * @param usuario Usuário autenticado.
+     * @return Token no formato {@code cabecalho.conteudo.assinatura}.
+     */
+    public String emitir(UsuarioModel usuario) {
+        Instant agora = Instant.now();
+        ObjectNode conteudo = objectMapper.createObjectNode()
+            .put("sub", usuario.getId().toString())
+            .put("name", usuario.getNomeUsuario())
+            .put("iat", agora.getEpochSecond())
+            .put("exp", agora.plus(tokenProperties.getTtl()).getEpochSecond());
+
+        String assinado = CABECALHO + "." + BASE64.encodeToString(conteudo.toString().getBytes(StandardCharsets.UTF_8));
+        return assinado + "." + BASE64.encodeToString(assinar(assinado));
+    }
+
+    /**
+     * Verifica um token e retorna a sessão correspondente. Tokens já verificados são respondidos pelo cache,
+     * sem recalcular a assinatura nem consultar o banco.
+     *
+     * @param token Token recebido no cabeçalho {@code Authorization}.
+     * @return Sessão do usuário, ou {@code null} se o token for inválido ou estiver expirado.
+     */
+    public Sessao verificar(String token) {
+        Sessao sessao = verificados.getIfPresent(token);
+        if (sessao == null) {
+            sessao = decodificar(token);
+            if (sessao == null) {
+                return null;
+            }
+            verificados.put(token, sessao);
+        }
+        if (!sessao.getExpiraEm().isAfter(Instant.now())) {
+            verificados.invalidate(token);
+            return null;
+        }
+        return sessao;
+    }
+
+    /**
+     * Descarta as sessões em cache após a confirmação da transação, para que alterações de cargo ou de nível de
+     * permissão sejam vistas na próxima requisição de cada token.
+     */
+    public void invalidarPermissoes() {
+        Transacoes.aposConfirmar(verificados::invalidateAll);
+    }
+
+    /**
+     * Descarta as sessões em cache de um usuário após a confirmação da transação, para que os tokens de um usuário
+     * excluído sejam verificados de novo, e recusados, na próxima requisição.
+     *
+     * @param usuarioId ID do usuário.
+     */
+    public void invalidarUsuario(Integer usuarioId) {
+        Transacoes.aposConfirmar(() -> verificados.asMap().values().removeIf(sessao -> usuarioId.equals(sessao.getUsuarioId())));
+    }
+
+    private Sessao decodificar(String token) {
+        int ponto1 = token.indexOf('.');
+        int ponto2 = token.lastIndexOf('.');
+        if (ponto1 < 0 || ponto1 == ponto2 || !CABECALHO.equals(token.substring(0, ponto1))) {
+            return null;
+        }
+
+        byte[] assinatura;
+        try {
+            assinatura = Base64.getUrlDecoder().decode(token.substring(ponto2 + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(assinar(token.substring(0, ponto2)), assinatura)) {
+            return null;
+        }
+
+        JsonNode conteudo;
+        try {
+            conteudo = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(ponto1 + 1, ponto2)));
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+
+        Instant expiraEm = Instant.ofEpochSecond(conteudo.path("exp").asLong());
+        if (!expiraEm.isAfter(Instant.now())) {
+            return null;
+        }
+
+        Integer usuarioId = Integer.valueOf(conteudo.path("sub").asText());
+        List<Integer> nivelPermissao = UsuarioRepository.findNivelPermissao(usuarioId);
+        if (nivelPermissao.isEmpty()) {
+            return null;
+        }
+        return new Sessao(usuarioId, conteudo.path("name").asText(), nivelPermissao.get(0), expiraEm);
+    }
+
+    private byte[] assinar(String conteudo) {
+        try {
+            Mac mac = (Mac) prototipo.clone();
+            return mac.doFinal(conteudo.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.fatec.srp.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fatec.srp.common.TrilhaCursos;
+import com.fatec.srp.common.Transacoes;
+import com.fatec.srp.models.CursoModel;
+import com.fatec.srp.models.CursoTrilhaModel;
+import com.fatec.srp.models.TrilhaModel;
+import com.fatec.srp.repositories.CursoTrilhaRepository;
+import com.fatec.srp.repositories.TrilhaRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviço que mantém a projeção de leitura de cada trilha ({@link TrilhaCursos}) pronta em memória.
+ *
+ * As projeções são montadas na inicialização com uma única consulta e guardadas em um mapa indexado pelo ID da
+ * trilha, de modo que a leitura não depende do tamanho da tabela {@code Cursos_Trilhas}. As gravações em
+ * {@link CursoTrilhaService}, {@link CursosService} e {@link TrilhaService} são aplicadas após a confirmação da
+ * transação e recalculam apenas as trilhas afetadas, a partir dos dados já mantidos em memória.
+ *
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: As estruturas auxiliares usadas para atualizar as projeções ficam escondidas; apenas a consulta por trilha é exposta.
+ * - **Imutabilidade**: Cada projeção é substituída por inteiro, permitindo leituras concorrentes sem sincronização.
+ */
+@Service
+public class TrilhaProjecaoService {
+
+    @Autowired
+    private CursoTrilhaRepository CursoTrilhaRepository;
+
+    @Autowired
+    private TrilhaRepository TrilhaRepository;
+
+    private final Map<Integer, TrilhaCursos> projecoes = new ConcurrentHashMap<>();
+
+    private final Map<Integer, DadosTrilha> trilhas = new HashMap<>();
+
+    private final Map<Integer, DadosCurso> cursos = new HashMap<>();
+
+    /**
+     * Associações de cada trilha, ordenadas pelo ID da associação: {@code cursoTrilhaId -> cursoId}.
+     */
+    private final Map<Integer, TreeMap<Integer, Integer>> associacoesPorTrilha = new HashMap<>();
+
+    /**
+     * Trilha de cada associação, usada para localizar a projeção afetada por alterações e exclusões.
+     */
+    private final Map<Integer, Integer> trilhaDaAssociacao = new HashMap<>();
+
+    /**
+     * Associações de cada curso, usadas para localizar as trilhas afetadas por alterações no curso.
+     */
+    private final Map<Integer, Set<Integer>> associacoesPorCurso = new HashMap<>();
+
+    /**
+     * Carrega as trilhas e suas associações do banco e monta todas as projeções.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        trilhas.clear();
+        cursos.clear();
+        associacoesPorTrilha.clear();
+        trilhaDaAssociacao.clear();
+        associacoesPorCurso.clear();
+
+        for (TrilhaModel trilha : TrilhaRepository.findAll()) {
+            trilhas.put(trilha.getId(), DadosTrilha.de(trilha));
+        }
+        for (CursoTrilhaModel associacao : CursoTrilhaRepository.findAllComTrilhaECurso()) {
+            trilhas.put(associacao.getTrilha().getId(), DadosTrilha.de(associacao.getTrilha()));
+            cursos.put(associacao.getCurso().getId(), DadosCurso.de(associacao.getCurso()));
+            associar(associacao.getId(), associacao.getTrilha().getId(), associacao.getCurso().getId());
+        }
+
+        projecoes.keySet().retainAll(trilhas.keySet());
+        trilhas.keySet().forEach(this::recalcular);
+    }
+
+    /**
+     * Retorna a projeção de uma trilha.
+     *
+     * @param trilhaId ID da trilha.
+     * @return Objeto {@link TrilhaCursos}, ou {@code null} se a trilha não existir.
+     */
+    public TrilhaCursos projecao(Integer trilhaId) {
+        return projecoes.get(trilhaId);
+    }
+
+    /**
+     * Retorna as projeções das trilhas que contêm algum dos cursos informados, sem consultar o banco.
+     *
+     * @param cursoIds IDs dos cursos.
+     * @return Lista de {@link TrilhaCursos} ordenada pelo ID da trilha.
+     */
+    public synchronized List<TrilhaCursos> projecoesComCursos(Collection<Integer> cursoIds) {
+        Set<Integer> trilhaIds = new TreeSet<>();
+        for (Integer cursoId : cursoIds) {
+            for (Integer associacao : associacoesPorCurso.getOrDefault(cursoId, Set.of())) {
+                trilhaIds.add(trilhaDaAssociacao.get(associacao));
+            }
+        }
+
+        List<TrilhaCursos> encontradas = new ArrayList<>(trilhaIds.size());
+        for (Integer trilhaId : trilhaIds) {
+            TrilhaCursos projecao = projecoes.get(trilhaId);
+            if (projecao != null) {
+                encontradas.add(projecao);
+            }
+        }
+        return encontradas;
+    }
+
+    /**
+     * Registra a gravação de uma associação curso-trilha, aplicada após a confirmação da transação.
+     */
+    public void associacaoGravada(CursoTrilhaModel associacao) {
+        Integer id = associacao.getId();
+        Integer trilhaId = associacao.getTrilha().getId();
+        Integer cursoId = associacao.getCurso().getId();
+        DadosTrilha trilha = DadosTrilha.de(associacao.getTrilha());
+        DadosCurso curso = DadosCurso.de(associacao.getCurso());
+
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                Integer trilhaAnterior = desassociar(id);
+                trilhas.put(trilhaId, trilha);
+                cursos.put(cursoId, curso);
+                associar(id, trilhaId, cursoId);
+                if (trilhaAnterior != null && !trilhaAnterior.equals(trilhaId)) {
+                    recalcular(trilhaAnterior);
+                }
+                recalcular(trilhaId);
+            }
+        });
+    }
+
+    /**
+     * Registra a exclusão de uma associação curso-trilha, aplicada após a confirmação da transação.
+     */
+    public void associacaoExcluida(Integer id) {
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                Integer trilhaId = desassociar(id);
+                if (trilhaId != null) {
+                    recalcular(trilhaId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Registra a gravação de um curso, recalculando as trilhas que o contêm após a confirmação da transação.
+     */
+    public void cursoGravado(CursoModel curso) {
+        Integer cursoId = curso.getId();
+        DadosCurso dados = DadosCurso.de(curso);
+
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                Set<Integer> associacoes = associacoesPorCurso.get(cursoId);
+                if (associacoes == null) {
+                    return;
+                }
+                cursos.put(cursoId, dados);
+                Set<Integer> afetadas = new HashSet<>();
+                for (Integer associacao : associacoes) {
+                    afetadas.add(trilhaDaAssociacao.get(associacao));
+                }
+                afetadas.forEach(this::recalcular);
+            }
+        });
+    }
+
+    /**
+     * Registra a exclusão de um curso, aplicada após a confirmação da transação.
+     */
+    public void cursoExcluido(Integer cursoId) {
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                if (!associacoesPorCurso.containsKey(cursoId)) {
+                    cursos.remove(cursoId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Registra a gravação de uma trilha, aplicada após a confirmação da transação.
+     */
+    public void trilhaGravada(TrilhaModel trilha) {
+        Integer trilhaId = trilha.getId();
+        DadosTrilha dados = DadosTrilha.de(trilha);
+
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                trilhas.put(trilhaId, dados);
+                recalcular(trilhaId);
+            }
+        });
+    }
+
+    /**
+     * Registra a exclusão de uma trilha, aplicada após a confirmação da transação.
+     */
+    public void trilhaExcluida(Integer trilhaId) {
+        Transacoes.aposConfirmar(() -> {
+            synchronized (this) {
+                TreeMap<Integer, Integer> associacoes = associacoesPorTrilha.get(trilhaId);
+                if (associacoes != null) {
+                    new ArrayList<>(associacoes.keySet()).forEach(this::desassociar);
+                }
+                trilhas.remove(trilhaId);
+                recalcular(trilhaId);
+            }
+        });
+    }
+
+    private void associar(Integer id, Integer trilhaId, Integer cursoId) {
+        associacoesPorTrilha.computeIfAbsent(trilhaId, t -> new TreeMap<>()).put(id, cursoId);
+        associacoesPorCurso.computeIfAbsent(cursoId, c -> new HashSet<>()).add(id);
+        trilhaDaAssociacao.put(id, trilhaId);
+    }
+
+    private Integer desassociar(Integer id) {
+        Integer trilhaId = trilhaDaAssociacao.remove(id);
+        if (trilhaId == null) {
+            return null;
+        }
+        TreeMap<Integer, Integer> daTrilha = associacoesPorTrilha.get(trilhaId);
+        Integer cursoId = daTrilha.remove(id);
+        if (daTrilha.isEmpty()) {
+            associacoesPorTrilha.remove(trilhaId);
+        }
+        Set<Integer> doCurso = associacoesPorCurso.get(cursoId);
+        doCurso.remove(id);
+        if (doCurso.isEmpty()) {
+            associacoesPorCurso.remove(cursoId);
+            cursos.remove(cursoId);
+        }
+        return trilhaId;
+    }
+
+    private void recalcular(Integer trilhaId) {
+        DadosTrilha trilha = trilhas.get(trilhaId);
+        if (trilha == null) {
+            projecoes.remove(trilhaId);
+            return;
+        }
+
+        TreeMap<Integer, Integer> associacoes = associacoesPorTrilha.getOrDefault(trilhaId, new TreeMap<>());
+        List<TrilhaCursos.Curso> lista = new ArrayList<>(associacoes.size());
+        int cargaHorariaTotal = 0;
+        double valorTotal = 0;
+        for (Map.Entry<Integer, Integer> associacao : associacoes.entrySet()) {
+            DadosCurso curso = cursos.get(associacao.getValue());
+            lista.add(new TrilhaCursos.Curso(associacao.getKey(), associacao.getValue(),
+                curso.nome(), curso.cargaHoraria(), curso.valor()));
+            cargaHorariaTotal += horas(curso.cargaHoraria());
+            if (curso.valor() != null) {
+                valorTotal += curso.valor();
+            }
+        }
+
+        projecoes.put(trilhaId, new TrilhaCursos(trilhaId, trilha.nome(), trilha.descricao(),
+            List.copyOf(lista), lista.size(), cargaHorariaTotal, valorTotal));
+    }
+
+    /**
+     * Lê o número inicial de uma carga horária informada como texto (por exemplo, {@code "40h"} ou {@code "40 horas"}).
+     */
+    private static int horas(String cargaHoraria) {
+        if (cargaHoraria == null) {
+            return 0;
+        }
+        String texto = cargaHoraria.strip();
+        int horas = 0;
+        for (int i = 0; i < texto.length() && Character.isDigit(texto.charAt(i)); i++) {
+            horas = horas * 10 + (texto.charAt(i) - '0');
+        }
+        return horas;
+    }
+
+    private record DadosTrilha(String nome, String descricao) {
+
+        static DadosTrilha de(TrilhaModel trilha) {
+            return new DadosTrilha(trilha.getNomeTrilha(), trilha.getDescTrilha());
+        }
+    }
+
+    private record DadosCurso(String nome, String cargaHoraria, Float valor) {
+
+        static DadosCurso de(CursoModel curso) {
+            return new DadosCurso(curso.getNomeCurso(), curso.getCargaHoraria(), curso.getValorCurso());
+        }
+    }
+}
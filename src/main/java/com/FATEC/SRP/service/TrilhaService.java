@@ -3,11 +3,19 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.TrilhaModel;
 import com.fatec.srp.repositories.TrilhaRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.OptimisticLocking;
+import com.fatec.srp.common.PartialUpdate;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço responsável pelas operações CRUD relacionadas às trilhas.
@@ -25,6 +33,18 @@ public class TrilhaService implements IService<TrilhaModel, String> {
     @Autowired
     private TrilhaRepository TrilhaRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
+    @Autowired
+    private TrilhaProjecaoService TrilhaProjecaoService;
+
+    @Autowired
+    private CatalogoBuscaService CatalogoBuscaService;
+
+    @Autowired
+    private PartialUpdate partialUpdate;
+
     /**
      * Recupera todos os registros de trilhas.
      * 
@@ -38,6 +58,50 @@ public class TrilhaService implements IService<TrilhaModel, String> {
         return cList;
     }
 
+    /**
+     * Recupera uma página de trilhas a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link TrilhaModel} ordenada por ID.
+     */
+    public List<TrilhaModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<TrilhaModel> cList = TrilhaRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Calcula a versão atual da listagem de trilhas sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return TrilhaRepository.findListVersion();
+    }
+
+    /**
+     * Recupera trilhas incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<TrilhaModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<TrilhaModel> changed = TrilhaRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(TrilhaModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os trilhas como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link TrilhaModel}.
+     */
+    public Stream<TrilhaModel> readStream() {
+        return TrilhaRepository.streamAll();
+    }
+
     /**
      * Recupera um registro específico de trilha com base no ID.
      * 
@@ -66,6 +130,7 @@ public class TrilhaService implements IService<TrilhaModel, String> {
     @Transactional
     public TrilhaModel create(TrilhaModel model) {
         TrilhaModel Trilha = TrilhaRepository.save(model);
+        TrilhaProjecaoService.trilhaGravada(Trilha);
         return Trilha;
     }
 
@@ -74,6 +139,7 @@ public class TrilhaService implements IService<TrilhaModel, String> {
      * 
      * @param TrilhaId ID do registro a ser atualizado.
      * @param uModel Objeto contendo os dados atualizados.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto do tipo {@link TrilhaModel} atualizado.
      * 
      * Conceitos OOP utilizados:
@@ -81,16 +147,34 @@ public class TrilhaService implements IService<TrilhaModel, String> {
      * - **Abstração**: A operação de atualizar os dados da trilha é abstraída, tornando o código mais modular.
      */
     @Transactional
-    public TrilhaModel update(String TrilhaId, TrilhaModel uModel) {
+    public TrilhaModel update(String TrilhaId, TrilhaModel uModel, Long expectedVersion) {
         TrilhaModel Trilha = read(TrilhaId);
+        OptimisticLocking.verify(Trilha, expectedVersion);
 
         Trilha.setNomeTrilha(uModel.getNomeTrilha());
         Trilha.setDescTrilha(uModel.getDescTrilha());
 
         TrilhaRepository.save(Trilha);
+        TrilhaProjecaoService.trilhaGravada(Trilha);
+        CatalogoBuscaService.trilhaAlterada(Trilha.getId());
         return Trilha;
     }
 
+    /**
+     * Altera apenas os campos informados de uma trilha, mantendo os demais. Os campos são aplicados sobre o registro
+     * atual e a gravação segue as mesmas regras de {@link #update}.
+     * 
+     * @param TrilhaId ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
+     * @return Objeto {@link TrilhaModel} atualizado.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser alterado.
+     */
+    @Transactional
+    public TrilhaModel patch(String TrilhaId, JsonNode changes, Long expectedVersion) {
+        return update(TrilhaId, partialUpdate.apply(read(TrilhaId), changes), expectedVersion);
+    }
+
     /**
      * Exclui um registro de trilha.
      * 
@@ -106,6 +190,8 @@ public class TrilhaService implements IService<TrilhaModel, String> {
         int parsedId = Integer.parseInt(TrilhaId);
         TrilhaModel TrilhaToDelete = read(TrilhaId);
         TrilhaRepository.deleteById(parsedId);
+        ExclusaoService.registrar(TrilhaModel.class, parsedId);
+        TrilhaProjecaoService.trilhaExcluida(parsedId);
         return TrilhaToDelete;
     }
 }
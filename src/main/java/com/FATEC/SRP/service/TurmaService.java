@@ -3,14 +3,24 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.CursoModel;
 import com.fatec.srp.models.TurmaModel;
 import com.fatec.srp.repositories.CursosRepository;
 import com.fatec.srp.repositories.TurmaRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.FieldProjection;
+import com.fatec.srp.common.OptimisticLocking;
+import com.fatec.srp.common.PartialUpdate;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço responsável pelas operações CRUD relacionadas às turmas.
@@ -29,9 +39,26 @@ public class TurmaService implements IService<TurmaModel, String> {
     @Autowired
     private TurmaRepository TurmaRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
     @Autowired
     private CursosRepository CursoRepository;
 
+    @Autowired
+    private FieldProjection fieldProjection;
+
+    @Autowired
+    private PartialUpdate partialUpdate;
+
+    @Autowired
+    private VagasTurmaService VagasTurmaService;
+
+    @Autowired
+    private ListaEsperaService ListaEsperaService;
+
+    @Autowired
+    private ConflitoHorarioService ConflitoHorarioService;
 
     /**
      * Recupera todos os registros de turmas.
@@ -42,10 +69,68 @@ public class TurmaService implements IService<TurmaModel, String> {
      * - **Abstração**: A operação de leitura dos registros é abstraída, permitindo que a lógica interna de acesso aos dados seja oculta.
      */
     public List<TurmaModel> read() {
-        List<TurmaModel> cList = TurmaRepository.findAll();
+        List<TurmaModel> cList = TurmaRepository.findAllDetalhado();
         return cList;
     }
 
+    /**
+     * Recupera uma página de turmas a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link TurmaModel} ordenada por ID.
+     */
+    public List<TurmaModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<TurmaModel> cList = TurmaRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Recupera uma página de turmas contendo apenas os campos informados, sem carregar as entidades.
+     * 
+     * @param fields Campos separados por vírgula; associações no formato {@code associacao.campo}.
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página, ou {@code null} para todos.
+     * @return Lista de mapas com o ID e os campos pedidos, ordenada por ID.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser consultado.
+     */
+    public List<Map<String, Object>> readFields(String fields, String cursor, Integer size) {
+        Integer parsedCursor = cursor == null ? null : Integer.valueOf(cursor);
+        return fieldProjection.query(TurmaModel.class, fields, parsedCursor, size);
+    }
+
+    /**
+     * Calcula a versão atual da listagem de turmas sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return TurmaRepository.findListVersion();
+    }
+
+    /**
+     * Recupera turmas incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<TurmaModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<TurmaModel> changed = TurmaRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(TurmaModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os turmas como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link TurmaModel}.
+     */
+    public Stream<TurmaModel> readStream() {
+        return TurmaRepository.streamAll();
+    }
+
     /**
      * Recupera um registro específico de turma com base no ID.
      * 
@@ -78,6 +163,8 @@ public class TurmaService implements IService<TurmaModel, String> {
         model.setCurso(cursoOptional.get());
 
         TurmaModel Turma = TurmaRepository.save(model);
+        VagasTurmaService.turmaCriada(Turma.getId(), Turma.getCapacidade());
+        ConflitoHorarioService.turmaGravada(Turma.getId(), Turma.getPeriodo(), Turma.getDataInicio(), Turma.getDataFim());
         return Turma;
     }
 
@@ -86,6 +173,7 @@ public class TurmaService implements IService<TurmaModel, String> {
      * 
      * @param TurmaId ID do registro a ser atualizado.
      * @param uModel Objeto contendo os dados atualizados.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto do tipo {@link TurmaModel} atualizado.
      * 
      * Conceitos OOP utilizados:
@@ -93,20 +181,40 @@ public class TurmaService implements IService<TurmaModel, String> {
      * - **Abstração**: A implementação da atualização é abstraída, com o desenvolvedor apenas fornecendo os dados que precisam ser alterados.
      */
     @Transactional
-    public TurmaModel update(String TurmaId, TurmaModel uModel) {
+    public TurmaModel update(String TurmaId, TurmaModel uModel, Long expectedVersion) {
         TurmaModel Turma = read(TurmaId);
+        OptimisticLocking.verify(Turma, expectedVersion);
 
         Turma.setPeriodo(uModel.getPeriodo());
         Turma.setDataInicio(uModel.getDataInicio());
         Turma.setDataFim(uModel.getDataFim());
+        Turma.setCapacidade(uModel.getCapacidade());
         
         Optional<CursoModel> cursoOptional = CursoRepository.findById(uModel.getCurso().getId());
         uModel.setCurso(cursoOptional.get());
 
         TurmaRepository.save(Turma);
+        VagasTurmaService.capacidadeAlterada(Turma.getId(), Turma.getCapacidade());
+        ListaEsperaService.agendar(Turma.getId());
+        ConflitoHorarioService.turmaGravada(Turma.getId(), Turma.getPeriodo(), Turma.getDataInicio(), Turma.getDataFim());
         return Turma;
     }
 
+    /**
+     * Altera apenas os campos informados de uma turma, mantendo os demais. Os campos são aplicados sobre o registro
+     * atual e a gravação segue as mesmas regras de {@link #update}.
+     * 
+     * @param TurmaId ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
+     * @return Objeto {@link TurmaModel} atualizado.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser alterado.
+     */
+    @Transactional
+    public TurmaModel patch(String TurmaId, JsonNode changes, Long expectedVersion) {
+        return update(TurmaId, partialUpdate.apply(read(TurmaId), changes), expectedVersion);
+    }
+
     /**
      * Exclui um registro de turma.
      * 
@@ -122,6 +230,9 @@ public class TurmaService implements IService<TurmaModel, String> {
         int parsedId = Integer.parseInt(TurmaId);
         TurmaModel TurmaToDelete = read(TurmaId);
         TurmaRepository.deleteById(parsedId);
+        ExclusaoService.registrar(TurmaModel.class, parsedId);
+        VagasTurmaService.turmaExcluida(parsedId);
+        ConflitoHorarioService.turmaExcluida(parsedId);
         return TurmaToDelete;
     }
 }
@@ -3,11 +3,19 @@ package com.fatec.srp.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 
 import com.fatec.srp.models.UsuarioModel;
 import com.fatec.srp.repositories.UsuarioRepository;
+import com.fatec.srp.common.ListVersion;
+import com.fatec.srp.common.ChangeSet;
+import com.fatec.srp.common.OptimisticLocking;
+import com.fatec.srp.common.PartialUpdate;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
+import java.util.stream.Stream;
+import java.time.LocalDateTime;
 
 /**
  * Serviço responsável pelas operações CRUD relacionadas aos usuários.
@@ -26,6 +34,18 @@ public class UsuarioService implements IService<UsuarioModel, String> {
     @Autowired
     private UsuarioRepository UsuarioRepository;
 
+    @Autowired
+    private ExclusaoService ExclusaoService;
+
+    @Autowired
+    private SenhaService SenhaService;
+
+    @Autowired
+    private PartialUpdate partialUpdate;
+
+    @Autowired
+    private TokenService TokenService;
+
     /**
      * Recupera todos os registros de usuários.
      * 
@@ -39,6 +59,50 @@ public class UsuarioService implements IService<UsuarioModel, String> {
         return cList;
     }
 
+    /**
+     * Recupera uma página de usuários a partir do cursor informado.
+     * 
+     * @param cursor ID do último registro da página anterior, ou {@code null} para a primeira página.
+     * @param size Quantidade máxima de registros da página.
+     * @return Lista de objetos {@link UsuarioModel} ordenada por ID.
+     */
+    public List<UsuarioModel> readPage(String cursor, int size) {
+        int parsedCursor = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<UsuarioModel> cList = UsuarioRepository.findByIdGreaterThanOrderByIdAsc(parsedCursor, Limit.of(size));
+        return cList;
+    }
+
+    /**
+     * Calcula a versão atual da listagem de usuários sem carregar os registros.
+     * 
+     * @return Objeto {@link ListVersion} com a contagem e as datas mais recentes.
+     */
+    public ListVersion readVersion() {
+        return UsuarioRepository.findListVersion();
+    }
+
+    /**
+     * Recupera usuários incluídos ou alterados e os IDs excluídos após o instante informado.
+     * 
+     * @param since Instante da última sincronização do cliente.
+     * @return Objeto {@link ChangeSet} com as alterações.
+     */
+    public ChangeSet<UsuarioModel> readChanges(LocalDateTime since) {
+        LocalDateTime until = ExclusaoService.nextSince();
+        List<UsuarioModel> changed = UsuarioRepository.findChangedSince(since);
+        return ExclusaoService.changeSet(UsuarioModel.class, since, until, changed);
+    }
+
+    /**
+     * Recupera todos os usuários como um fluxo sob demanda, para exportações volumosas.
+     * O chamador é responsável por abrir a transação e fechar o {@link Stream}.
+     * 
+     * @return Stream de objetos {@link UsuarioModel}.
+     */
+    public Stream<UsuarioModel> readStream() {
+        return UsuarioRepository.streamAll();
+    }
+
     /**
      * Recupera um registro específico de usuário com base no ID.
      * 
@@ -66,6 +130,8 @@ public class UsuarioService implements IService<UsuarioModel, String> {
      */
     @Transactional
     public UsuarioModel create(UsuarioModel model) {
+        model.setSenha(SenhaService.codificar(model.getSenha()));
+
         UsuarioModel Usuario = UsuarioRepository.save(model);
         return Usuario;
     }
@@ -80,6 +146,7 @@ public class UsuarioService implements IService<UsuarioModel, String> {
      * 
      * @param UsuarioId ID do registro a ser atualizado.
      * @param uModel Objeto contendo os dados atualizados.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
      * @return O objeto do tipo {@link UsuarioModel} atualizado.
      * 
      * Conceitos OOP utilizados:
@@ -87,20 +154,39 @@ public class UsuarioService implements IService<UsuarioModel, String> {
      * - **Abstração**: A implementação da atualização é abstraída, com o desenvolvedor apenas fornecendo os dados que precisam ser alterados.
      */
     @Transactional
-    public UsuarioModel update(String UsuarioId, UsuarioModel uModel) {
+    public UsuarioModel update(String UsuarioId, UsuarioModel uModel, Long expectedVersion) {
         UsuarioModel Usuario = read(UsuarioId);
+        OptimisticLocking.verify(Usuario, expectedVersion);
 
         Usuario.setNomePessoa(uModel.getNomePessoa());
         Usuario.setNomeSocial(uModel.getNomeSocial());
         Usuario.setNomeUsuario(uModel.getNomeUsuario());
-        Usuario.setSenha(uModel.getSenha());
+        if (uModel.getSenha() != null && !uModel.getSenha().isEmpty() && !uModel.getSenha().equals(Usuario.getSenha())) {
+            Usuario.setSenha(SenhaService.codificar(uModel.getSenha()));
+        }
 
         UsuarioRepository.save(Usuario);
         return Usuario;
     }
 
     /**
-     * Exclui um registro de usuário.
+     * Altera apenas os campos informados de um usuário, mantendo os demais. Os campos são aplicados sobre o registro
+     * atual e a gravação segue as mesmas regras de {@link #update}.
+     * 
+     * @param UsuarioId ID do registro a ser alterado.
+     * @param changes Objeto JSON com os campos a alterar.
+     * @param expectedVersion Versão esperada pelo cliente ({@code If-Match}), ou {@code null} para não conferir.
+     * @return Objeto {@link UsuarioModel} atualizado.
+     * @throws IllegalArgumentException se algum campo não existir ou não puder ser alterado.
+     */
+    @Transactional
+    public UsuarioModel patch(String UsuarioId, JsonNode changes, Long expectedVersion) {
+        return update(UsuarioId, partialUpdate.apply(read(UsuarioId), changes), expectedVersion);
+    }
+
+    /**
+     * Exclui um registro de usuário. Após a confirmação, as sessões do usuário em cache são descartadas e os tokens
+     * emitidos para ele passam a ser recusados.
      * 
      * @param UsuarioId ID do registro a ser excluído.
      * @return O objeto do tipo {@link UsuarioModel} que foi excluído.
@@ -114,6 +200,8 @@ public class UsuarioService implements IService<UsuarioModel, String> {
         int parsedId = Integer.parseInt(UsuarioId);
         UsuarioModel UsuarioToDelete = read(UsuarioId);
         UsuarioRepository.deleteById(parsedId);
+        ExclusaoService.registrar(UsuarioModel.class, parsedId);
+        TokenService.invalidarUsuario(parsedId);
         return UsuarioToDelete;
     }
 }
@@ -0,0 +1,357 @@
+package com.fatec.srp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fatec.srp.common.Transacoes;
+import com.fatec.srp.common.TurmaLotadaException;
+import com.fatec.srp.common.VagasTurma;
+import com.fatec.srp.config.MatriculaProperties;
+import com.fatec.srp.repositories.AlunoTurmaRepository;
+import com.fatec.srp.repositories.TurmaRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço que controla as vagas das turmas e admite ou recusa as matrículas.
+ *
+ * Cada turma tem um contador de vagas ocupadas em memória, e a admissão de uma matrícula é uma única operação
+ * {@code compareAndSet} sobre ele, sem bloquear o registro da turma no banco. A vaga é reservada dentro da transação
+ * que grava a matrícula e devolvida se essa transação for desfeita. A quantidade de vagas ocupadas de cada turma é
+ * gravada na tabela {@code Turmas} em segundo plano, em lotes com as turmas alteradas desde a gravação anterior.
+ *
+ * Os contadores são montados a partir da contagem de matrículas no banco ({@code COUNT(*)} em {@code Aluno_Turmas})
+ * na inicialização, ou na primeira matrícula de uma turma ainda não carregada, e conferidos periodicamente contra
+ * essa contagem. Por isso continuam corretos após reiniciar a aplicação, mesmo que a última gravação em segundo
+ * plano não tenha ocorrido.
+ *
+ * Conceitos OOP utilizados:
+ * - **Encapsulamento**: Os contadores, a fila de gravação e a conferência ficam escondidos atrás de {@link #reservar} e {@link #liberar}.
+ * - **Imutabilidade**: A situação das vagas é exposta como um {@link VagasTurma} imutável.
+ */
+@Service
+public class VagasTurmaService {
+
+    private static final Logger log = LoggerFactory.getLogger(VagasTurmaService.class);
+
+    @Autowired
+    private TurmaRepository TurmaRepository;
+
+    @Autowired
+    private AlunoTurmaRepository AlunoTurmaRepository;
+
+    @Autowired
+    private MatriculaProperties matriculaProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Integer, Vagas> vagas = new ConcurrentHashMap<>();
+
+    /**
+     * Turmas cuja quantidade de vagas ocupadas mudou desde a última gravação.
+     */
+    private final Set<Integer> alteradas = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService agendador;
+
+    @PostConstruct
+    void iniciar() {
+        agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vagas-turma");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long gravacao = matriculaProperties.getFlushInterval().toMillis();
+        long conferencia = matriculaProperties.getReconcileInterval().toMillis();
+        agendador.scheduleWithFixedDelay(this::gravarAlteradas, gravacao, gravacao, TimeUnit.MILLISECONDS);
+        agendador.scheduleWithFixedDelay(this::reconciliar, conferencia, conferencia, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        agendador.shutdown();
+        gravarAlteradas();
+    }
+
+    /**
+     * Monta os contadores de todas as turmas a partir da contagem de matrículas no banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        Map<Integer, Long> contagens = contagens();
+        for (Object[] turma : TurmaRepository.findCapacidades()) {
+            Integer turmaId = (Integer) turma[0];
+            int ocupadas = contagens.getOrDefault(turmaId, 0L).intValue();
+            if (vagas.putIfAbsent(turmaId, new Vagas((Integer) turma[1], ocupadas)) == null && ocupadas != (Integer) turma[2]) {
+                alteradas.add(turmaId);
+            }
+        }
+    }
+
+    /**
+     * Reserva uma vaga na turma para a matrícula que está sendo gravada. Se a transação em andamento for desfeita,
+     * a vaga é devolvida.
+     *
+     * @param turmaId ID da turma.
+     * @throws TurmaLotadaException se todas as vagas da turma estiverem ocupadas.
+     * @throws NoSuchElementException se a turma não existir.
+     */
+    public void reservar(Integer turmaId) {
+        Vagas turma = vagas(turmaId);
+        turma.pendentes.incrementAndGet();
+        if (!turma.reservar()) {
+            turma.pendentes.decrementAndGet();
+            throw new TurmaLotadaException(turmaId, turma.capacidade);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            turma.pendentes.decrementAndGet();
+            alteradas.add(turmaId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    alteradas.add(turmaId);
+                } else {
+                    turma.liberar();
+                }
+                turma.pendentes.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Devolve a vaga de uma matrícula excluída, após a confirmação da transação.
+     *
+     * Assim como a reserva, a devolução conta como pendente desde a chamada até ser aplicada. Entre a confirmação
+     * da exclusão e a devolução, a contagem no banco já não inclui a matrícula, mas o contador ainda a inclui; a
+     * conferência ignora a turma nesse intervalo em vez de corrigi-la, o que faria a vaga ser devolvida duas vezes.
+     * Se a turma ainda não tiver contador, nada é feito: ele será montado a partir do banco quando for usado.
+     *
+     * @param turmaId ID da turma.
+     */
+    public void liberar(Integer turmaId) {
+        Vagas turma = vagas.get(turmaId);
+        if (turma == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            turma.liberar();
+            alteradas.add(turmaId);
+            return;
+        }
+        turma.pendentes.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    turma.liberar();
+                    alteradas.add(turmaId);
+                }
+                turma.pendentes.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Retorna a situação das vagas de uma turma.
+     *
+     * @param turmaId ID da turma.
+     * @return Objeto {@link VagasTurma}.
+     * @throws NoSuchElementException se a turma não existir.
+     */
+    public VagasTurma situacao(Integer turmaId) {
+        Vagas turma = vagas(turmaId);
+        Integer capacidade = turma.capacidade;
+        int ocupadas = turma.ocupadas.get();
+        return new VagasTurma(turmaId, capacidade, ocupadas, capacidade == null ? null : Math.max(0, capacidade - ocupadas));
+    }
+
+    /**
+     * Registra a criação de uma turma, sem matrículas, aplicada após a confirmação da transação.
+     */
+    public void turmaCriada(Integer turmaId, Integer capacidade) {
+        Transacoes.aposConfirmar(() -> vagas.putIfAbsent(turmaId, new Vagas(capacidade, 0)));
+    }
+
+    /**
+     * Registra a alteração da capacidade de uma turma, aplicada após a confirmação da transação. Reduzir a
+     * capacidade abaixo das vagas ocupadas não cancela matrículas; apenas impede novas.
+     */
+    public void capacidadeAlterada(Integer turmaId, Integer capacidade) {
+        Transacoes.aposConfirmar(() -> vagas.computeIfPresent(turmaId, (id, turma) -> {
+            turma.capacidade = capacidade;
+            return turma;
+        }));
+    }
+
+    /**
+     * Registra a exclusão de uma turma, aplicada após a confirmação da transação.
+     */
+    public void turmaExcluida(Integer turmaId) {
+        Transacoes.aposConfirmar(() -> {
+            vagas.remove(turmaId);
+            alteradas.remove(turmaId);
+        });
+    }
+
+    private Vagas vagas(Integer turmaId) {
+        Vagas turma = vagas.get(turmaId);
+        if (turma != null) {
+            return turma;
+        }
+
+        List<Object[]> capacidade = TurmaRepository.findCapacidadeById(turmaId);
+        if (capacidade.isEmpty()) {
+            throw new NoSuchElementException("Turma não encontrada: " + turmaId);
+        }
+        Vagas carregada = new Vagas((Integer) capacidade.get(0)[1], (int) AlunoTurmaRepository.countByTurmaId(turmaId));
+        turma = vagas.putIfAbsent(turmaId, carregada);
+        return turma != null ? turma : carregada;
+    }
+
+    /**
+     * Grava, em uma única transação, a quantidade de vagas ocupadas das turmas alteradas desde a última gravação.
+     */
+    void gravarAlteradas() {
+        List<Integer> turmas = new ArrayList<>();
+        for (Iterator<Integer> it = alteradas.iterator(); it.hasNext();) {
+            turmas.add(it.next());
+            it.remove();
+        }
+        if (turmas.isEmpty()) {
+            return;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                for (Integer turmaId : turmas) {
+                    Vagas turma = vagas.get(turmaId);
+                    if (turma != null) {
+                        TurmaRepository.updateVagasOcupadas(turmaId, turma.ocupadas.get());
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            alteradas.addAll(turmas);
+            log.warn("Não foi possível gravar as vagas ocupadas de {} turmas", turmas.size(), e);
+        }
+    }
+
+    /**
+     * Confere os contadores com a contagem de matrículas no banco e corrige os divergentes. Turmas com matrículas
+     * em gravação ou exclusão, ou alteradas durante a contagem, ficam para a próxima conferência.
+     *
+     * Uma reserva ou devolução é marcada como pendente antes de a sua transação ser confirmada e só deixa de sê-lo
+     * depois de aplicada ao contador. Assim, se a contagem já reflete uma transação confirmada cujo efeito ainda
+     * não chegou ao contador, a turma tem uma pendência na verificação feita após a contagem.
+     */
+    void reconciliar() {
+        try {
+            Map<Integer, Long> alteracoesAntes = new HashMap<>();
+            vagas.forEach((turmaId, turma) -> {
+                if (turma.pendentes.get() == 0) {
+                    alteracoesAntes.put(turmaId, turma.alteracoes.get());
+                }
+            });
+            Map<Integer, Long> contagens = contagens();
+
+            alteracoesAntes.forEach((turmaId, alteracoes) -> {
+                Vagas turma = vagas.get(turmaId);
+                if (turma == null || turma.pendentes.get() != 0 || turma.alteracoes.get() != alteracoes) {
+                    return;
+                }
+                int atual = turma.ocupadas.get();
+                int contagem = contagens.getOrDefault(turmaId, 0L).intValue();
+                if (atual != contagem && turma.alteracoes.get() == alteracoes && turma.ocupadas.compareAndSet(atual, contagem)) {
+                    turma.alteracoes.incrementAndGet();
+                    alteradas.add(turmaId);
+                    log.warn("Vagas ocupadas da turma {} corrigidas de {} para {}", turmaId, atual, contagem);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível conferir as vagas das turmas", e);
+        }
+    }
+
+    private Map<Integer, Long> contagens() {
+        Map<Integer, Long> contagens = new HashMap<>();
+        for (Object[] contagem : AlunoTurmaRepository.countPorTurma()) {
+            contagens.put((Integer) contagem[0], (Long) contagem[1]);
+        }
+        return contagens;
+    }
+
+    /**
+     * Contador de vagas de uma turma.
+     */
+    private static final class Vagas {
+
+        /**
+         * Quantidade máxima de matrículas, ou {@code null} se a turma não tiver limite.
+         */
+        volatile Integer capacidade;
+
+        final AtomicInteger ocupadas;
+
+        /**
+         * Reservas e devoluções de transações ainda não encerradas, ou encerradas e ainda não aplicadas.
+         */
+        final AtomicInteger pendentes = new AtomicInteger();
+
+        /**
+         * Quantidade de alterações do contador, usada para detectar alterações durante a conferência.
+         */
+        final AtomicLong alteracoes = new AtomicLong();
+
+        Vagas(Integer capacidade, int ocupadas) {
+            this.capacidade = capacidade;
+            this.ocupadas = new AtomicInteger(ocupadas);
+        }
+
+        boolean reservar() {
+            while (true) {
+                int atual = ocupadas.get();
+                Integer limite = capacidade;
+                if (limite != null && atual >= limite) {
+                    return false;
+                }
+                if (ocupadas.compareAndSet(atual, atual + 1)) {
+                    alteracoes.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+
+        void liberar() {
+            ocupadas.updateAndGet(atual -> Math.max(0, atual - 1));
+            alteracoes.incrementAndGet();
+        }
+    }
+}
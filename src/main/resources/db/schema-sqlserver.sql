@@ -0,0 +1,50 @@
+-- Migração de Aluno_Turmas.id de IDENTITY para a sequência aluno_turmas_seq usada pelo AlunoTurmaModel.
+--
+-- Executado na inicialização, antes do ddl-auto do Hibernate (spring.sql.init), como um único lote. Só faz algo
+-- enquanto a coluna ainda for IDENTITY, então pode ser executado a cada inicialização. Em um banco novo a tabela e a
+-- sequência são criadas pelo Hibernate.
+--
+-- O SQL Server não permite remover IDENTITY de uma coluna: os valores são copiados para uma coluna nova, que
+-- substitui a antiga e recebe a chave primária. Nenhuma chave estrangeira referencia Aluno_Turmas.id.
+--
+-- A sequência começa em MAX(id) + 50 porque o otimizador "pooled" do Hibernate (allocationSize = 50) trata o valor
+-- obtido como o fim do bloco e usa os 49 anteriores: o primeiro bloco fica em MAX(id) + 1 .. MAX(id) + 50. Se a
+-- sequência já tiver sido criada pelo ddl-auto a partir de 1, ela é reiniciada.
+IF OBJECT_ID(N'dbo.Aluno_Turmas', N'U') IS NOT NULL
+    AND COLUMNPROPERTY(OBJECT_ID(N'dbo.Aluno_Turmas'), N'id', N'IsIdentity') = 1
+BEGIN
+    SET XACT_ABORT ON;
+    BEGIN TRANSACTION;
+
+    DECLARE @pk SYSNAME = (
+        SELECT name FROM sys.key_constraints
+        WHERE parent_object_id = OBJECT_ID(N'dbo.Aluno_Turmas') AND type = 'PK');
+    DECLARE @sql NVARCHAR(MAX);
+
+    IF @pk IS NOT NULL
+    BEGIN
+        SET @sql = N'ALTER TABLE dbo.Aluno_Turmas DROP CONSTRAINT ' + QUOTENAME(@pk);
+        EXEC sp_executesql @sql;
+    END
+
+    EXEC sp_executesql N'ALTER TABLE dbo.Aluno_Turmas ADD id_sem_identity INT NULL';
+    EXEC sp_executesql N'UPDATE dbo.Aluno_Turmas SET id_sem_identity = id';
+    EXEC sp_executesql N'ALTER TABLE dbo.Aluno_Turmas DROP COLUMN id';
+    EXEC sp_rename N'dbo.Aluno_Turmas.id_sem_identity', N'id', N'COLUMN';
+    EXEC sp_executesql N'ALTER TABLE dbo.Aluno_Turmas ALTER COLUMN id INT NOT NULL';
+
+    SET @sql = N'ALTER TABLE dbo.Aluno_Turmas ADD CONSTRAINT ' + QUOTENAME(ISNULL(@pk, N'PK_Aluno_Turmas')) + N' PRIMARY KEY (id)';
+    EXEC sp_executesql @sql;
+
+    DECLARE @inicio BIGINT;
+    EXEC sp_executesql N'SELECT @inicio = ISNULL(MAX(id), 0) + 50 FROM dbo.Aluno_Turmas',
+        N'@inicio BIGINT OUTPUT', @inicio = @inicio OUTPUT;
+
+    IF OBJECT_ID(N'dbo.aluno_turmas_seq', N'SO') IS NOT NULL
+        SET @sql = N'ALTER SEQUENCE dbo.aluno_turmas_seq RESTART WITH ' + CAST(@inicio AS NVARCHAR(20));
+    ELSE
+        SET @sql = N'CREATE SEQUENCE dbo.aluno_turmas_seq START WITH ' + CAST(@inicio AS NVARCHAR(20)) + N' INCREMENT BY 50';
+    EXEC sp_executesql @sql;
+
+    COMMIT TRANSACTION;
+END
@@ -0,0 +1,138 @@
+package com.fatec.srp.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica o balanceamento da {@link ArvoreIntervalos} nas rotações simples e duplas, e compara as consultas de
+ * sobreposição com uma busca linear depois de inclusões e exclusões aleatórias.
+ */
+class ArvoreIntervalosTests {
+
+	@Test
+	void ascendingAndDescendingInsertsStayBalanced() {
+		ArvoreIntervalos crescente = new ArvoreIntervalos();
+		ArvoreIntervalos decrescente = new ArvoreIntervalos();
+		for (int i = 0; i < 1023; i++) {
+			crescente.inserir(i, i, i);
+			decrescente.inserir(1022 - i, 1022 - i, i);
+		}
+
+		// Uma árvore AVL perfeita com 1023 nós tem altura 10; a sequência ordenada só é balanceada por rotações.
+		assertEquals(10, crescente.altura());
+		assertEquals(10, decrescente.altura());
+	}
+
+	@Test
+	void zigZagInsertsUseDoubleRotations() {
+		ArvoreIntervalos esquerdaDireita = new ArvoreIntervalos();
+		esquerdaDireita.inserir(30, 30, 1);
+		esquerdaDireita.inserir(10, 10, 2);
+		esquerdaDireita.inserir(20, 20, 3);
+
+		ArvoreIntervalos direitaEsquerda = new ArvoreIntervalos();
+		direitaEsquerda.inserir(10, 10, 1);
+		direitaEsquerda.inserir(30, 30, 2);
+		direitaEsquerda.inserir(20, 20, 3);
+
+		assertEquals(2, esquerdaDireita.altura());
+		assertEquals(List.of(2, 3, 1), esquerdaDireita.sobrepostos(0, 100));
+		assertEquals(2, direitaEsquerda.altura());
+		assertEquals(List.of(1, 3, 2), direitaEsquerda.sobrepostos(0, 100));
+	}
+
+	@Test
+	void rotationsKeepLargestEndOfSubtrees() {
+		ArvoreIntervalos arvore = new ArvoreIntervalos();
+		// O primeiro intervalo é longo e, após as rotações, fica em uma subárvore à esquerda da raiz.
+		arvore.inserir(0, 1000, 1);
+		for (int i = 2; i <= 64; i++) {
+			arvore.inserir(i * 10, i * 10 + 1, i);
+		}
+
+		assertEquals(List.of(1), arvore.sobrepostos(995, 999));
+		assertEquals(List.of(1, 50), arvore.sobrepostos(500, 500));
+		assertEquals(List.of(), arvore.sobrepostos(1001, 1002 + 64 * 10));
+	}
+
+	@Test
+	void overlapIsInclusiveAtBothEnds() {
+		ArvoreIntervalos arvore = new ArvoreIntervalos();
+		arvore.inserir(10, 20, 1);
+
+		assertEquals(List.of(1), arvore.sobrepostos(20, 30));
+		assertEquals(List.of(1), arvore.sobrepostos(0, 10));
+		assertEquals(List.of(1), arvore.sobrepostos(12, 15));
+		assertEquals(List.of(), arvore.sobrepostos(21, 30));
+		assertEquals(List.of(), arvore.sobrepostos(0, 9));
+	}
+
+	@Test
+	void sameStartIsKeyedById() {
+		ArvoreIntervalos arvore = new ArvoreIntervalos();
+		arvore.inserir(10, 20, 1);
+		arvore.inserir(10, 30, 2);
+		arvore.inserir(10, 40, 2);
+
+		assertEquals(List.of(1, 2), arvore.sobrepostos(15, 15));
+		assertEquals(List.of(2), arvore.sobrepostos(25, 35));
+
+		arvore.remover(10, 1);
+		assertEquals(List.of(2), arvore.sobrepostos(15, 15));
+		arvore.remover(10, 3);
+		arvore.remover(11, 2);
+		assertEquals(List.of(2), arvore.sobrepostos(15, 15));
+		arvore.remover(10, 2);
+		assertTrue(arvore.vazia());
+	}
+
+	@Test
+	void randomInsertsAndRemovalsMatchLinearScan() {
+		Random random = new Random(42);
+		ArvoreIntervalos arvore = new ArvoreIntervalos();
+		List<long[]> intervalos = new ArrayList<>();
+
+		for (int passo = 0; passo < 5000; passo++) {
+			if (intervalos.isEmpty() || random.nextInt(3) > 0) {
+				long inicio = random.nextInt(2000);
+				long fim = inicio + random.nextInt(60);
+				int id = passo;
+				arvore.inserir(inicio, fim, id);
+				intervalos.add(new long[] { inicio, fim, id });
+			} else {
+				long[] removido = intervalos.remove(random.nextInt(intervalos.size()));
+				arvore.remover(removido[0], (int) removido[2]);
+			}
+
+			if (passo % 50 == 0) {
+				long inicio = random.nextInt(2100);
+				long fim = inicio + random.nextInt(100);
+				assertEquals(linear(intervalos, inicio, fim), arvore.sobrepostos(inicio, fim));
+				assertTrue(arvore.altura() <= 1.45 * (Math.log(intervalos.size() + 2) / Math.log(2)),
+					"altura " + arvore.altura() + " para " + intervalos.size() + " intervalos");
+			}
+		}
+
+		for (long[] intervalo : new ArrayList<>(intervalos)) {
+			arvore.remover(intervalo[0], (int) intervalo[2]);
+		}
+		assertTrue(arvore.vazia());
+		assertFalse(arvore.sobrepostos(0, 3000).iterator().hasNext());
+	}
+
+	private static List<Integer> linear(List<long[]> intervalos, long inicio, long fim) {
+		return intervalos.stream()
+			.filter(intervalo -> intervalo[0] <= fim && intervalo[1] >= inicio)
+			.sorted(Comparator.<long[]>comparingLong(intervalo -> intervalo[0]).thenComparingLong(intervalo -> intervalo[2]))
+			.map(intervalo -> (int) intervalo[2])
+			.toList();
+	}
+}
@@ -0,0 +1,142 @@
+package com.fatec.srp.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica a tokenização, o ranqueamento BM25 com prefixos, a exigência de todas as palavras da consulta e a
+ * manutenção do {@link IndiceTextual} quando documentos são substituídos ou removidos.
+ */
+class IndiceTextualTests {
+
+	private IndiceTextual indice;
+
+	@BeforeEach
+	void setUp() {
+		indice = new IndiceTextual();
+	}
+
+	@Test
+	void tokensStripAccentsCaseAndStopWords() {
+		assertEquals(List.of("programacao"), IndiceTextual.tokens("Programação"));
+		assertEquals(List.of("introducao", "logica", "programacao"),
+				IndiceTextual.tokens("Introdução à Lógica de Programação"));
+		assertEquals(List.of("excel", "2019", "avancado"), IndiceTextual.tokens("Excel 2019 - Avançado!"));
+		assertEquals(List.of(), IndiceTextual.tokens("  de para com "));
+		assertEquals(List.of(), IndiceTextual.tokens(null));
+	}
+
+	@Test
+	void exactTermOutranksPrefixMatch() {
+		indice.indexar(1, campos("Programas de computador"));
+		indice.indexar(2, campos("Program manager"));
+		indice.indexar(3, campos("Culinária"));
+
+		List<IndiceTextual.Resultado> resultados = indice.buscar("program", 10);
+
+		assertEquals(List.of(2, 1), ids(resultados));
+		assertTrue(resultados.get(0).pontuacao() > resultados.get(1).pontuacao());
+	}
+
+	@Test
+	void heavierFieldRanksFirst() {
+		indice.indexar(1, List.of(new IndiceTextual.Campo("Excel", 1), new IndiceTextual.Campo("Planilhas", 3)));
+		indice.indexar(2, List.of(new IndiceTextual.Campo("Planilhas", 1), new IndiceTextual.Campo("Excel", 3)));
+
+		assertEquals(List.of(2, 1), ids(indice.buscar("excel", 10)));
+		assertEquals(List.of(1, 2), ids(indice.buscar("planilhas", 10)));
+	}
+
+	@Test
+	void everyQueryWordMustMatch() {
+		indice.indexar(1, campos("Lógica de Programação"));
+		indice.indexar(2, campos("Programação Web"));
+		indice.indexar(3, campos("Lógica Matemática"));
+
+		assertEquals(List.of(1), ids(indice.buscar("logica programacao", 10)));
+		assertEquals(List.of(2), ids(indice.buscar("prog web", 10)));
+		assertEquals(List.of(), ids(indice.buscar("logica web", 10)));
+		assertEquals(List.of(), ids(indice.buscar("de para", 10)));
+	}
+
+	@Test
+	void singleCharacterWordsOnlyMatchExactly() {
+		indice.indexar(1, campos("Linguagem C"));
+		indice.indexar(2, campos("Linguagem Cobol"));
+
+		assertEquals(List.of(1), ids(indice.buscar("c", 10)));
+		assertEquals(List.of(2), ids(indice.buscar("co", 10)));
+	}
+
+	@Test
+	void limitKeepsBestResults() {
+		indice.indexar(1, campos("Java"));
+		indice.indexar(2, campos("Java Java"));
+		indice.indexar(3, campos("Java avançado para quem já programa em Java"));
+
+		List<IndiceTextual.Resultado> resultados = indice.buscar("java", 2);
+
+		assertEquals(2, resultados.size());
+		assertEquals(2, resultados.get(0).id());
+		assertEquals(List.of(), indice.buscar("java", 0));
+	}
+
+	@Test
+	void reindexReplacesOldTerms() {
+		indice.indexar(1, campos("Excel básico"));
+		indice.indexar(1, campos("Word básico"));
+
+		assertEquals(1, indice.tamanho());
+		assertEquals(List.of(), ids(indice.buscar("excel", 10)));
+		assertEquals(List.of(1), ids(indice.buscar("word", 10)));
+	}
+
+	@Test
+	void removeDropsDocumentAndKeepsOthersSearchable() {
+		indice.indexar(1, campos("Excel básico"));
+		indice.indexar(2, campos("Excel avançado"));
+
+		indice.remover(1);
+		indice.remover(99);
+
+		assertEquals(1, indice.tamanho());
+		assertEquals(List.of(2), ids(indice.buscar("excel", 10)));
+		assertEquals(List.of(), ids(indice.buscar("basico", 10)));
+
+		indice.limpar();
+		assertEquals(0, indice.tamanho());
+		assertEquals(List.of(), ids(indice.buscar("excel", 10)));
+	}
+
+	@Test
+	void emptyIndexOrQueryFindsNothing() {
+		assertEquals(List.of(), indice.buscar("excel", 10));
+
+		indice.indexar(1, campos(null));
+		indice.indexar(2, campos("de para"));
+		assertEquals(2, indice.tamanho());
+		assertEquals(List.of(), indice.buscar("excel", 10));
+
+		indice.indexar(3, campos("Excel"));
+		assertEquals(List.of(), indice.buscar(null, 10));
+		assertEquals(List.of(), indice.buscar("   ", 10));
+		assertEquals(List.of(), indice.buscar("de para com", 10));
+
+		List<IndiceTextual.Resultado> resultados = indice.buscar("excel", 10);
+		assertEquals(List.of(3), ids(resultados));
+		assertTrue(resultados.get(0).pontuacao() > 0);
+	}
+
+	private static List<IndiceTextual.Campo> campos(String texto) {
+		return List.of(new IndiceTextual.Campo(texto, 1));
+	}
+
+	private static List<Integer> ids(List<IndiceTextual.Resultado> resultados) {
+		return resultados.stream().map(IndiceTextual.Resultado::id).toList();
+	}
+}
@@ -0,0 +1,177 @@
+package com.fatec.srp.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica o comportamento dos limitadores sob disputa: cada cliente do {@link RateLimiter} recebe a mesma vazão,
+ * independentemente de quantas threads usa, e o {@link AdaptiveConcurrencyLimit} reduz e recupera o limite
+ * conforme a latência dos repositórios.
+ *
+ * Os dois limitadores recebem um relógio controlado pelo teste, de modo que as admissões esperadas são exatas e não
+ * dependem de como as threads são escalonadas.
+ */
+class LoadSheddingTests {
+
+	private static final int RATE = 200;
+
+	private static final int BURST = 20;
+
+	private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1) / RATE;
+
+	/**
+	 * Quantidade de threads de cada cliente: o primeiro dispara requisições com seis threads, os demais com uma.
+	 */
+	private static final int[] THREADS_PER_CLIENT = { 6, 1, 1, 1 };
+
+	/**
+	 * Tentativas de cada thread por rodada, bem acima das fichas disponíveis.
+	 */
+	private static final int ATTEMPTS = 200;
+
+	@Test
+	void rateLimiterIsFairUnderContention() throws InterruptedException {
+		AtomicLong clock = new AtomicLong();
+		RateLimiter rateLimiter = new RateLimiter(RATE, BURST, Duration.ofMinutes(1), 1000, clock::get);
+
+		// Com o relógio parado, cada cliente recebe exatamente a rajada, com uma ou seis threads.
+		assertEveryClientAllowed(BURST, rateLimiter);
+		assertEveryClientAllowed(0, rateLimiter);
+
+		// Cada intervalo repõe uma ficha por cliente; meio intervalo não repõe nenhuma.
+		clock.addAndGet(10 * INTERVAL);
+		assertEveryClientAllowed(10, rateLimiter);
+		clock.addAndGet(INTERVAL / 2);
+		assertEveryClientAllowed(0, rateLimiter);
+		clock.addAndGet(INTERVAL / 2);
+		assertEveryClientAllowed(1, rateLimiter);
+
+		// Um cliente parado acumula no máximo a rajada.
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+		assertEveryClientAllowed(BURST, rateLimiter);
+	}
+
+	@Test
+	void rateLimiterReportsWaitUntilNextPermit() {
+		AtomicLong clock = new AtomicLong();
+		RateLimiter rateLimiter = new RateLimiter(RATE, 1, Duration.ofMinutes(1), 1000, clock::get);
+
+		assertEquals(0, rateLimiter.tryAcquire("cliente"));
+		assertEquals(INTERVAL, rateLimiter.tryAcquire("cliente"));
+		clock.addAndGet(INTERVAL / 4);
+		assertEquals(INTERVAL - INTERVAL / 4, rateLimiter.tryAcquire("cliente"));
+		assertEquals(0, rateLimiter.tryAcquire("outro-cliente"));
+	}
+
+	@Test
+	void adaptiveLimitShrinksWhenLatencyRisesAndRecovers() {
+		AtomicLong clock = new AtomicLong();
+		Duration window = Duration.ofSeconds(1);
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 40, 2.0, window, clock::get);
+		long healthy = TimeUnit.MILLISECONDS.toNanos(1);
+		long slow = TimeUnit.MILLISECONDS.toNanos(10);
+
+		window(limit, clock, window, healthy);
+		assertEquals(40, limit.getLimit());
+
+		// Antes do fim da janela nenhuma amostra altera o limite.
+		record(limit, slow, 100);
+		assertEquals(40, limit.getLimit());
+
+		// Cada janela lenta reduz o limite pela metade, no máximo, até o mínimo.
+		clock.addAndGet(window.toNanos());
+		limit.record(slow);
+		assertEquals(20, limit.getLimit());
+		window(limit, clock, window, slow);
+		assertEquals(10, limit.getLimit());
+		window(limit, clock, window, slow);
+		assertEquals(5, limit.getLimit());
+		window(limit, clock, window, slow);
+		assertEquals(3, limit.getLimit());
+		window(limit, clock, window, slow);
+		assertEquals(2, limit.getLimit());
+
+		assertTrue(limit.tryAcquire());
+		assertTrue(limit.tryAcquire());
+		assertFalse(limit.tryAcquire());
+		limit.release();
+		limit.release();
+
+		// Com a latência normal o limite volta a crescer, somando a raiz do limite atual por janela.
+		window(limit, clock, window, healthy);
+		assertEquals(3, limit.getLimit());
+		window(limit, clock, window, healthy);
+		assertEquals(5, limit.getLimit());
+		window(limit, clock, window, healthy);
+		assertEquals(7, limit.getLimit());
+		for (int i = 0; i < 10; i++) {
+			window(limit, clock, window, healthy);
+		}
+		assertEquals(40, limit.getLimit());
+	}
+
+	/**
+	 * Dispara as tentativas de todas as threads com o relógio parado e confere quantas foram aceitas por cliente.
+	 */
+	private static void assertEveryClientAllowed(long expected, RateLimiter rateLimiter) throws InterruptedException {
+		AtomicLongArray allowed = new AtomicLongArray(THREADS_PER_CLIENT.length);
+		CountDownLatch start = new CountDownLatch(1);
+
+		List<Thread> threads = new ArrayList<>();
+		for (int client = 0; client < THREADS_PER_CLIENT.length; client++) {
+			for (int i = 0; i < THREADS_PER_CLIENT[client]; i++) {
+				int index = client;
+				threads.add(Thread.ofPlatform().start(() -> {
+					awaitQuietly(start);
+					for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+						if (rateLimiter.tryAcquire("cliente-" + index) == 0) {
+							allowed.incrementAndGet(index);
+						}
+					}
+				}));
+			}
+		}
+
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (int client = 0; client < allowed.length(); client++) {
+			assertEquals(expected, allowed.get(client), "cliente-" + client);
+		}
+	}
+
+	/**
+	 * Registra uma janela completa de amostras com a mesma latência e avança o relógio até o fim dela.
+	 */
+	private static void window(AdaptiveConcurrencyLimit limit, AtomicLong clock, Duration window, long durationNanos) {
+		record(limit, durationNanos, 20);
+		clock.addAndGet(window.toNanos());
+		limit.record(durationNanos);
+	}
+
+	private static void record(AdaptiveConcurrencyLimit limit, long durationNanos, int samples) {
+		for (int i = 0; i < samples; i++) {
+			limit.record(durationNanos);
+		}
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
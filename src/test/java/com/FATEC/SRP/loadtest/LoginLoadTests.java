@@ -0,0 +1,161 @@
+package com.fatec.srp.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fatec.srp.SrpApplication;
+import com.fatec.srp.models.UsuarioModel;
+import com.fatec.srp.service.UsuarioService;
+
+/**
+ * Mede a latência do login com senhas codificadas sob uma taxa fixa de chegada (por padrão 500 logins/s).
+ * 
+ * A carga é aberta: cada login é disparado no seu instante programado, independentemente de os anteriores já terem
+ * respondido, e a latência é contada a partir desse instante, de modo que filas no servidor aparecem no p99.
+ * Executada apenas pelo perfil Maven {@code load-test}:
+ * <pre>
+ * mvn -P load-test test -Dtest=LoginLoadTests -Dloadtest.login.rate=500 -Dloadtest.login.seconds=30 -Dloadtest.login.p99=250
+ * </pre>
+ * Quando {@code loadtest.login.p99} é informado, o teste falha se o p99, em milissegundos, ficar acima dele.
+ * O resultado é impresso e gravado em {@code target/load-test/login.csv}.
+ */
+@Tag("load-test")
+class LoginLoadTests {
+
+	private static final int RATE = Integer.getInteger("loadtest.login.rate", 500);
+
+	private static final int SECONDS = Integer.getInteger("loadtest.login.seconds", 20);
+
+	private static final int USERS = Integer.getInteger("loadtest.login.users", 100);
+
+	private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.login.warmup", 5);
+
+	private static final String P99_TARGET = System.getProperty("loadtest.login.p99");
+
+	private static final String SENHA = "S3nh@-do-usuario";
+
+	@Test
+	void loginAtTargetRate() throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SrpApplication.class)
+				.properties("server.port=0", "spring.jmx.enabled=false", "srp.rate-limit.enabled=false")
+				.run()) {
+			UsuarioService usuarioService = context.getBean(UsuarioService.class);
+			for (int i = 0; i < USERS; i++) {
+				UsuarioModel usuario = new UsuarioModel();
+				usuario.setNomeUsuario("carga" + i);
+				usuario.setNomePessoa("Carga " + i);
+				usuario.setSenha(SENHA);
+				usuarioService.create(usuario);
+			}
+
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			URI uri = URI.create("http://localhost:" + port + "/api/usuario/login");
+			HttpClient client = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(5))
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+
+			run(client, uri, RATE * WARMUP_SECONDS, new Counters());
+
+			Counters counters = new Counters();
+			long[] latencies = run(client, uri, RATE * SECONDS, counters);
+			Arrays.sort(latencies);
+			double p50 = percentile(latencies, 0.50);
+			double p99 = percentile(latencies, 0.99);
+
+			String line = String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%.2f,%.2f",
+				RATE, SECONDS, counters.ok.get(), counters.rejected.get(), counters.failed.get(), p50, p99);
+			System.out.println(String.format(Locale.ROOT, "[login] %d/s por %ds: p50 %.2f ms, p99 %.2f ms (ok=%d, 503=%d, falhas=%d)",
+				RATE, SECONDS, p50, p99, counters.ok.get(), counters.rejected.get(), counters.failed.get()));
+
+			Path output = Path.of("target", "load-test", "login.csv");
+			Files.createDirectories(output.getParent());
+			Files.write(output, List.of("taxa_por_s,segundos,sucesso,recusadas_503,falhas,p50_ms,p99_ms", line));
+
+			assertTrue(counters.ok.get() > 0, "nenhum login bem-sucedido");
+			if (P99_TARGET != null) {
+				assertTrue(p99 <= Double.parseDouble(P99_TARGET), "p99 de " + p99 + " ms acima da meta de " + P99_TARGET + " ms");
+			}
+		}
+	}
+
+	private static long[] run(HttpClient client, URI uri, int requests, Counters counters) throws Exception {
+		long[] latencies = new long[requests];
+		long period = TimeUnit.SECONDS.toNanos(1) / RATE;
+		List<Future<?>> futures = new ArrayList<>(requests);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			long start = System.nanoTime();
+			for (int i = 0; i < requests; i++) {
+				int index = i;
+				long scheduled = start + i * period;
+				LockSupport.parkNanos(scheduled - System.nanoTime());
+				String body = "{\"nomeUsuario\":\"carga" + (i % USERS) + "\",\"senha\":\"" + SENHA + "\"}";
+				futures.add(executor.submit(() -> {
+					HttpRequest request = HttpRequest.newBuilder(uri)
+						.timeout(Duration.ofSeconds(30))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(body))
+						.build();
+					int status;
+					try {
+						status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+					} catch (IOException | InterruptedException e) {
+						status = -1;
+					}
+					latencies[index] = System.nanoTime() - scheduled;
+					counters.count(status);
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		return latencies;
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		int index = (int) Math.ceil(p * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1e6;
+	}
+
+	private static final class Counters {
+		private final AtomicInteger ok = new AtomicInteger();
+		private final AtomicInteger rejected = new AtomicInteger();
+		private final AtomicInteger failed = new AtomicInteger();
+
+		void count(int status) {
+			if (status == 200) {
+				ok.incrementAndGet();
+			} else if (status == 503) {
+				rejected.incrementAndGet();
+			} else {
+				failed.incrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package com.fatec.srp.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fatec.srp.SrpApplication;
+
+/**
+ * Compara requisições por segundo e latência p99 da API com threads de plataforma e com threads virtuais.
+ * 
+ * A aplicação é iniciada duas vezes, uma para cada modelo de threads, e recebe a mesma carga em cada execução.
+ * Como toda a carga parte de um único cliente, o limitador de taxa por cliente é desligado; respostas 429 que ainda
+ * apareçam são contadas à parte das falhas.
+ * Executada apenas pelo perfil Maven {@code load-test}:
+ * <pre>
+ * mvn -P load-test test -Dloadtest.requests=20000 -Dloadtest.concurrency=400 -Dloadtest.path=/api/turma
+ * </pre>
+ * Por padrão usa o banco H2 dos testes; para medir contra o SQL Server, informe {@code -Dspring.datasource.url},
+ * {@code -Dspring.datasource.username}, {@code -Dspring.datasource.password} e
+ * {@code -Dspring.datasource.driverClassName}. O resultado é impresso e gravado em
+ * {@code target/load-test/thread-model.csv}.
+ */
+@Tag("load-test")
+class ThreadModelLoadTests {
+
+	private static final int REQUESTS = Integer.getInteger("loadtest.requests", 20000);
+
+	private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 400);
+
+	private static final int WARMUP = Integer.getInteger("loadtest.warmup", 2000);
+
+	private static final String PATH = System.getProperty("loadtest.path", "/api/turma");
+
+	@Test
+	void compareThreadModels() throws Exception {
+		List<String> lines = new ArrayList<>();
+		lines.add("modo,requisicoes,concorrencia,sucesso,recusadas_503,recusadas_429,falhas,req_por_s,p50_ms,p99_ms");
+
+		for (boolean virtual : new boolean[] { false, true }) {
+			Result result = run(virtual);
+			lines.add(result.csv());
+			System.out.println(result);
+			assertTrue(result.ok > 0, "nenhuma requisição bem-sucedida no modo " + result.mode);
+		}
+
+		Path output = Path.of("target", "load-test", "thread-model.csv");
+		Files.createDirectories(output.getParent());
+		Files.write(output, lines);
+	}
+
+	private static Result run(boolean virtual) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SrpApplication.class)
+				.properties(
+					"server.port=0",
+					"spring.jmx.enabled=false",
+					"srp.rate-limit.enabled=false",
+					"spring.threads.virtual.enabled=" + virtual)
+				.run()) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			URI uri = URI.create("http://localhost:" + port + PATH);
+
+			HttpClient client = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(5))
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+
+			load(client, uri, WARMUP, null);
+
+			long[] latencies = new long[REQUESTS];
+			Counters counters = new Counters();
+			long start = System.nanoTime();
+			load(client, uri, REQUESTS, (i, nanos, status) -> {
+				latencies[i] = nanos;
+				counters.count(status);
+			});
+			long elapsed = System.nanoTime() - start;
+
+			Arrays.sort(latencies);
+			return new Result(virtual ? "virtual" : "plataforma", counters.ok.get(), counters.rejected.get(),
+				counters.limited.get(), counters.failed.get(), REQUESTS * 1e9 / elapsed, percentile(latencies, 0.50), percentile(latencies, 0.99));
+		}
+	}
+
+	private static void load(HttpClient client, URI uri, int requests, Sample sample) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+		Semaphore inFlight = new Semaphore(CONCURRENCY);
+		List<Future<?>> futures = new ArrayList<>(requests);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < requests; i++) {
+				int index = i;
+				inFlight.acquire();
+				futures.add(executor.submit(() -> {
+					long begin = System.nanoTime();
+					int status;
+					try {
+						status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+					} catch (IOException | InterruptedException e) {
+						status = -1;
+					} finally {
+						inFlight.release();
+					}
+					if (sample != null) {
+						sample.record(index, System.nanoTime() - begin, status);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		int index = (int) Math.ceil(p * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1e6;
+	}
+
+	private interface Sample {
+		void record(int index, long nanos, int status);
+	}
+
+	private static final class Counters {
+		private final AtomicInteger ok = new AtomicInteger();
+		private final AtomicInteger rejected = new AtomicInteger();
+		private final AtomicInteger limited = new AtomicInteger();
+		private final AtomicInteger failed = new AtomicInteger();
+
+		void count(int status) {
+			if (status == 200) {
+				ok.incrementAndGet();
+			} else if (status == 503) {
+				rejected.incrementAndGet();
+			} else if (status == 429) {
+				limited.incrementAndGet();
+			} else {
+				failed.incrementAndGet();
+			}
+		}
+	}
+
+	private record Result(String mode, int ok, int rejected, int limited, int failed, double throughput, double p50, double p99) {
+
+		String csv() {
+			return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%.1f,%.2f,%.2f",
+				mode, REQUESTS, CONCURRENCY, ok, rejected, limited, failed, throughput, p50, p99);
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "[%s] %.1f req/s, p50 %.2f ms, p99 %.2f ms (ok=%d, 503=%d, 429=%d, falhas=%d)",
+				mode, throughput, p50, p99, ok, rejected, limited, failed);
+		}
+	}
+}
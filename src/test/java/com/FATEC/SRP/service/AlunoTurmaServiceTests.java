@@ -0,0 +1,177 @@
+package com.fatec.srp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fatec.srp.common.BulkResult;
+import com.fatec.srp.common.ListaEsperaException;
+import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.models.AlunoTurmaModel;
+import com.fatec.srp.models.CursoModel;
+import com.fatec.srp.models.EmpresaModel;
+import com.fatec.srp.models.TurmaModel;
+import com.fatec.srp.models.UsuarioModel;
+import com.fatec.srp.repositories.AlunoRepository;
+import com.fatec.srp.repositories.AlunoTurmaRepository;
+import com.fatec.srp.repositories.CursosRepository;
+
+/**
+ * Verifica as matrículas do {@link AlunoTurmaService}: um item recusado não deixa reservas que afetem os itens
+ * seguintes do mesmo lote, e a vaga liberada em uma turma com lista de espera não é tomada por uma matrícula direta.
+ *
+ * A promoção em segundo plano fica parada; o teste a executa chamando {@link ListaEsperaService#promoverMarcadas()}.
+ */
+@SpringBootTest(properties = "srp.matricula.promotion-interval=1h")
+@DirtiesContext
+class AlunoTurmaServiceTests {
+
+	@Autowired
+	private AlunoTurmaService alunoTurmaService;
+
+	@Autowired
+	private ConflitoHorarioService conflitoHorarioService;
+
+	@Autowired
+	private ListaEsperaService listaEsperaService;
+
+	@Autowired
+	private VagasTurmaService vagasTurmaService;
+
+	@Autowired
+	private TurmaService turmaService;
+
+	@Autowired
+	private CursosRepository cursosRepository;
+
+	@Autowired
+	private AlunoRepository alunoRepository;
+
+	@Autowired
+	private AlunoTurmaRepository alunoTurmaRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static int proximoAluno;
+
+	@Test
+	void bulkItemRejectedForFullTurmaDoesNotBlockOverlappingTurma() {
+		Integer aluno = novoAluno();
+		Integer outroAluno = novoAluno();
+		Integer lotada = novaTurma(1, "2024-02-01", "2024-06-30");
+		Integer sobreposta = novaTurma(10, "2024-03-01", "2024-08-31");
+		alunoTurmaService.create(matricula(outroAluno, lotada));
+
+		List<BulkResult> resultados = alunoTurmaService.createBulk(List.of(
+			matricula(aluno, lotada),
+			matricula(aluno, sobreposta)));
+
+		assertTrue(resultados.get(0).isError());
+		assertEquals("Turma sem vagas", resultados.get(0).getInfo());
+		assertFalse(resultados.get(1).isError(), resultados.get(1).getInfo());
+		assertEquals(1, alunoTurmaRepository.countByTurmaId(lotada));
+		assertEquals(1, alunoTurmaRepository.countByTurmaId(sobreposta));
+
+		// O vínculo com a turma lotada não ficou no índice depois da confirmação.
+		assertEquals(List.of(sobreposta), conflitoHorarioService.conflitosAluno(aluno, lotada));
+		assertTrue(conflitoHorarioService.conflitos(aluno, null).isEmpty());
+	}
+
+	@Test
+	void directEnrollmentCannotTakeSeatFromWaitlist() {
+		Integer matriculado = novoAluno();
+		Integer aguardando = novoAluno();
+		Integer direto = novoAluno();
+		Integer turma = novaTurma(1, "2024-02-01", "2024-06-30");
+		AlunoTurmaModel vaga = alunoTurmaService.create(matricula(matriculado, turma));
+		listaEsperaService.entrar(aguardando, turma);
+
+		alunoTurmaService.delete(String.valueOf(vaga.getId()));
+		assertEquals(0, vagasTurmaService.situacao(turma).getOcupadas());
+
+		assertThrows(ListaEsperaException.class, () -> alunoTurmaService.create(matricula(direto, turma)));
+		List<BulkResult> resultados = alunoTurmaService.createBulk(List.of(matricula(direto, turma)));
+		assertTrue(resultados.get(0).isError());
+		assertEquals("Turma com lista de espera", resultados.get(0).getInfo());
+		assertEquals(0, alunoTurmaRepository.countByTurmaId(turma));
+		assertEquals(0, vagasTurmaService.situacao(turma).getOcupadas());
+		assertTrue(conflitoHorarioService.conflitos(direto, null).isEmpty());
+
+		// A vaga fica para o aluno que estava na fila.
+		listaEsperaService.promoverMarcadas();
+		assertEquals(0, listaEsperaService.tamanho(turma));
+		assertTrue(alunoTurmaRepository.existsByAlunoIdAndTurmaId(aguardando, turma));
+		assertEquals(1, alunoTurmaRepository.countByTurmaId(turma));
+		assertEquals(1, vagasTurmaService.situacao(turma).getOcupadas());
+	}
+
+	private Integer novaTurma(int capacidade, String inicio, String fim) {
+		return transactionTemplate.execute(status -> {
+			CursoModel curso = new CursoModel();
+			curso.setNomeCurso("Curso");
+			curso.setDescCurso("Descricao");
+			curso.setProgramacao("Programacao");
+
+			TurmaModel turma = new TurmaModel();
+			turma.setCurso(cursosRepository.save(curso));
+			turma.setDataInicio(Date.valueOf(inicio));
+			turma.setDataFim(Date.valueOf(fim));
+			turma.setPeriodo("Noite");
+			turma.setCapacidade(capacidade);
+			return turmaService.create(turma).getId();
+		});
+	}
+
+	private Integer novoAluno() {
+		int i = proximoAluno++;
+		return transactionTemplate.execute(status -> alunoRepository.save(aluno(i)).getId());
+	}
+
+	private static AlunoTurmaModel matricula(Integer alunoId, Integer turmaId) {
+		AlunoTurmaModel matricula = new AlunoTurmaModel();
+		matricula.setAluno(new AlunoModel());
+		matricula.getAluno().setId(alunoId);
+		matricula.setTurma(new TurmaModel());
+		matricula.getTurma().setId(turmaId);
+		return matricula;
+	}
+
+	private static AlunoModel aluno(int i) {
+		UsuarioModel usuario = new UsuarioModel();
+		usuario.setNomeUsuario("lote" + i);
+		usuario.setNomePessoa("lote" + i);
+		usuario.setSenha("senha");
+
+		EmpresaModel empresa = new EmpresaModel();
+		empresa.setRazaoSocial("Empresa " + i);
+		empresa.setNomeFantasia("Empresa " + i);
+		empresa.setCnpj(String.format("33.333.333/0001-%02d", i));
+		empresa.setEndereco("Rua " + i);
+		empresa.setBanco("Banco");
+		empresa.setAgencia("0001");
+
+		AlunoModel aluno = new AlunoModel();
+		aluno.setUsuario(usuario);
+		aluno.setEmpresa(empresa);
+		aluno.setEndereco("Rua " + i);
+		aluno.setCpf(String.format("333.333.333-%02d", i));
+		aluno.setRg(String.format("33.333.3-%02d", i));
+		aluno.setNivelEscolaridade("Superior");
+		aluno.setCep("00000-000");
+		aluno.setNomePai("Pai");
+		aluno.setNomeMae("Mae");
+		aluno.setDescricaoPcd("");
+		return aluno;
+	}
+}
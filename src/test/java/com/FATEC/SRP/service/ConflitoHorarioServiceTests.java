@@ -0,0 +1,149 @@
+package com.fatec.srp.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fatec.srp.common.ConflitoHorario;
+import com.fatec.srp.common.ConflitoHorarioException;
+
+/**
+ * Verifica os vínculos mantidos pelo {@link ConflitoHorarioService}: conflitos por período e datas, vínculos
+ * repetidos da mesma pessoa com a mesma turma e reservas desfeitas com a transação ou no meio dela.
+ *
+ * As turmas são registradas por {@link ConflitoHorarioService#turmaGravada} sem transação, o que as aplica de
+ * imediato e dispensa o banco.
+ */
+class ConflitoHorarioServiceTests {
+
+	private static final int ALUNO = 10;
+
+	private ConflitoHorarioService conflitos;
+
+	@BeforeEach
+	void setUp() {
+		conflitos = new ConflitoHorarioService();
+		conflitos.turmaGravada(1, "Noite", Date.valueOf("2024-02-01"), Date.valueOf("2024-06-30"));
+		conflitos.turmaGravada(2, "noite", Date.valueOf("2024-06-30"), Date.valueOf("2024-12-15"));
+		conflitos.turmaGravada(3, "Manhã", Date.valueOf("2024-02-01"), Date.valueOf("2024-06-30"));
+		conflitos.turmaGravada(4, "Noite", Date.valueOf("2024-07-01"), Date.valueOf("2024-12-15"));
+	}
+
+	@Test
+	void rejectsSamePeriodWithOverlappingDates() {
+		conflitos.reservarAluno(ALUNO, 1);
+
+		assertThrows(ConflitoHorarioException.class, () -> conflitos.reservarAluno(ALUNO, 2));
+		assertEquals(List.of(1), conflitos.conflitosAluno(ALUNO, 2));
+		assertDoesNotThrow(() -> conflitos.reservarAluno(ALUNO, 3));
+		assertDoesNotThrow(() -> conflitos.reservarAluno(ALUNO, 4));
+		assertDoesNotThrow(() -> conflitos.reservarAluno(ALUNO + 1, 2));
+	}
+
+	@Test
+	void duplicateLinkKeepsIntervalUntilLastRemoval() {
+		conflitos.reservarAluno(ALUNO, 1);
+		conflitos.reservarAluno(ALUNO, 1);
+
+		conflitos.liberarAluno(ALUNO, 1);
+		assertThrows(ConflitoHorarioException.class, () -> conflitos.reservarAluno(ALUNO, 2));
+
+		conflitos.liberarAluno(ALUNO, 1);
+		assertDoesNotThrow(() -> conflitos.reservarAluno(ALUNO, 2));
+	}
+
+	@Test
+	void rolledBackReservationIsUndone() {
+		TransactionSynchronizationManager.initSynchronization();
+		List<TransactionSynchronization> sincronizacoes;
+		try {
+			conflitos.reservarAluno(ALUNO, 1);
+			sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertThrows(ConflitoHorarioException.class, () -> conflitos.reservarAluno(ALUNO, 2));
+		sincronizacoes.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		assertDoesNotThrow(() -> conflitos.reservarAluno(ALUNO, 2));
+	}
+
+	@Test
+	void rolledBackDuplicateKeepsCommittedLink() {
+		conflitos.reservarAluno(ALUNO, 1);
+
+		TransactionSynchronizationManager.initSynchronization();
+		List<TransactionSynchronization> sincronizacoes;
+		try {
+			conflitos.reservarAluno(ALUNO, 1);
+			sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		sincronizacoes.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		assertThrows(ConflitoHorarioException.class, () -> conflitos.reservarAluno(ALUNO, 2));
+	}
+
+	@Test
+	void undoneReservationIsGoneForLaterItemsAndNotRemovedAgainOnRollback() {
+		conflitos.reservarAluno(ALUNO, 2);
+
+		TransactionSynchronizationManager.initSynchronization();
+		List<TransactionSynchronization> sincronizacoes;
+		try {
+			// Vínculo repetido com a turma 2, desfeito no meio da transação: o vínculo confirmado continua.
+			conflitos.reservarAluno(ALUNO, 2);
+			conflitos.desfazerReservaAluno(ALUNO, 2);
+			assertThrows(ConflitoHorarioException.class, () -> conflitos.reservarAluno(ALUNO, 4));
+
+			conflitos.reservarAluno(ALUNO + 1, 1);
+			conflitos.desfazerReservaAluno(ALUNO + 1, 1);
+			assertDoesNotThrow(() -> conflitos.reservarAluno(ALUNO + 1, 2));
+			sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		sincronizacoes.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		assertThrows(ConflitoHorarioException.class, () -> conflitos.reservarAluno(ALUNO, 1));
+		assertDoesNotThrow(() -> conflitos.reservarAluno(ALUNO + 1, 1));
+	}
+
+	@Test
+	void undoWithoutTransactionRemovesLinkAtOnce() {
+		conflitos.reservarAluno(ALUNO, 1);
+		conflitos.desfazerReservaAluno(ALUNO, 1);
+
+		assertDoesNotThrow(() -> conflitos.reservarAluno(ALUNO, 2));
+	}
+
+	@Test
+	void reportFiltersByAlunoFuncionarioOrBoth() {
+		int funcionario = 20;
+		conflitos.reservarAluno(ALUNO, 1);
+		conflitos.reservarFuncionario(funcionario, 1);
+		// Vínculos gravados antes da verificação: a turma 4 passa a sobrepor a turma 1.
+		conflitos.reservarAluno(ALUNO, 4);
+		conflitos.reservarFuncionario(funcionario, 4);
+		conflitos.turmaGravada(4, "Noite", Date.valueOf("2024-06-01"), Date.valueOf("2024-12-15"));
+
+		assertEquals(List.of("aluno"), tipos(conflitos.conflitos(ALUNO, null)));
+		assertEquals(List.of("funcionario"), tipos(conflitos.conflitos(null, funcionario)));
+		assertEquals(List.of("aluno", "funcionario"), tipos(conflitos.conflitos(ALUNO, funcionario)));
+		assertEquals(List.of("aluno", "funcionario"), tipos(conflitos.conflitos(null, null)));
+		assertEquals(List.of("funcionario"), tipos(conflitos.conflitos(ALUNO + 1, funcionario)));
+	}
+
+	private static List<String> tipos(List<ConflitoHorario> relatorio) {
+		return relatorio.stream().map(ConflitoHorario::getTipo).toList();
+	}
+}
@@ -0,0 +1,203 @@
+package com.fatec.srp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.fatec.srp.common.AppConstants;
+import com.fatec.srp.common.ProgressoImportacao;
+import com.fatec.srp.models.ImportacaoModel;
+import com.fatec.srp.repositories.UsuarioRepository;
+
+/**
+ * Verifica a importação de alunos do {@link ImportacaoAlunoService}: a retomada de uma importação interrompida no
+ * meio do arquivo, a recusa isolada de um registro rejeitado pelo banco e a leitura dos formatos CSV e NDJSON.
+ *
+ * As senhas são codificadas com o custo mínimo do BCrypt para que os arquivos com alguns blocos sejam rápidos.
+ */
+@SpringBootTest(properties = "srp.password.bcrypt-strength=4")
+@DirtiesContext
+class ImportacaoAlunoServiceTests {
+
+	private static final String CABECALHO = "nomeUsuario,nomePessoa,senha,cpf,rg,endereco,cep,nivelEscolaridade,nomePai,nomeMae\n";
+
+	@Autowired
+	private ImportacaoAlunoService importacaoAlunoService;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Test
+	void interruptedImportResumesWithoutDuplicatesOrGaps() {
+		int total = AppConstants.IMPORT_CHUNK_SIZE * 2 + AppConstants.IMPORT_CHUNK_SIZE / 2;
+		StringBuilder csv = new StringBuilder(CABECALHO);
+		for (int i = 1; i <= total; i++) {
+			csv.append(linhaCsv("retoma" + i, i));
+		}
+
+		// Interrompe a leitura no meio do segundo bloco: o primeiro já foi confirmado, o segundo ainda não.
+		int corte = csv.indexOf("retoma" + (AppConstants.IMPORT_CHUNK_SIZE * 3 / 2) + ",");
+		ProgressoImportacao interrompida = importacaoAlunoService.importar("retomada",
+				new InterrompidoReader(csv.toString(), corte), true);
+
+		assertEquals(ImportacaoModel.Situacao.FALHA, interrompida.getSituacao());
+		assertEquals(AppConstants.IMPORT_CHUNK_SIZE, interrompida.getRegistrosProcessados());
+		assertEquals(AppConstants.IMPORT_CHUNK_SIZE, interrompida.getImportados());
+		assertEquals(AppConstants.IMPORT_CHUNK_SIZE, cadastrados("retoma", total).size());
+
+		ProgressoImportacao retomada = importacaoAlunoService.importar("retomada", new StringReader(csv.toString()), true);
+
+		assertEquals(ImportacaoModel.Situacao.CONCLUIDA, retomada.getSituacao());
+		assertEquals(total, retomada.getRegistrosProcessados());
+		assertEquals(total, retomada.getImportados());
+		assertEquals(0, retomada.getFalhas());
+		assertEquals(total, cadastrados("retoma", total).size());
+
+		// Reenviar uma importação concluída não grava nada de novo.
+		ProgressoImportacao repetida = importacaoAlunoService.importar("retomada", new StringReader(csv.toString()), true);
+		assertEquals(ImportacaoModel.Situacao.CONCLUIDA, repetida.getSituacao());
+		assertEquals(total, repetida.getImportados());
+		assertEquals(total, cadastrados("retoma", total).size());
+	}
+
+	@Test
+	void oversizedFieldRejectsOnlyItsRecord() {
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 1; i <= 20; i++) {
+			String rg = i == 7 ? "9".repeat(40) : rg(i);
+			ndjson.append("{\"nomeUsuario\":\"grande").append(i).append("\",\"nomePessoa\":\"Aluno ").append(i)
+					.append("\",\"senha\":\"senha\",\"cpf\":\"").append(cpf(i)).append("\",\"rg\":\"").append(rg)
+					.append("\",\"endereco\":\"Rua\",\"cep\":\"00000-000\",\"nivelEscolaridade\":\"Superior\"")
+					.append(",\"nomePai\":\"Pai\",\"nomeMae\":\"Mae\"}\n");
+		}
+
+		ProgressoImportacao progresso = importacaoAlunoService.importar(null, new StringReader(ndjson.toString()), false);
+
+		assertEquals(ImportacaoModel.Situacao.CONCLUIDA, progresso.getSituacao());
+		assertEquals(20, progresso.getRegistrosProcessados());
+		assertEquals(19, progresso.getImportados());
+		assertEquals(1, progresso.getFalhas());
+		assertEquals(List.of(7L), registrosRecusados(progresso));
+		assertTrue(progresso.getErros().get(0).getMensagem().startsWith("Registro recusado pelo banco"));
+
+		List<String> nomes = cadastrados("grande", 20);
+		assertEquals(19, nomes.size());
+		assertFalse(nomes.contains("grande7"));
+	}
+
+	@Test
+	void csvReaderHandlesQuotesUnknownColumnsAndMissingFields() {
+		String csv = "nomeUsuario,nomePessoa,senha,cpf,rg,endereco,cep,nivelEscolaridade,nomePai,nomeMae,observacao\n"
+				+ "csv1,\"Silva, Ana\",senha," + cpf(1) + "," + rg(1) + ",\"Rua A, 10\",00000-000,Superior,Pai,Mae,ignorada\n"
+				+ "csv2,Bruno,senha," + cpf(2) + "," + rg(2) + ",Rua B,00000-000,Superior,,Mae,\n"
+				+ "csv3,Carla,senha," + cpf(3) + "," + rg(3) + ",Rua C,00000-000,Médio,Pai,Mae,\n";
+
+		ProgressoImportacao progresso = importacaoAlunoService.importar("csv", new StringReader(csv), true);
+
+		assertEquals(ImportacaoModel.Situacao.CONCLUIDA, progresso.getSituacao());
+		assertEquals(3, progresso.getRegistrosLidos());
+		assertEquals(2, progresso.getImportados());
+		assertEquals(List.of(2L), registrosRecusados(progresso));
+		assertEquals("Campo obrigatório não informado: nomePai", progresso.getErros().get(0).getMensagem());
+		assertEquals(List.of("csv1", "csv3"), cadastrados("csv", 3));
+	}
+
+	@Test
+	void ndjsonReaderSkipsBlankLinesAndRejectsInvalidJson() {
+		String ndjson = "\n"
+				+ linhaNdjson("nd1", 1) + "\n"
+				+ "   \n"
+				+ "{\"nomeUsuario\": \"nd2\", \n"
+				+ linhaNdjson("nd3", 3) + "\n"
+				+ linhaNdjson("nd1", 4) + "\n"
+				+ "{\"nomeUsuario\":\"nd5\",\"dtNascimento\":\"ontem\"}\n";
+
+		ProgressoImportacao progresso = importacaoAlunoService.importar("ndjson", new StringReader(ndjson), false);
+
+		assertEquals(ImportacaoModel.Situacao.CONCLUIDA, progresso.getSituacao());
+		assertEquals(5, progresso.getRegistrosLidos());
+		assertEquals(2, progresso.getImportados());
+		assertEquals(List.of(2L, 4L, 5L), registrosRecusados(progresso));
+		assertTrue(progresso.getErros().get(0).getMensagem().startsWith("JSON inválido"));
+		assertEquals("Nome de usuário repetido no arquivo: nd1", progresso.getErros().get(1).getMensagem());
+		assertTrue(progresso.getErros().get(2).getMensagem().startsWith("Valor inválido"));
+		assertEquals(List.of("nd1", "nd3"), cadastrados("nd", 5));
+	}
+
+	private List<String> cadastrados(String prefixo, int total) {
+		Set<String> nomes = new HashSet<>();
+		for (int i = 1; i <= total; i++) {
+			nomes.add(prefixo + i);
+		}
+		List<String> encontrados = new ArrayList<>(usuarioRepository.findNomesUsuarioCadastrados(nomes));
+		encontrados.sort(null);
+		return encontrados;
+	}
+
+	private static List<Long> registrosRecusados(ProgressoImportacao progresso) {
+		return progresso.getErros().stream().map(ProgressoImportacao.Erro::getRegistro).toList();
+	}
+
+	private static String linhaCsv(String nomeUsuario, int i) {
+		return nomeUsuario + ",Aluno " + i + ",senha," + cpf(i) + "," + rg(i) + ",Rua " + i
+				+ ",00000-000,Superior,Pai,Mae\n";
+	}
+
+	private static String linhaNdjson(String nomeUsuario, int i) {
+		return "{\"nomeUsuario\":\"" + nomeUsuario + "\",\"nomePessoa\":\"Aluno " + i + "\",\"senha\":\"senha\",\"cpf\":\""
+				+ cpf(i) + "\",\"rg\":\"" + rg(i) + "\",\"endereco\":\"Rua\",\"cep\":\"00000-000\","
+				+ "\"nivelEscolaridade\":\"Superior\",\"nomePai\":\"Pai\",\"nomeMae\":\"Mae\",\"dtNascimento\":\"2000-01-31\"}";
+	}
+
+	private static String cpf(int i) {
+		return String.format("222.%03d.%03d-00", i / 1000, i % 1000);
+	}
+
+	private static String rg(int i) {
+		return String.format("22.%06d", i);
+	}
+
+	/**
+	 * Leitor que entrega o conteúdo até a posição de corte e então falha, como uma conexão encerrada no meio do envio.
+	 */
+	private static final class InterrompidoReader extends FilterReader {
+
+		private int restantes;
+
+		InterrompidoReader(String conteudo, int corte) {
+			super(new StringReader(conteudo));
+			this.restantes = corte;
+		}
+
+		@Override
+		public int read() throws IOException {
+			char[] um = new char[1];
+			return read(um, 0, 1) < 0 ? -1 : um[0];
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			if (restantes <= 0) {
+				throw new IOException("Conexão encerrada");
+			}
+			int lidos = super.read(cbuf, off, Math.min(len, restantes));
+			if (lidos > 0) {
+				restantes -= lidos;
+			}
+			return lidos;
+		}
+	}
+}
@@ -0,0 +1,327 @@
+package com.fatec.srp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fatec.srp.common.PosicaoListaEspera;
+import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.models.AlunoTurmaModel;
+import com.fatec.srp.models.CursoModel;
+import com.fatec.srp.models.EmpresaModel;
+import com.fatec.srp.models.TurmaModel;
+import com.fatec.srp.models.UsuarioModel;
+import com.fatec.srp.repositories.AlunoRepository;
+import com.fatec.srp.repositories.AlunoTurmaRepository;
+import com.fatec.srp.repositories.CursosRepository;
+import com.fatec.srp.repositories.ListaEsperaRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica a lista de espera do {@link ListaEsperaService}: a ordem de chegada sob cancelamentos simultâneos, a
+ * promoção em blocos, a reversão da promoção quando um aluno sai da fila no meio dela, a contagem de vagas ocupadas
+ * e a quantidade fixa de consultas para o tamanho da fila e a posição de um aluno.
+ *
+ * A promoção em segundo plano fica parada; os testes a executam chamando {@link ListaEsperaService#promoverMarcadas()}
+ * e o bloco de promoção tem dois alunos, para que filas curtas já ocupem mais de um bloco.
+ */
+@SpringBootTest(properties = {
+	"srp.matricula.promotion-interval=1h",
+	"srp.matricula.reconcile-interval=1h",
+	"srp.matricula.promotion-batch-size=2"
+})
+@DirtiesContext
+class ListaEsperaServiceTests {
+
+	@Autowired
+	private ListaEsperaService listaEsperaService;
+
+	@Autowired
+	private AlunoTurmaService alunoTurmaService;
+
+	@Autowired
+	private VagasTurmaService vagasTurmaService;
+
+	@Autowired
+	private ConflitoHorarioService conflitoHorarioService;
+
+	@Autowired
+	private TurmaService turmaService;
+
+	@Autowired
+	private CursosRepository cursosRepository;
+
+	@Autowired
+	private AlunoRepository alunoRepository;
+
+	@Autowired
+	private AlunoTurmaRepository alunoTurmaRepository;
+
+	@Autowired
+	private ListaEsperaRepository listaEsperaRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static int proximoAluno;
+
+	@Test
+	void promotesInArrivalOrderUnderConcurrentCancellations() throws InterruptedException {
+		Integer turma = novaTurma(3);
+		List<Integer> matriculas = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			matriculas.add(matricular(novoAluno(), turma));
+		}
+		List<Integer> fila = entrarNaFila(turma, 6);
+
+		// Os cancelamentos acontecem ao mesmo tempo, inclusive enquanto a promoção é executada.
+		ConcurrentLinkedQueue<Throwable> erros = new ConcurrentLinkedQueue<>();
+		CountDownLatch inicio = new CountDownLatch(1);
+		List<Thread> cancelamentos = new ArrayList<>();
+		for (Integer matricula : matriculas) {
+			cancelamentos.add(Thread.ofPlatform().start(() -> {
+				awaitQuietly(inicio);
+				try {
+					alunoTurmaService.delete(String.valueOf(matricula));
+				} catch (Throwable e) {
+					erros.add(e);
+				}
+			}));
+		}
+		inicio.countDown();
+		while (cancelamentos.stream().anyMatch(Thread::isAlive)) {
+			listaEsperaService.promoverMarcadas();
+			assertTrue(alunoTurmaRepository.countByTurmaId(turma) <= 3);
+		}
+		for (Thread cancelamento : cancelamentos) {
+			cancelamento.join();
+		}
+		for (int i = 0; i < 3; i++) {
+			listaEsperaService.promoverMarcadas();
+		}
+
+		assertTrue(erros.isEmpty(), () -> erros.peek().toString());
+		for (int i = 0; i < fila.size(); i++) {
+			assertEquals(i < 3, alunoTurmaRepository.existsByAlunoIdAndTurmaId(fila.get(i), turma), "aluno " + i + " da fila");
+		}
+		assertEquals(3, listaEsperaService.tamanho(turma));
+		for (int i = 3; i < fila.size(); i++) {
+			assertEquals(i - 2, listaEsperaService.posicao(turma, fila.get(i)).getPosicao());
+		}
+		assertNull(listaEsperaService.posicao(turma, fila.get(0)));
+		assertEquals(3, assertOcupadas(turma));
+	}
+
+	@Test
+	void promotesOneBatchPerTransactionAndRemarksTurma() {
+		Integer turma = novaTurma(3);
+		List<Integer> matriculas = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			matriculas.add(matricular(novoAluno(), turma));
+		}
+		List<Integer> fila = entrarNaFila(turma, 4);
+		for (Integer matricula : matriculas) {
+			alunoTurmaService.delete(String.valueOf(matricula));
+		}
+		assertEquals(0, assertOcupadas(turma));
+
+		// O primeiro bloco preenche duas vagas e deixa a turma marcada para a próxima execução.
+		listaEsperaService.promoverMarcadas();
+		assertEquals(2, assertOcupadas(turma));
+		assertEquals(2, listaEsperaService.tamanho(turma));
+
+		// O segundo ocupa a última vaga e para no aluno seguinte, que continua no início da fila.
+		listaEsperaService.promoverMarcadas();
+		assertEquals(3, assertOcupadas(turma));
+		assertEquals(1, listaEsperaService.tamanho(turma));
+		assertEquals(1, listaEsperaService.posicao(turma, fila.get(3)).getPosicao());
+
+		// Sem vagas, a turma não foi marcada de novo.
+		listaEsperaService.promoverMarcadas();
+		assertEquals(3, assertOcupadas(turma));
+		assertEquals(1, listaEsperaService.tamanho(turma));
+	}
+
+	@Test
+	void studentLeavingDuringPromotionRollsBackWholeBatch() throws InterruptedException {
+		Integer turma = novaTurma(2);
+		Integer sobreposta = novaTurma(2);
+		Integer primeira = matricular(novoAluno(), turma);
+		Integer segunda = matricular(novoAluno(), turma);
+		List<Integer> fila = entrarNaFila(turma, 3);
+		// Esvazia as marcações das turmas lotadas dos outros testes, para que a promoção trate apenas desta turma.
+		listaEsperaService.promoverMarcadas();
+		alunoTurmaService.delete(String.valueOf(primeira));
+		alunoTurmaService.delete(String.valueOf(segunda));
+		Integer saida = listaEsperaRepository.findProximos(turma, Limit.of(3)).get(1).getId();
+
+		// A promoção lê o início da fila e para na consulta de conflitos, que exige o monitor do serviço de horários;
+		// enquanto isso o segundo aluno sai da fila em outra transação.
+		Thread promocao;
+		synchronized (conflitoHorarioService) {
+			promocao = Thread.ofPlatform().start(listaEsperaService::promoverMarcadas);
+			while (!aguardaMonitor(promocao)) {
+				Thread.onSpinWait();
+			}
+			Thread sair = Thread.ofPlatform().start(() -> listaEsperaService.sair(saida));
+			sair.join();
+		}
+		promocao.join();
+
+		// A exclusão do registro que já tinha saído falhou e desfez o bloco: nenhuma matrícula, vaga ou vínculo ficou.
+		assertEquals(0, alunoTurmaRepository.countByTurmaId(turma));
+		assertEquals(0, assertOcupadas(turma));
+		assertTrue(conflitoHorarioService.conflitosAluno(fila.get(0), sobreposta).isEmpty());
+		assertEquals(2, listaEsperaService.tamanho(turma));
+		assertEquals(1, listaEsperaService.posicao(turma, fila.get(0)).getPosicao());
+
+		// A turma continuou marcada e a próxima execução promove os alunos que permaneceram na fila.
+		listaEsperaService.promoverMarcadas();
+		assertTrue(alunoTurmaRepository.existsByAlunoIdAndTurmaId(fila.get(0), turma));
+		assertEquals(List.of(turma), conflitoHorarioService.conflitosAluno(fila.get(0), sobreposta));
+		assertFalse(alunoTurmaRepository.existsByAlunoIdAndTurmaId(fila.get(1), turma));
+		assertTrue(alunoTurmaRepository.existsByAlunoIdAndTurmaId(fila.get(2), turma));
+		assertEquals(0, listaEsperaService.tamanho(turma));
+		assertEquals(2, assertOcupadas(turma));
+	}
+
+	@Test
+	void depthAndPositionUseFixedQueryCount() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		for (int tamanho : new int[] { 2, 20 }) {
+			Integer turma = novaTurma(1);
+			matricular(novoAluno(), turma);
+			List<Integer> fila = entrarNaFila(turma, tamanho);
+
+			statistics.clear();
+			assertEquals(tamanho, listaEsperaService.tamanho(turma));
+			assertEquals(1, statistics.getPrepareStatementCount(), "tamanho de uma fila com " + tamanho);
+
+			statistics.clear();
+			PosicaoListaEspera posicao = listaEsperaService.posicao(turma, fila.get(tamanho - 1));
+			assertEquals(2, statistics.getPrepareStatementCount(), "posição em uma fila com " + tamanho);
+			assertEquals(tamanho, posicao.getPosicao());
+			assertEquals(tamanho, posicao.getTamanho());
+		}
+	}
+
+	/**
+	 * Confere que o contador de vagas ocupadas é igual à contagem de matrículas no banco e não passa da capacidade.
+	 *
+	 * @return Quantidade de vagas ocupadas.
+	 */
+	private long assertOcupadas(Integer turmaId) {
+		long contagem = alunoTurmaRepository.countByTurmaId(turmaId);
+		assertEquals(contagem, vagasTurmaService.situacao(turmaId).getOcupadas());
+		assertTrue(contagem <= vagasTurmaService.situacao(turmaId).getCapacidade());
+		return contagem;
+	}
+
+	/**
+	 * Indica se a thread está bloqueada esperando um monitor mantido pela thread atual.
+	 */
+	private static boolean aguardaMonitor(Thread thread) {
+		ThreadInfo info = ManagementFactory.getThreadMXBean().getThreadInfo(thread.threadId());
+		return info != null && info.getThreadState() == Thread.State.BLOCKED
+				&& info.getLockOwnerId() == Thread.currentThread().threadId();
+	}
+
+	private List<Integer> entrarNaFila(Integer turmaId, int quantidade) {
+		List<Integer> alunos = new ArrayList<>();
+		for (int i = 0; i < quantidade; i++) {
+			Integer aluno = novoAluno();
+			assertEquals(i + 1, listaEsperaService.entrar(aluno, turmaId).getPosicao());
+			alunos.add(aluno);
+		}
+		return alunos;
+	}
+
+	private Integer novaTurma(int capacidade) {
+		return transactionTemplate.execute(status -> {
+			CursoModel curso = new CursoModel();
+			curso.setNomeCurso("Curso");
+			curso.setDescCurso("Descricao");
+			curso.setProgramacao("Programacao");
+
+			TurmaModel turma = new TurmaModel();
+			turma.setCurso(cursosRepository.save(curso));
+			turma.setDataInicio(Date.valueOf("2024-02-01"));
+			turma.setDataFim(Date.valueOf("2024-06-30"));
+			turma.setPeriodo("Noite");
+			turma.setCapacidade(capacidade);
+			return turmaService.create(turma).getId();
+		});
+	}
+
+	private Integer novoAluno() {
+		int i = proximoAluno++;
+		return transactionTemplate.execute(status -> alunoRepository.save(aluno(i)).getId());
+	}
+
+	private Integer matricular(Integer alunoId, Integer turmaId) {
+		AlunoTurmaModel matricula = new AlunoTurmaModel();
+		matricula.setAluno(new AlunoModel());
+		matricula.getAluno().setId(alunoId);
+		matricula.setTurma(new TurmaModel());
+		matricula.getTurma().setId(turmaId);
+		return alunoTurmaService.create(matricula).getId();
+	}
+
+	private static AlunoModel aluno(int i) {
+		UsuarioModel usuario = new UsuarioModel();
+		usuario.setNomeUsuario("espera" + i);
+		usuario.setNomePessoa("espera" + i);
+		usuario.setSenha("senha");
+
+		EmpresaModel empresa = new EmpresaModel();
+		empresa.setRazaoSocial("Empresa " + i);
+		empresa.setNomeFantasia("Empresa " + i);
+		empresa.setCnpj(String.format("44.444.444/0001-%02d", i));
+		empresa.setEndereco("Rua " + i);
+		empresa.setBanco("Banco");
+		empresa.setAgencia("0001");
+
+		AlunoModel aluno = new AlunoModel();
+		aluno.setUsuario(usuario);
+		aluno.setEmpresa(empresa);
+		aluno.setEndereco("Rua " + i);
+		aluno.setCpf(String.format("444.444.444-%02d", i));
+		aluno.setRg(String.format("44.444.4-%02d", i));
+		aluno.setNivelEscolaridade("Superior");
+		aluno.setCep("00000-000");
+		aluno.setNomePai("Pai");
+		aluno.setNomeMae("Mae");
+		aluno.setDescricaoPcd("");
+		return aluno;
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,228 @@
+package com.fatec.srp.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fatec.srp.common.CadeiaPreRequisitos;
+import com.fatec.srp.common.CicloPreRequisitoException;
+
+/**
+ * Verifica o fecho transitivo e a ordem topológica do {@link PreRequisitoGrafoService}, e a rejeição de ciclos,
+ * inclusive quando duas transações abertas gravam arestas opostas ao mesmo tempo.
+ *
+ * Os pré-requisitos usados têm o ID do curso equivalente multiplicado por dez: o pré-requisito {@code 10} exige o
+ * curso {@code 1}, o {@code 20} exige o curso {@code 2}, e assim por diante.
+ */
+class PreRequisitoGrafoServiceTests {
+
+	private PreRequisitoGrafoService grafo;
+
+	private int proximaAssociacao = 1;
+
+	@BeforeEach
+	void setUp() {
+		grafo = new PreRequisitoGrafoService();
+		for (int curso = 1; curso <= 6; curso++) {
+			grafo.preRequisitoGravado(curso * 10, curso);
+		}
+	}
+
+	@Test
+	void cadeiaListsTransitivePrerequisitesInTopologicalOrder() {
+		// 4 exige 3 e 2; 3 exige 2; 2 exige 1.
+		associar(2, 1);
+		associar(3, 2);
+		associar(4, 3);
+		associar(4, 2);
+
+		CadeiaPreRequisitos cadeia = grafo.cadeia(4);
+
+		assertEquals(List.of(1, 2, 3), cadeia.getCursos());
+		assertEquals(List.of(10, 20, 30), cadeia.getPreRequisitos().stream().sorted().toList());
+		assertEquals(List.of(), grafo.cadeia(1).getCursos());
+		assertEquals(List.of(), grafo.cadeia(99).getCursos());
+	}
+
+	@Test
+	void cadeiaFollowsEquivalentChangesAndRemovals() {
+		int associacao = associar(2, 1);
+		associar(3, 2);
+		assertEquals(List.of(1, 2), grafo.cadeia(3).getCursos());
+
+		grafo.preRequisitoGravado(10, 5);
+		assertEquals(List.of(5, 2), grafo.cadeia(3).getCursos());
+
+		grafo.associacaoExcluida(associacao);
+		assertEquals(List.of(2), grafo.cadeia(3).getCursos());
+	}
+
+	@Test
+	void rejectsSelfLoopsAndIndirectCycles() {
+		associar(2, 1);
+		associar(3, 2);
+
+		assertThrows(CicloPreRequisitoException.class, () -> grafo.validarAssociacao(1, 10));
+		assertThrows(CicloPreRequisitoException.class, () -> grafo.validarAssociacao(1, 30));
+		assertThrows(CicloPreRequisitoException.class, () -> grafo.validarAssociacao(2, 30));
+		assertDoesNotThrow(() -> grafo.validarAssociacao(1, 40));
+		assertDoesNotThrow(() -> grafo.validarAssociacao(4, 30));
+	}
+
+	@Test
+	void rejectsEquivalentThatWouldCloseACycle() {
+		associar(2, 1);
+		associar(3, 2);
+
+		// O curso 1 passa a exigir o pré-requisito 40; tornar o curso 3 o equivalente dele fecha 1 → 3 → 2 → 1.
+		associar(1, 4);
+		assertThrows(CicloPreRequisitoException.class, () -> grafo.validarEquivalente(40, 3));
+		assertDoesNotThrow(() -> grafo.validarEquivalente(40, 5));
+		assertDoesNotThrow(() -> grafo.validarEquivalente(40, null));
+	}
+
+	@Test
+	void pendingEdgeBlocksOppositeEdgeUntilRolledBack() {
+		List<TransactionSynchronization> primeira = emTransacao(() -> grafo.validarAssociacao(2, 10));
+
+		emTransacaoDesfeita(() -> assertThrows(CicloPreRequisitoException.class,
+				() -> grafo.validarAssociacao(1, 20)));
+		// Caminho indireto pela aresta reservada: 3 → 2 (confirmada a seguir) e 1 → 3 fecharia 1 → 3 → 2 → 1.
+		associar(3, 2);
+		emTransacaoDesfeita(() -> assertThrows(CicloPreRequisitoException.class,
+				() -> grafo.validarAssociacao(1, 30)));
+
+		concluir(primeira, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		emTransacaoDesfeita(() -> assertDoesNotThrow(() -> grafo.validarAssociacao(1, 20)));
+	}
+
+	@Test
+	void pendingEquivalentBlocksCycleThroughOtherTransaction() {
+		associar(2, 5);
+
+		// Uma transação troca o equivalente de 50 para o curso 1 (2 → 1); a outra associa 1 a 20 (1 → 2).
+		List<TransactionSynchronization> primeira = emTransacao(() -> grafo.validarEquivalente(50, 1));
+
+		emTransacaoDesfeita(() -> assertThrows(CicloPreRequisitoException.class,
+				() -> grafo.validarAssociacao(1, 20)));
+
+		concluir(primeira, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		emTransacaoDesfeita(() -> assertDoesNotThrow(() -> grafo.validarAssociacao(1, 20)));
+	}
+
+	@Test
+	void committedEdgeStaysVisibleAfterReservationIsReleased() {
+		List<TransactionSynchronization> primeira = emTransacao(() -> {
+			grafo.validarAssociacao(2, 10);
+			grafo.associacaoGravada(proximaAssociacao++, 2, 10);
+		});
+
+		concluir(primeira, TransactionSynchronization.STATUS_COMMITTED);
+
+		assertEquals(List.of(1), grafo.cadeia(2).getCursos());
+		assertThrows(CicloPreRequisitoException.class, () -> grafo.validarAssociacao(1, 20));
+	}
+
+	@Test
+	void concurrentOppositeEdgesAreNotBothAccepted() throws Exception {
+		for (int rodada = 0; rodada < 200; rodada++) {
+			grafo = new PreRequisitoGrafoService();
+			grafo.preRequisitoGravado(10, 1);
+			grafo.preRequisitoGravado(20, 2);
+
+			CyclicBarrier inicio = new CyclicBarrier(2);
+			CountDownLatch validadas = new CountDownLatch(2);
+			AtomicInteger aceitas = new AtomicInteger();
+			AtomicInteger rejeitadas = new AtomicInteger();
+
+			Thread a = Thread.ofPlatform().start(() -> gravarConcorrente(2, 10, inicio, validadas, aceitas, rejeitadas));
+			Thread b = Thread.ofPlatform().start(() -> gravarConcorrente(1, 20, inicio, validadas, aceitas, rejeitadas));
+			a.join();
+			b.join();
+
+			assertEquals(1, aceitas.get(), "rodada " + rodada);
+			assertEquals(1, rejeitadas.get(), "rodada " + rodada);
+			assertTrue(grafo.cadeia(1).getCursos().isEmpty() || grafo.cadeia(2).getCursos().isEmpty());
+		}
+	}
+
+	/**
+	 * Valida e grava a associação em uma transação simulada, que só é confirmada depois que as duas threads validaram.
+	 */
+	private void gravarConcorrente(int cursoId, int preRequisitoId, CyclicBarrier inicio, CountDownLatch validadas,
+			AtomicInteger aceitas, AtomicInteger rejeitadas) {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			inicio.await(5, TimeUnit.SECONDS);
+			boolean aceita;
+			try {
+				grafo.validarAssociacao(cursoId, preRequisitoId);
+				grafo.associacaoGravada(cursoId * 100 + preRequisitoId, cursoId, preRequisitoId);
+				aceita = true;
+			} catch (CicloPreRequisitoException e) {
+				aceita = false;
+			}
+			validadas.countDown();
+			validadas.await(5, TimeUnit.SECONDS);
+
+			List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+			if (aceita) {
+				aceitas.incrementAndGet();
+				concluir(sincronizacoes, TransactionSynchronization.STATUS_COMMITTED);
+			} else {
+				rejeitadas.incrementAndGet();
+				concluir(sincronizacoes, TransactionSynchronization.STATUS_ROLLED_BACK);
+			}
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private int associar(int cursoId, int preRequisitoCurso) {
+		int id = proximaAssociacao++;
+		grafo.validarAssociacao(cursoId, preRequisitoCurso * 10);
+		grafo.associacaoGravada(id, cursoId, preRequisitoCurso * 10);
+		return id;
+	}
+
+	/**
+	 * Executa a ação em uma transação simulada que fica aberta; as sincronizações são devolvidas para que o teste
+	 * conclua a transação depois.
+	 */
+	private static List<TransactionSynchronization> emTransacao(Runnable acao) {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			acao.run();
+			return TransactionSynchronizationManager.getSynchronizations();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private static void emTransacaoDesfeita(Runnable acao) {
+		concluir(emTransacao(acao), TransactionSynchronization.STATUS_ROLLED_BACK);
+	}
+
+	private static void concluir(List<TransactionSynchronization> sincronizacoes, int status) {
+		if (status == TransactionSynchronization.STATUS_COMMITTED) {
+			sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+		}
+		sincronizacoes.forEach(s -> s.afterCompletion(status));
+	}
+}
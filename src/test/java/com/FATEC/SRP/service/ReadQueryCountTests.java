@@ -0,0 +1,203 @@
+package com.fatec.srp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.fatec.srp.common.PainelAluno;
+import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.models.AlunoTurmaModel;
+import com.fatec.srp.models.CargoModel;
+import com.fatec.srp.models.CursoModel;
+import com.fatec.srp.models.EmpresaModel;
+import com.fatec.srp.models.FuncionarioModel;
+import com.fatec.srp.models.FuncionarioTurmaModel;
+import com.fatec.srp.models.TurmaModel;
+import com.fatec.srp.models.UsuarioModel;
+import com.fatec.srp.repositories.AlunoTurmaRepository;
+import com.fatec.srp.repositories.FuncionarioTurmaRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica que as listagens com associações carregam tudo em uma única instrução SQL,
+ * independentemente da quantidade de registros (ausência de N+1).
+ */
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadQueryCountTests {
+
+	private static final int ROWS = 5;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private AlunoTurmaRepository alunoTurmaRepository;
+
+	@Autowired
+	private FuncionarioTurmaRepository funcionarioTurmaRepository;
+
+	@Autowired
+	private AlunoService alunoService;
+
+	@Autowired
+	private AlunoTurmaService alunoTurmaService;
+
+	@Autowired
+	private TurmaService turmaService;
+
+	@Autowired
+	private FuncionarioTurmaService funcionarioTurmaService;
+
+	private Statistics statistics;
+
+	@BeforeAll
+	void populate() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		for (int i = 0; i < ROWS; i++) {
+			AlunoTurmaModel alunoTurma = new AlunoTurmaModel();
+			alunoTurma.setAluno(aluno(i));
+			alunoTurma.setTurma(turma(i));
+			alunoTurmaRepository.save(alunoTurma);
+
+			FuncionarioTurmaModel funcionarioTurma = new FuncionarioTurmaModel();
+			funcionarioTurma.setFuncionario(funcionario(i));
+			funcionarioTurma.setTurma(turma(ROWS + i));
+			funcionarioTurma.setRazaoSocial("Razao " + i);
+			funcionarioTurmaRepository.save(funcionarioTurma);
+		}
+	}
+
+	@BeforeEach
+	void resetStatistics() {
+		statistics.clear();
+	}
+
+	@Test
+	void alunoReadIssuesSingleStatement() {
+		List<AlunoModel> alunos = alunoService.read();
+
+		assertEquals(ROWS, alunos.size());
+		alunos.forEach(aluno -> aluno.getEmpresa().getCnpj());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void alunoTurmaReadIssuesSingleStatement() {
+		List<AlunoTurmaModel> alunoTurmas = alunoTurmaService.read();
+
+		assertEquals(ROWS, alunoTurmas.size());
+		alunoTurmas.forEach(alunoTurma -> {
+			alunoTurma.getAluno().getUsuario().getNomeUsuario();
+			alunoTurma.getAluno().getEmpresa().getCnpj();
+			alunoTurma.getTurma().getCurso().getNomeCurso();
+		});
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void turmaReadIssuesSingleStatement() {
+		List<TurmaModel> turmas = turmaService.read();
+
+		assertEquals(2 * ROWS, turmas.size());
+		turmas.forEach(turma -> turma.getCurso().getNomeCurso());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void funcionarioTurmaReadIssuesSingleStatement() {
+		List<FuncionarioTurmaModel> funcionarioTurmas = funcionarioTurmaService.read();
+
+		assertEquals(ROWS, funcionarioTurmas.size());
+		funcionarioTurmas.forEach(funcionarioTurma -> {
+			funcionarioTurma.getFuncionario().getUsuario().getNomeUsuario();
+			funcionarioTurma.getFuncionario().getCargo().getNomeCargo();
+			funcionarioTurma.getTurma().getCurso().getNomeCurso();
+		});
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void alunoPainelIssuesTwoStatements() {
+		Integer alunoId = alunoTurmaService.read().get(0).getAluno().getId();
+		statistics.clear();
+
+		PainelAluno painel = alunoService.painel(String.valueOf(alunoId));
+
+		assertEquals(1, painel.getMatriculas().size());
+		assertEquals("", painel.getAluno().getUsuario().getSenha());
+		painel.getAluno().getEmpresa().getCnpj();
+		painel.getMatriculas().forEach(matricula -> matricula.getTurma().getCurso().getNomeCurso());
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	private static UsuarioModel usuario(String nome) {
+		UsuarioModel usuario = new UsuarioModel();
+		usuario.setNomeUsuario(nome);
+		usuario.setNomePessoa(nome);
+		usuario.setSenha("senha");
+		return usuario;
+	}
+
+	private static AlunoModel aluno(int i) {
+		EmpresaModel empresa = new EmpresaModel();
+		empresa.setRazaoSocial("Empresa " + i);
+		empresa.setNomeFantasia("Empresa " + i);
+		empresa.setCnpj("00.000.000/0001-0" + i);
+		empresa.setEndereco("Rua " + i);
+		empresa.setBanco("Banco");
+		empresa.setAgencia("0001");
+
+		AlunoModel aluno = new AlunoModel();
+		aluno.setUsuario(usuario("aluno" + i));
+		aluno.setEmpresa(empresa);
+		aluno.setEndereco("Rua " + i);
+		aluno.setCpf("000.000.000-0" + i);
+		aluno.setRg("00.000.000-" + i);
+		aluno.setNivelEscolaridade("Superior");
+		aluno.setCep("00000-000");
+		aluno.setNomePai("Pai");
+		aluno.setNomeMae("Mae");
+		aluno.setDescricaoPcd("");
+		return aluno;
+	}
+
+	private static TurmaModel turma(int i) {
+		CursoModel curso = new CursoModel();
+		curso.setNomeCurso("Curso " + i);
+		curso.setDescCurso("Descricao " + i);
+		curso.setProgramacao("Programacao " + i);
+
+		TurmaModel turma = new TurmaModel();
+		turma.setCurso(curso);
+		turma.setDataInicio(Date.valueOf("2024-02-01"));
+		turma.setDataFim(Date.valueOf("2024-06-30"));
+		turma.setPeriodo("Noite");
+		return turma;
+	}
+
+	private static FuncionarioModel funcionario(int i) {
+		CargoModel cargo = new CargoModel();
+		cargo.setNomeCargo("Cargo " + i);
+		cargo.setNivelPermissao(1);
+
+		FuncionarioModel funcionario = new FuncionarioModel();
+		funcionario.setUsuario(usuario("func" + i));
+		funcionario.setCargo(cargo);
+		return funcionario;
+	}
+}
@@ -0,0 +1,60 @@
+package com.fatec.srp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * Verifica que a codificação de senhas em lote do {@link SenhaService} não toma o executor de senhas dos logins.
+ *
+ * O executor tem duas threads e fila de duas posições: se o lote enviasse todas as senhas ao executor, a fila ficaria
+ * cheia durante todo o lote e as codificações avulsas seriam recusadas.
+ */
+@SpringBootTest(properties = {
+	"srp.password.threads=2",
+	"srp.password.queue-capacity=2",
+	"srp.password.bcrypt-strength=8"
+})
+@DirtiesContext
+class SenhaServiceTests {
+
+	private static final int LOTE = 60;
+
+	@Autowired
+	private SenhaService senhaService;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Test
+	void batchLeavesExecutorRoomForSingleRequests() {
+		List<String> senhas = new ArrayList<>();
+		for (int i = 0; i < LOTE; i++) {
+			senhas.add("senha-" + i);
+		}
+
+		CompletableFuture<List<String>> lote = CompletableFuture.supplyAsync(() -> senhaService.codificarLote(senhas));
+		int avulsas = 0;
+		while (!lote.isDone()) {
+			String hash = senhaService.codificar("avulsa");
+			assertTrue(passwordEncoder.matches("avulsa", hash));
+			avulsas++;
+		}
+
+		List<String> hashes = lote.join();
+		assertEquals(LOTE, hashes.size());
+		for (int i = 0; i < LOTE; i++) {
+			assertTrue(passwordEncoder.matches(senhas.get(i), hashes.get(i)), "senha " + i);
+		}
+		assertTrue(avulsas > 0);
+	}
+}
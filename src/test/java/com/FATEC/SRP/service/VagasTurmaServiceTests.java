@@ -0,0 +1,224 @@
+package com.fatec.srp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fatec.srp.common.ConflitoHorarioException;
+import com.fatec.srp.common.TurmaLotadaException;
+import com.fatec.srp.models.AlunoModel;
+import com.fatec.srp.models.AlunoTurmaModel;
+import com.fatec.srp.models.CursoModel;
+import com.fatec.srp.models.EmpresaModel;
+import com.fatec.srp.models.TurmaModel;
+import com.fatec.srp.models.UsuarioModel;
+import com.fatec.srp.repositories.AlunoRepository;
+import com.fatec.srp.repositories.AlunoTurmaRepository;
+import com.fatec.srp.repositories.CursosRepository;
+
+/**
+ * Verifica que os contadores de vagas do {@link VagasTurmaService} continuam iguais à contagem de matrículas no
+ * banco quando matrículas são criadas e excluídas ao mesmo tempo em que a conferência periódica é executada.
+ */
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class VagasTurmaServiceTests {
+
+	private static final int CAPACIDADE = 5;
+
+	private static final int ALUNOS = 24;
+
+	@Autowired
+	private VagasTurmaService vagasTurmaService;
+
+	@Autowired
+	private AlunoTurmaService alunoTurmaService;
+
+	@Autowired
+	private TurmaService turmaService;
+
+	@Autowired
+	private CursosRepository cursosRepository;
+
+	@Autowired
+	private AlunoRepository alunoRepository;
+
+	@Autowired
+	private AlunoTurmaRepository alunoTurmaRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final List<Integer> alunoIds = new ArrayList<>();
+
+	@BeforeAll
+	void populate() {
+		for (int i = 0; i < ALUNOS; i++) {
+			int indice = i;
+			alunoIds.add(transactionTemplate.execute(status -> alunoRepository.save(aluno(indice)).getId()));
+		}
+	}
+
+	@Test
+	void reconcileSkipsCommittedReleaseNotYetApplied() {
+		Integer turmaId = novaTurma();
+		Integer primeira = matricular(alunoIds.get(0), turmaId);
+		matricular(alunoIds.get(1), turmaId);
+		assertEquals(2, vagasTurmaService.situacao(turmaId).getOcupadas());
+
+		// Simula a exclusão de uma matrícula já confirmada no banco cuja devolução ainda não foi aplicada.
+		TransactionSynchronizationManager.initSynchronization();
+		List<TransactionSynchronization> sincronizacoes;
+		try {
+			vagasTurmaService.liberar(turmaId);
+			sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		transactionTemplate.executeWithoutResult(status -> alunoTurmaRepository.excluir(primeira));
+
+		vagasTurmaService.reconciliar();
+		sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+		sincronizacoes.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+		assertEquals(1, vagasTurmaService.situacao(turmaId).getOcupadas());
+		vagasTurmaService.reconciliar();
+		assertEquals(1, vagasTurmaService.situacao(turmaId).getOcupadas());
+	}
+
+	@Test
+	void capacityHoldsUnderConcurrentCreateDeleteAndReconcile() throws InterruptedException {
+		Integer turmaId = novaTurma();
+		ConcurrentLinkedQueue<Integer> matriculas = new ConcurrentLinkedQueue<>();
+		ConcurrentLinkedQueue<Throwable> erros = new ConcurrentLinkedQueue<>();
+		AtomicBoolean executando = new AtomicBoolean(true);
+		CountDownLatch inicio = new CountDownLatch(1);
+
+		Thread conferencia = Thread.ofPlatform().start(() -> {
+			awaitQuietly(inicio);
+			while (executando.get()) {
+				vagasTurmaService.reconciliar();
+				long ocupadas = alunoTurmaRepository.countByTurmaId(turmaId);
+				if (ocupadas > CAPACIDADE) {
+					erros.add(new AssertionError(ocupadas + " matrículas em uma turma com " + CAPACIDADE + " vagas"));
+				}
+			}
+		});
+
+		List<Thread> trabalhadores = new ArrayList<>();
+		for (int t = 0; t < 6; t++) {
+			trabalhadores.add(Thread.ofPlatform().start(() -> {
+				awaitQuietly(inicio);
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < 40; i++) {
+					try {
+						Integer excluir = random.nextBoolean() ? matriculas.poll() : null;
+						if (excluir != null) {
+							alunoTurmaService.delete(String.valueOf(excluir));
+						} else {
+							matriculas.add(matricular(alunoIds.get(random.nextInt(ALUNOS)), turmaId));
+						}
+					} catch (TurmaLotadaException | ConflitoHorarioException e) {
+						// esperado com a turma cheia ou com o aluno já matriculado
+					} catch (Throwable e) {
+						erros.add(e);
+					}
+				}
+			}));
+		}
+
+		inicio.countDown();
+		for (Thread trabalhador : trabalhadores) {
+			trabalhador.join();
+		}
+		executando.set(false);
+		conferencia.join();
+
+		assertTrue(erros.isEmpty(), () -> erros.peek().toString());
+		long contagem = alunoTurmaRepository.countByTurmaId(turmaId);
+		assertTrue(contagem <= CAPACIDADE);
+		assertEquals(contagem, vagasTurmaService.situacao(turmaId).getOcupadas());
+		vagasTurmaService.reconciliar();
+		assertEquals(contagem, vagasTurmaService.situacao(turmaId).getOcupadas());
+	}
+
+	private Integer novaTurma() {
+		return transactionTemplate.execute(status -> {
+			CursoModel curso = new CursoModel();
+			curso.setNomeCurso("Curso");
+			curso.setDescCurso("Descricao");
+			curso.setProgramacao("Programacao");
+
+			TurmaModel turma = new TurmaModel();
+			turma.setCurso(cursosRepository.save(curso));
+			turma.setDataInicio(Date.valueOf("2024-02-01"));
+			turma.setDataFim(Date.valueOf("2024-06-30"));
+			turma.setPeriodo("Noite");
+			turma.setCapacidade(CAPACIDADE);
+			return turmaService.create(turma).getId();
+		});
+	}
+
+	private Integer matricular(Integer alunoId, Integer turmaId) {
+		AlunoTurmaModel matricula = new AlunoTurmaModel();
+		matricula.setAluno(new AlunoModel());
+		matricula.getAluno().setId(alunoId);
+		matricula.setTurma(new TurmaModel());
+		matricula.getTurma().setId(turmaId);
+		return alunoTurmaService.create(matricula).getId();
+	}
+
+	private static AlunoModel aluno(int i) {
+		UsuarioModel usuario = new UsuarioModel();
+		usuario.setNomeUsuario("vagas" + i);
+		usuario.setNomePessoa("vagas" + i);
+		usuario.setSenha("senha");
+
+		EmpresaModel empresa = new EmpresaModel();
+		empresa.setRazaoSocial("Empresa " + i);
+		empresa.setNomeFantasia("Empresa " + i);
+		empresa.setCnpj(String.format("11.111.111/0001-%02d", i));
+		empresa.setEndereco("Rua " + i);
+		empresa.setBanco("Banco");
+		empresa.setAgencia("0001");
+
+		AlunoModel aluno = new AlunoModel();
+		aluno.setUsuario(usuario);
+		aluno.setEmpresa(empresa);
+		aluno.setEndereco("Rua " + i);
+		aluno.setCpf(String.format("111.111.111-%02d", i));
+		aluno.setRg(String.format("11.111.1-%02d", i));
+		aluno.setNivelEscolaridade("Superior");
+		aluno.setCep("00000-000");
+		aluno.setNomePai("Pai");
+		aluno.setNomeMae("Mae");
+		aluno.setDescricaoPcd("");
+		return aluno;
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}